@@ -0,0 +1,76 @@
+package com.Shakwa.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Compares a JMH JSON result file ({@code -rf json}) against the committed baseline.
+ *
+ * Prints time and allocation ({@code gc.alloc.rate.norm}, only present with {@code -prof gc}) per benchmark
+ * and parameter set, and exits with status 1 if any time score regressed by more than the threshold.
+ *
+ * Usage: {@code java -cp benchmarks.jar com.Shakwa.benchmark.BaselineCompare baseline.json current.json [thresholdPercent]}
+ */
+public final class BaselineCompare {
+
+    private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+
+    private BaselineCompare() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BaselineCompare <baseline.json> <current.json> [thresholdPercent]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+        Map<String, JsonNode> baseline = read(new File(args[0]));
+        Map<String, JsonNode> current = read(new File(args[1]));
+
+        boolean regressed = false;
+        System.out.printf("%-90s %14s %14s %8s %12s %12s%n", "Benchmark", "baseline", "current", "delta", "B/op base", "B/op now");
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            JsonNode before = baseline.get(entry.getKey());
+            JsonNode after = entry.getValue();
+            double now = after.path("primaryMetric").path("score").asDouble();
+            String unit = after.path("primaryMetric").path("scoreUnit").asText();
+            if (before == null) {
+                System.out.printf("%-90s %14s %14.3f %8s %12s %12s%n", entry.getKey(), "-", now, "new", "-", allocation(after));
+                continue;
+            }
+            double then = before.path("primaryMetric").path("score").asDouble();
+            double delta = then == 0 ? 0 : (now - then) / then * 100;
+            // AverageTime/SampleTime: higher is worse; Throughput: lower is worse
+            boolean worse = unit.startsWith("ops/") ? delta < -threshold : delta > threshold;
+            regressed |= worse;
+            System.out.printf("%-90s %14.3f %14.3f %7.1f%% %12s %12s%s%n", entry.getKey(), then, now, delta,
+                    allocation(before), allocation(after), worse ? "  REGRESSION" : "");
+        }
+        if (regressed) {
+            System.out.printf("%nTime regressed by more than %.1f%% against the baseline%n", threshold);
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, JsonNode> read(File file) throws IOException {
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file)) {
+            StringBuilder key = new StringBuilder(result.path("benchmark").asText()
+                    .replace("com.Shakwa.benchmark.", ""));
+            result.path("params").properties().forEach(param ->
+                    key.append(' ').append(param.getKey()).append('=').append(param.getValue().asText()));
+            results.put(key.toString(), result);
+        }
+        return results;
+    }
+
+    private static String allocation(JsonNode result) {
+        JsonNode metric = result.path("secondaryMetrics").path(ALLOCATION_METRIC);
+        return metric.isMissingNode() ? "-" : String.format("%.0f", metric.path("score").asDouble());
+    }
+}
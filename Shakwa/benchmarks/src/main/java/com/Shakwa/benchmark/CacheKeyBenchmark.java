@@ -0,0 +1,99 @@
+package com.Shakwa.benchmark;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.expression.MethodBasedEvaluationContext;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.Shakwa.complaint.Enum.ComplaintStatus;
+import com.Shakwa.complaint.repository.ComplaintRepository;
+import com.Shakwa.user.Enum.GovernmentAgencyType;
+import com.Shakwa.utils.cache.CacheKeyUtils;
+
+/**
+ * Cache key construction on the list endpoints: {@link CacheKeyUtils} and the SpEL keys declared on
+ * {@link ComplaintRepository}. The SpEL benchmarks mirror what the cache interceptor does per call -
+ * a new method-based evaluation context over the already parsed expression - interpreted and compiled.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CacheKeyBenchmark {
+
+    private static final ParameterNameDiscoverer PARAMETER_NAMES = new DefaultParameterNameDiscoverer();
+
+    private GovernmentAgencyType agency;
+    private Method method;
+    private Object[] args;
+    private Expression interpreted;
+    private Expression compiled;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        SecurityContextHolder.getContext().setAuthentication(UsernamePasswordAuthenticationToken.authenticated(
+                "employee@example.com", null, AuthorityUtils.createAuthorityList("ROLE_EMPLOYEE")));
+
+        agency = GovernmentAgencyType.values()[0];
+
+        // The busiest list query: agency inbox filtered by status
+        method = ComplaintRepository.class.getMethod("findByGovernmentAgencyAndStatus",
+                GovernmentAgencyType.class, ComplaintStatus.class, Pageable.class);
+        args = new Object[]{agency, ComplaintStatus.PENDING, PageRequest.of(2, 20)};
+        String key = method.getAnnotation(Cacheable.class).key();
+        interpreted = new SpelExpressionParser().parseExpression(key);
+        compiled = new SpelExpressionParser(new SpelParserConfiguration(SpelCompilerMode.IMMEDIATE, null))
+                .parseExpression(key);
+    }
+
+    @TearDown
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public String complaintListKey() {
+        return CacheKeyUtils.generateComplaintListKey(
+                CacheKeyUtils.hashFilters(agency, ComplaintStatus.PENDING), 2, 20);
+    }
+
+    @Benchmark
+    public String userContextKey() {
+        return CacheKeyUtils.generateUserContextKey("complaints:agency", agency, 2, 20);
+    }
+
+    @Benchmark
+    public Object spelKeyInterpreted() {
+        return interpreted.getValue(new MethodBasedEvaluationContext(null, method, args, PARAMETER_NAMES));
+    }
+
+    @Benchmark
+    public Object spelKeyCompiled() {
+        return compiled.getValue(new MethodBasedEvaluationContext(null, method, args, PARAMETER_NAMES));
+    }
+}
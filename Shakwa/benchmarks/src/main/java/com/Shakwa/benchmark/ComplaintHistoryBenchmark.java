@@ -0,0 +1,91 @@
+package com.Shakwa.benchmark;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.Shakwa.complaint.Enum.HistoryActionType;
+import com.Shakwa.complaint.dto.ComplaintHistoryDTO;
+import com.Shakwa.complaint.entity.ComplaintHistory;
+import com.Shakwa.complaint.mapper.ComplaintHistoryMapper;
+import com.Shakwa.complaint.service.ComplaintHistoryService;
+import com.Shakwa.user.entity.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * History entry mapping ({@link ComplaintHistoryMapper#toDTO}) and the Arabic action description built for
+ * every history row written by {@link ComplaintHistoryService}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ComplaintHistoryBenchmark {
+
+    // generateActionDescription is private; benchmarks run on the class path, so a private lookup is allowed
+    private static final MethodHandle GENERATE_ACTION_DESCRIPTION;
+
+    static {
+        try {
+            GENERATE_ACTION_DESCRIPTION = MethodHandles.privateLookupIn(ComplaintHistoryService.class, MethodHandles.lookup())
+                    .findVirtual(ComplaintHistoryService.class, "generateActionDescription", MethodType.methodType(
+                            String.class, HistoryActionType.class, User.class, String.class, String.class, String.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private ComplaintHistoryMapper mapper;
+    private ComplaintHistoryService service;
+    private ComplaintHistory history;
+    private User actor;
+
+    @Setup
+    public void setUp() {
+        mapper = new ComplaintHistoryMapper();
+        // The repository is only used when saving; the description path never touches it
+        service = new ComplaintHistoryService(null, new ObjectMapper());
+        history = Fixtures.statusChange(Fixtures.complaint(0));
+        actor = Fixtures.employee();
+    }
+
+    @Benchmark
+    public ComplaintHistoryDTO toDTO() {
+        return mapper.toDTO(history);
+    }
+
+    @Benchmark
+    public String generateActionDescription(Action action) throws Throwable {
+        HistoryActionType actionType = action.actionType;
+        return switch (actionType) {
+            case STATUS_CHANGED -> (String) GENERATE_ACTION_DESCRIPTION.invokeExact(service, actionType, actor,
+                    "status", "PENDING", "IN_PROGRESS");
+            case UPDATED_FIELDS -> (String) GENERATE_ACTION_DESCRIPTION.invokeExact(service, actionType, actor,
+                    "description", "old", "new");
+            default -> (String) GENERATE_ACTION_DESCRIPTION.invokeExact(service, actionType, actor,
+                    (String) null, (String) null, (String) null);
+        };
+    }
+
+    @State(Scope.Benchmark)
+    public static class Action {
+
+        @Param({"CREATED", "STATUS_CHANGED", "UPDATED_FIELDS"})
+        HistoryActionType actionType;
+    }
+}
@@ -0,0 +1,85 @@
+package com.Shakwa.benchmark;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.Shakwa.complaint.dto.ComplaintAttachmentDTO;
+import com.Shakwa.complaint.dto.ComplaintDTOResponse;
+import com.Shakwa.complaint.entity.Complaint;
+import com.Shakwa.complaint.mapper.ComplaintMapper;
+import com.Shakwa.complaint.storage.AttachmentUrlSigner;
+
+/**
+ * {@link ComplaintMapper#toResponse} and its attachment mapping, which signs one download URL per attachment
+ * and resolves the context path from the current request.
+ * The request is bound per benchmark thread, as it would be on a servlet thread.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ComplaintMapperBenchmark {
+
+    // mapAttachments is private; benchmarks run on the class path, so a private lookup is allowed
+    private static final MethodHandle MAP_ATTACHMENTS;
+
+    static {
+        try {
+            MAP_ATTACHMENTS = MethodHandles.privateLookupIn(ComplaintMapper.class, MethodHandles.lookup())
+                    .findVirtual(ComplaintMapper.class, "mapAttachments", MethodType.methodType(List.class, Complaint.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    @Param({"0", "3", "10"})
+    private int attachments;
+
+    private ComplaintMapper mapper;
+    private Complaint complaint;
+
+    @Setup
+    public void setUp() {
+        mapper = new ComplaintMapper(new AttachmentUrlSigner(Fixtures.storageProperties()));
+        complaint = Fixtures.complaint(attachments);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/complaints/5001");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @TearDown
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Benchmark
+    public ComplaintDTOResponse toResponse() {
+        return mapper.toResponse(complaint);
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public List<ComplaintAttachmentDTO> mapAttachments() throws Throwable {
+        return (List<ComplaintAttachmentDTO>) MAP_ATTACHMENTS.invokeExact(mapper, complaint);
+    }
+}
@@ -0,0 +1,89 @@
+package com.Shakwa.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.tika.Tika;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockMultipartFile;
+
+import com.Shakwa.complaint.service.ContentTypeSniffer;
+
+/**
+ * Compares the magic-byte fast path ({@link ContentTypeSniffer}) with the previous
+ * {@code Tika.detect(InputStream, name)} path for each allowed upload type.
+ * Run with {@code -prof gc} to compare allocation per detection.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ContentTypeDetectionBenchmark {
+
+    @Param({"png", "jpeg", "pdf"})
+    private String type;
+
+    @Param({"1048576"})
+    private int size;
+
+    private MockMultipartFile file;
+    private ContentTypeSniffer sniffer;
+    private Tika tika;
+
+    @Setup
+    public void setUp() {
+        sniffer = new ContentTypeSniffer();
+        tika = new Tika();
+        file = new MockMultipartFile("files", "evidence." + type, null, sample(type, size));
+    }
+
+    @Benchmark
+    public String sniffer() throws IOException {
+        return sniffer.detect(file);
+    }
+
+    @Benchmark
+    public String tika() throws IOException {
+        try (InputStream in = file.getInputStream()) {
+            return tika.detect(in, file.getOriginalFilename());
+        }
+    }
+
+    private static byte[] sample(String type, int size) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(size);
+        switch (type) {
+            case "png" -> {
+                out.writeBytes(new byte[]{(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n', 0, 0, 0, 13, 'I', 'H', 'D', 'R'});
+                out.writeBytes(new byte[size - 16]);
+            }
+            case "jpeg" -> {
+                out.writeBytes(new byte[]{(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xE0});
+                out.writeBytes(new byte[size - 6]);
+                out.writeBytes(new byte[]{(byte) 0xFF, (byte) 0xD9});
+            }
+            default -> {
+                byte[] header = "%PDF-1.7\n".getBytes(StandardCharsets.US_ASCII);
+                byte[] trailer = "trailer\n%%EOF\n".getBytes(StandardCharsets.US_ASCII);
+                out.writeBytes(header);
+                out.writeBytes(new byte[size - header.length - trailer.length]);
+                out.writeBytes(trailer);
+            }
+        }
+        return out.toByteArray();
+    }
+}
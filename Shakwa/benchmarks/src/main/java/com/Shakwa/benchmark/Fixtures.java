@@ -0,0 +1,101 @@
+package com.Shakwa.benchmark;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.Shakwa.complaint.Enum.ComplaintStatus;
+import com.Shakwa.complaint.Enum.ComplaintType;
+import com.Shakwa.complaint.Enum.Governorate;
+import com.Shakwa.complaint.Enum.HistoryActionType;
+import com.Shakwa.complaint.entity.Complaint;
+import com.Shakwa.complaint.entity.ComplaintAttachment;
+import com.Shakwa.complaint.entity.ComplaintHistory;
+import com.Shakwa.complaint.storage.ComplaintStorageProperties;
+import com.Shakwa.user.Enum.GovernmentAgencyType;
+import com.Shakwa.user.entity.Citizen;
+import com.Shakwa.user.entity.Employee;
+
+/**
+ * Detached entities shaped like production rows, shared by the benchmarks.
+ */
+final class Fixtures {
+
+    static final String DOWNLOAD_URL_SECRET = "benchmark-download-url-secret-0123456789";
+
+    private Fixtures() {
+    }
+
+    static ComplaintStorageProperties storageProperties() {
+        ComplaintStorageProperties properties = new ComplaintStorageProperties();
+        properties.setDownloadUrlSecret(DOWNLOAD_URL_SECRET);
+        properties.setDownloadUrlTtl(Duration.ofMinutes(5));
+        return properties;
+    }
+
+    static Citizen citizen() {
+        Citizen citizen = new Citizen();
+        citizen.setId(1001L);
+        citizen.setFirstName("سارة");
+        citizen.setLastName("الأحمد");
+        citizen.setEmail("citizen@example.com");
+        return citizen;
+    }
+
+    static Employee employee() {
+        Employee employee = new Employee();
+        employee.setId(2001L);
+        employee.setFirstName("محمد");
+        employee.setLastName("الخطيب");
+        employee.setEmail("employee@example.com");
+        return employee;
+    }
+
+    static Complaint complaint(int attachmentCount) {
+        Complaint complaint = new Complaint();
+        complaint.setId(5001L);
+        complaint.setComplaintType(ComplaintType.values()[0]);
+        complaint.setGovernorate(Governorate.values()[0]);
+        complaint.setGovernmentAgency(GovernmentAgencyType.values()[0]);
+        complaint.setLocation("دمشق - المزة - شارع الجلاء");
+        complaint.setDescription("تأخر إنجاز معاملة نقل ملكية لأكثر من ثلاثة أشهر رغم استكمال جميع الوثائق المطلوبة.");
+        complaint.setSolutionSuggestion("تحديد مهلة زمنية واضحة لكل مرحلة من مراحل المعاملة.");
+        complaint.setStatus(ComplaintStatus.IN_PROGRESS);
+        complaint.setResponse("تمت إحالة الشكوى إلى المديرية المختصة.");
+        complaint.setRespondedAt(LocalDateTime.now());
+        complaint.setRespondedBy(employee());
+        complaint.setCitizen(citizen());
+        complaint.setTrackingNumber("SHK-20250101-ABC123");
+        complaint.setVersion(3L);
+        complaint.setCreatedAt(LocalDateTime.now().minusDays(2));
+        complaint.setUpdatedAt(LocalDateTime.now());
+
+        List<ComplaintAttachment> attachments = new ArrayList<>(attachmentCount);
+        for (int i = 0; i < attachmentCount; i++) {
+            ComplaintAttachment attachment = new ComplaintAttachment();
+            attachment.setId(6000L + i);
+            attachment.setComplaint(complaint);
+            attachment.setOriginalFilename("evidence-" + i + ".pdf");
+            attachment.setStoredFilename("c0ffee" + i + ".pdf");
+            attachment.setStoragePath("5001/c0ffee" + i + ".pdf");
+            attachment.setContentType("application/pdf");
+            attachment.setSize(250_000L + i);
+            attachment.setUploadedAt(LocalDateTime.now());
+            attachments.add(attachment);
+        }
+        complaint.setAttachments(attachments);
+        return complaint;
+    }
+
+    static ComplaintHistory statusChange(Complaint complaint) {
+        ComplaintHistory history = new ComplaintHistory(complaint, employee(), HistoryActionType.STATUS_CHANGED);
+        history.setId(7001L);
+        history.setFieldChanged("status");
+        history.setOldValue(ComplaintStatus.PENDING.name());
+        history.setNewValue(ComplaintStatus.IN_PROGRESS.name());
+        history.setActionDescription("تم تغيير حالة الشكوى من 'قيد الانتظار' إلى 'قيد المعالجة' من قبل محمد الخطيب");
+        history.setCreatedAt(LocalDateTime.now());
+        return history;
+    }
+}
@@ -0,0 +1,71 @@
+#!/usr/bin/env bash
+# End-to-end load test: local PostgreSQL -> application -> synthetic data -> load -> report.
+#
+#   loadtest/run-loadtest.sh [run options...]
+#   e.g. loadtest/run-loadtest.sh --model=open --rate=200 --duration=10m --label=after-index-change
+#
+# Environment:
+#   SEED_OPTS   options for the seeder (default: --complaints=2000000 --citizens=200000 --employees=2000)
+#   RESEED=1    drop previously seeded rows and seed again
+#   APP_OPTS    extra application arguments (e.g. --spring.threads.virtual.enabled=true)
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+DB_URL="jdbc:postgresql://localhost:55432/shakwa_loadtest"
+BASE_URL="http://localhost:18080"
+DATA_DIR="loadtest/loadtest-data"
+SEED_OPTS="${SEED_OPTS:---complaints=2000000 --citizens=200000 --employees=2000}"
+APP_PID=""
+
+stop_app() {
+  if [[ -n "$APP_PID" ]] && kill -0 "$APP_PID" 2>/dev/null; then
+    kill "$APP_PID" && wait "$APP_PID" 2>/dev/null || true
+  fi
+  APP_PID=""
+}
+trap stop_app EXIT
+
+start_app() {
+  # Login limits are per IP and the load generator is a single IP; mail is logged instead of sent
+  java ${JAVA_OPTS:-} -jar target/Shakwa-0.0.1-SNAPSHOT-exec.jar \
+    --server.port=18080 \
+    --spring.datasource.url="$DB_URL" \
+    --security.login.rate-limit.limit=1000000 \
+    --mail.enabled=false \
+    --shakwa.access-log.enabled=false \
+    --storage.complaints.root=loadtest/storage \
+    ${APP_OPTS:-} > loadtest/app.log 2>&1 &
+  APP_PID=$!
+  for _ in $(seq 1 120); do
+    if curl -fs "$BASE_URL/actuator/health" > /dev/null; then
+      return
+    fi
+    sleep 1
+  done
+  echo "Application did not become healthy, see loadtest/app.log" >&2
+  exit 1
+}
+
+echo "==> Building application and load-test jars"
+mvn -B -q install -DskipTests
+mvn -B -q -f loadtest/pom.xml package
+
+echo "==> Starting PostgreSQL"
+docker compose -f loadtest/docker-compose.yml up -d --wait
+
+if [[ ! -f "$DATA_DIR/seed-manifest.json" || "${RESEED:-0}" == "1" ]]; then
+  echo "==> Migrating schema (Flyway)"
+  start_app
+  stop_app
+  echo "==> Seeding data (${SEED_OPTS})"
+  # shellcheck disable=SC2086
+  java -jar loadtest/target/loadtest.jar seed --jdbc-url="$DB_URL" --manifest="$DATA_DIR/seed-manifest.json" \
+    --reset=true $SEED_OPTS
+fi
+
+echo "==> Starting application"
+start_app
+
+echo "==> Running load"
+java -jar loadtest/target/loadtest.jar run --base-url="$BASE_URL" --manifest="$DATA_DIR/seed-manifest.json" \
+  --report-dir=loadtest/reports "$@"
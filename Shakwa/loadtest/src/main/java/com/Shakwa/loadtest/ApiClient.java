@@ -0,0 +1,131 @@
+package com.Shakwa.loadtest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Thin HTTP client for the endpoints exercised by the load test.
+ * Uses one shared {@link HttpClient} (HTTP/1.1 keep-alive pool), like a fleet of browsers behind a gateway.
+ */
+final class ApiClient {
+
+    record Response(int status, byte[] body) {
+        boolean ok() {
+            return status >= 200 && status < 300;
+        }
+    }
+
+    record Attachment(String filename, String contentType, byte[] content) {
+    }
+
+    private final HttpClient http;
+    private final String baseUrl;
+    private final Duration timeout;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    ApiClient(String baseUrl, Duration timeout) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.timeout = timeout;
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    ObjectMapper objectMapper() {
+        return objectMapper;
+    }
+
+    String login(String path, String email, String password) throws IOException, InterruptedException {
+        byte[] body = objectMapper.writeValueAsBytes(Map.of("email", email, "password", password));
+        Response response = send(request(path, null)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body)));
+        if (!response.ok()) {
+            throw new IOException("Login failed for " + email + ": HTTP " + response.status() + " " + new String(response.body(), StandardCharsets.UTF_8));
+        }
+        return objectMapper.readTree(response.body()).path("token").asText();
+    }
+
+    Response get(String token, String path, Map<String, Object> query) throws IOException, InterruptedException {
+        return send(request(path + queryString(query), token).GET());
+    }
+
+    Response put(String token, String path, Map<String, Object> query) throws IOException, InterruptedException {
+        return send(request(path + queryString(query), token).PUT(HttpRequest.BodyPublishers.noBody()));
+    }
+
+    Response post(String token, String path) throws IOException, InterruptedException {
+        return send(request(path, token).POST(HttpRequest.BodyPublishers.noBody()));
+    }
+
+    /**
+     * Multipart POST with a JSON part named {@code data} and file parts named {@code files}.
+     */
+    Response postMultipart(String token, String path, Object data, List<Attachment> files) throws IOException, InterruptedException {
+        String boundary = "----shakwa-loadtest-" + UUID.randomUUID();
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        part(body, boundary, "Content-Disposition: form-data; name=\"data\"\r\nContent-Type: application/json",
+                objectMapper.writeValueAsBytes(data));
+        for (Attachment file : files) {
+            part(body, boundary, "Content-Disposition: form-data; name=\"files\"; filename=\"" + file.filename()
+                    + "\"\r\nContent-Type: " + file.contentType(), file.content());
+        }
+        body.writeBytes(("--" + boundary + "--\r\n").getBytes(StandardCharsets.US_ASCII));
+        return send(request(path, token)
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray())));
+    }
+
+    JsonNode json(Response response) throws IOException {
+        return objectMapper.readTree(response.body());
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(timeout);
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private Response send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = http.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        return new Response(response.statusCode(), response.body());
+    }
+
+    private static void part(ByteArrayOutputStream body, String boundary, String headers, byte[] content) {
+        body.writeBytes(("--" + boundary + "\r\n" + headers + "\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+        body.writeBytes(content);
+        body.writeBytes("\r\n".getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static String queryString(Map<String, Object> query) {
+        if (query == null || query.isEmpty()) {
+            return "";
+        }
+        StringJoiner joiner = new StringJoiner("&", "?", "");
+        query.forEach((key, value) -> {
+            if (value != null) {
+                joiner.add(key + "=" + URLEncoder.encode(value.toString(), StandardCharsets.UTF_8));
+            }
+        });
+        return joiner.toString();
+    }
+}
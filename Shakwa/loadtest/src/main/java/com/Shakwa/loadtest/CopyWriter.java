@@ -0,0 +1,93 @@
+package com.Shakwa.loadtest;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+
+/**
+ * Streams rows into {@code COPY ... FROM STDIN} (text format) through a fixed-size buffer,
+ * so seeding millions of rows runs in constant memory.
+ */
+final class CopyWriter implements AutoCloseable {
+
+    private static final int FLUSH_THRESHOLD = 1 << 20;
+
+    private final CopyIn copyIn;
+    private final StringBuilder buffer = new StringBuilder(FLUSH_THRESHOLD + 4096);
+    private boolean firstField = true;
+    private long rows;
+
+    CopyWriter(CopyManager copyManager, String table, String columns) throws SQLException {
+        this.copyIn = copyManager.copyIn("COPY " + table + " (" + columns + ") FROM STDIN");
+    }
+
+    CopyWriter field(Object value) {
+        if (!firstField) {
+            buffer.append('\t');
+        }
+        firstField = false;
+        if (value == null) {
+            buffer.append("\\N");
+        } else if (value instanceof String text) {
+            escape(text);
+        } else if (value instanceof LocalDateTime || value instanceof LocalDate) {
+            // ISO-8601 with 'T' is accepted by PostgreSQL timestamp input
+            buffer.append(value);
+        } else if (value instanceof Enum<?> constant) {
+            escape(constant.name());
+        } else {
+            buffer.append(value);
+        }
+        return this;
+    }
+
+    void endRow() throws SQLException {
+        buffer.append('\n');
+        firstField = true;
+        rows++;
+        if (buffer.length() >= FLUSH_THRESHOLD) {
+            flush();
+        }
+    }
+
+    long rows() {
+        return rows;
+    }
+
+    private void escape(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '\\' -> buffer.append("\\\\");
+                case '\t' -> buffer.append("\\t");
+                case '\n' -> buffer.append("\\n");
+                case '\r' -> buffer.append("\\r");
+                default -> buffer.append(c);
+            }
+        }
+    }
+
+    private void flush() throws SQLException {
+        byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        buffer.setLength(0);
+    }
+
+    @Override
+    public void close() throws SQLException {
+        try {
+            if (!buffer.isEmpty()) {
+                flush();
+            }
+            copyIn.endCopy();
+        } finally {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+}
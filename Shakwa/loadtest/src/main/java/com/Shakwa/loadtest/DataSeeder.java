@@ -0,0 +1,404 @@
+package com.Shakwa.loadtest;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import com.Shakwa.complaint.Enum.ComplaintStatus;
+import com.Shakwa.complaint.Enum.ComplaintType;
+import com.Shakwa.complaint.Enum.Governorate;
+import com.Shakwa.complaint.Enum.HistoryActionType;
+import com.Shakwa.user.Enum.GovernmentAgencyType;
+import com.Shakwa.user.Enum.UserStatus;
+import com.Shakwa.user.config.RoleConstants;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Bulk-loads synthetic citizens, employees, complaints and complaint history with {@code COPY}.
+ *
+ * The schema must already exist (start the application once; Flyway creates it). Rows are generated
+ * deterministically from {@code --seed}, so two runs with the same options produce the same data set.
+ * Distributions are skewed the way production is: a few governorates and agencies receive most complaints,
+ * recent complaints are denser than old ones, and most complaints are still open.
+ */
+final class DataSeeder {
+
+    static final String EMAIL_DOMAIN = "loadtest.shakwa";
+
+    private static final ComplaintType[] TYPES = ComplaintType.values();
+    private static final Governorate[] GOVERNORATES = Governorate.values();
+    private static final GovernmentAgencyType[] AGENCIES = GovernmentAgencyType.values();
+
+    // Cumulative weights, Zipf-like: the first entries (Damascus, Aleppo, ...) dominate
+    private static final double[] GOVERNORATE_WEIGHTS = zipf(GOVERNORATES.length, 0.9);
+    private static final double[] AGENCY_WEIGHTS = zipf(AGENCIES.length, 0.7);
+
+    private static final int MANIFEST_CITIZENS = 2_000;
+    private static final int MANIFEST_EMPLOYEES_PER_AGENCY = 50;
+    private static final int MANIFEST_COMPLAINTS_PER_AGENCY = 2_000;
+    private static final int MAX_HISTORY_PER_COMPLAINT = 3;
+
+    private final Options options;
+    private final long seed;
+    private final long citizens;
+    private final long employees;
+    private final long complaints;
+    private final int historyMonths;
+    private final LocalDateTime now = LocalDateTime.now().withNano(0);
+
+    private long firstCitizenId;
+    private long firstEmployeeId;
+    private long firstComplaintId;
+
+    DataSeeder(Options options) {
+        this.options = options;
+        this.seed = options.getLong("seed", 42);
+        this.citizens = options.getLong("citizens", 200_000);
+        this.employees = options.getLong("employees", 2_000);
+        this.complaints = options.getLong("complaints", 2_000_000);
+        this.historyMonths = options.getInt("months", 24);
+    }
+
+    void run() throws SQLException, IOException {
+        String url = options.get("jdbc-url", "jdbc:postgresql://localhost:5432/shakwa");
+        String password = options.get("password", "LoadTest#2025");
+        File manifestFile = new File(options.get("manifest", "loadtest-data/seed-manifest.json"));
+
+        try (Connection connection = DriverManager.getConnection(url,
+                options.get("db-user", "postgres"), options.get("db-password", "password"))) {
+            connection.setAutoCommit(true);
+            requireSchema(connection);
+            if (Boolean.parseBoolean(options.get("reset", "false"))) {
+                reset(connection);
+            }
+            long citizenRoleId = roleId(connection, RoleConstants.CITIZEN);
+            long employeeRoleId = roleId(connection, options.get("employee-role", RoleConstants.SUPERVISOR));
+            CopyManager copy = connection.unwrap(PGConnection.class).getCopyAPI();
+
+            // Bcrypt once: every seeded account shares the same password hash
+            String passwordHash = new BCryptPasswordEncoder(options.getInt("bcrypt-strength", 10)).encode(password);
+
+            firstCitizenId = reserveIds(connection, citizens);
+            firstEmployeeId = reserveIds(connection, employees);
+            firstComplaintId = reserveIds(connection, complaints);
+            long firstHistoryId = reserveIds(connection, complaints * MAX_HISTORY_PER_COMPLAINT);
+
+            createPartitions(connection);
+
+            long started = System.nanoTime();
+            List<String> citizenEmails = seedCitizens(copy, citizenRoleId, passwordHash);
+            Map<String, List<String>> employeesByAgency = seedEmployees(copy, employeeRoleId, passwordHash);
+            Map<String, List<Long>> complaintsByAgency = seedComplaints(copy);
+            long historyRows = seedHistory(copy, firstHistoryId);
+
+            log("Analyzing tables");
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("ANALYZE users, citizens, employees, complaints, complaint_history");
+            }
+            log("Seeded %,d citizens, %,d employees, %,d complaints, %,d history rows in %ds",
+                    citizens, employees, complaints, historyRows, (System.nanoTime() - started) / 1_000_000_000L);
+
+            SeedManifest manifest = new SeedManifest(seed, citizens, employees, complaints, historyRows, password,
+                    citizenEmails, employeesByAgency, complaintsByAgency);
+            File parent = manifestFile.getAbsoluteFile().getParentFile();
+            if (parent != null) {
+                parent.mkdirs();
+            }
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(manifestFile, manifest);
+            log("Manifest written to %s", manifestFile);
+        }
+    }
+
+    private List<String> seedCitizens(CopyManager copy, long roleId, String passwordHash) throws SQLException {
+        log("Seeding %,d citizens", citizens);
+        List<String> sample = new ArrayList<>(MANIFEST_CITIZENS);
+        try (CopyWriter users = new CopyWriter(copy, "users", "id, first_name, last_name, email, password, status, role_id")) {
+            for (long i = 0; i < citizens; i++) {
+                String email = citizenEmail(i);
+                users.field(firstCitizenId + i).field("مواطن").field(Long.toString(i)).field(email)
+                        .field(passwordHash).field(UserStatus.ACTIVE).field(roleId);
+                users.endRow();
+                if (sample.size() < MANIFEST_CITIZENS) {
+                    sample.add(email);
+                }
+            }
+        }
+        try (CopyWriter rows = new CopyWriter(copy, "citizens", "id, created_at, updated_at")) {
+            for (long i = 0; i < citizens; i++) {
+                LocalDateTime createdAt = now.minusDays(historyMonths * 30L).plusMinutes(i % 100_000);
+                rows.field(firstCitizenId + i).field(createdAt).field(createdAt);
+                rows.endRow();
+            }
+        }
+        return sample;
+    }
+
+    private Map<String, List<String>> seedEmployees(CopyManager copy, long roleId, String passwordHash) throws SQLException {
+        log("Seeding %,d employees", employees);
+        Map<String, List<String>> sample = new LinkedHashMap<>();
+        try (CopyWriter users = new CopyWriter(copy, "users", "id, first_name, last_name, email, password, position, status, role_id")) {
+            for (long i = 0; i < employees; i++) {
+                String email = employeeEmail(i);
+                users.field(firstEmployeeId + i).field("موظف").field(Long.toString(i)).field(email)
+                        .field(passwordHash).field("موظف معالجة شكاوى").field(UserStatus.ACTIVE).field(roleId);
+                users.endRow();
+                List<String> agencyEmails = sample.computeIfAbsent(employeeAgency(i).name(), k -> new ArrayList<>());
+                if (agencyEmails.size() < MANIFEST_EMPLOYEES_PER_AGENCY) {
+                    agencyEmails.add(email);
+                }
+            }
+        }
+        try (CopyWriter rows = new CopyWriter(copy, "employees", "id, government_agency, phone_number, date_of_hire")) {
+            for (long i = 0; i < employees; i++) {
+                rows.field(firstEmployeeId + i).field(employeeAgency(i))
+                        .field(String.format("09%08d", i)).field(LocalDate.now().minusDays(i % 3650));
+                rows.endRow();
+            }
+        }
+        return sample;
+    }
+
+    private Map<String, List<Long>> seedComplaints(CopyManager copy) throws SQLException {
+        log("Seeding %,d complaints", complaints);
+        Map<String, List<Long>> sample = new LinkedHashMap<>();
+        try (CopyWriter rows = new CopyWriter(copy, "complaints",
+                "id, complaint_type, governorate, government_agency, location, description, solution_suggestion, status, "
+                        + "response, responded_at, responded_by, tracking_number, version, citizen_id, created_at, updated_at, created_by")) {
+            for (long i = 0; i < complaints; i++) {
+                ComplaintRow c = complaint(i);
+                boolean answered = c.status != ComplaintStatus.PENDING;
+                rows.field(c.id).field(c.type).field(c.governorate).field(c.agency)
+                        .field(c.governorate.getLabel() + " - الحي " + (c.id % 97) + " - شارع " + (c.id % 41))
+                        .field(description(c))
+                        .field(c.id % 3 == 0 ? "متابعة المعاملة وتحديد مهلة زمنية واضحة لإنجازها" : null)
+                        .field(c.status)
+                        .field(answered ? "تمت مراجعة الشكوى من قبل الجهة المختصة" : null)
+                        .field(answered ? c.respondedAt : null)
+                        .field(answered ? c.employeeId : null)
+                        .field("LT-" + c.createdAt.toLocalDate().toString().replace("-", "") + "-" + Long.toString(c.id, 36).toUpperCase())
+                        .field(answered ? 1 : 0)
+                        .field(c.citizenId)
+                        .field(c.createdAt)
+                        .field(answered ? c.respondedAt : c.createdAt)
+                        .field(c.citizenId);
+                rows.endRow();
+                List<Long> agencyIds = sample.computeIfAbsent(c.agency.name(), k -> new ArrayList<>());
+                if (agencyIds.size() < MANIFEST_COMPLAINTS_PER_AGENCY) {
+                    agencyIds.add(c.id);
+                }
+                progress(rows, "complaints");
+            }
+        }
+        return sample;
+    }
+
+    private long seedHistory(CopyManager copy, long firstHistoryId) throws SQLException {
+        log("Seeding complaint history");
+        long nextId = firstHistoryId;
+        try (CopyWriter rows = new CopyWriter(copy, "complaint_history",
+                "id, complaint_id, actor_id, action_type, field_changed, old_value, new_value, action_description, created_at, updated_at, created_by")) {
+            for (long i = 0; i < complaints; i++) {
+                ComplaintRow c = complaint(i);
+                rows.field(nextId++).field(c.id).field(c.citizenId).field(HistoryActionType.CREATED)
+                        .field(null).field(null).field(null)
+                        .field("تم إنشاء الشكوى من قبل مواطن " + (c.citizenId - firstCitizenId))
+                        .field(c.createdAt).field(c.createdAt).field(c.citizenId);
+                rows.endRow();
+                if (c.status == ComplaintStatus.PENDING) {
+                    continue;
+                }
+                LocalDateTime lockedAt = c.createdAt.plusMinutes((c.respondedAt.getMinute() + 1) * 7L);
+                if (lockedAt.isAfter(c.respondedAt)) {
+                    lockedAt = c.respondedAt;
+                }
+                rows.field(nextId++).field(c.id).field(c.employeeId).field(HistoryActionType.STATUS_CHANGED)
+                        .field("status").field(ComplaintStatus.PENDING).field(ComplaintStatus.IN_PROGRESS)
+                        .field("تم تغيير حالة الشكوى من 'قيد الانتظار' إلى 'قيد المعالجة'")
+                        .field(lockedAt).field(lockedAt).field(c.employeeId);
+                rows.endRow();
+                if (c.status != ComplaintStatus.IN_PROGRESS) {
+                    rows.field(nextId++).field(c.id).field(c.employeeId).field(HistoryActionType.STATUS_CHANGED)
+                            .field("status").field(ComplaintStatus.IN_PROGRESS).field(c.status)
+                            .field("تم تغيير حالة الشكوى من 'قيد المعالجة' إلى '" + c.status.name() + "'")
+                            .field(c.respondedAt).field(c.respondedAt).field(c.employeeId);
+                    rows.endRow();
+                }
+                progress(rows, "history rows");
+            }
+            return rows.rows();
+        }
+    }
+
+    /**
+     * Derives every attribute of complaint {@code index} from the seed, so the complaint and history passes agree
+     * without holding millions of rows in memory.
+     */
+    private ComplaintRow complaint(long index) {
+        SplittableRandom random = new SplittableRandom(seed * 0x9E3779B97F4A7C15L + index);
+        GovernmentAgencyType agency = AGENCIES[pick(AGENCY_WEIGHTS, random.nextDouble())];
+        Governorate governorate = GOVERNORATES[pick(GOVERNORATE_WEIGHTS, random.nextDouble())];
+        ComplaintType type = TYPES[random.nextInt(TYPES.length)];
+
+        double s = random.nextDouble();
+        ComplaintStatus status = s < 0.40 ? ComplaintStatus.PENDING
+                : s < 0.60 ? ComplaintStatus.IN_PROGRESS
+                : s < 0.90 ? ComplaintStatus.RESOLVED
+                : s < 0.95 ? ComplaintStatus.REJECTED
+                : ComplaintStatus.CLOSED;
+
+        // Skewed towards recent complaints
+        long spanSeconds = historyMonths * 30L * 24 * 3600;
+        LocalDateTime createdAt = now.minusSeconds((long) (spanSeconds * Math.pow(random.nextDouble(), 2)));
+        LocalDateTime respondedAt = createdAt.plusHours(1 + random.nextInt(24 * 14));
+        if (respondedAt.isAfter(now)) {
+            respondedAt = now;
+        }
+
+        long citizenId = firstCitizenId + random.nextLong(citizens);
+        long employeeId = employeeOf(agency, random);
+        return new ComplaintRow(firstComplaintId + index, type, governorate, agency, status, citizenId, employeeId,
+                createdAt, respondedAt);
+    }
+
+    private long employeeOf(GovernmentAgencyType agency, SplittableRandom random) {
+        // Employees are assigned round-robin, so agency k owns indexes k, k + n, k + 2n, ...
+        long perAgency = employees / AGENCIES.length;
+        if (perAgency == 0) {
+            return firstEmployeeId + (agency.ordinal() % employees);
+        }
+        return firstEmployeeId + agency.ordinal() + AGENCIES.length * random.nextLong(perAgency);
+    }
+
+    private GovernmentAgencyType employeeAgency(long index) {
+        return AGENCIES[(int) (index % AGENCIES.length)];
+    }
+
+    private String description(ComplaintRow c) {
+        return "شكوى بخصوص " + c.type.getLabel() + " لدى " + c.agency.getLabel()
+                + ". تم تقديم الطلب منذ فترة طويلة دون أي رد واضح، ويرجى متابعة الموضوع وإبلاغ المواطن بالنتيجة. رقم مرجعي " + c.id;
+    }
+
+    private String citizenEmail(long index) {
+        return "citizen-" + seed + "-" + index + "@" + EMAIL_DOMAIN;
+    }
+
+    private String employeeEmail(long index) {
+        return "employee-" + seed + "-" + index + "@" + EMAIL_DOMAIN;
+    }
+
+    private static void requireSchema(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT to_regclass('public.complaints') IS NOT NULL")) {
+            rs.next();
+            if (!rs.getBoolean(1)) {
+                throw new IllegalStateException("Schema not found - start the application once so the Flyway migrations run");
+            }
+        }
+    }
+
+    /**
+     * Back-dated rows would otherwise all land in the DEFAULT partitions (V7 only creates months from today on).
+     */
+    private void createPartitions(Connection connection) throws SQLException {
+        try (var statement = connection.prepareStatement("SELECT create_monthly_partitions(?, ?, ?)")) {
+            for (String table : List.of("complaints", "complaint_history")) {
+                statement.setString(1, table);
+                statement.setObject(2, now.toLocalDate().minusDays(historyMonths * 30L + 1));
+                statement.setObject(3, now.toLocalDate());
+                statement.executeQuery().close();
+            }
+        }
+    }
+
+    private static void reset(Connection connection) throws SQLException {
+        log("Removing previously seeded data");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("TRUNCATE complaint_history, complaint_attachments, complaints, complaint_tracking_numbers, "
+                    + "complaint_history_archive, complaint_attachments_archive, complaints_archive, complaint_leases");
+            String seeded = "SELECT id FROM users WHERE email LIKE '%@" + EMAIL_DOMAIN + "'";
+            statement.execute("DELETE FROM citizens WHERE id IN (" + seeded + ")");
+            statement.execute("DELETE FROM employees WHERE id IN (" + seeded + ")");
+            statement.execute("DELETE FROM users WHERE email LIKE '%@" + EMAIL_DOMAIN + "'");
+        }
+    }
+
+    private static long roleId(Connection connection, String name) throws SQLException {
+        try (var statement = connection.prepareStatement("SELECT id FROM roles WHERE name = ?")) {
+            statement.setString(1, name);
+            try (ResultSet rs = statement.executeQuery()) {
+                if (!rs.next()) {
+                    throw new IllegalStateException("Role " + name + " not found - start the application once to create system roles");
+                }
+                return rs.getLong(1);
+            }
+        }
+    }
+
+    /**
+     * Reserves a contiguous block of ids from the sequence the entities use. Run with the application stopped:
+     * entities are inserted with allocationSize = 1, so a concurrent nextval could land inside the block.
+     */
+    private static long reserveIds(Connection connection, long count) throws SQLException {
+        if (count == 0) {
+            return 0;
+        }
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT setval('global_id_seq', nextval('global_id_seq') + " + (count - 1) + ")")) {
+            rs.next();
+            return rs.getLong(1) - count + 1;
+        }
+    }
+
+    static int pick(double[] cumulativeWeights, double r) {
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (r < cumulativeWeights[i]) {
+                return i;
+            }
+        }
+        return cumulativeWeights.length - 1;
+    }
+
+    static double[] zipf(int n, double exponent) {
+        double[] cumulative = new double[n];
+        double total = 0;
+        for (int i = 0; i < n; i++) {
+            total += 1 / Math.pow(i + 1, exponent);
+            cumulative[i] = total;
+        }
+        for (int i = 0; i < n; i++) {
+            cumulative[i] /= total;
+        }
+        return cumulative;
+    }
+
+    private static void progress(CopyWriter rows, String what) {
+        if (rows.rows() % 1_000_000 == 0) {
+            log("  %,d %s", rows.rows(), what);
+        }
+    }
+
+    private static void log(String format, Object... args) {
+        System.out.printf("[seed] " + format + "%n", args);
+    }
+
+    private record ComplaintRow(long id, ComplaintType type, Governorate governorate, GovernmentAgencyType agency,
+                                ComplaintStatus status, long citizenId, long employeeId,
+                                LocalDateTime createdAt, LocalDateTime respondedAt) {
+    }
+}
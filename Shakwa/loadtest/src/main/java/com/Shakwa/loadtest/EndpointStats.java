@@ -0,0 +1,53 @@
+package com.Shakwa.loadtest;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Latency histogram and outcome counters of one endpoint. Latencies are recorded in microseconds.
+ */
+final class EndpointStats {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    private final String name;
+    private final Histogram histogram = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+    private final LongAdder errors = new LongAdder();
+    private final Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+
+    EndpointStats(String name) {
+        this.name = name;
+    }
+
+    String name() {
+        return name;
+    }
+
+    /**
+     * @param outcome HTTP status code, or a short reason ("timeout", "io", "dropped") when there is no response
+     */
+    void record(long latencyNanos, String outcome, boolean error) {
+        histogram.recordValue(Math.min(Math.max(1, latencyNanos / 1_000), HIGHEST_TRACKABLE_MICROS));
+        outcomes.computeIfAbsent(outcome, k -> new LongAdder()).increment();
+        if (error) {
+            errors.increment();
+        }
+    }
+
+    Histogram histogram() {
+        return histogram;
+    }
+
+    long errors() {
+        return errors.sum();
+    }
+
+    Map<String, LongAdder> outcomes() {
+        return outcomes;
+    }
+}
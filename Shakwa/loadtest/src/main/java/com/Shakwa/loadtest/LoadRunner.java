@@ -0,0 +1,196 @@
+package com.Shakwa.loadtest;
+
+import java.io.File;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import com.Shakwa.loadtest.Workload.Operation;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Drives the {@link Workload} against a running instance in one of two models:
+ * <ul>
+ *   <li><b>closed</b>: a fixed number of virtual users, each sending its next request after the previous response
+ *       plus an exponentially distributed think time. Throughput is an output; use it to find capacity.</li>
+ *   <li><b>open</b>: requests arrive at a fixed rate (Poisson or uniform) regardless of how fast the server answers,
+ *       like real citizens. Latency is measured from the scheduled arrival, so queueing is not hidden
+ *       (no coordinated omission). Use it to check latency at a target rate.</li>
+ * </ul>
+ * Requests in the warm-up period are executed but not recorded.
+ */
+final class LoadRunner {
+
+    private final Options options;
+
+    LoadRunner(Options options) {
+        this.options = options;
+    }
+
+    void run() throws Exception {
+        String model = options.get("model", "closed");
+        Duration warmup = options.getDuration("warmup", Duration.ofSeconds(30));
+        Duration duration = options.getDuration("duration", Duration.ofMinutes(5));
+        long seed = options.getLong("seed", 42);
+        File manifestFile = new File(options.get("manifest", "loadtest-data/seed-manifest.json"));
+
+        SeedManifest manifest = new ObjectMapper().readValue(manifestFile, SeedManifest.class);
+        ApiClient client = new ApiClient(options.get("base-url", "http://localhost:8080"),
+                options.getDuration("timeout", Duration.ofSeconds(30)));
+        Workload workload = new Workload(client, manifest, options);
+
+        int citizenSessions = options.getInt("citizen-sessions", 200);
+        int employeeSessions = options.getInt("employee-sessions", 100);
+        log("Logging in %d citizens and %d employees", citizenSessions, employeeSessions);
+        workload.login(citizenSessions, employeeSessions);
+
+        Map<Operation, EndpointStats> warmupStats = newStats();
+        Map<Operation, EndpointStats> measuredStats = newStats();
+        Recording recording = new Recording(warmupStats);
+
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+        Thread switcher = Thread.ofVirtual().start(() -> {
+            LockSupport.parkNanos(measureFrom - System.nanoTime());
+            recording.stats = measuredStats;
+            log("Warm-up done, measuring for %ds", duration.toSeconds());
+        });
+
+        Map<String, Object> run = new LinkedHashMap<>();
+        run.put("label", options.get("label", ""));
+        run.put("startedAt", LocalDateTime.now().withNano(0).toString());
+        run.put("model", model);
+        run.put("baseUrl", options.get("base-url", "http://localhost:8080"));
+        run.put("warmupSeconds", warmup.toSeconds());
+        run.put("durationSeconds", duration.toSeconds());
+        run.put("seed", seed);
+        run.put("mix", workload.describeMix());
+        run.put("dataset", String.format("%d complaints, %d citizens, %d employees (seed %d)",
+                manifest.complaints(), manifest.citizens(), manifest.employees(), manifest.seed()));
+
+        switch (model) {
+            case "closed" -> {
+                int users = options.getInt("users", 50);
+                Duration thinkTime = options.getDuration("think-time", Duration.ofMillis(500));
+                run.put("users", users);
+                run.put("thinkTimeMillis", thinkTime.toMillis());
+                log("Closed model: %d users, mean think time %dms", users, thinkTime.toMillis());
+                runClosed(workload, recording, users, thinkTime, seed, end);
+            }
+            case "open" -> {
+                double rate = options.getDouble("rate", 50);
+                String arrivals = options.get("arrivals", "poisson");
+                int maxInFlight = options.getInt("max-in-flight", 2_000);
+                run.put("ratePerSecond", rate);
+                run.put("arrivals", arrivals);
+                run.put("maxInFlight", maxInFlight);
+                log("Open model: %.1f req/s (%s arrivals), at most %d in flight", rate, arrivals, maxInFlight);
+                long dropped = runOpen(workload, recording, rate, "poisson".equals(arrivals), maxInFlight, seed, end);
+                run.put("dropped", dropped);
+            }
+            default -> throw new IllegalArgumentException("Unknown model: " + model + " (closed|open)");
+        }
+        switcher.join();
+
+        Report report = Report.of(run, measuredStats.values(), duration.toNanos() / 1e9);
+        String name = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").format(LocalDateTime.now()) + "-" + model;
+        File dir = new File(options.get("report-dir", "loadtest-reports"));
+        report.write(new File(dir, name + ".json"), new File(dir, name + ".md"));
+        System.out.println();
+        System.out.println(report.toMarkdown());
+        log("Report written to %s", new File(dir, name + ".json"));
+    }
+
+    private void runClosed(Workload workload, Recording recording, int users, Duration thinkTime, long seed, long end)
+            throws InterruptedException {
+        double meanThinkNanos = thinkTime.toNanos();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int u = 0; u < users; u++) {
+                SplittableRandom random = new SplittableRandom(seed * 1_000_003L + u);
+                executor.execute(() -> {
+                    // Stagger user start over one think time so they do not fire in lockstep
+                    LockSupport.parkNanos((long) (random.nextDouble() * meanThinkNanos));
+                    while (System.nanoTime() < end && !Thread.currentThread().isInterrupted()) {
+                        Operation operation = workload.next(random);
+                        workload.execute(operation, random, recording.stats, System.nanoTime());
+                        if (meanThinkNanos > 0) {
+                            LockSupport.parkNanos((long) (-Math.log(1 - random.nextDouble()) * meanThinkNanos));
+                        }
+                    }
+                });
+            }
+            executor.shutdown();
+            executor.awaitTermination(end - System.nanoTime() + TimeUnit.MINUTES.toNanos(1), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private long runOpen(Workload workload, Recording recording, double rate, boolean poisson, int maxInFlight,
+                         long seed, long end) throws InterruptedException {
+        SplittableRandom scheduleRandom = new SplittableRandom(seed);
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        AtomicLong dropped = new AtomicLong();
+        double meanGapNanos = 1e9 / rate;
+        long next = System.nanoTime();
+        long index = 0;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            while (next < end) {
+                long wait = next - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                long intendedStart = next;
+                SplittableRandom random = new SplittableRandom(seed * 1_000_003L + index++);
+                Operation operation = workload.next(random);
+                Map<Operation, EndpointStats> stats = recording.stats;
+                if (inFlight.tryAcquire()) {
+                    executor.execute(() -> {
+                        try {
+                            workload.execute(operation, random, stats, intendedStart);
+                        } finally {
+                            inFlight.release();
+                        }
+                    });
+                } else {
+                    // The generator is saturated; count the arrival instead of silently slowing down
+                    dropped.incrementAndGet();
+                    stats.get(operation).record(System.nanoTime() - intendedStart, "dropped", true);
+                }
+                next += poisson ? (long) (-Math.log(1 - scheduleRandom.nextDouble()) * meanGapNanos) : (long) meanGapNanos;
+            }
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+        return dropped.get();
+    }
+
+    private static Map<Operation, EndpointStats> newStats() {
+        Map<Operation, EndpointStats> stats = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new EndpointStats(operation.endpoint));
+        }
+        return stats;
+    }
+
+    private static final class Recording {
+        volatile Map<Operation, EndpointStats> stats;
+
+        Recording(Map<Operation, EndpointStats> stats) {
+            this.stats = stats;
+        }
+    }
+
+    private static void log(String format, Object... args) {
+        System.out.printf("[run] " + format + "%n", args);
+    }
+}
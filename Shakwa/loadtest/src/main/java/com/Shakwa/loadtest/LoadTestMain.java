@@ -0,0 +1,49 @@
+package com.Shakwa.loadtest;
+
+import java.io.File;
+
+/**
+ * Entry point of the load-test jar.
+ *
+ * <pre>
+ * java -jar loadtest.jar seed    [--jdbc-url=... --complaints=2000000 --citizens=200000 --employees=2000 --seed=42 --reset=true]
+ * java -jar loadtest.jar run     [--base-url=... --model=closed|open --users=50 --rate=100 --warmup=30s --duration=5m]
+ * java -jar loadtest.jar compare &lt;baseline.json&gt; &lt;current.json&gt; [thresholdPercent]
+ * </pre>
+ * See loadtest/README.md for all options.
+ */
+public final class LoadTestMain {
+
+    private LoadTestMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            usage();
+            System.exit(2);
+        }
+        switch (args[0]) {
+            case "seed" -> new DataSeeder(Options.parse(args, 1)).run();
+            case "run" -> new LoadRunner(Options.parse(args, 1)).run();
+            case "compare" -> {
+                if (args.length < 3) {
+                    usage();
+                    System.exit(2);
+                }
+                double threshold = args.length > 3 ? Double.parseDouble(args[3]) : 10.0;
+                System.exit(ReportCompare.compare(new File(args[1]), new File(args[2]), threshold));
+            }
+            default -> {
+                usage();
+                System.exit(2);
+            }
+        }
+        // HttpClient and executors may hold non-daemon threads
+        System.exit(0);
+    }
+
+    private static void usage() {
+        System.err.println("Usage: loadtest.jar seed|run [--key=value ...]");
+        System.err.println("       loadtest.jar compare <baseline.json> <current.json> [thresholdPercent]");
+    }
+}
@@ -0,0 +1,103 @@
+package com.Shakwa.loadtest;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.HdrHistogram.Histogram;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Result of one load-test run. The JSON form is stable so runs can be diffed with {@link ReportCompare};
+ * latencies are in milliseconds and throughput in requests per second over the measured window.
+ */
+record Report(Map<String, Object> run, List<Endpoint> endpoints) {
+
+    record Endpoint(
+            String name,
+            long count,
+            long errors,
+            double errorRate,
+            double throughput,
+            double mean,
+            double p50,
+            double p90,
+            double p95,
+            double p99,
+            double p999,
+            double max,
+            Map<String, Long> outcomes) {
+    }
+
+    static Report of(Map<String, Object> run, Iterable<EndpointStats> stats, double measuredSeconds) {
+        List<Endpoint> endpoints = new ArrayList<>();
+        Histogram total = new Histogram(3);
+        long totalErrors = 0;
+        Map<String, Long> totalOutcomes = new TreeMap<>();
+        for (EndpointStats endpoint : stats) {
+            Histogram histogram = endpoint.histogram().copy();
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            Map<String, Long> outcomes = new TreeMap<>();
+            endpoint.outcomes().forEach((outcome, count) -> outcomes.put(outcome, count.sum()));
+            outcomes.forEach((outcome, count) -> totalOutcomes.merge(outcome, count, Long::sum));
+            endpoints.add(endpoint(endpoint.name(), histogram, endpoint.errors(), outcomes, measuredSeconds));
+            total.add(histogram);
+            totalErrors += endpoint.errors();
+        }
+        if (total.getTotalCount() > 0) {
+            endpoints.add(endpoint("ALL", total, totalErrors, totalOutcomes, measuredSeconds));
+        }
+        return new Report(run, endpoints);
+    }
+
+    private static Endpoint endpoint(String name, Histogram h, long errors, Map<String, Long> outcomes, double seconds) {
+        long count = h.getTotalCount();
+        return new Endpoint(name, count, errors, round((double) errors / count), round(count / seconds),
+                ms(h.getMean()), ms(h.getValueAtPercentile(50)), ms(h.getValueAtPercentile(90)),
+                ms(h.getValueAtPercentile(95)), ms(h.getValueAtPercentile(99)), ms(h.getValueAtPercentile(99.9)),
+                ms(h.getMaxValue()), outcomes);
+    }
+
+    void write(File json, File markdown) throws IOException {
+        File parent = json.getAbsoluteFile().getParentFile();
+        if (parent != null) {
+            parent.mkdirs();
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(json, this);
+        Files.writeString(markdown.toPath(), toMarkdown(), StandardCharsets.UTF_8);
+    }
+
+    String toMarkdown() {
+        StringBuilder md = new StringBuilder("# Shakwa load test\n\n");
+        run.forEach((key, value) -> md.append("- **").append(key).append("**: ").append(value).append('\n'));
+        md.append("\n| Endpoint | Requests | Errors | Req/s | Mean ms | p50 | p90 | p95 | p99 | p99.9 | Max |\n")
+                .append("|---|---:|---:|---:|---:|---:|---:|---:|---:|---:|---:|\n");
+        for (Endpoint e : endpoints) {
+            md.append(String.format("| %s | %d | %d (%.2f%%) | %.1f | %.1f | %.1f | %.1f | %.1f | %.1f | %.1f | %.1f |%n",
+                    e.name(), e.count(), e.errors(), e.errorRate() * 100, e.throughput(), e.mean(),
+                    e.p50(), e.p90(), e.p95(), e.p99(), e.p999(), e.max()));
+        }
+        md.append("\nOutcomes per endpoint:\n\n");
+        for (Endpoint e : endpoints) {
+            md.append("- ").append(e.name()).append(": ").append(e.outcomes()).append('\n');
+        }
+        return md.toString();
+    }
+
+    private static double ms(double micros) {
+        return round(micros / 1000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000.0) / 1000.0;
+    }
+}
@@ -0,0 +1,62 @@
+package com.Shakwa.loadtest;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Compares two load-test reports endpoint by endpoint (throughput, p50, p99, error rate).
+ * Exits with status 1 if any endpoint's p99 got worse by more than the threshold or its error rate rose
+ * by more than one percentage point.
+ */
+final class ReportCompare {
+
+    private ReportCompare() {
+    }
+
+    static int compare(File baselineFile, File currentFile, double thresholdPercent) throws IOException {
+        Map<String, JsonNode> baseline = endpoints(baselineFile);
+        Map<String, JsonNode> current = endpoints(currentFile);
+        boolean regressed = false;
+
+        System.out.printf("%-42s %10s %10s %10s %10s %10s %10s %9s %9s%n", "Endpoint",
+                "req/s", "req/s now", "p50", "p50 now", "p99", "p99 now", "err%", "err% now");
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            JsonNode now = entry.getValue();
+            JsonNode then = baseline.get(entry.getKey());
+            if (then == null) {
+                System.out.printf("%-42s %10s %10.1f %10s %10.1f %10s %10.1f %9s %9.2f  new%n", entry.getKey(),
+                        "-", now.path("throughput").asDouble(), "-", now.path("p50").asDouble(),
+                        "-", now.path("p99").asDouble(), "-", now.path("errorRate").asDouble() * 100);
+                continue;
+            }
+            double p99Then = then.path("p99").asDouble();
+            double p99Now = now.path("p99").asDouble();
+            double errThen = then.path("errorRate").asDouble() * 100;
+            double errNow = now.path("errorRate").asDouble() * 100;
+            boolean worse = (p99Then > 0 && (p99Now - p99Then) / p99Then * 100 > thresholdPercent) || errNow - errThen > 1.0;
+            regressed |= worse;
+            System.out.printf("%-42s %10.1f %10.1f %10.1f %10.1f %10.1f %10.1f %9.2f %9.2f%s%n", entry.getKey(),
+                    then.path("throughput").asDouble(), now.path("throughput").asDouble(),
+                    then.path("p50").asDouble(), now.path("p50").asDouble(), p99Then, p99Now, errThen, errNow,
+                    worse ? "  REGRESSION" : "");
+        }
+        if (regressed) {
+            System.out.printf("%np99 regressed by more than %.1f%% or error rate rose by more than 1 point%n", thresholdPercent);
+            return 1;
+        }
+        return 0;
+    }
+
+    private static Map<String, JsonNode> endpoints(File file) throws IOException {
+        Map<String, JsonNode> endpoints = new LinkedHashMap<>();
+        for (JsonNode endpoint : new ObjectMapper().readTree(file).path("endpoints")) {
+            endpoints.put(endpoint.path("name").asText(), endpoint);
+        }
+        return endpoints;
+    }
+}
@@ -0,0 +1,24 @@
+package com.Shakwa.loadtest;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Written by {@link DataSeeder} next to the data so the load runner knows which accounts and complaint ids exist.
+ *
+ * @param password          plain-text password shared by every seeded account
+ * @param citizenEmails     sample of seeded citizen accounts used as virtual users
+ * @param employeesByAgency sample of seeded employee accounts per agency (enum name)
+ * @param complaintsByAgency sample of seeded complaint ids per agency (enum name), for history reads
+ */
+record SeedManifest(
+        long seed,
+        long citizens,
+        long employees,
+        long complaints,
+        long historyRows,
+        String password,
+        List<String> citizenEmails,
+        Map<String, List<String>> employeesByAgency,
+        Map<String, List<Long>> complaintsByAgency) {
+}
@@ -0,0 +1,363 @@
+package com.Shakwa.loadtest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+import com.Shakwa.complaint.Enum.ComplaintStatus;
+import com.Shakwa.complaint.Enum.ComplaintType;
+import com.Shakwa.complaint.Enum.Governorate;
+import com.Shakwa.user.Enum.GovernmentAgencyType;
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * The mixed scenario: citizens file complaints with attachments, employees work their agency inbox
+ * (list, filter, respond) and read complaint history. Each operation is exactly one HTTP request,
+ * so per-endpoint statistics map one-to-one to server endpoints.
+ */
+final class Workload {
+
+    enum Operation {
+        CREATE_COMPLAINT("POST /api/v1/complaints (multipart)", "create", 10),
+        LIST_COMPLAINTS("GET /api/v1/complaints", "list", 25),
+        FILTER_COMPLAINTS("GET /api/v1/complaints/filter", "filter", 25),
+        RESPOND("PUT /api/v1/complaints/{id}/respond", "respond", 10),
+        HISTORY("GET /api/v1/complaints/{id}/history", "history", 30),
+        // Contention comparison, off by default: taking pending work by picking from the inbox vs claim-next
+        PICK("PUT /api/v1/complaints/{id}/respond (IN_PROGRESS)", "pick", 0),
+        CLAIM_NEXT("POST /api/v1/complaints/claim-next", "claim", 0);
+
+        final String endpoint;
+        final String key;
+        final int defaultWeight;
+
+        Operation(String endpoint, String key, int defaultWeight) {
+            this.endpoint = endpoint;
+            this.key = key;
+            this.defaultWeight = defaultWeight;
+        }
+    }
+
+    private record Session(String token, GovernmentAgencyType agency) {
+    }
+
+    private record InboxView(List<Long> ids, long fetchedAtNanos) {
+    }
+
+    private static final ComplaintType[] TYPES = ComplaintType.values();
+    private static final Governorate[] GOVERNORATES = Governorate.values();
+    private static final ComplaintStatus[] STATUSES = ComplaintStatus.values();
+    private static final double[] GOVERNORATE_WEIGHTS = DataSeeder.zipf(GOVERNORATES.length, 0.9);
+
+    private final ApiClient client;
+    private final SeedManifest manifest;
+    private final Operation[] operations = Operation.values();
+    private final int[] cumulativeWeights;
+    private final int pageSize;
+    private final List<ApiClient.Attachment> attachments;
+
+    private final List<Session> citizens = new ArrayList<>();
+    private final List<Session> employees = new ArrayList<>();
+    // PENDING complaint ids seen in filter results, consumed by RESPOND
+    private final Map<GovernmentAgencyType, Queue<Long>> respondCandidates = new ConcurrentHashMap<>();
+    // Top of the pending inbox as the agency's employees last saw it, used by PICK until it is refreshed
+    private final Map<GovernmentAgencyType, InboxView> inboxViews = new ConcurrentHashMap<>();
+    private final long inboxRefreshNanos;
+
+    Workload(ApiClient client, SeedManifest manifest, Options options) {
+        this.client = client;
+        this.manifest = manifest;
+        this.pageSize = options.getInt("page-size", 20);
+        this.cumulativeWeights = weights(options.get("mix", ""));
+        this.attachments = attachments(options.getInt("attachments", 2), options.getInt("attachment-kb", 200));
+        this.inboxRefreshNanos = options.getDuration("inbox-refresh", Duration.ofSeconds(2)).toNanos();
+    }
+
+    /**
+     * Logs in the virtual user pool up front; logins are not part of the measured mix.
+     */
+    void login(int citizenSessions, int employeeSessions) throws Exception {
+        List<String> citizenEmails = manifest.citizenEmails().subList(0, Math.min(citizenSessions, manifest.citizenEmails().size()));
+        List<Map.Entry<String, GovernmentAgencyType>> employeeEmails = new ArrayList<>();
+        // Spread employee sessions over agencies, heaviest agencies first
+        for (int round = 0; employeeEmails.size() < employeeSessions; round++) {
+            boolean added = false;
+            for (Map.Entry<String, List<String>> agency : manifest.employeesByAgency().entrySet()) {
+                if (round < agency.getValue().size() && employeeEmails.size() < employeeSessions) {
+                    employeeEmails.add(Map.entry(agency.getValue().get(round), GovernmentAgencyType.valueOf(agency.getKey())));
+                    added = true;
+                }
+            }
+            if (!added) {
+                break;
+            }
+        }
+
+        // Logins hash passwords on the server; keep the burst modest
+        Semaphore permits = new Semaphore(16);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Session>> citizenFutures = new ArrayList<>();
+            for (String email : citizenEmails) {
+                citizenFutures.add(executor.submit(() -> login(permits, "/api/v1/citizens/login", email, null)));
+            }
+            List<Future<Session>> employeeFutures = new ArrayList<>();
+            for (Map.Entry<String, GovernmentAgencyType> employee : employeeEmails) {
+                employeeFutures.add(executor.submit(() -> login(permits, "/api/v1/employees/login", employee.getKey(), employee.getValue())));
+            }
+            for (Future<Session> future : citizenFutures) {
+                citizens.add(future.get());
+            }
+            for (Future<Session> future : employeeFutures) {
+                employees.add(future.get());
+            }
+        }
+        if (citizens.isEmpty() || employees.isEmpty()) {
+            throw new IllegalStateException("Need at least one citizen and one employee session");
+        }
+    }
+
+    private Session login(Semaphore permits, String path, String email, GovernmentAgencyType agency) throws Exception {
+        permits.acquire();
+        try {
+            return new Session(client.login(path, email, manifest.password()), agency);
+        } finally {
+            permits.release();
+        }
+    }
+
+    Operation next(SplittableRandom random) {
+        int r = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (r < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    /**
+     * Executes one request and records its latency measured from {@code intendedStartNanos}
+     * (the scheduled start in the open model), so server stalls are not hidden by the load generator.
+     */
+    void execute(Operation operation, SplittableRandom random, Map<Operation, EndpointStats> stats, long intendedStartNanos) {
+        Operation recordedAs = operation;
+        String outcome;
+        boolean error;
+        try {
+            ApiClient.Response response;
+            switch (operation) {
+                case CREATE_COMPLAINT -> response = createComplaint(random);
+                case LIST_COMPLAINTS -> response = client.get(employee(random).token(), "/api/v1/complaints",
+                        Map.of("page", page(random), "size", pageSize));
+                case FILTER_COMPLAINTS -> response = filter(employee(random), random);
+                case RESPOND -> {
+                    Session employee = employee(random);
+                    Long id = respondCandidates.computeIfAbsent(employee.agency(), k -> new ConcurrentLinkedQueue<>()).poll();
+                    if (id == null) {
+                        // Nothing known to respond to yet: the employee looks at the pending inbox first
+                        recordedAs = Operation.FILTER_COMPLAINTS;
+                        response = pendingInbox(employee);
+                    } else {
+                        response = client.put(employee.token(), "/api/v1/complaints/" + id + "/respond",
+                                Map.of("response", "تمت معالجة الشكوى وإبلاغ الجهة المختصة", "status", ComplaintStatus.RESOLVED.name()));
+                    }
+                }
+                case HISTORY -> {
+                    Session employee = employee(random);
+                    List<Long> ids = manifest.complaintsByAgency().get(employee.agency().name());
+                    long id = ids != null && !ids.isEmpty() ? ids.get(random.nextInt(ids.size())) : 0;
+                    response = client.get(employee.token(), "/api/v1/complaints/" + id + "/history",
+                            Map.of("page", 0, "size", 10));
+                }
+                case PICK -> {
+                    Session employee = employee(random);
+                    InboxView view = inboxViews.get(employee.agency());
+                    if (view == null || view.ids().isEmpty() || System.nanoTime() - view.fetchedAtNanos() > inboxRefreshNanos) {
+                        recordedAs = Operation.FILTER_COMPLAINTS;
+                        response = refreshInboxView(employee);
+                    } else {
+                        // Everyone looking at the same inbox goes for one of the first rows
+                        long id = view.ids().get(random.nextInt(Math.min(3, view.ids().size())));
+                        response = client.put(employee.token(), "/api/v1/complaints/" + id + "/respond",
+                                Map.of("response", "جاري معالجة الشكوى", "status", ComplaintStatus.IN_PROGRESS.name()));
+                    }
+                }
+                case CLAIM_NEXT -> response = client.post(employee(random).token(), "/api/v1/complaints/claim-next");
+                default -> throw new IllegalStateException("Unexpected operation " + operation);
+            }
+            outcome = Integer.toString(response.status());
+            error = !response.ok();
+        } catch (HttpTimeoutException e) {
+            outcome = "timeout";
+            error = true;
+        } catch (IOException e) {
+            outcome = "io";
+            error = true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        stats.get(recordedAs).record(System.nanoTime() - intendedStartNanos, outcome, error);
+    }
+
+    private ApiClient.Response createComplaint(SplittableRandom random) throws IOException, InterruptedException {
+        Session citizen = citizens.get(random.nextInt(citizens.size()));
+        Governorate governorate = GOVERNORATES[DataSeeder.pick(GOVERNORATE_WEIGHTS, random.nextDouble())];
+        GovernmentAgencyType agency = GovernmentAgencyType.valueOf(randomKey(manifest.employeesByAgency(), random));
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("complaintType", TYPES[random.nextInt(TYPES.length)]);
+        data.put("governorate", governorate);
+        data.put("governmentAgency", agency);
+        data.put("location", governorate.getLabel() + " - شارع " + random.nextInt(100));
+        data.put("description", "شكوى اختبار حمل: تأخر في إنجاز المعاملة رغم استكمال الأوراق المطلوبة منذ أكثر من شهر.");
+        data.put("solutionSuggestion", "تحديد موعد واضح لإنجاز المعاملة");
+        int files = attachments.isEmpty() ? 0 : random.nextInt(attachments.size() + 1);
+        return client.postMultipart(citizen.token(), "/api/v1/complaints", data, attachments.subList(0, files));
+    }
+
+    private ApiClient.Response filter(Session employee, SplittableRandom random) throws IOException, InterruptedException {
+        if (random.nextInt(3) == 0) {
+            return pendingInbox(employee);
+        }
+        Map<String, Object> query = new LinkedHashMap<>();
+        query.put("governmentAgency", employee.agency().name());
+        query.put("status", STATUSES[random.nextInt(STATUSES.length)].name());
+        if (random.nextBoolean()) {
+            query.put("governorate", GOVERNORATES[DataSeeder.pick(GOVERNORATE_WEIGHTS, random.nextDouble())].name());
+        }
+        if (random.nextInt(4) == 0) {
+            query.put("complaintType", TYPES[random.nextInt(TYPES.length)].name());
+        }
+        query.put("page", page(random));
+        query.put("size", pageSize);
+        return client.get(employee.token(), "/api/v1/complaints/filter", query);
+    }
+
+    private ApiClient.Response pendingInbox(Session employee) throws IOException, InterruptedException {
+        ApiClient.Response response = client.get(employee.token(), "/api/v1/complaints/filter", Map.of(
+                "governmentAgency", employee.agency().name(), "status", ComplaintStatus.PENDING.name(),
+                "page", 0, "size", pageSize));
+        if (response.ok()) {
+            Queue<Long> candidates = respondCandidates.computeIfAbsent(employee.agency(), k -> new ConcurrentLinkedQueue<>());
+            JsonNode content = client.json(response).path("content");
+            for (JsonNode complaint : content) {
+                candidates.offer(complaint.path("id").asLong());
+            }
+        }
+        return response;
+    }
+
+    private ApiClient.Response refreshInboxView(Session employee) throws IOException, InterruptedException {
+        ApiClient.Response response = client.get(employee.token(), "/api/v1/complaints/filter", Map.of(
+                "governmentAgency", employee.agency().name(), "status", ComplaintStatus.PENDING.name(),
+                "page", 0, "size", pageSize));
+        if (response.ok()) {
+            List<Long> ids = new ArrayList<>();
+            for (JsonNode complaint : client.json(response).path("content")) {
+                ids.add(complaint.path("id").asLong());
+            }
+            inboxViews.put(employee.agency(), new InboxView(List.copyOf(ids), System.nanoTime()));
+        }
+        return response;
+    }
+
+    private Session employee(SplittableRandom random) {
+        return employees.get(random.nextInt(employees.size()));
+    }
+
+    // Most traffic hits the first pages, with a long tail of deep pagination
+    private static int page(SplittableRandom random) {
+        double r = random.nextDouble();
+        return r < 0.7 ? 0 : r < 0.9 ? random.nextInt(1, 5) : random.nextInt(5, 50);
+    }
+
+    private int[] weights(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (Operation operation : operations) {
+            weights.put(operation, operation.defaultWeight);
+        }
+        if (!mix.isBlank()) {
+            // e.g. create=10,list=25,filter=25,respond=10,history=30
+            for (String entry : mix.split(",")) {
+                String[] kv = entry.trim().split("=");
+                Operation operation = null;
+                for (Operation candidate : operations) {
+                    if (candidate.key.equals(kv[0])) {
+                        operation = candidate;
+                    }
+                }
+                if (operation == null || kv.length != 2) {
+                    throw new IllegalArgumentException("Unknown mix entry: " + entry);
+                }
+                weights.put(operation, Integer.parseInt(kv[1]));
+            }
+        }
+        int[] cumulative = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += weights.get(operations[i]);
+            cumulative[i] = total;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("Mix weights must add up to more than 0");
+        }
+        return cumulative;
+    }
+
+    String describeMix() {
+        StringBuilder mix = new StringBuilder();
+        int previous = 0;
+        for (int i = 0; i < operations.length; i++) {
+            if (i > 0) {
+                mix.append(',');
+            }
+            mix.append(operations[i].key).append('=').append(cumulativeWeights[i] - previous);
+            previous = cumulativeWeights[i];
+        }
+        return mix.toString();
+    }
+
+    /**
+     * Synthetic PDFs that pass the upload content sniffer (header and %%EOF trailer).
+     */
+    private static List<ApiClient.Attachment> attachments(int count, int sizeKb) {
+        List<ApiClient.Attachment> files = new ArrayList<>(count);
+        byte[] header = "%PDF-1.7\n".getBytes(StandardCharsets.US_ASCII);
+        byte[] trailer = "\ntrailer\n%%EOF\n".getBytes(StandardCharsets.US_ASCII);
+        for (int i = 0; i < count; i++) {
+            ByteArrayOutputStream content = new ByteArrayOutputStream(sizeKb * 1024);
+            content.writeBytes(header);
+            byte[] filler = new byte[Math.max(0, sizeKb * 1024 - header.length - trailer.length)];
+            new SplittableRandom(i).nextBytes(filler);
+            content.writeBytes(filler);
+            content.writeBytes(trailer);
+            files.add(new ApiClient.Attachment("evidence-" + i + ".pdf", "application/pdf", content.toByteArray()));
+        }
+        return files;
+    }
+
+    private static <V> String randomKey(Map<String, V> map, SplittableRandom random) {
+        int index = random.nextInt(map.size());
+        for (String key : map.keySet()) {
+            if (index-- == 0) {
+                return key;
+            }
+        }
+        throw new IllegalStateException("Empty map");
+    }
+}
@@ -0,0 +1,6 @@
+package com.Shakwa.audit.Enum;
+
+public enum AuditStatus {
+    SUCCESS,
+    FAILURE
+}
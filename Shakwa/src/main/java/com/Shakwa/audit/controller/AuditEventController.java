@@ -0,0 +1,50 @@
+package com.Shakwa.audit.controller;
+
+import java.time.LocalDateTime;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.Shakwa.audit.dto.AuditEventDTO;
+import com.Shakwa.audit.service.AuditQueryService;
+import com.Shakwa.user.dto.PaginationDTO;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("api/v1/audit-events")
+@Tag(name = "Audit Trail", description = "APIs for querying the audit trail (platform admins only)")
+public class AuditEventController {
+
+    private final AuditQueryService auditQueryService;
+
+    public AuditEventController(AuditQueryService auditQueryService) {
+        this.auditQueryService = auditQueryService;
+    }
+
+    @GetMapping
+    @Operation(summary = "Search audit events", description = "Paginated audit events filtered by actor, target and time range (newest first)")
+    public ResponseEntity<PaginationDTO<AuditEventDTO>> searchAuditEvents(
+            @Parameter(description = "Actor email")
+            @RequestParam(required = false) String actor,
+            @Parameter(description = "Target type, e.g. COMPLAINT")
+            @RequestParam(required = false) String targetType,
+            @Parameter(description = "Target ID")
+            @RequestParam(required = false) Long targetId,
+            @Parameter(description = "Start of the time range (ISO date-time), defaults to 30 days before 'to'")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "End of the time range (ISO date-time), defaults to now")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @Parameter(description = "Page number (0-indexed)", example = "0")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size", example = "20")
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(auditQueryService.search(actor, targetType, targetId, from, to, page, size));
+    }
+}
@@ -0,0 +1,37 @@
+package com.Shakwa.audit.dto;
+
+import java.time.LocalDateTime;
+
+import com.Shakwa.audit.Enum.AuditStatus;
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditEventDTO {
+
+    private Long id;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime occurredAt;
+
+    private String actor;
+
+    private String action;
+
+    private String targetType;
+
+    private Long targetId;
+
+    private AuditStatus status;
+
+    private String ipAddress;
+
+    private String details;
+}
@@ -0,0 +1,73 @@
+package com.Shakwa.audit.entity;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.Immutable;
+
+import com.Shakwa.audit.Enum.AuditStatus;
+import com.Shakwa.utils.entity.BaseEntity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * Append-only audit trail entry (Feature 04).
+ * Rows are inserted in batches by AuditService over JDBC; this mapping is read-only and only used by queries.
+ */
+@Entity
+@Immutable
+@Data
+@EqualsAndHashCode(callSuper = true)
+@NoArgsConstructor
+@Table(name = "audit_events", indexes = {
+        @Index(name = "idx_audit_events_actor_time", columnList = "actor, occurred_at"),
+        @Index(name = "idx_audit_events_target_time", columnList = "target_type, target_id, occurred_at"),
+        @Index(name = "idx_audit_events_time", columnList = "occurred_at")
+})
+@SequenceGenerator(name = "audit_event_seq", sequenceName = "audit_event_id_seq", allocationSize = 1)
+public class AuditEvent extends BaseEntity {
+
+    @Override
+    protected String getSequenceName() {
+        return "audit_event_id_seq";
+    }
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+
+    /**
+     * Email of the authenticated user, or "anonymous"
+     */
+    @Column(nullable = false)
+    private String actor;
+
+    @Column(nullable = false, length = 100)
+    private String action;
+
+    @Column(name = "target_type", length = 50)
+    private String targetType;
+
+    @Column(name = "target_id")
+    private Long targetId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private AuditStatus status;
+
+    @Column(name = "ip_address", length = 64)
+    private String ipAddress;
+
+    /**
+     * Structured details in JSON format (method, result type, sanitized arguments, error)
+     */
+    @Column(columnDefinition = "TEXT")
+    private String details;
+}
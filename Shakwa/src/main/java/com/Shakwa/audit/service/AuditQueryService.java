@@ -0,0 +1,91 @@
+package com.Shakwa.audit.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+import com.Shakwa.audit.dto.AuditEventDTO;
+import com.Shakwa.audit.entity.AuditEvent;
+import com.Shakwa.audit.repository.AuditEventRepository;
+import com.Shakwa.user.dto.PaginationDTO;
+import com.Shakwa.user.repository.CitizenRepo;
+import com.Shakwa.user.repository.EmployeeRepository;
+import com.Shakwa.user.repository.UserRepository;
+import com.Shakwa.user.service.BaseSecurityService;
+import com.Shakwa.utils.exception.RequestNotValidException;
+import com.Shakwa.utils.exception.UnAuthorizedException;
+
+/**
+ * Admin queries over the audit trail. Every query is bounded by a time range (default: last 30 days,
+ * at most 1 year) so it only touches the matching monthly partitions and the (…, occurred_at) indexes.
+ */
+@Service
+@Transactional(readOnly = true)
+public class AuditQueryService extends BaseSecurityService {
+
+    private static final Duration DEFAULT_RANGE = Duration.ofDays(30);
+    private static final Duration MAX_RANGE = Duration.ofDays(366);
+    private static final int MAX_PAGE_SIZE = 200;
+
+    private final AuditEventRepository auditEventRepository;
+
+    public AuditQueryService(AuditEventRepository auditEventRepository,
+                             UserRepository userRepository,
+                             CitizenRepo citizenRepo,
+                             EmployeeRepository employeeRepository) {
+        super(userRepository, citizenRepo, employeeRepository);
+        this.auditEventRepository = auditEventRepository;
+    }
+
+    public PaginationDTO<AuditEventDTO> search(String actor, String targetType, Long targetId,
+                                               LocalDateTime from, LocalDateTime to, int page, int size) {
+        if (!isAdmin()) {
+            throw new UnAuthorizedException("Only platform admins can access the audit trail");
+        }
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime start = from != null ? from : end.minus(DEFAULT_RANGE);
+        if (start.isAfter(end)) {
+            throw new RequestNotValidException("'from' must be before 'to'");
+        }
+        if (Duration.between(start, end).compareTo(MAX_RANGE) > 0) {
+            throw new RequestNotValidException("Time range must not exceed one year");
+        }
+
+        Specification<AuditEvent> spec = (root, query, cb) -> cb.between(root.get("occurredAt"), start, end);
+        if (StringUtils.hasText(actor)) {
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("actor"), actor));
+        }
+        if (StringUtils.hasText(targetType)) {
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("targetType"), targetType));
+        }
+        if (targetId != null) {
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("targetId"), targetId));
+        }
+
+        PageRequest pageRequest = PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE),
+                Sort.by(Sort.Direction.DESC, "occurredAt"));
+        Page<AuditEventDTO> events = auditEventRepository.findAll(spec, pageRequest).map(this::toDto);
+        return PaginationDTO.of(events);
+    }
+
+    private AuditEventDTO toDto(AuditEvent event) {
+        return AuditEventDTO.builder()
+                .id(event.getId())
+                .occurredAt(event.getOccurredAt())
+                .actor(event.getActor())
+                .action(event.getAction())
+                .targetType(event.getTargetType())
+                .targetId(event.getTargetId())
+                .status(event.getStatus())
+                .ipAddress(event.getIpAddress())
+                .details(event.getDetails())
+                .build();
+    }
+}
@@ -0,0 +1,23 @@
+package com.Shakwa.audit.service;
+
+import java.time.LocalDateTime;
+
+import com.Shakwa.audit.Enum.AuditStatus;
+
+/**
+ * Raw audit data captured on the calling thread. Details are serialized by the AuditService writer.
+ */
+public record AuditRecord(
+        LocalDateTime occurredAt,
+        String actor,
+        String action,
+        String targetType,
+        Long targetId,
+        AuditStatus status,
+        String ipAddress,
+        String method,
+        String resultType,
+        Object[] arguments,
+        String errorType,
+        String errorMessage) {
+}
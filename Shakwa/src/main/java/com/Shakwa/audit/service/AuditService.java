@@ -0,0 +1,197 @@
+package com.Shakwa.audit.service;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Records audit events into the append-only audit_events table.
+ *
+ * {@link #record} only enqueues; a background writer drains the queue and inserts rows with JDBC batch inserts,
+ * so audited service methods (createComplaint, updateComplaint, respondToComplaint) do not wait on the audit write.
+ * Audit data must not be lost: if the queue is full the event is written synchronously on the caller thread,
+ * and batches that keep failing are logged in full before giving up.
+ */
+@Service
+public class AuditService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditService.class);
+
+    private static final String INSERT_SQL = "INSERT INTO audit_events " +
+            "(id, occurred_at, actor, action, target_type, target_id, status, ip_address, details) " +
+            "VALUES (nextval('global_id_seq'), ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final int MAX_WRITE_ATTEMPTS = 3;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final BlockingQueue<AuditRecord> queue;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final Thread writerThread;
+    private volatile boolean running = true;
+
+    private final Timer batchTimer;
+    private final Counter writtenCounter;
+    private final Counter overflowCounter;
+    private final Counter failedCounter;
+
+    public AuditService(JdbcTemplate jdbcTemplate,
+                        ObjectMapper objectMapper,
+                        MeterRegistry meterRegistry,
+                        @Value("${audit.queue-capacity:10000}") int queueCapacity,
+                        @Value("${audit.batch-size:200}") int batchSize,
+                        @Value("${audit.flush-interval:PT1S}") Duration flushInterval) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushInterval.toMillis();
+        this.writerThread = new Thread(this::writeLoop, "audit-writer");
+        this.writerThread.setDaemon(true);
+
+        this.batchTimer = Timer.builder("shakwa.audit.batch.duration")
+                .description("Time to insert one batch of audit events")
+                .register(meterRegistry);
+        this.writtenCounter = Counter.builder("shakwa.audit.written").register(meterRegistry);
+        this.overflowCounter = Counter.builder("shakwa.audit.overflow")
+                .description("Audit events written synchronously because the queue was full")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("shakwa.audit.failed")
+                .description("Audit events that could not be stored")
+                .register(meterRegistry);
+        Gauge.builder("shakwa.audit.queue.size", queue, BlockingQueue::size).register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        writerThread.start();
+    }
+
+    /**
+     * Enqueues an audit event without blocking.
+     */
+    public void record(AuditRecord record) {
+        if (!queue.offer(record)) {
+            overflowCounter.increment();
+            insert(List.of(record));
+        }
+    }
+
+    private void writeLoop() {
+        List<AuditRecord> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                AuditRecord first = queue.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                insert(batch);
+            } catch (InterruptedException e) {
+                // Shutdown: the loop condition drains what is left
+                running = false;
+            } catch (Exception e) {
+                logger.error("Audit writer failed", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void insert(List<AuditRecord> records) {
+        for (int attempt = 1; attempt <= MAX_WRITE_ATTEMPTS; attempt++) {
+            try {
+                batchTimer.record(() -> jdbcTemplate.batchUpdate(INSERT_SQL, records, records.size(), this::bind));
+                writtenCounter.increment(records.size());
+                return;
+            } catch (RuntimeException e) {
+                if (attempt == MAX_WRITE_ATTEMPTS) {
+                    failedCounter.increment(records.size());
+                    // Last resort: keep the trail in the application log
+                    for (AuditRecord record : records) {
+                        logger.error("AUDIT_WRITE_FAILED {} | {}", record, details(record), e);
+                    }
+                    return;
+                }
+                logger.warn("Audit batch insert failed (attempt {}), retrying: {}", attempt, e.getMessage());
+                sleepQuietly(attempt * 200L);
+            }
+        }
+    }
+
+    private void bind(PreparedStatement ps, AuditRecord record) throws SQLException {
+        ps.setTimestamp(1, Timestamp.valueOf(record.occurredAt()));
+        ps.setString(2, record.actor());
+        ps.setString(3, record.action());
+        ps.setString(4, record.targetType());
+        if (record.targetId() != null) {
+            ps.setLong(5, record.targetId());
+        } else {
+            ps.setNull(5, Types.BIGINT);
+        }
+        ps.setString(6, record.status().name());
+        ps.setString(7, record.ipAddress());
+        ps.setString(8, details(record));
+    }
+
+    private String details(AuditRecord record) {
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("method", record.method());
+        if (record.arguments() != null) {
+            details.put("arguments", record.arguments());
+        }
+        if (record.resultType() != null) {
+            details.put("resultType", record.resultType());
+        }
+        if (record.errorType() != null) {
+            details.put("error", record.errorType());
+            details.put("errorMessage", record.errorMessage());
+        }
+        try {
+            return objectMapper.writeValueAsString(details);
+        } catch (JsonProcessingException e) {
+            return details.toString();
+        }
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        writerThread.interrupt();
+        writerThread.join(TimeUnit.SECONDS.toMillis(10));
+    }
+}
@@ -0,0 +1,32 @@
+package com.Shakwa.complaint.Enum;
+
+/**
+ * أنواع التغييرات التي تُبث في البث المباشر للشكاوى (SSE)
+ */
+public enum ComplaintChangeType {
+
+    /**
+     * إنشاء شكوى جديدة
+     */
+    CREATED,
+
+    /**
+     * تغيير حالة الشكوى
+     */
+    STATUS_CHANGED,
+
+    /**
+     * الرد على الشكوى
+     */
+    RESPONDED,
+
+    /**
+     * تعديل بيانات الشكوى أو مرفقاتها دون تغيير الحالة
+     */
+    UPDATED,
+
+    /**
+     * حذف الشكوى
+     */
+    DELETED
+}
@@ -0,0 +1,54 @@
+package com.Shakwa.complaint.Enum;
+
+import org.springframework.http.MediaType;
+
+import com.Shakwa.utils.exception.RequestNotValidException;
+
+/**
+ * صيغ ملفات استيراد الشكاوى
+ */
+public enum ComplaintImportFormat {
+
+    /**
+     * CSV بسطر عناوين بأسماء حقول ComplaintDTORequest
+     */
+    CSV("text/csv"),
+
+    /**
+     * كائن JSON واحد في كل سطر
+     */
+    NDJSON("application/x-ndjson");
+
+    private final String mediaType;
+
+    ComplaintImportFormat(String mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public static ComplaintImportFormat fromContentType(String contentType) {
+        if (contentType != null) {
+            MediaType type = MediaType.parseMediaType(contentType);
+            for (ComplaintImportFormat format : values()) {
+                if (MediaType.parseMediaType(format.mediaType).includes(type)) {
+                    return format;
+                }
+            }
+        }
+        throw new RequestNotValidException("Import content type must be text/csv or application/x-ndjson");
+    }
+
+    public static ComplaintImportFormat fromFileName(String fileName) {
+        String lower = fileName.toLowerCase();
+        if (lower.endsWith(".csv")) {
+            return CSV;
+        }
+        if (lower.endsWith(".ndjson") || lower.endsWith(".jsonl")) {
+            return NDJSON;
+        }
+        throw new RequestNotValidException("Import file must end with .csv, .ndjson or .jsonl");
+    }
+}
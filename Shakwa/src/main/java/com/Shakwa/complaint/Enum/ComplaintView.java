@@ -0,0 +1,17 @@
+package com.Shakwa.complaint.Enum;
+
+/**
+ * شكل صفوف قوائم الشكاوى
+ */
+public enum ComplaintView {
+
+    /**
+     * الشكوى كاملة: النصوص والمرفقات وأسماء المواطن والموظف
+     */
+    FULL,
+
+    /**
+     * ملخص للقوائم: رقم التتبع والنوع والمحافظة والحالة والتواريخ فقط
+     */
+    SUMMARY
+}
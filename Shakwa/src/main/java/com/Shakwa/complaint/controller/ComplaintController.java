@@ -1,22 +1,42 @@
 package com.Shakwa.complaint.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
 import java.util.List;
 
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.Shakwa.complaint.Enum.ComplaintExportFormat;
+import com.Shakwa.complaint.Enum.ComplaintImportFormat;
 import com.Shakwa.complaint.Enum.ComplaintStatus;
 import com.Shakwa.complaint.Enum.ComplaintType;
+import com.Shakwa.complaint.Enum.ComplaintView;
 import com.Shakwa.complaint.Enum.Governorate;
 import com.Shakwa.complaint.dto.ComplaintDTORequest;
 import com.Shakwa.complaint.dto.ComplaintDTOResponse;
+import com.Shakwa.complaint.dto.ComplaintExportFilter;
 import com.Shakwa.complaint.dto.ComplaintHistoryDTO;
+import com.Shakwa.complaint.dto.ComplaintImportReport;
+import com.Shakwa.complaint.dto.ComplaintLeaseDTO;
+import com.Shakwa.complaint.event.ComplaintEventHub;
+import com.Shakwa.complaint.service.ComplaintExporter;
+import com.Shakwa.complaint.service.ComplaintInboxProjector;
 import com.Shakwa.complaint.service.ComplaintService;
+import com.Shakwa.complaint.storage.AttachmentZipWriter;
 import com.Shakwa.user.Enum.GovernmentAgencyType;
 import com.Shakwa.user.dto.PaginationDTO;
+import com.Shakwa.utils.controller.ETags;
+import com.Shakwa.utils.response.AttachmentBundleResponse;
 import com.Shakwa.utils.response.FileDownloadResponse;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -29,81 +49,145 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 public class ComplaintController {
 
     private final ComplaintService complaintService;
+    private final AttachmentZipWriter attachmentZipWriter;
+    private final ComplaintEventHub complaintEventHub;
+    private final ComplaintInboxProjector complaintInboxProjector;
+    private final ComplaintExporter complaintExporter;
 
-    public ComplaintController(ComplaintService complaintService) {
+    public ComplaintController(ComplaintService complaintService,
+                               AttachmentZipWriter attachmentZipWriter,
+                               ComplaintEventHub complaintEventHub,
+                               ComplaintInboxProjector complaintInboxProjector,
+                               ComplaintExporter complaintExporter) {
         this.complaintService = complaintService;
+        this.attachmentZipWriter = attachmentZipWriter;
+        this.complaintEventHub = complaintEventHub;
+        this.complaintInboxProjector = complaintInboxProjector;
+        this.complaintExporter = complaintExporter;
     }
 
     @GetMapping
     @Operation(summary = "Get all complaints", description = "Retrieve all complaints based on user role (employee sees only their agency's complaints) with pagination")
-    public ResponseEntity<PaginationDTO<ComplaintDTOResponse>> getAllComplaints(
+    public ResponseEntity<PaginationDTO<?>> getAllComplaints(
             @Parameter(description = "Page number (0-indexed)", example = "0")
             @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size", example = "10")
-            @RequestParam(defaultValue = "10") int size) {
-        PaginationDTO<ComplaintDTOResponse> complaints = complaintService.getAllComplaints(page, size);
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Row shape: FULL, or SUMMARY for list rows without texts and attachments", example = "SUMMARY")
+            @RequestParam(defaultValue = "FULL") ComplaintView view,
+            WebRequest request) {
+        if (notModified(request, complaintService.getComplaintListETag(null, true, view))) {
+            return null;
+        }
+        PaginationDTO<?> complaints = view == ComplaintView.SUMMARY
+                ? complaintService.getAllComplaintSummaries(page, size)
+                : complaintService.getAllComplaints(page, size);
 
         return ResponseEntity.ok(complaints);
     }
 
+    @GetMapping(value = "stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Live complaint changes", description = "Server-Sent Events (CREATED, STATUS_CHANGED, RESPONDED, UPDATED, DELETED) for the employee's agency, the citizen's own complaints, or all complaints for admins. On RESYNC, refetch the list")
+    public SseEmitter streamComplaintChanges(
+            @Parameter(description = "Id of the last event received; EventSource sends it when reconnecting")
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return complaintEventHub.subscribe(complaintService.resolveChangeFeedScope(), lastEventId);
+    }
+
     @GetMapping("{id}")
     @Operation(summary = "Get complaint by ID", description = "Retrieve a specific complaint by ID")
     public ResponseEntity<ComplaintDTOResponse> getComplaintById(
             @Parameter(description = "Complaint ID", example = "1") 
-            @PathVariable Long id) {
+            @PathVariable Long id,
+            WebRequest request) {
+        if (notModified(request, complaintService.getComplaintETag(id))) {
+            return null;
+        }
         ComplaintDTOResponse complaint = complaintService.getComplaintById(id);
         return ResponseEntity.ok(complaint);
     }
 
     @GetMapping("citizen/{citizenId}")
     @Operation(summary = "Get complaints by citizen ID", description = "Retrieve all complaints for a specific citizen with pagination")
-    public ResponseEntity<PaginationDTO<ComplaintDTOResponse>> getComplaintsByCitizenId(
+    public ResponseEntity<PaginationDTO<?>> getComplaintsByCitizenId(
             @Parameter(description = "Citizen ID", example = "1") 
             @PathVariable Long citizenId,
             @Parameter(description = "Page number (0-indexed)", example = "0")
             @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size", example = "10")
-            @RequestParam(defaultValue = "10") int size) {
-        PaginationDTO<ComplaintDTOResponse> complaints = complaintService.getComplaintsByCitizenId(citizenId, page, size);
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Row shape: FULL, or SUMMARY for list rows without texts and attachments", example = "SUMMARY")
+            @RequestParam(defaultValue = "FULL") ComplaintView view,
+            WebRequest request) {
+        if (notModified(request, complaintService.getComplaintListETag(citizenId, false, view))) {
+            return null;
+        }
+        PaginationDTO<?> complaints = view == ComplaintView.SUMMARY
+                ? complaintService.getComplaintSummariesByCitizenId(citizenId, page, size)
+                : complaintService.getComplaintsByCitizenId(citizenId, page, size);
         return ResponseEntity.ok(complaints);
     }
 
     @GetMapping("status/{status}")
     @Operation(summary = "Get complaints by status", description = "Retrieve all complaints with a specific status with pagination")
-    public ResponseEntity<PaginationDTO<ComplaintDTOResponse>> getComplaintsByStatus(
+    public ResponseEntity<PaginationDTO<?>> getComplaintsByStatus(
             @Parameter(description = "Complaint status", example = "PENDING") 
             @PathVariable ComplaintStatus status,
             @Parameter(description = "Page number (0-indexed)", example = "0")
             @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size", example = "10")
-            @RequestParam(defaultValue = "10") int size) {
-        PaginationDTO<ComplaintDTOResponse> complaints = complaintService.getComplaintsByStatus(status, page, size);
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Row shape: FULL, or SUMMARY for list rows without texts and attachments", example = "SUMMARY")
+            @RequestParam(defaultValue = "FULL") ComplaintView view,
+            WebRequest request) {
+        if (notModified(request, complaintService.getComplaintListETag(null, false, view))) {
+            return null;
+        }
+        PaginationDTO<?> complaints = view == ComplaintView.SUMMARY
+                ? complaintService.getComplaintSummariesByStatus(status, page, size)
+                : complaintService.getComplaintsByStatus(status, page, size);
         return ResponseEntity.ok(complaints);
     }
 
     @GetMapping("type/{complaintType}")
     @Operation(summary = "Get complaints by type", description = "Retrieve all complaints of a specific type with pagination")
-    public ResponseEntity<PaginationDTO<ComplaintDTOResponse>> getComplaintsByType(
+    public ResponseEntity<PaginationDTO<?>> getComplaintsByType(
             @Parameter(description = "Complaint type", example = "تأخر_في_إنجاز_معاملة") 
             @PathVariable ComplaintType complaintType,
             @Parameter(description = "Page number (0-indexed)", example = "0")
             @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size", example = "10")
-            @RequestParam(defaultValue = "10") int size) {
-        PaginationDTO<ComplaintDTOResponse> complaints = complaintService.getComplaintsByType(complaintType, page, size);
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Row shape: FULL, or SUMMARY for list rows without texts and attachments", example = "SUMMARY")
+            @RequestParam(defaultValue = "FULL") ComplaintView view,
+            WebRequest request) {
+        if (notModified(request, complaintService.getComplaintListETag(null, false, view))) {
+            return null;
+        }
+        PaginationDTO<?> complaints = view == ComplaintView.SUMMARY
+                ? complaintService.getComplaintSummariesByType(complaintType, page, size)
+                : complaintService.getComplaintsByType(complaintType, page, size);
         return ResponseEntity.ok(complaints);
     }
 
     @GetMapping("governorate/{governorate}")
     @Operation(summary = "Get complaints by governorate", description = "Retrieve all complaints from a specific governorate with pagination")
-    public ResponseEntity<PaginationDTO<ComplaintDTOResponse>> getComplaintsByGovernorate(
+    public ResponseEntity<PaginationDTO<?>> getComplaintsByGovernorate(
             @Parameter(description = "Governorate", example = "دمشق") 
             @PathVariable Governorate governorate,
             @Parameter(description = "Page number (0-indexed)", example = "0")
             @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size", example = "10")
-            @RequestParam(defaultValue = "10") int size) {
-        PaginationDTO<ComplaintDTOResponse> complaints = complaintService.getComplaintsByGovernorate(governorate, page, size);
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Row shape: FULL, or SUMMARY for list rows without texts and attachments", example = "SUMMARY")
+            @RequestParam(defaultValue = "FULL") ComplaintView view,
+            WebRequest request) {
+        if (notModified(request, complaintService.getComplaintListETag(null, false, view))) {
+            return null;
+        }
+        PaginationDTO<?> complaints = view == ComplaintView.SUMMARY
+                ? complaintService.getComplaintSummariesByGovernorate(governorate, page, size)
+                : complaintService.getComplaintsByGovernorate(governorate, page, size);
         return ResponseEntity.ok(complaints);
     }
 
@@ -112,7 +196,7 @@ public class ComplaintController {
         summary = "Filter complaints", 
         description = "Filter complaints by multiple criteria (status, type, governorate, government agency, citizen ID) with pagination. All filters are optional."
     )
-    public ResponseEntity<PaginationDTO<ComplaintDTOResponse>> filterComplaints(
+    public ResponseEntity<PaginationDTO<?>> filterComplaints(
             @Parameter(description = "Complaint status", example = "PENDING")
             @RequestParam(required = false) ComplaintStatus status,
             @Parameter(description = "Complaint type", example = "تأخر_في_إنجاز_معاملة")
@@ -126,12 +210,49 @@ public class ComplaintController {
             @Parameter(description = "Page number (0-indexed)", example = "0")
             @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size", example = "10")
-            @RequestParam(defaultValue = "10") int size) {
-        PaginationDTO<ComplaintDTOResponse> complaints = complaintService.filterComplaints(
-            status, complaintType, governorate, governmentAgency, citizenId, page, size);
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Row shape: FULL, or SUMMARY for list rows without texts and attachments", example = "SUMMARY")
+            @RequestParam(defaultValue = "FULL") ComplaintView view,
+            WebRequest request) {
+        if (notModified(request, complaintService.getComplaintListETag(citizenId, true, view))) {
+            return null;
+        }
+        PaginationDTO<?> complaints = view == ComplaintView.SUMMARY
+                ? complaintService.filterComplaintSummaries(status, complaintType, governorate, governmentAgency, citizenId, page, size)
+                : complaintService.filterComplaints(status, complaintType, governorate, governmentAgency, citizenId, page, size);
         return ResponseEntity.ok(complaints);
     }
 
+    @GetMapping("export")
+    @Operation(
+        summary = "Export complaints",
+        description = "Stream every complaint matching the filters as one CSV or XLSX file, in creation order. Same filters and visibility as filter (employees export their agency's complaints, citizens their own), plus an inclusive creation date range. Returns 503 while the maximum number of exports is already running."
+    )
+    public ResponseEntity<StreamingResponseBody> exportComplaints(
+            @Parameter(description = "Complaint status", example = "RESOLVED")
+            @RequestParam(required = false) ComplaintStatus status,
+            @Parameter(description = "Complaint type", example = "تأخر_في_إنجاز_معاملة")
+            @RequestParam(required = false) ComplaintType complaintType,
+            @Parameter(description = "Governorate", example = "دمشق")
+            @RequestParam(required = false) Governorate governorate,
+            @Parameter(description = "Government agency", example = "وزارة_الصحة")
+            @RequestParam(required = false) GovernmentAgencyType governmentAgency,
+            @Parameter(description = "Citizen ID", example = "1")
+            @RequestParam(required = false) Long citizenId,
+            @Parameter(description = "First creation date (inclusive)", example = "2026-09-01")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last creation date (inclusive)", example = "2026-09-30")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "File format: CSV or XLSX", example = "CSV")
+            @RequestParam(defaultValue = "CSV") ComplaintExportFormat format) {
+        ComplaintExportFilter filter = complaintService.prepareComplaintExport(status, complaintType, governorate, governmentAgency, citizenId, from, to);
+        StreamingResponseBody body = complaintExporter.prepare(filter, format);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"complaints-" + LocalDate.now() + "." + format.getExtension() + "\"")
+                .contentType(MediaType.parseMediaType(format.getMediaType()))
+                .body(body);
+    }
+
     @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     @Operation(
         summary = "Create complaint", 
@@ -146,6 +267,17 @@ public class ComplaintController {
         return ResponseEntity.ok(complaint);
     }
 
+    @PostMapping(value = "import", consumes = {"text/csv", "application/x-ndjson"})
+    @Operation(
+        summary = "Import complaints",
+        description = "Bulk import of complaints from a CSV file (header row with the complaint request fields) or NDJSON (one complaint request per line). Each row names its citizen by citizenId or citizenEmail. Employees import for their own agency only. Valid rows are committed in chunks; the report lists every rejected row."
+    )
+    public ResponseEntity<ComplaintImportReport> importComplaints(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) throws IOException {
+        return ResponseEntity.ok(complaintService.importComplaints(body, ComplaintImportFormat.fromContentType(contentType)));
+    }
+
     @PostMapping(value = "{id}/attachments", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     @Operation(summary = "Add attachments to complaint", description = "Allows the complaint owner to upload additional files")
     public ResponseEntity<ComplaintDTOResponse> addAttachments(
@@ -167,6 +299,19 @@ public class ComplaintController {
                 .body(download.resource());
     }
 
+    @GetMapping("{id}/attachments.zip")
+    @Operation(summary = "Download all attachments", description = "Stream every attachment of the complaint as a single ZIP archive if authorized")
+    public ResponseEntity<StreamingResponseBody> downloadAttachmentBundle(
+            @Parameter(description = "Complaint ID", example = "1")
+            @PathVariable Long id) {
+        AttachmentBundleResponse bundle = complaintService.prepareAttachmentBundle(id);
+        StreamingResponseBody body = outputStream -> attachmentZipWriter.write(bundle, outputStream);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + bundle.filename() + "\"")
+                .contentType(MediaType.parseMediaType("application/zip"))
+                .body(body);
+    }
+
     @DeleteMapping("{id}/attachments/{attachmentId}")
     @Operation(summary = "Delete attachment", description = "Remove an attachment from a complaint")
     public ResponseEntity<Void> deleteAttachment(
@@ -182,9 +327,11 @@ public class ComplaintController {
             @Parameter(description = "Complaint ID", example = "1") 
             @PathVariable Long id,
             @Parameter(description = "Updated complaint data", required = true)
-            @RequestBody ComplaintDTORequest dto) {
-        ComplaintDTOResponse complaint = complaintService.updateComplaint(id, dto);
-        return ResponseEntity.ok(complaint);
+            @RequestBody ComplaintDTORequest dto,
+            @Parameter(description = "Version the client last read, e.g. \"3\". Without it the complaint is row-locked for the update; with it a stale version gets 412 and the current complaint")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        ComplaintDTOResponse complaint = complaintService.updateComplaint(id, dto, ETags.parseIfMatch(ifMatch));
+        return ResponseEntity.ok().eTag(complaintService.complaintETag(complaint.getVersion())).body(complaint);
     }
 
     @PutMapping("{id}/respond")
@@ -198,11 +345,39 @@ public class ComplaintController {
             @Parameter(description = "Response text", required = true)
             @RequestParam String response,
             @Parameter(description = "New status (optional)", example = "RESOLVED")
-            @RequestParam(required = false) ComplaintStatus status) {
-        ComplaintDTOResponse complaint = complaintService.respondToComplaint(id, response, status);
+            @RequestParam(required = false) ComplaintStatus status,
+            @Parameter(description = "Version the client last read, e.g. \"3\"; a stale version gets 412 and the current complaint")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        ComplaintDTOResponse complaint = complaintService.respondToComplaint(id, response, status, ETags.parseIfMatch(ifMatch));
+        return ResponseEntity.ok().eTag(complaintService.complaintETag(complaint.getVersion())).body(complaint);
+    }
+
+    @PostMapping("claim-next")
+    @Operation(
+        summary = "Claim next complaint",
+        description = "Marks the oldest unclaimed PENDING complaint of the employee's agency IN_PROGRESS for the caller. Never waits on other employees; 204 when there is nothing to claim."
+    )
+    public ResponseEntity<ComplaintDTOResponse> claimNextComplaint() {
+        ComplaintDTOResponse complaint = complaintService.claimNextComplaint();
+        if (complaint == null) {
+            return ResponseEntity.noContent().build();
+        }
         return ResponseEntity.ok(complaint);
     }
 
+    @PutMapping("{id}/lease")
+    @Operation(
+        summary = "Renew complaint lease",
+        description = "Heartbeat of the employee holding an IN_PROGRESS complaint. Extends the lease by shakwa.leases.ttl; 409 when the lease expired or changed hands."
+    )
+    public ResponseEntity<ComplaintLeaseDTO> renewLease(
+            @Parameter(description = "Complaint ID", example = "1")
+            @PathVariable Long id,
+            @Parameter(description = "Fencing token of the lease from the previous renewal (optional)")
+            @RequestParam(required = false) Long token) {
+        return ResponseEntity.ok(complaintService.renewLease(id, token));
+    }
+
     @DeleteMapping("{id}")
     @Operation(summary = "Delete complaint", description = "Delete a complaint. Only authorized users can delete.")
     public ResponseEntity<Void> deleteComplaint(
@@ -212,6 +387,13 @@ public class ComplaintController {
         return ResponseEntity.ok().build();
     }
 
+    @PostMapping("inbox/rebuild")
+    @PreAuthorize("hasRole('PLATFORM_ADMIN')")
+    @Operation(summary = "Rebuild complaint inbox", description = "Regenerates the complaint_inbox_view read model behind view=SUMMARY lists from the complaints. Lists wait while it runs. Returns the number of rows.")
+    public ResponseEntity<Integer> rebuildInbox() {
+        return ResponseEntity.ok(complaintInboxProjector.rebuild());
+    }
+
     @GetMapping("{id}/history")
     @Operation(
         summary = "Get complaint history", 
@@ -223,10 +405,21 @@ public class ComplaintController {
             @Parameter(description = "Page number (0-indexed)", example = "0")
             @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size", example = "10")
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            WebRequest request) {
+        if (notModified(request, complaintService.getComplaintHistoryETag(id))) {
+            return null;
+        }
         PaginationDTO<ComplaintHistoryDTO> history = complaintService.getComplaintHistory(id, page, size);
         return ResponseEntity.ok(history);
     }
 
+    /**
+     * If-None-Match check against a tag computed without loading or mapping anything. On a match the response is
+     * already a 304 and the handler returns null; otherwise the tag is set and the body is built as usual. The tag
+     * is read before the body, so a change committed in between leaves the client with a stale tag, not a stale body.
+     */
+    private boolean notModified(WebRequest request, String eTag) {
+        return eTag != null && request.checkNotModified(eTag);
+    }
 }
-
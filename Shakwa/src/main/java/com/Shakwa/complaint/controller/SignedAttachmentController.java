@@ -0,0 +1,60 @@
+package com.Shakwa.complaint.controller;
+
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.Shakwa.complaint.storage.AttachmentStorageService;
+import com.Shakwa.complaint.storage.AttachmentUrlSigner;
+import com.Shakwa.complaint.storage.AttachmentUrlSigner.SignedDownload;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+/**
+ * Serves attachments from signed download URLs issued by {@link AttachmentUrlSigner}.
+ * Authorization was checked when the URL was issued, so this path only verifies the
+ * signature and expiry in memory and streams the file - no database or user lookup.
+ */
+@RestController
+@RequestMapping(AttachmentUrlSigner.DOWNLOAD_PATH)
+@Tag(name = "Complaint Management", description = "APIs for managing complaints")
+public class SignedAttachmentController {
+
+    private final AttachmentUrlSigner attachmentUrlSigner;
+    private final AttachmentStorageService attachmentStorageService;
+
+    public SignedAttachmentController(AttachmentUrlSigner attachmentUrlSigner,
+                                      AttachmentStorageService attachmentStorageService) {
+        this.attachmentUrlSigner = attachmentUrlSigner;
+        this.attachmentStorageService = attachmentStorageService;
+    }
+
+    @GetMapping("{token}")
+    @Operation(summary = "Download attachment by signed URL", description = "Download an attachment using a short-lived signed link returned in the complaint response")
+    public ResponseEntity<Resource> downloadSigned(
+            @Parameter(description = "Signed download token")
+            @PathVariable String token) {
+        SignedDownload download = attachmentUrlSigner.verify(token);
+        Resource resource = attachmentStorageService.loadAsResource(download.storagePath());
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(download.filename(), StandardCharsets.UTF_8)
+                        .build()
+                        .toString())
+                .cacheControl(CacheControl.maxAge(download.remaining()).cachePrivate())
+                .contentType(MediaType.parseMediaType(download.contentType()))
+                .contentLength(download.size())
+                .body(resource);
+    }
+}
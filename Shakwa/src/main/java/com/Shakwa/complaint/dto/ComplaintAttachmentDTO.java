@@ -23,9 +23,12 @@ public class ComplaintAttachmentDTO {
     @Schema(description = "MIME type", example = "application/pdf")
     private String contentType;
 
-    @Schema(description = "Download URL for the attachment")
+    @Schema(description = "Signed, short-lived download URL for the attachment")
     private String downloadUrl;
 
+    @Schema(description = "When the signed download URL expires")
+    private LocalDateTime downloadUrlExpiresAt;
+
     @Schema(description = "When the file was uploaded")
     private LocalDateTime uploadedAt;
 }
@@ -0,0 +1,25 @@
+package com.Shakwa.complaint.dto;
+
+import java.time.LocalDateTime;
+
+import com.Shakwa.complaint.Enum.ComplaintStatus;
+import com.Shakwa.complaint.Enum.ComplaintType;
+import com.Shakwa.complaint.Enum.Governorate;
+import com.Shakwa.user.Enum.GovernmentAgencyType;
+
+/**
+ * معايير تصدير الشكاوى: فلاتر الطلب مع قيود الرؤية الخاصة بالمستخدم (كما في filterComplaints)
+ * visibleAgency / visibleCitizenId are the caller's restriction and are applied on top of the requested filters;
+ * created_at is filtered as [createdFrom, createdBefore).
+ */
+public record ComplaintExportFilter(
+        ComplaintStatus status,
+        ComplaintType complaintType,
+        Governorate governorate,
+        GovernmentAgencyType governmentAgency,
+        Long citizenId,
+        LocalDateTime createdFrom,
+        LocalDateTime createdBefore,
+        GovernmentAgencyType visibleAgency,
+        Long visibleCitizenId) {
+}
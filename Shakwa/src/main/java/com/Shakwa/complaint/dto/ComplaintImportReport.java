@@ -0,0 +1,41 @@
+package com.Shakwa.complaint.dto;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Schema(description = "Result of a bulk complaint import")
+public class ComplaintImportReport {
+
+    @Schema(description = "Rows read from the input", example = "5000")
+    private long rows;
+
+    @Schema(description = "Complaints created", example = "4990")
+    private long imported;
+
+    @Schema(description = "Rows not imported", example = "10")
+    private long failed;
+
+    @Schema(description = "Wall-clock duration of the import in milliseconds", example = "1840")
+    private long durationMs;
+
+    @Schema(description = "Why rows were not imported, in input order (at most shakwa.import.max-reported-errors)")
+    private List<RowError> errors;
+
+    @Schema(description = "True when more rows failed than are listed in errors")
+    private boolean errorsTruncated;
+
+    /**
+     * @param row CSV record number after the header, or NDJSON line number
+     */
+    public record RowError(long row, String message) {
+    }
+}
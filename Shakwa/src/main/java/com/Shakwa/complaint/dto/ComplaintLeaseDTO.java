@@ -0,0 +1,29 @@
+package com.Shakwa.complaint.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO لمهلة حجز الشكوى (lease)
+ * The holder's client renews the lease before expiresAt, passing fencingToken.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ComplaintLeaseDTO {
+
+    private Long complaintId;
+
+    private Long holderId;
+
+    private Long fencingToken;
+
+    private LocalDateTime acquiredAt;
+
+    private LocalDateTime expiresAt;
+}
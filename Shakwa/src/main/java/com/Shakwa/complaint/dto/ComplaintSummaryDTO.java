@@ -0,0 +1,71 @@
+package com.Shakwa.complaint.dto;
+
+import java.time.LocalDateTime;
+
+import com.Shakwa.complaint.Enum.ComplaintStatus;
+import com.Shakwa.complaint.Enum.ComplaintType;
+import com.Shakwa.complaint.Enum.Governorate;
+import com.Shakwa.user.Enum.GovernmentAgencyType;
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Schema(description = "Complaint list row (view=summary)")
+public class ComplaintSummaryDTO {
+
+    @Schema(description = "Complaint ID", example = "1")
+    private Long id;
+
+    @Schema(description = "Tracking number citizens can use to follow up", example = "SHK-20250215-AB12CD")
+    private String trackingNumber;
+
+    @Schema(description = "Type of complaint", example = "تأخر_في_إنجاز_معاملة")
+    private ComplaintType complaintType;
+
+    @Schema(description = "Governorate", example = "دمشق")
+    private Governorate governorate;
+
+    @Schema(description = "Government agency", example = "وزارة_الصحة")
+    private GovernmentAgencyType governmentAgency;
+
+    @Schema(description = "Status of the complaint", example = "PENDING")
+    private ComplaintStatus status;
+
+    @Schema(description = "Citizen ID", example = "1")
+    private Long citizenId;
+
+    @Schema(description = "Citizen full name", example = "أحمد محمد")
+    private String citizenName;
+
+    @Schema(description = "ID of the employee who responded", example = "5")
+    private Long respondedById;
+
+    @Schema(description = "Name of the employee who responded", example = "سارة علي")
+    private String respondedByName;
+
+    @Schema(description = "Number of attached files", example = "2")
+    private Long attachmentCount;
+
+    @Schema(description = "Date and time when complaint was created")
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime createdAt;
+
+    @Schema(description = "Date and time when complaint was last updated")
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime updatedAt;
+
+    @Schema(description = "Date and time when complaint was responded to")
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime respondedAt;
+
+    @Schema(description = "Version number for optimistic locking", example = "1")
+    private Long version;
+}
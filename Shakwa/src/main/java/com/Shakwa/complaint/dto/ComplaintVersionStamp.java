@@ -0,0 +1,14 @@
+package com.Shakwa.complaint.dto;
+
+/**
+ * ما يلزم للتحقق من ETag الشكوى دون تحميلها
+ * Version plus the columns the access check reads, from one index probe.
+ */
+public interface ComplaintVersionStamp {
+
+    Long getVersion();
+
+    Long getCitizenId();
+
+    String getGovernmentAgency();
+}
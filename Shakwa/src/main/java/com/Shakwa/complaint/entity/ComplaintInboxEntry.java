@@ -0,0 +1,91 @@
+package com.Shakwa.complaint.entity;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.Immutable;
+
+import com.Shakwa.complaint.Enum.ComplaintStatus;
+import com.Shakwa.complaint.Enum.ComplaintType;
+import com.Shakwa.complaint.Enum.Governorate;
+import com.Shakwa.user.Enum.GovernmentAgencyType;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One row of complaint_inbox_view (V10): a complaint as a list shows it, denormalized so a list page is a
+ * single-table index scan. Written only by ComplaintInboxProjector and ComplaintArchiver, in SQL.
+ */
+@Entity
+@Immutable
+@Data
+@Builder
+@Table(name = "complaint_inbox_view")
+@NoArgsConstructor
+@AllArgsConstructor
+public class ComplaintInboxEntry {
+
+    @Id
+    @Column(name = "complaint_id")
+    private Long complaintId;
+
+    @Column(name = "tracking_number", nullable = false)
+    private String trackingNumber;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "complaint_type", nullable = false)
+    private ComplaintType complaintType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "governorate", nullable = false)
+    private Governorate governorate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "government_agency", nullable = false)
+    private GovernmentAgencyType governmentAgency;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private ComplaintStatus status;
+
+    @Column(name = "citizen_id", nullable = false)
+    private Long citizenId;
+
+    // الاسم الكامل للمواطن وقت آخر تحديث للصف
+    @Column(name = "citizen_name")
+    private String citizenName;
+
+    @Column(name = "responded_by_id")
+    private Long respondedById;
+
+    @Column(name = "responded_by_name")
+    private String respondedByName;
+
+    // المرفقات النشطة والمؤرشفة
+    @Column(name = "attachment_count", nullable = false)
+    private Long attachmentCount;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "responded_at")
+    private LocalDateTime respondedAt;
+
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    // وقت الأرشفة، null للشكاوى النشطة
+    @Column(name = "archived_at")
+    private LocalDateTime archivedAt;
+}
@@ -0,0 +1,99 @@
+package com.Shakwa.complaint.event;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.Shakwa.user.Enum.GovernmentAgencyType;
+
+/**
+ * In-memory change stamps behind the ETags of complaint lists.
+ *
+ * Every committed ComplaintChangedEvent moves the stamp of its agency and its citizen to a new value of one
+ * counter; the stamp of the whole table is the counter itself. A list's ETag carries the stamp of a scope that
+ * covers it, read before the list, so If-None-Match is answered with 304 without touching the database, and a
+ * change committed while a list is being built makes that list's tag stale rather than the other way round.
+ *
+ * Stamps are per process, like the complaintLists cache they stand in front of: tags carry the instance id,
+ * so a tag from another node or a previous process never matches. Per-citizen stamps are bounded; past
+ * max-citizen-stamps they are dropped and every citizen gets a fresh common stamp.
+ */
+@Component
+public class ComplaintChangeStamps {
+
+    private final String instanceId = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong counter = new AtomicLong();
+    private final Map<GovernmentAgencyType, Long> byAgency = new ConcurrentHashMap<>();
+    private final Map<Long, Long> byCitizen = new ConcurrentHashMap<>();
+    // Not a monitor: writers run on request and import threads, which may be virtual
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final int maxCitizenStamps;
+    private volatile long agencyFloor;
+    private volatile long citizenFloor;
+
+    public ComplaintChangeStamps(@Value("${shakwa.etags.max-citizen-stamps:100000}") int maxCitizenStamps) {
+        this.maxCitizenStamps = maxCitizenStamps;
+    }
+
+    // AFTER_COMMIT: a reader must not see the new stamp while it can still read the old rows.
+    // Writers are serialized so a stamp never goes back to a value it had before; readers take no lock.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onComplaintChanged(ComplaintChangedEvent event) {
+        writeLock.lock();
+        try {
+            long stamp = counter.incrementAndGet();
+            if (event.governmentAgency() != null) {
+                byAgency.merge(event.governmentAgency(), stamp, Math::max);
+            }
+            if (event.citizenId() != null) {
+                byCitizen.merge(event.citizenId(), stamp, Math::max);
+                if (byCitizen.size() > maxCitizenStamps) {
+                    // A fresh floor first, so readers never see a dropped citizen fall back
+                    citizenFloor = counter.incrementAndGet();
+                    byCitizen.clear();
+                }
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Changes every stamp, for bulk writes that do not publish events (archiving). Call after commit.
+     */
+    public void touchAll() {
+        writeLock.lock();
+        try {
+            long stamp = counter.incrementAndGet();
+            agencyFloor = stamp;
+            citizenFloor = stamp;
+            byAgency.clear();
+            byCitizen.clear();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Current stamp of the scope; it changes whenever a complaint in the scope does.
+     */
+    public long stamp(ComplaintEventScope scope) {
+        // Entry before floor: writers raise the floor before clearing entries
+        if (scope.governmentAgency() != null) {
+            return Math.max(byAgency.getOrDefault(scope.governmentAgency(), 0L), agencyFloor);
+        }
+        if (scope.citizenId() != null) {
+            return Math.max(byCitizen.getOrDefault(scope.citizenId(), 0L), citizenFloor);
+        }
+        return counter.get();
+    }
+
+    public String instanceId() {
+        return instanceId;
+    }
+}
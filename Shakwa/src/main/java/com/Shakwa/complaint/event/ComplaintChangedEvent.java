@@ -0,0 +1,35 @@
+package com.Shakwa.complaint.event;
+
+import java.time.LocalDateTime;
+
+import com.Shakwa.complaint.Enum.ComplaintChangeType;
+import com.Shakwa.complaint.Enum.ComplaintStatus;
+import com.Shakwa.complaint.entity.Complaint;
+import com.Shakwa.user.Enum.GovernmentAgencyType;
+
+/**
+ * A change to a complaint, published by ComplaintService and pushed to live-feed subscribers after commit.
+ * Carries only what a dashboard needs to update a row or decide to refetch it.
+ */
+public record ComplaintChangedEvent(
+        ComplaintChangeType type,
+        Long complaintId,
+        String trackingNumber,
+        GovernmentAgencyType governmentAgency,
+        Long citizenId,
+        ComplaintStatus status,
+        ComplaintStatus previousStatus,
+        LocalDateTime occurredAt) {
+
+    public static ComplaintChangedEvent of(ComplaintChangeType type, Complaint complaint, ComplaintStatus previousStatus) {
+        return new ComplaintChangedEvent(
+                type,
+                complaint.getId(),
+                complaint.getTrackingNumber(),
+                complaint.getGovernmentAgency(),
+                complaint.getCitizen() != null ? complaint.getCitizen().getId() : null,
+                complaint.getStatus(),
+                previousStatus,
+                LocalDateTime.now());
+    }
+}
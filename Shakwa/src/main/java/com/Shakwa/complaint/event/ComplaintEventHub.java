@@ -0,0 +1,350 @@
+package com.Shakwa.complaint.event;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.Shakwa.user.Enum.GovernmentAgencyType;
+import com.Shakwa.utils.exception.ServiceUnavailableException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * In-process fan-out of complaint changes to Server-Sent Events subscribers.
+ *
+ * Each change is serialized once after its transaction commits, numbered, kept in a bounded replay ring and
+ * handed to the subscribers of its agency, of its citizen and to unscoped (admin) subscribers. Subscribers
+ * never block the publisher: each has a small queue drained on a virtual thread, and one that falls behind
+ * is disconnected so its EventSource reconnects with Last-Event-ID and catches up from the ring. An idle
+ * subscriber costs an open socket and an emitter; no thread is held between events.
+ *
+ * Event ids are "hubId-sequence". A Last-Event-ID from a previous process (restart, or another node behind
+ * the load balancer) or one older than the ring gets a RESYNC event, telling the client to refetch its list.
+ */
+@Component
+public class ComplaintEventHub {
+
+    private static final Logger logger = LoggerFactory.getLogger(ComplaintEventHub.class);
+
+    static final String RESYNC = "RESYNC";
+
+    private static final Set<DataWithMediaType> HEARTBEAT = SseEmitter.event().comment("keep-alive").build();
+
+    private final ObjectMapper objectMapper;
+    private final Executor executor;
+    private final Duration emitterTimeout;
+    private final int maxSubscribers;
+    private final int subscriberQueueSize;
+    private final Set<DataWithMediaType> connected;
+    private final Set<DataWithMediaType> resync;
+
+    private final String hubId = Long.toString(System.currentTimeMillis(), 36);
+    // Not a monitor: publishers may run on virtual threads, which a synchronized block would pin
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Frame[] replay;
+    private long lastSequence;
+
+    private final Map<GovernmentAgencyType, Set<Subscriber>> byAgency = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Subscriber>> byCitizen = new ConcurrentHashMap<>();
+    private final Set<Subscriber> unscoped = ConcurrentHashMap.newKeySet();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    private final Counter publishedCounter;
+    private final Counter droppedCounter;
+    private final Counter resyncCounter;
+
+    @Autowired
+    public ComplaintEventHub(ObjectMapper objectMapper,
+                             MeterRegistry meterRegistry,
+                             @Value("${shakwa.events.replay-size:1000}") int replaySize,
+                             @Value("${shakwa.events.max-subscribers:50000}") int maxSubscribers,
+                             @Value("${shakwa.events.subscriber-queue-size:64}") int subscriberQueueSize,
+                             @Value("${shakwa.events.emitter-timeout:PT30M}") Duration emitterTimeout,
+                             @Value("${shakwa.events.reconnect-delay:PT3S}") Duration reconnectDelay) {
+        this(objectMapper, meterRegistry, replaySize, maxSubscribers, subscriberQueueSize, emitterTimeout,
+                reconnectDelay, Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("complaint-events-", 0).factory()));
+    }
+
+    ComplaintEventHub(ObjectMapper objectMapper,
+                      MeterRegistry meterRegistry,
+                      int replaySize,
+                      int maxSubscribers,
+                      int subscriberQueueSize,
+                      Duration emitterTimeout,
+                      Duration reconnectDelay,
+                      Executor executor) {
+        this.objectMapper = objectMapper;
+        this.executor = executor;
+        this.emitterTimeout = emitterTimeout;
+        this.maxSubscribers = maxSubscribers;
+        this.subscriberQueueSize = subscriberQueueSize;
+        this.replay = new Frame[replaySize];
+        this.connected = SseEmitter.event().reconnectTime(reconnectDelay.toMillis()).comment("connected").build();
+        this.resync = SseEmitter.event().name(RESYNC).data("{}").build();
+        this.publishedCounter = Counter.builder("shakwa.events.published")
+                .description("Complaint changes pushed to the live feed")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("shakwa.events.subscribers.dropped")
+                .description("Live-feed subscribers disconnected because they fell behind")
+                .register(meterRegistry);
+        this.resyncCounter = Counter.builder("shakwa.events.resync")
+                .description("Reconnects whose Last-Event-ID could not be replayed")
+                .register(meterRegistry);
+        Gauge.builder("shakwa.events.subscribers", subscribers, Set::size)
+                .description("Open live-feed connections")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens a live feed for the given scope, replaying what the client missed after lastEventId (may be null).
+     */
+    public SseEmitter subscribe(ComplaintEventScope scope, String lastEventId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeout.toMillis());
+        subscribe(scope, lastEventId, emitter);
+        return emitter;
+    }
+
+    void subscribe(ComplaintEventScope scope, String lastEventId, SseEmitter emitter) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new ServiceUnavailableException("Too many live connections, please try again shortly.");
+        }
+        Subscriber subscriber = new Subscriber(scope, emitter);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+
+        // Under the publish lock, so no event falls between the replay and the registration
+        lock.lock();
+        try {
+            subscriber.enqueue(connected);
+            if (lastEventId != null && !lastEventId.isBlank()) {
+                replayInto(subscriber, lastEventId);
+            }
+            register(subscriber);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Runs after the publishing transaction commits, so rolled-back changes are never pushed.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onComplaintChanged(ComplaintChangedEvent event) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            logger.warn("Could not serialize {} for complaint {}", event.type(), event.complaintId(), e);
+            return;
+        }
+        lock.lock();
+        try {
+            long sequence = ++lastSequence;
+            Set<DataWithMediaType> data = SseEmitter.event()
+                    .id(hubId + "-" + sequence)
+                    .name(event.type().name())
+                    .data(json)
+                    .build();
+            replay[(int) (sequence % replay.length)] = new Frame(event, data);
+
+            deliver(event.governmentAgency() != null ? byAgency.get(event.governmentAgency()) : null, data);
+            deliver(event.citizenId() != null ? byCitizen.get(event.citizenId()) : null, data);
+            deliver(unscoped, data);
+        } finally {
+            lock.unlock();
+        }
+        publishedCounter.increment();
+    }
+
+    /**
+     * Comment frames keep proxies and load balancers from closing idle connections, and surface dead ones.
+     */
+    @Scheduled(fixedDelayString = "${shakwa.events.heartbeat-interval:PT25S}")
+    public void sendHeartbeats() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.enqueue(HEARTBEAT);
+        }
+    }
+
+    int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.close();
+        }
+        if (executor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    private void replayInto(Subscriber subscriber, String lastEventId) {
+        long last = parseSequence(lastEventId);
+        long oldest = Math.max(1, lastSequence - replay.length + 1);
+        if (last < 0 || last > lastSequence || last + 1 < oldest) {
+            resyncCounter.increment();
+            subscriber.enqueue(resync);
+            return;
+        }
+        List<Set<DataWithMediaType>> missed = new ArrayList<>();
+        for (long sequence = last + 1; sequence <= lastSequence; sequence++) {
+            Frame frame = replay[(int) (sequence % replay.length)];
+            if (subscriber.scope.matches(frame.event())) {
+                missed.add(frame.data());
+            }
+        }
+        // More than the queue holds would overflow it and disconnect the client again
+        if (missed.size() >= subscriberQueueSize) {
+            resyncCounter.increment();
+            subscriber.enqueue(resync);
+            return;
+        }
+        missed.forEach(subscriber::enqueue);
+    }
+
+    private long parseSequence(String lastEventId) {
+        int separator = lastEventId.lastIndexOf('-');
+        if (separator < 0 || !hubId.equals(lastEventId.substring(0, separator))) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(lastEventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private void deliver(Set<Subscriber> targets, Set<DataWithMediaType> data) {
+        if (targets != null) {
+            for (Subscriber subscriber : targets) {
+                subscriber.enqueue(data);
+            }
+        }
+    }
+
+    private void register(Subscriber subscriber) {
+        ComplaintEventScope scope = subscriber.scope;
+        if (scope.governmentAgency() != null) {
+            byAgency.computeIfAbsent(scope.governmentAgency(), a -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        } else if (scope.citizenId() != null) {
+            byCitizen.computeIfAbsent(scope.citizenId(), c -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        } else {
+            unscoped.add(subscriber);
+        }
+        subscribers.add(subscriber);
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscriber.closed = true;
+        if (!subscribers.remove(subscriber)) {
+            return;
+        }
+        ComplaintEventScope scope = subscriber.scope;
+        lock.lock();
+        try {
+            if (scope.governmentAgency() != null) {
+                Set<Subscriber> agencySubscribers = byAgency.get(scope.governmentAgency());
+                if (agencySubscribers != null) {
+                    agencySubscribers.remove(subscriber);
+                }
+            } else if (scope.citizenId() != null) {
+                // Citizens come and go; drop their empty sets so the map does not grow with every citizen ever seen
+                byCitizen.computeIfPresent(scope.citizenId(), (id, set) -> {
+                    set.remove(subscriber);
+                    return set.isEmpty() ? null : set;
+                });
+            } else {
+                unscoped.remove(subscriber);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private record Frame(ComplaintChangedEvent event, Set<DataWithMediaType> data) {
+    }
+
+    private final class Subscriber {
+
+        private final ComplaintEventScope scope;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Set<DataWithMediaType>> queue = new ArrayBlockingQueue<>(subscriberQueueSize);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+
+        private Subscriber(ComplaintEventScope scope, SseEmitter emitter) {
+            this.scope = scope;
+            this.emitter = emitter;
+        }
+
+        void enqueue(Set<DataWithMediaType> data) {
+            if (closed) {
+                return;
+            }
+            if (!queue.offer(data)) {
+                // Completing waits for a write in progress, so it must not run on the publishing thread
+                droppedCounter.increment();
+                remove(this);
+                queue.clear();
+                executor.execute(emitter::complete);
+                return;
+            }
+            if (draining.compareAndSet(false, true)) {
+                executor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                Set<DataWithMediaType> data;
+                while (!closed && (data = queue.poll()) != null) {
+                    emitter.send(data);
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Client went away or the emitter already completed; the container reports the error too
+                remove(this);
+                return;
+            } finally {
+                draining.set(false);
+            }
+            if (!closed && !queue.isEmpty() && draining.compareAndSet(false, true)) {
+                executor.execute(this::drain);
+            }
+        }
+
+        void close() {
+            remove(this);
+            queue.clear();
+            emitter.complete();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.Shakwa.complaint.event;
+
+import com.Shakwa.user.Enum.GovernmentAgencyType;
+
+/**
+ * Which changes a live-feed subscriber receives: one agency (employees), one citizen's complaints, or all (admins).
+ */
+public record ComplaintEventScope(GovernmentAgencyType governmentAgency, Long citizenId) {
+
+    private static final ComplaintEventScope ALL = new ComplaintEventScope(null, null);
+
+    public static ComplaintEventScope agency(GovernmentAgencyType governmentAgency) {
+        return new ComplaintEventScope(governmentAgency, null);
+    }
+
+    public static ComplaintEventScope citizen(Long citizenId) {
+        return new ComplaintEventScope(null, citizenId);
+    }
+
+    public static ComplaintEventScope all() {
+        return ALL;
+    }
+
+    public boolean matches(ComplaintChangedEvent event) {
+        if (governmentAgency != null) {
+            return governmentAgency == event.governmentAgency();
+        }
+        if (citizenId != null) {
+            return citizenId.equals(event.citizenId());
+        }
+        return true;
+    }
+}
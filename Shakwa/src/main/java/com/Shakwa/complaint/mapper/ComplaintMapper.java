@@ -1,5 +1,7 @@
 package com.Shakwa.complaint.mapper;
 
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -11,14 +13,32 @@ import com.Shakwa.complaint.Enum.ComplaintStatus;
 import com.Shakwa.complaint.dto.ComplaintAttachmentDTO;
 import com.Shakwa.complaint.dto.ComplaintDTORequest;
 import com.Shakwa.complaint.dto.ComplaintDTOResponse;
+import com.Shakwa.complaint.dto.ComplaintSummaryDTO;
 import com.Shakwa.complaint.entity.Complaint;
 import com.Shakwa.complaint.entity.ComplaintAttachment;
+import com.Shakwa.complaint.entity.ComplaintInboxEntry;
+import com.Shakwa.complaint.storage.AttachmentUrlSigner;
+import com.Shakwa.complaint.storage.AttachmentUrlSigner.SignedToken;
 
 @Component
 public class ComplaintMapper {
 
+    private final AttachmentUrlSigner attachmentUrlSigner;
+
+    public ComplaintMapper(AttachmentUrlSigner attachmentUrlSigner) {
+        this.attachmentUrlSigner = attachmentUrlSigner;
+    }
+
     public ComplaintDTOResponse toResponse(Complaint complaint) {
         if (complaint == null) return null;
+        return toResponse(complaint, complaint.getAttachments());
+    }
+
+    /**
+     * For archived complaints, whose attachment metadata is read from complaint_attachments_archive
+     */
+    public ComplaintDTOResponse toResponse(Complaint complaint, List<ComplaintAttachment> attachments) {
+        if (complaint == null) return null;
 
         ComplaintDTOResponse response = ComplaintDTOResponse.builder()
                 .id(complaint.getId())
@@ -31,7 +51,7 @@ public class ComplaintMapper {
                 .status(complaint.getStatus())
                 .response(complaint.getResponse())
                 .respondedAt(complaint.getRespondedAt())
-                .attachments(mapAttachments(complaint))
+                .attachments(mapAttachments(attachments))
                 .createdAt(complaint.getCreatedAt())
                 .updatedAt(complaint.getUpdatedAt())
                 .trackingNumber(complaint.getTrackingNumber())
@@ -55,6 +75,27 @@ public class ComplaintMapper {
         return response;
     }
 
+    public ComplaintSummaryDTO toSummary(ComplaintInboxEntry entry) {
+        if (entry == null) return null;
+        return ComplaintSummaryDTO.builder()
+                .id(entry.getComplaintId())
+                .trackingNumber(entry.getTrackingNumber())
+                .complaintType(entry.getComplaintType())
+                .governorate(entry.getGovernorate())
+                .governmentAgency(entry.getGovernmentAgency())
+                .status(entry.getStatus())
+                .citizenId(entry.getCitizenId())
+                .citizenName(entry.getCitizenName())
+                .respondedById(entry.getRespondedById())
+                .respondedByName(entry.getRespondedByName())
+                .attachmentCount(entry.getAttachmentCount())
+                .createdAt(entry.getCreatedAt())
+                .updatedAt(entry.getUpdatedAt())
+                .respondedAt(entry.getRespondedAt())
+                .version(entry.getVersion())
+                .build();
+    }
+
     public Complaint toEntity(ComplaintDTORequest dto) {
         if (dto == null) return null;
 
@@ -95,32 +136,24 @@ public class ComplaintMapper {
         }
     }
 
-    private List<ComplaintAttachmentDTO> mapAttachments(Complaint complaint) {
-        if (complaint.getAttachments() == null || complaint.getAttachments().isEmpty()) {
+    private List<ComplaintAttachmentDTO> mapAttachments(List<ComplaintAttachment> attachments) {
+        if (attachments == null || attachments.isEmpty()) {
             return Collections.emptyList();
         }
-        return complaint.getAttachments().stream()
-                .map(attachment -> ComplaintAttachmentDTO.builder()
-                        .id(attachment.getId())
-                        .originalFilename(attachment.getOriginalFilename())
-                        .size(attachment.getSize())
-                        .contentType(attachment.getContentType())
-                        .uploadedAt(attachment.getUploadedAt())
-                        .downloadUrl(buildDownloadUrl(complaint.getId(), attachment.getId()))
-                        .build())
+        String contextPath = ServletUriComponentsBuilder.fromCurrentContextPath().toUriString();
+        return attachments.stream()
+                .map(attachment -> {
+                    SignedToken signed = attachmentUrlSigner.sign(attachment);
+                    return ComplaintAttachmentDTO.builder()
+                            .id(attachment.getId())
+                            .originalFilename(attachment.getOriginalFilename())
+                            .size(attachment.getSize())
+                            .contentType(attachment.getContentType())
+                            .uploadedAt(attachment.getUploadedAt())
+                            .downloadUrl(contextPath + AttachmentUrlSigner.DOWNLOAD_PATH + signed.token())
+                            .downloadUrlExpiresAt(LocalDateTime.ofInstant(signed.expiresAt(), ZoneId.systemDefault()))
+                            .build();
+                })
                 .collect(Collectors.toList());
     }
-
-    private String buildDownloadUrl(Long complaintId, Long attachmentId) {
-        if (complaintId == null || attachmentId == null) {
-            return null;
-        }
-        return ServletUriComponentsBuilder.fromCurrentContextPath()
-                .path("/api/v1/complaints/")
-                .path(String.valueOf(complaintId))
-                .path("/attachments/")
-                .path(String.valueOf(attachmentId))
-                .toUriString();
-    }
 }
-
@@ -1,14 +1,33 @@
 package com.Shakwa.complaint.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.Shakwa.complaint.entity.ComplaintAttachment;
 
 public interface ComplaintAttachmentRepository extends JpaRepository<ComplaintAttachment, Long> {
 
     Optional<ComplaintAttachment> findByIdAndComplaintId(Long id, Long complaintId);
+
+    List<ComplaintAttachment> findByComplaintIdOrderByUploadedAtAsc(Long complaintId);
+
+    /**
+     * Attachment metadata of archived complaints (see ComplaintArchiver); the files themselves stay in storage
+     */
+    @Query(value = "SELECT * FROM complaint_attachments_archive WHERE complaint_id IN (:complaintIds) "
+                 + "ORDER BY complaint_id, uploaded_at", nativeQuery = true)
+    List<ComplaintAttachment> findArchivedByComplaintIdIn(@Param("complaintIds") Collection<Long> complaintIds);
+
+    /**
+     * One attachment of an archived complaint, for downloads (findByIdAndComplaintId only sees active complaints)
+     */
+    @Query(value = "SELECT * FROM complaint_attachments_archive WHERE id = :id AND complaint_id = :complaintId", nativeQuery = true)
+    Optional<ComplaintAttachment> findArchivedByIdAndComplaintId(@Param("id") Long id, @Param("complaintId") Long complaintId);
 }
 
 
@@ -1,5 +1,6 @@
 package com.Shakwa.complaint.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import org.springframework.data.domain.Page;
@@ -29,6 +30,25 @@ public interface ComplaintHistoryRepository extends JpaRepository<ComplaintHisto
     @Query("SELECT h FROM ComplaintHistory h WHERE h.complaint.id = :complaintId ORDER BY h.createdAt DESC")
     Page<ComplaintHistory> findByComplaintIdOrderByCreatedAtDesc(@Param("complaintId") Long complaintId, Pageable pageable);
     
+    /**
+     * سجل الشكوى بدءاً من تاريخ إنشائها
+     * History is never older than its complaint; the lower bound lets PostgreSQL skip older partitions.
+     */
+    @Query(value = "SELECT h FROM ComplaintHistory h WHERE h.complaint.id = :complaintId AND h.createdAt >= :since ORDER BY h.createdAt DESC",
+           countQuery = "SELECT COUNT(h) FROM ComplaintHistory h WHERE h.complaint.id = :complaintId AND h.createdAt >= :since")
+    Page<ComplaintHistory> findByComplaintIdSince(@Param("complaintId") Long complaintId,
+                                                  @Param("since") LocalDateTime since,
+                                                  Pageable pageable);
+
+    /**
+     * سجل شكوى مؤرشفة، الأحدث أولاً (see ComplaintArchiver)
+     * The order is part of the query, so pass an unsorted Pageable.
+     */
+    @Query(value = "SELECT * FROM complaint_history_archive WHERE complaint_id = :complaintId ORDER BY created_at DESC",
+           countQuery = "SELECT COUNT(*) FROM complaint_history_archive WHERE complaint_id = :complaintId",
+           nativeQuery = true)
+    Page<ComplaintHistory> findArchivedByComplaintId(@Param("complaintId") Long complaintId, Pageable pageable);
+
     /**
      * عدد السجلات لشكوى معينة
      */
@@ -0,0 +1,98 @@
+package com.Shakwa.complaint.repository;
+
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.Shakwa.complaint.Enum.ComplaintStatus;
+import com.Shakwa.complaint.Enum.ComplaintType;
+import com.Shakwa.complaint.Enum.Governorate;
+import com.Shakwa.complaint.entity.ComplaintInboxEntry;
+import com.Shakwa.user.Enum.GovernmentAgencyType;
+
+/**
+ * Summary list rows from complaint_inbox_view. Agency, status, type, governorate and platform-admin lists show
+ * active complaints only (the partial indexes of V10); citizen lists include archived ones.
+ */
+@Repository
+public interface ComplaintInboxRepository extends JpaRepository<ComplaintInboxEntry, Long>, JpaSpecificationExecutor<ComplaintInboxEntry> {
+
+    // Removes the row of a deleted complaint, then writes the current one; one statement, so it needs no
+    // transaction of its own when the caller has none
+    String REFRESH =
+            "WITH removed AS (" +
+            "  DELETE FROM complaint_inbox_view WHERE complaint_id = :complaintId" +
+            "  AND NOT EXISTS (SELECT 1 FROM complaints_with_archive WHERE id = :complaintId)) " +
+            "INSERT INTO complaint_inbox_view SELECT * FROM complaint_inbox_source WHERE complaint_id = :complaintId " +
+            "ON CONFLICT (complaint_id) DO UPDATE SET " +
+            "tracking_number = EXCLUDED.tracking_number, complaint_type = EXCLUDED.complaint_type, " +
+            "governorate = EXCLUDED.governorate, government_agency = EXCLUDED.government_agency, " +
+            "status = EXCLUDED.status, citizen_id = EXCLUDED.citizen_id, citizen_name = EXCLUDED.citizen_name, " +
+            "responded_by_id = EXCLUDED.responded_by_id, responded_by_name = EXCLUDED.responded_by_name, " +
+            "attachment_count = EXCLUDED.attachment_count, created_at = EXCLUDED.created_at, " +
+            "updated_at = EXCLUDED.updated_at, responded_at = EXCLUDED.responded_at, version = EXCLUDED.version, " +
+            "archived_at = EXCLUDED.archived_at";
+
+    @Cacheable(value = "complaintLists", key = "'inbox:all:page:' + #pageable.pageNumber + ':size:' + #pageable.pageSize")
+    @Query("SELECT e FROM ComplaintInboxEntry e WHERE e.archivedAt IS NULL")
+    Page<ComplaintInboxEntry> findAllActive(Pageable pageable);
+
+    @Cacheable(value = "complaintLists", key = "'inbox:agency:' + #governmentAgency.name() + ':page:' + #pageable.pageNumber + ':size:' + #pageable.pageSize")
+    @Query("SELECT e FROM ComplaintInboxEntry e WHERE e.governmentAgency = :governmentAgency AND e.archivedAt IS NULL")
+    Page<ComplaintInboxEntry> findActiveByGovernmentAgency(@Param("governmentAgency") GovernmentAgencyType governmentAgency, Pageable pageable);
+
+    @Cacheable(value = "complaintLists", key = "'inbox:agency:' + #governmentAgency.name() + ':status:' + #status.name() + ':page:' + #pageable.pageNumber + ':size:' + #pageable.pageSize")
+    @Query("SELECT e FROM ComplaintInboxEntry e WHERE e.governmentAgency = :governmentAgency AND e.status = :status AND e.archivedAt IS NULL")
+    Page<ComplaintInboxEntry> findActiveByGovernmentAgencyAndStatus(@Param("governmentAgency") GovernmentAgencyType governmentAgency,
+                                                                   @Param("status") ComplaintStatus status,
+                                                                   Pageable pageable);
+
+    @Cacheable(value = "complaintLists", key = "'inbox:agency:' + #governmentAgency.name() + ':type:' + #complaintType.name() + ':page:' + #pageable.pageNumber + ':size:' + #pageable.pageSize")
+    @Query("SELECT e FROM ComplaintInboxEntry e WHERE e.governmentAgency = :governmentAgency AND e.complaintType = :complaintType AND e.archivedAt IS NULL")
+    Page<ComplaintInboxEntry> findActiveByGovernmentAgencyAndComplaintType(@Param("governmentAgency") GovernmentAgencyType governmentAgency,
+                                                                          @Param("complaintType") ComplaintType complaintType,
+                                                                          Pageable pageable);
+
+    @Cacheable(value = "complaintLists", key = "'inbox:agency:' + #governmentAgency.name() + ':governorate:' + #governorate.name() + ':page:' + #pageable.pageNumber + ':size:' + #pageable.pageSize")
+    @Query("SELECT e FROM ComplaintInboxEntry e WHERE e.governmentAgency = :governmentAgency AND e.governorate = :governorate AND e.archivedAt IS NULL")
+    Page<ComplaintInboxEntry> findActiveByGovernmentAgencyAndGovernorate(@Param("governmentAgency") GovernmentAgencyType governmentAgency,
+                                                                        @Param("governorate") Governorate governorate,
+                                                                        Pageable pageable);
+
+    @Cacheable(value = "complaintLists", key = "'inbox:status:' + #status.name() + ':page:' + #pageable.pageNumber + ':size:' + #pageable.pageSize")
+    @Query("SELECT e FROM ComplaintInboxEntry e WHERE e.status = :status AND e.archivedAt IS NULL")
+    Page<ComplaintInboxEntry> findActiveByStatus(@Param("status") ComplaintStatus status, Pageable pageable);
+
+    @Cacheable(value = "complaintLists", key = "'inbox:type:' + #complaintType.name() + ':page:' + #pageable.pageNumber + ':size:' + #pageable.pageSize")
+    @Query("SELECT e FROM ComplaintInboxEntry e WHERE e.complaintType = :complaintType AND e.archivedAt IS NULL")
+    Page<ComplaintInboxEntry> findActiveByComplaintType(@Param("complaintType") ComplaintType complaintType, Pageable pageable);
+
+    @Cacheable(value = "complaintLists", key = "'inbox:governorate:' + #governorate.name() + ':page:' + #pageable.pageNumber + ':size:' + #pageable.pageSize")
+    @Query("SELECT e FROM ComplaintInboxEntry e WHERE e.governorate = :governorate AND e.archivedAt IS NULL")
+    Page<ComplaintInboxEntry> findActiveByGovernorate(@Param("governorate") Governorate governorate, Pageable pageable);
+
+    // شكاوى المواطن بما فيها المؤرشفة
+    @Cacheable(value = "complaintLists", key = "'inbox:citizen:' + #citizenId + ':page:' + #pageable.pageNumber + ':size:' + #pageable.pageSize")
+    Page<ComplaintInboxEntry> findByCitizenId(Long citizenId, Pageable pageable);
+
+    @Cacheable(value = "complaintLists", key = "'inbox:citizen:' + #citizenId + ':agency:' + #governmentAgency.name() + ':page:' + #pageable.pageNumber + ':size:' + #pageable.pageSize")
+    Page<ComplaintInboxEntry> findByCitizenIdAndGovernmentAgency(Long citizenId, GovernmentAgencyType governmentAgency, Pageable pageable);
+
+    /**
+     * Brings the complaint's row in line with complaint_inbox_source: written, updated, or removed when the
+     * complaint was deleted. Flushes pending entity changes first so the row sees them.
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @CacheEvict(value = "complaintLists", allEntries = true)
+    @Query(value = REFRESH, nativeQuery = true)
+    int refresh(@Param("complaintId") Long complaintId);
+}
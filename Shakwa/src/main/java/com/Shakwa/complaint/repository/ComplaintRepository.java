@@ -10,15 +10,21 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+import org.hibernate.jpa.HibernateHints;
 
 import com.Shakwa.complaint.Enum.ComplaintStatus;
 import com.Shakwa.complaint.Enum.ComplaintType;
 import com.Shakwa.complaint.Enum.Governorate;
+import com.Shakwa.complaint.dto.ComplaintVersionStamp;
 import com.Shakwa.complaint.entity.Complaint;
 import com.Shakwa.user.Enum.GovernmentAgencyType;
 
@@ -89,7 +95,51 @@ public interface ComplaintRepository extends JpaRepository<Complaint, Long>, Jpa
     @Cacheable(value = "complaintLists", key = "'complaints:governorate:' + #governorate.name()")
     List<Complaint> findByGovernorate(Governorate governorate);
 
-    boolean existsByTrackingNumber(String trackingNumber);
+    /**
+     * complaints is partitioned by created_at, so uniqueness lives in complaint_tracking_numbers (one PK probe
+     * instead of one index probe per partition)
+     */
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM complaint_tracking_numbers WHERE tracking_number = :trackingNumber)", nativeQuery = true)
+    boolean existsByTrackingNumber(@Param("trackingNumber") String trackingNumber);
+
+    /**
+     * Complaint moved to complaints_archive by ComplaintArchiver (findById only sees active complaints)
+     */
+    @Query(value = "SELECT * FROM complaints_archive WHERE id = :id", nativeQuery = true)
+    Optional<Complaint> findArchivedById(@Param("id") Long id);
+
+    /**
+     * Version, citizen and agency of an active or archived complaint, for If-None-Match checks
+     * One id probe per partition and one in the archive; no entity is loaded. Not cached.
+     */
+    @Query(value = "SELECT version, citizen_id AS \"citizenId\", government_agency AS \"governmentAgency\" "
+                 + "FROM complaints_with_archive WHERE id = :id",
+           nativeQuery = true)
+    Optional<ComplaintVersionStamp> findVersionStampById(@Param("id") Long id);
+
+    /**
+     * شكاوى المواطن بما فيها المؤرشفة، الأحدث أولاً
+     * The order is part of the query, so pass an unsorted Pageable.
+     */
+    @Cacheable(value = "complaintLists", key = "'complaints:citizen:' + #citizenId + ':with-archive:page:' + #pageable.pageNumber + ':size:' + #pageable.pageSize")
+    @Query(value = "SELECT * FROM complaints_with_archive WHERE citizen_id = :citizenId ORDER BY created_at DESC",
+           countQuery = "SELECT COUNT(*) FROM complaints_with_archive WHERE citizen_id = :citizenId",
+           nativeQuery = true)
+    Page<Complaint> findByCitizenIdIncludingArchived(@Param("citizenId") Long citizenId, Pageable pageable);
+
+    /**
+     * شكاوى المواطن لدى جهة حكومية بما فيها المؤرشفة، الأحدث أولاً
+     * The order is part of the query, so pass an unsorted Pageable.
+     */
+    @Cacheable(value = "complaintLists", key = "'complaints:citizen:' + #citizenId + ':agency:' + #governmentAgency.name() + ':with-archive:page:' + #pageable.pageNumber + ':size:' + #pageable.pageSize")
+    @Query(value = "SELECT * FROM complaints_with_archive WHERE citizen_id = :citizenId "
+                 + "AND government_agency = :#{#governmentAgency.name()} ORDER BY created_at DESC",
+           countQuery = "SELECT COUNT(*) FROM complaints_with_archive WHERE citizen_id = :citizenId "
+                 + "AND government_agency = :#{#governmentAgency.name()}",
+           nativeQuery = true)
+    Page<Complaint> findByCitizenIdAndGovernmentAgencyIncludingArchived(@Param("citizenId") Long citizenId,
+                                                                         @Param("governmentAgency") GovernmentAgencyType governmentAgency,
+                                                                         Pageable pageable);
 
     /**
      * Find complaint by ID with pessimistic write lock (SELECT FOR UPDATE)
@@ -109,6 +159,44 @@ public interface ComplaintRepository extends JpaRepository<Complaint, Long>, Jpa
     @Query("SELECT c FROM Complaint c WHERE c.id = :id AND c.governmentAgency = :agency")
     Optional<Complaint> findByIdAndAgencyForUpdate(@Param("id") Long id, @Param("agency") GovernmentAgencyType agency);
 
+    /**
+     * Find complaint by ID and agency without any lock, for If-Match updates
+     * Loaded read-only: changes made to it are never flushed, updateIfVersion writes them instead.
+     * Not cached, the version must be current.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT c FROM Complaint c WHERE c.id = :id AND c.governmentAgency = :agency")
+    Optional<Complaint> findByIdAndAgency(@Param("id") Long id, @Param("agency") GovernmentAgencyType agency);
+
+    /**
+     * Conditional update for If-Match: writes the complaint's mutable fields only if its version is still
+     * expectedVersion, and bumps the version. Returns 0 when another write got there first. created_at is
+     * part of the predicate so only the complaint's partition is probed. The row lock lasts from this
+     * statement to commit; nothing is locked while the request is being processed.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @CacheEvict(value = "complaintLists", allEntries = true)
+    @Query("UPDATE Complaint c SET c.complaintType = :#{#complaint.complaintType}, "
+         + "c.governorate = :#{#complaint.governorate}, c.governmentAgency = :#{#complaint.governmentAgency}, "
+         + "c.location = :#{#complaint.location}, c.description = :#{#complaint.description}, "
+         + "c.solutionSuggestion = :#{#complaint.solutionSuggestion}, c.status = :#{#complaint.status}, "
+         + "c.response = :#{#complaint.response}, c.respondedAt = :#{#complaint.respondedAt}, "
+         + "c.respondedBy = :#{#complaint.respondedBy}, c.updatedAt = :#{#complaint.updatedAt}, "
+         + "c.lastModifiedBy = :#{#complaint.lastModifiedBy}, "
+         + "c.lastModifiedByUserType = :#{#complaint.lastModifiedByUserType}, c.version = c.version + 1 "
+         + "WHERE c.id = :#{#complaint.id} AND c.createdAt = :#{#complaint.createdAt} AND c.version = :expectedVersion")
+    int updateIfVersion(@Param("complaint") Complaint complaint, @Param("expectedVersion") Long expectedVersion);
+
+    /**
+     * أقدم شكوى معلقة لدى الجهة لم يحجزها موظف آخر (claim-next)
+     * Locks the row; SKIP LOCKED passes over rows another employee is claiming, so concurrent claims never wait
+     * on each other. Served by idx_complaints_agency_status_created (read backwards). Not cached.
+     */
+    @Query(value = "SELECT * FROM complaints WHERE government_agency = :#{#agency.name()} AND status = 'PENDING' "
+                 + "ORDER BY created_at LIMIT 1 FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    Optional<Complaint> findNextPendingForClaim(@Param("agency") GovernmentAgencyType agency);
+
     /**
      * Override save method to evict caches when saving
      */
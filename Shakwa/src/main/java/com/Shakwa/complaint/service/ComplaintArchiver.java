@@ -0,0 +1,177 @@
+package com.Shakwa.complaint.service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.Shakwa.complaint.event.ComplaintChangeStamps;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Moves complaints that have been RESOLVED, REJECTED or CLOSED for longer than after-days, with their history
+ * and attachment metadata, from the hot tables into the *_archive tables (V8).
+ *
+ * Each chunk is one transaction: candidates are locked with SKIP LOCKED (several nodes may run the job, and an
+ * employee holding a complaint is never waited for), copied, then deleted from complaints; the delete trigger
+ * removes the hot history and attachment rows, and their complaint_inbox_view rows are marked archived.
+ * ComplaintService reads through to the archive, so archived
+ * complaints stay visible by id, in citizen listings and in their history, but can no longer be changed.
+ */
+@Component
+public class ComplaintArchiver {
+
+    private static final Logger logger = LoggerFactory.getLogger(ComplaintArchiver.class);
+
+    private static final String CLOSED_STATUSES = "('RESOLVED', 'REJECTED', 'CLOSED')";
+
+    // Matches idx_complaints_closed_last_change
+    private static final String LOCK_CANDIDATES =
+            "SELECT id, created_at FROM complaints " +
+            "WHERE status IN " + CLOSED_STATUSES + " AND COALESCE(updated_at, created_at) < ? " +
+            "ORDER BY COALESCE(updated_at, created_at) LIMIT ? FOR UPDATE SKIP LOCKED";
+
+    // created_at >= the oldest complaint of the chunk prunes older partitions (history is never older than its complaint)
+    private static final String COPY_COMPLAINTS =
+            "INSERT INTO complaints_archive SELECT c.*, ?::timestamp FROM complaints c " +
+            "WHERE c.id = ANY(?) AND c.created_at >= ?";
+    private static final String COPY_HISTORY =
+            "INSERT INTO complaint_history_archive SELECT h.*, ?::timestamp FROM complaint_history h " +
+            "WHERE h.complaint_id = ANY(?) AND h.created_at >= ?";
+    private static final String COPY_ATTACHMENTS =
+            "INSERT INTO complaint_attachments_archive SELECT a.*, ?::timestamp FROM complaint_attachments a " +
+            "WHERE a.complaint_id = ANY(?)";
+    // The read model keeps archived complaints for citizen listings (see V10)
+    private static final String MARK_INBOX_ARCHIVED =
+            "UPDATE complaint_inbox_view SET archived_at = ? WHERE complaint_id = ANY(?)";
+    private static final String DELETE_COMPLAINTS =
+            "DELETE FROM complaints WHERE id = ANY(?) AND created_at >= ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CacheManager cacheManager;
+    private final ComplaintChangeStamps complaintChangeStamps;
+    private final int afterDays;
+    private final int chunkSize;
+    private final Duration chunkPause;
+    private final Counter archivedCounter;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(
+            Thread.ofVirtual().name("complaint-archiver").factory());
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public ComplaintArchiver(JdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager,
+                             CacheManager cacheManager,
+                             ComplaintChangeStamps complaintChangeStamps,
+                             MeterRegistry meterRegistry,
+                             @Value("${shakwa.archive.after-days:180}") int afterDays,
+                             @Value("${shakwa.archive.chunk-size:500}") int chunkSize,
+                             // Gives replicas and concurrent traffic room between chunks
+                             @Value("${shakwa.archive.chunk-pause:PT0.2S}") Duration chunkPause) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.cacheManager = cacheManager;
+        this.complaintChangeStamps = complaintChangeStamps;
+        this.afterDays = afterDays;
+        this.chunkSize = chunkSize;
+        this.chunkPause = chunkPause;
+        this.archivedCounter = Counter.builder("shakwa.complaints.archived")
+                .description("Complaints moved to the archive tables")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Starts a run on the archiver thread unless one is still going, so the scheduler thread is not held.
+     */
+    @Scheduled(cron = "${shakwa.archive.cron:0 0 4 * * *}")
+    public void schedule() {
+        if (running.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                try {
+                    archiveClosedComplaints();
+                } catch (Exception e) {
+                    logger.error("Complaint archival failed", e);
+                } finally {
+                    running.set(false);
+                }
+            });
+        }
+    }
+
+    /**
+     * Archives chunk by chunk until no complaint is due. Returns the number of complaints archived.
+     */
+    public long archiveClosedComplaints() throws InterruptedException {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(afterDays);
+        long total = 0;
+        int archived;
+        try {
+            while ((archived = archiveChunk(cutoff)) > 0) {
+                total += archived;
+                archivedCounter.increment(archived);
+                if (archived < chunkSize) {
+                    break;
+                }
+                Thread.sleep(chunkPause);
+            }
+        } finally {
+            if (total > 0) {
+                // Cached lists and findById results may still hold the moved complaints as active
+                Cache lists = cacheManager.getCache("complaintLists");
+                if (lists != null) {
+                    lists.clear();
+                }
+                // Archived complaints leave agency lists and citizen listings show them as archived
+                complaintChangeStamps.touchAll();
+                logger.info("Archived {} complaints closed before {}", total, cutoff);
+            }
+        }
+        return total;
+    }
+
+    private int archiveChunk(LocalDateTime cutoff) {
+        Integer archived = transactionTemplate.execute(status -> {
+            List<Candidate> candidates = jdbcTemplate.query(LOCK_CANDIDATES,
+                    (rs, rowNum) -> new Candidate(rs.getLong("id"), rs.getTimestamp("created_at")),
+                    Timestamp.valueOf(cutoff), chunkSize);
+            if (candidates.isEmpty()) {
+                return 0;
+            }
+            Long[] ids = candidates.stream().map(Candidate::id).toArray(Long[]::new);
+            Timestamp oldest = candidates.stream().map(Candidate::createdAt).min(Timestamp::compareTo).orElseThrow();
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+            jdbcTemplate.update(COPY_COMPLAINTS, now, ids, oldest);
+            jdbcTemplate.update(COPY_HISTORY, now, ids, oldest);
+            jdbcTemplate.update(COPY_ATTACHMENTS, now, ids);
+            jdbcTemplate.update(MARK_INBOX_ARCHIVED, now, ids);
+            return jdbcTemplate.update(DELETE_COMPLAINTS, ids, oldest);
+        });
+        return archived == null ? 0 : archived;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private record Candidate(long id, Timestamp createdAt) {
+    }
+}
@@ -0,0 +1,354 @@
+package com.Shakwa.complaint.service;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.Shakwa.complaint.Enum.ComplaintExportFormat;
+import com.Shakwa.complaint.dto.ComplaintExportFilter;
+import com.Shakwa.utils.exception.ServiceUnavailableException;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Streams complaint exports (CSV or XLSX) straight from a database cursor to the response.
+ *
+ * One forward-only query per export, read fetch-size rows at a time inside a read-only transaction (the
+ * PostgreSQL driver only uses a cursor when autocommit is off), selecting plain columns and the two user
+ * names - no entities, no count query, no per-row lookups. Each row is written as soon as it is read, so
+ * memory stays constant whatever the size of the export.
+ *
+ * Exports run on their own small connection pool ("export"), so long-running exports can never take
+ * connections from request traffic. A permit per pool connection bounds concurrent exports; an export that
+ * finds none free is rejected with 503 up front instead of waiting for a connection while holding a thread.
+ * The pool connects to spring.datasource.url unless shakwa.export.url points it elsewhere (e.g. the replica).
+ */
+@Component
+public class ComplaintExporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ComplaintExporter.class);
+
+    // Same names as ComplaintDTORequest where the field exists, so an export can be edited and imported back
+    static final String[] COLUMNS = {
+            "trackingNumber", "complaintType", "governorate", "governmentAgency", "status", "location",
+            "description", "solutionSuggestion", "response", "citizenId", "citizenName", "respondedByName",
+            "createdAt", "respondedAt"};
+
+    private static final String SELECT =
+            "SELECT c.tracking_number, c.complaint_type, c.governorate, c.government_agency, c.status, c.location, " +
+            "c.description, c.solution_suggestion, c.response, c.citizen_id, " +
+            "cu.first_name || ' ' || cu.last_name, ru.first_name || ' ' || ru.last_name, c.created_at, c.responded_at " +
+            "FROM complaints c JOIN users cu ON cu.id = c.citizen_id LEFT JOIN users ru ON ru.id = c.responded_by";
+
+    record ExportQuery(String sql, Object[] args) {
+    }
+
+    private final HikariDataSource pool;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Semaphore permits;
+    private final Counter exportedCounter;
+    private final Counter rejectedCounter;
+
+    public ComplaintExporter(@Value("${shakwa.export.url:${spring.datasource.url}}") String url,
+                             @Value("${shakwa.export.username:${spring.datasource.username}}") String username,
+                             @Value("${shakwa.export.password:${spring.datasource.password}}") String password,
+                             @Value("${shakwa.export.pool-size:2}") int poolSize,
+                             @Value("${shakwa.export.fetch-size:1000}") int fetchSize,
+                             @Value("${spring.datasource.hikari.connection-timeout:5000}") long connectionTimeout,
+                             MeterRegistry meterRegistry) {
+        this.pool = new HikariDataSource();
+        pool.setPoolName("export");
+        pool.setJdbcUrl(url);
+        pool.setUsername(username);
+        pool.setPassword(password);
+        pool.setMaximumPoolSize(poolSize);
+        // Exports are rare; hold no connection while none runs
+        pool.setMinimumIdle(0);
+        pool.setConnectionTimeout(connectionTimeout);
+        pool.setReadOnly(true);
+        pool.setInitializationFailTimeout(-1);
+        pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+
+        this.jdbcTemplate = new JdbcTemplate(pool);
+        jdbcTemplate.setFetchSize(fetchSize);
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(pool));
+        transactionTemplate.setReadOnly(true);
+        this.permits = new Semaphore(poolSize);
+        this.exportedCounter = Counter.builder("shakwa.complaints.exported")
+                .description("Complaint rows written by exports")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("shakwa.complaints.export.rejected")
+                .description("Exports rejected because every export connection was busy")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Reserves an export slot and returns the body that streams the export into the response.
+     * Throws ServiceUnavailableException (503) when all slots are taken; the slot is freed when the body completes.
+     */
+    public StreamingResponseBody prepare(ComplaintExportFilter filter, ComplaintExportFormat format) {
+        if (!permits.tryAcquire()) {
+            rejectedCounter.increment();
+            throw new ServiceUnavailableException("Too many complaint exports are running, try again shortly");
+        }
+        return outputStream -> {
+            try {
+                export(filter, format, outputStream);
+            } finally {
+                permits.release();
+            }
+        };
+    }
+
+    private void export(ComplaintExportFilter filter, ComplaintExportFormat format, OutputStream outputStream) throws IOException {
+        long started = System.nanoTime();
+        ExportQuery query = query(filter);
+        long[] rows = {0};
+        try (RowSink sink = format == ComplaintExportFormat.XLSX ? new XlsxSink(outputStream) : new CsvSink(outputStream)) {
+            transactionTemplate.executeWithoutResult(tx -> jdbcTemplate.query(query.sql(), rs -> {
+                try {
+                    sink.write(values(rs));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                rows[0]++;
+            }, query.args()));
+            sink.finish();
+        } catch (UncheckedIOException e) {
+            if (isClientAbort(e.getCause())) {
+                logger.debug("Client disconnected after {} exported complaint rows", rows[0]);
+                return;
+            }
+            throw e.getCause();
+        } catch (IOException e) {
+            if (isClientAbort(e)) {
+                logger.debug("Client disconnected after {} exported complaint rows", rows[0]);
+                return;
+            }
+            throw e;
+        } finally {
+            exportedCounter.increment(rows[0]);
+        }
+        logger.info("Exported {} complaints as {} in {} ms", rows[0], format, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * The export query for the filter; every restriction is a bind parameter
+     */
+    static ExportQuery query(ComplaintExportFilter filter) {
+        List<String> conditions = new ArrayList<>();
+        List<Object> args = new ArrayList<>();
+        condition(conditions, args, "c.status = ?", filter.status() != null ? filter.status().name() : null);
+        condition(conditions, args, "c.complaint_type = ?", filter.complaintType() != null ? filter.complaintType().name() : null);
+        condition(conditions, args, "c.governorate = ?", filter.governorate() != null ? filter.governorate().name() : null);
+        condition(conditions, args, "c.government_agency = ?", filter.governmentAgency() != null ? filter.governmentAgency().name() : null);
+        condition(conditions, args, "c.citizen_id = ?", filter.citizenId());
+        // Bounds on created_at also prune the monthly partitions
+        condition(conditions, args, "c.created_at >= ?", filter.createdFrom() != null ? Timestamp.valueOf(filter.createdFrom()) : null);
+        condition(conditions, args, "c.created_at < ?", filter.createdBefore() != null ? Timestamp.valueOf(filter.createdBefore()) : null);
+        condition(conditions, args, "c.government_agency = ?", filter.visibleAgency() != null ? filter.visibleAgency().name() : null);
+        condition(conditions, args, "c.citizen_id = ?", filter.visibleCitizenId());
+
+        StringBuilder sql = new StringBuilder(SELECT);
+        if (!conditions.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+        sql.append(" ORDER BY c.created_at, c.id");
+        return new ExportQuery(sql.toString(), args.toArray());
+    }
+
+    private static void condition(List<String> conditions, List<Object> args, String condition, Object value) {
+        if (value != null) {
+            conditions.add(condition);
+            args.add(value);
+        }
+    }
+
+    static Object[] values(ResultSet rs) throws SQLException {
+        return new Object[] {
+                rs.getString(1),
+                label(rs.getString(2)),
+                label(rs.getString(3)),
+                label(rs.getString(4)),
+                label(rs.getString(5)),
+                rs.getString(6),
+                rs.getString(7),
+                rs.getString(8),
+                rs.getString(9),
+                rs.getObject(10, Long.class),
+                rs.getString(11),
+                rs.getString(12),
+                rs.getObject(13, LocalDateTime.class),
+                rs.getObject(14, LocalDateTime.class)};
+    }
+
+    // Enum names as the JSON API writes them (@JsonValue labels)
+    private static String label(String name) {
+        return name != null ? name.replace('_', ' ') : null;
+    }
+
+    private static boolean isClientAbort(Throwable e) {
+        // Tomcat reports a dropped connection as ClientAbortException (an IOException)
+        return e.getClass().getSimpleName().equals("ClientAbortException")
+                || (e.getMessage() != null && e.getMessage().contains("Broken pipe"));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.close();
+    }
+
+    interface RowSink extends Closeable {
+
+        void write(Object[] values) throws IOException;
+
+        void finish() throws IOException;
+    }
+
+    /**
+     * UTF-8 CSV with a byte order mark, so spreadsheet applications read the Arabic text correctly
+     */
+    static final class CsvSink implements RowSink {
+
+        private final CSVPrinter printer;
+
+        CsvSink(OutputStream outputStream) throws IOException {
+            BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            writer.write('\uFEFF');
+            this.printer = new CSVPrinter(writer, CSVFormat.RFC4180.builder().setHeader(COLUMNS).get());
+        }
+
+        @Override
+        public void write(Object[] values) throws IOException {
+            for (Object value : values) {
+                printer.print(value instanceof String text ? neutralizeFormula(text) : value);
+            }
+            printer.println();
+        }
+
+        @Override
+        public void finish() throws IOException {
+            printer.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            // The response stream is closed by the container
+            printer.flush();
+        }
+
+        // Citizen-written text starting like a formula would run as one when the file is opened in a spreadsheet
+        static String neutralizeFormula(String text) {
+            if (!text.isEmpty() && "=+-@\t\r".indexOf(text.charAt(0)) >= 0) {
+                return "'" + text;
+            }
+            return text;
+        }
+    }
+
+    /**
+     * SXSSF keeps a window of rows in memory and spills the rest to a compressed temporary file; the workbook is
+     * written to the response once the query is done. A sheet holds at most 1,048,575 rows after its header, so
+     * larger exports continue on further sheets.
+     */
+    static final class XlsxSink implements RowSink {
+
+        private static final int ROW_WINDOW = 100;
+        private static final int LAST_ROW_INDEX = SpreadsheetVersion.EXCEL2007.getLastRowIndex();
+        private static final int MAX_TEXT_LENGTH = SpreadsheetVersion.EXCEL2007.getMaxTextLength();
+
+        private final OutputStream outputStream;
+        private final SXSSFWorkbook workbook;
+        private final CellStyle dateStyle;
+        private Sheet sheet;
+        private int rowIndex;
+
+        XlsxSink(OutputStream outputStream) {
+            this.outputStream = outputStream;
+            this.workbook = new SXSSFWorkbook(ROW_WINDOW);
+            workbook.setCompressTempFiles(true);
+            this.dateStyle = workbook.createCellStyle();
+            dateStyle.setDataFormat(workbook.createDataFormat().getFormat("yyyy-mm-dd hh:mm"));
+            newSheet();
+        }
+
+        @Override
+        public void write(Object[] values) {
+            if (rowIndex > LAST_ROW_INDEX) {
+                newSheet();
+            }
+            Row row = sheet.createRow(rowIndex++);
+            for (int i = 0; i < values.length; i++) {
+                Object value = values[i];
+                if (value == null) {
+                    continue;
+                }
+                Cell cell = row.createCell(i);
+                if (value instanceof LocalDateTime dateTime) {
+                    cell.setCellValue(dateTime);
+                    cell.setCellStyle(dateStyle);
+                } else if (value instanceof Long number) {
+                    cell.setCellValue(number);
+                } else {
+                    String text = value.toString();
+                    cell.setCellValue(text.length() > MAX_TEXT_LENGTH ? text.substring(0, MAX_TEXT_LENGTH) : text);
+                }
+            }
+        }
+
+        @Override
+        public void finish() throws IOException {
+            workbook.write(outputStream);
+            outputStream.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            // Also deletes the temporary files
+            workbook.close();
+        }
+
+        private void newSheet() {
+            sheet = workbook.createSheet(workbook.getNumberOfSheets() == 0 ? "complaints" : "complaints " + (workbook.getNumberOfSheets() + 1));
+            sheet.setRightToLeft(true);
+            Row header = sheet.createRow(0);
+            for (int i = 0; i < COLUMNS.length; i++) {
+                header.createCell(i).setCellValue(COLUMNS[i]);
+            }
+            rowIndex = 1;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.Shakwa.complaint.service;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.Shakwa.complaint.Enum.ComplaintImportFormat;
+import com.Shakwa.complaint.dto.ComplaintImportReport;
+import com.Shakwa.user.entity.Citizen;
+import com.Shakwa.user.entity.User;
+import com.Shakwa.user.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Command-line bulk import: runs the import of shakwa.import.file on behalf of shakwa.import.actor-email, writes
+ * the report next to the file (<file>.report.json) and exits (0 when every row was imported, 1 otherwise).
+ *
+ * java -jar shakwa.jar --spring.main.web-application-type=none \
+ *      --shakwa.import.file=complaints.csv --shakwa.import.actor-email=employee@shakwa.com
+ */
+@Component
+@Order(10) // After the system roles and users exist
+@ConditionalOnProperty("shakwa.import.file")
+public class ComplaintImportCommand implements CommandLineRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(ComplaintImportCommand.class);
+
+    private final ComplaintImporter complaintImporter;
+    private final UserRepository userRepository;
+    private final ObjectMapper objectMapper;
+    private final ApplicationContext applicationContext;
+    private final Path file;
+    private final String actorEmail;
+
+    public ComplaintImportCommand(ComplaintImporter complaintImporter,
+                                  UserRepository userRepository,
+                                  ObjectMapper objectMapper,
+                                  ApplicationContext applicationContext,
+                                  @Value("${shakwa.import.file}") Path file,
+                                  @Value("${shakwa.import.actor-email}") String actorEmail) {
+        this.complaintImporter = complaintImporter;
+        this.userRepository = userRepository;
+        this.objectMapper = objectMapper;
+        this.applicationContext = applicationContext;
+        this.file = file;
+        this.actorEmail = actorEmail;
+    }
+
+    @Override
+    public void run(String... args) throws Exception {
+        User actor = userRepository.findByEmail(actorEmail)
+                .orElseThrow(() -> new IllegalArgumentException("Import actor not found with email: " + actorEmail));
+        if (actor instanceof Citizen) {
+            throw new IllegalArgumentException("Citizens cannot import complaints");
+        }
+        ComplaintImportFormat format = ComplaintImportFormat.fromFileName(file.getFileName().toString());
+
+        log.info("Importing complaints from {} ({}) as {}", file, format, actorEmail);
+        ComplaintImportReport report;
+        try (InputStream input = Files.newInputStream(file)) {
+            report = complaintImporter.importComplaints(input, format, actor);
+        }
+        Path reportFile = file.resolveSibling(file.getFileName() + ".report.json");
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(reportFile.toFile(), report);
+        log.info("Imported {} of {} rows ({} failed) in {} ms, report written to {}",
+                report.getImported(), report.getRows(), report.getFailed(), report.getDurationMs(), reportFile);
+
+        int exitCode = report.getFailed() == 0 ? 0 : 1;
+        System.exit(SpringApplication.exit(applicationContext, () -> exitCode));
+    }
+}
@@ -0,0 +1,148 @@
+package com.Shakwa.complaint.service;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.apache.commons.io.input.BOMInputStream;
+
+import com.Shakwa.complaint.Enum.ComplaintImportFormat;
+import com.Shakwa.complaint.dto.ComplaintDTORequest;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Reads import rows one at a time, so an import holds one row of the input in memory, not the file.
+ *
+ * CSV columns and NDJSON fields are the ComplaintDTORequest properties, plus citizenEmail as an alternative to
+ * citizenId. Both go through the application's ObjectMapper, so enum values are accepted exactly as the JSON API
+ * accepts them. A row that cannot be read becomes a Row with an error; malformed CSV quoting cannot be skipped
+ * and surfaces as UncheckedIOException / IllegalStateException from hasNext().
+ */
+class ComplaintImportReader implements Iterator<ComplaintImportReader.Row>, Closeable {
+
+    static final String CITIZEN_EMAIL = "citizenEmail";
+
+    private static final CSVFormat CSV_FORMAT = CSVFormat.RFC4180.builder()
+            .setHeader()
+            .setSkipHeaderRecord(true)
+            .setIgnoreEmptyLines(true)
+            .setIgnoreSurroundingSpaces(true)
+            .get();
+
+    /**
+     * @param row CSV record number after the header, or NDJSON line number
+     */
+    record Row(long row, ComplaintDTORequest request, String citizenEmail, String error) {
+    }
+
+    private final ObjectMapper objectMapper;
+    private final BufferedReader reader;
+    private final CSVParser csvParser;
+    private final Iterator<CSVRecord> csvRecords;
+    private long rowNumber;
+    private Row next;
+
+    ComplaintImportReader(InputStream input, ComplaintImportFormat format, ObjectMapper objectMapper) throws IOException {
+        this.objectMapper = objectMapper;
+        // Spreadsheet exports often start with a byte order mark
+        this.reader = new BufferedReader(new InputStreamReader(
+                BOMInputStream.builder().setInputStream(input).get(), StandardCharsets.UTF_8));
+        if (format == ComplaintImportFormat.CSV) {
+            this.csvParser = CSVParser.builder().setReader(reader).setFormat(CSV_FORMAT).get();
+            this.csvRecords = csvParser.iterator();
+        } else {
+            this.csvParser = null;
+            this.csvRecords = null;
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            next = csvRecords != null ? readCsv() : readNdjson();
+        }
+        return next != null;
+    }
+
+    @Override
+    public Row next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Row row = next;
+        next = null;
+        return row;
+    }
+
+    private Row readCsv() {
+        if (!csvRecords.hasNext()) {
+            return null;
+        }
+        CSVRecord record = csvRecords.next();
+        long row = ++rowNumber;
+        ObjectNode node = objectMapper.createObjectNode();
+        for (Map.Entry<String, String> column : record.toMap().entrySet()) {
+            // Empty cells are absent values, not empty strings (which no enum accepts)
+            if (column.getValue() != null && !column.getValue().isBlank()) {
+                node.put(column.getKey().trim(), column.getValue());
+            }
+        }
+        return toRow(row, node);
+    }
+
+    private Row readNdjson() {
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                long row = ++rowNumber;
+                if (line.isBlank()) {
+                    continue;
+                }
+                JsonNode node;
+                try {
+                    node = objectMapper.readTree(line);
+                } catch (JsonProcessingException e) {
+                    return new Row(row, null, null, "Invalid JSON: " + e.getOriginalMessage());
+                }
+                if (!(node instanceof ObjectNode object)) {
+                    return new Row(row, null, null, "Each line must be a JSON object");
+                }
+                return toRow(row, object);
+            }
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Row toRow(long row, ObjectNode node) {
+        JsonNode email = node.remove(CITIZEN_EMAIL);
+        try {
+            ComplaintDTORequest request = objectMapper.treeToValue(node, ComplaintDTORequest.class);
+            return new Row(row, request, email != null && !email.isNull() ? email.asText().trim() : null, null);
+        } catch (JsonProcessingException e) {
+            return new Row(row, null, null, e.getOriginalMessage());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (csvParser != null) {
+            csvParser.close();
+        }
+        reader.close();
+    }
+}
@@ -0,0 +1,315 @@
+package com.Shakwa.complaint.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.Shakwa.complaint.Enum.ComplaintImportFormat;
+import com.Shakwa.complaint.Enum.ComplaintStatus;
+import com.Shakwa.complaint.dto.ComplaintDTORequest;
+import com.Shakwa.complaint.dto.ComplaintImportReport;
+import com.Shakwa.complaint.event.ComplaintChangeStamps;
+import com.Shakwa.user.Enum.GovernmentAgencyType;
+import com.Shakwa.user.entity.Employee;
+import com.Shakwa.user.entity.User;
+import com.Shakwa.utils.exception.ConflictException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Bulk import of complaints from offline intake channels (paper forms, call centre).
+ *
+ * The input is streamed row by row (ComplaintImportReader). Rows are validated like POST api/v1/complaints and
+ * written chunk-size at a time, each chunk in one transaction: its citizens are resolved in one query, its ids and
+ * tracking numbers are reserved in one round trip each, complaints are inserted as one JDBC batch, and their
+ * CREATED history and complaint_inbox_view rows with one INSERT ... SELECT each. A chunk that fails is rolled back
+ * and reported row by row; the import goes on with the next one.
+ *
+ * Imported complaints publish no ComplaintChangedEvent (thousands of per-row refreshes and pushes): like the
+ * archiver, the import clears the list cache and moves every list ETag stamp instead, and live-feed subscribers
+ * see the new complaints on their next list fetch.
+ */
+@Component
+public class ComplaintImporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ComplaintImporter.class);
+
+    private static final String NEXT_IDS = "SELECT nextval('global_id_seq') FROM generate_series(1, ?)";
+    private static final String TAKEN_TRACKING_NUMBERS =
+            "SELECT tracking_number FROM complaint_tracking_numbers WHERE tracking_number = ANY(?)";
+    private static final String FIND_CITIZENS =
+            "SELECT u.id, u.email FROM users u JOIN citizens c ON c.id = u.id WHERE u.id = ANY(?) OR u.email = ANY(?)";
+    private static final String INSERT_COMPLAINT =
+            "INSERT INTO complaints (id, complaint_type, governorate, government_agency, location, description, " +
+            "solution_suggestion, status, tracking_number, version, citizen_id, created_at, created_by) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 0, ?, ?, ?)";
+    // Same wording as ComplaintHistoryService.recordCreation: the citizen is the actor of the complaint they filed
+    private static final String INSERT_HISTORY =
+            "INSERT INTO complaint_history (id, complaint_id, actor_id, action_type, action_description, created_at, created_by) " +
+            "SELECT nextval('global_id_seq'), c.id, c.citizen_id, 'CREATED', " +
+            "'تم إنشاء الشكوى من قبل ' || u.first_name || ' ' || u.last_name, c.created_at, ? " +
+            "FROM complaints c JOIN users u ON u.id = c.citizen_id WHERE c.id = ANY(?) AND c.created_at = ?";
+    private static final String FILL_INBOX =
+            "INSERT INTO complaint_inbox_view SELECT * FROM complaint_inbox_source WHERE complaint_id = ANY(?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final TrackingNumberGenerator trackingNumberGenerator;
+    private final CacheManager cacheManager;
+    private final ComplaintChangeStamps complaintChangeStamps;
+    private final int chunkSize;
+    private final int maxReportedErrors;
+    private final Counter importedCounter;
+
+    public ComplaintImporter(JdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager,
+                             ObjectMapper objectMapper,
+                             TrackingNumberGenerator trackingNumberGenerator,
+                             CacheManager cacheManager,
+                             ComplaintChangeStamps complaintChangeStamps,
+                             MeterRegistry meterRegistry,
+                             @Value("${shakwa.import.chunk-size:500}") int chunkSize,
+                             @Value("${shakwa.import.max-reported-errors:1000}") int maxReportedErrors) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Each chunk commits on its own, even when a caller's transaction is open
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.objectMapper = objectMapper;
+        this.trackingNumberGenerator = trackingNumberGenerator;
+        this.cacheManager = cacheManager;
+        this.complaintChangeStamps = complaintChangeStamps;
+        this.chunkSize = chunkSize;
+        this.maxReportedErrors = maxReportedErrors;
+        this.importedCounter = Counter.builder("shakwa.complaints.imported")
+                .description("Complaints created by bulk import")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Imports every valid row of the input on behalf of actor. An employee may only import complaints of their
+     * own agency. Rows are committed chunk by chunk, so complaints imported before a failure stay imported.
+     */
+    public ComplaintImportReport importComplaints(InputStream input, ComplaintImportFormat format, User actor) throws IOException {
+        long started = System.nanoTime();
+        GovernmentAgencyType actorAgency = actor instanceof Employee employee ? employee.getGovernmentAgency() : null;
+        Progress progress = new Progress();
+        List<ComplaintImportReader.Row> chunk = new ArrayList<>(chunkSize);
+
+        try (ComplaintImportReader reader = new ComplaintImportReader(input, format, objectMapper)) {
+            while (true) {
+                ComplaintImportReader.Row row;
+                try {
+                    if (!reader.hasNext()) {
+                        break;
+                    }
+                    row = reader.next();
+                } catch (UncheckedIOException | IllegalStateException e) {
+                    // Malformed CSV quoting: the parser cannot find the next row, so nothing after it is read
+                    progress.fail(progress.rows + 1, "Unreadable input, import stopped: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+                    break;
+                }
+                progress.rows++;
+                String error = row.error() != null ? row.error() : validate(row, actorAgency);
+                if (error != null) {
+                    progress.fail(row.row(), error);
+                    continue;
+                }
+                chunk.add(row);
+                if (chunk.size() == chunkSize) {
+                    importChunk(chunk, actor, progress);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                importChunk(chunk, actor, progress);
+            }
+        } finally {
+            if (progress.imported > 0) {
+                Cache lists = cacheManager.getCache("complaintLists");
+                if (lists != null) {
+                    lists.clear();
+                }
+                complaintChangeStamps.touchAll();
+            }
+        }
+
+        long durationMs = (System.nanoTime() - started) / 1_000_000;
+        logger.info("Imported {} of {} complaint rows in {} ms ({} failed)", progress.imported, progress.rows, durationMs, progress.failed);
+        return ComplaintImportReport.builder()
+                .rows(progress.rows)
+                .imported(progress.imported)
+                .failed(progress.failed)
+                .durationMs(durationMs)
+                .errors(progress.errors)
+                .errorsTruncated(progress.failed > progress.errors.size())
+                .build();
+    }
+
+    private String validate(ComplaintImportReader.Row row, GovernmentAgencyType actorAgency) {
+        ComplaintDTORequest request = row.request();
+        try {
+            ComplaintService.validateComplaintRequest(request);
+        } catch (ConflictException e) {
+            return e.getMessage();
+        }
+        if (request.getCitizenId() == null && row.citizenEmail() == null) {
+            return "citizenId or citizenEmail is required";
+        }
+        if (actorAgency != null && request.getGovernmentAgency() != actorAgency) {
+            return "Employees can only import complaints of their own government agency";
+        }
+        return null;
+    }
+
+    private void importChunk(List<ComplaintImportReader.Row> chunk, User actor, Progress progress) {
+        List<ComplaintImportReader.Row> unresolved = new ArrayList<>();
+        try {
+            Integer imported = transactionTemplate.execute(tx -> {
+                unresolved.clear();
+                Map<Object, Long> citizens = resolveCitizens(chunk);
+                List<ComplaintImportReader.Row> rows = new ArrayList<>(chunk.size());
+                List<Long> citizenIds = new ArrayList<>(chunk.size());
+                for (ComplaintImportReader.Row row : chunk) {
+                    Long citizenId = row.request().getCitizenId() != null
+                            ? citizens.get(row.request().getCitizenId())
+                            : citizens.get(row.citizenEmail());
+                    if (citizenId == null) {
+                        unresolved.add(row);
+                    } else {
+                        rows.add(row);
+                        citizenIds.add(citizenId);
+                    }
+                }
+                if (rows.isEmpty()) {
+                    return 0;
+                }
+
+                List<Long> ids = jdbcTemplate.queryForList(NEXT_IDS, Long.class, rows.size());
+                List<String> trackingNumbers = reserveTrackingNumbers(rows.size());
+                Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+                Long actorId = actor.getId();
+                List<Object[]> batch = new ArrayList<>(rows.size());
+                for (int i = 0; i < rows.size(); i++) {
+                    ComplaintDTORequest request = rows.get(i).request();
+                    ComplaintStatus initialStatus = request.getStatus() != null ? request.getStatus() : ComplaintStatus.PENDING;
+                    batch.add(new Object[] {
+                            ids.get(i),
+                            request.getComplaintType().name(),
+                            request.getGovernorate().name(),
+                            request.getGovernmentAgency().name(),
+                            request.getLocation(),
+                            request.getDescription(),
+                            request.getSolutionSuggestion(),
+                            initialStatus.name(),
+                            trackingNumbers.get(i),
+                            citizenIds.get(i),
+                            now,
+                            actorId});
+                }
+                jdbcTemplate.batchUpdate(INSERT_COMPLAINT, batch);
+
+                Long[] idArray = ids.toArray(Long[]::new);
+                jdbcTemplate.update(INSERT_HISTORY, actorId, idArray, now);
+                jdbcTemplate.update(FILL_INBOX, (Object) idArray);
+                return rows.size();
+            });
+            int count = imported == null ? 0 : imported;
+            progress.imported += count;
+            importedCounter.increment(count);
+        } catch (DataAccessException e) {
+            String reason = "Not imported, its chunk was rolled back: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            logger.warn("Complaint import chunk of {} rows failed", chunk.size(), e);
+            for (ComplaintImportReader.Row row : chunk) {
+                if (!unresolved.contains(row)) {
+                    progress.fail(row.row(), reason);
+                }
+            }
+        }
+        for (ComplaintImportReader.Row row : unresolved) {
+            progress.fail(row.row(), row.request().getCitizenId() != null
+                    ? "Citizen not found with ID: " + row.request().getCitizenId()
+                    : "Citizen not found with email: " + row.citizenEmail());
+        }
+    }
+
+    /**
+     * Citizen ids of the chunk, keyed by the id or email the rows refer to them by
+     */
+    private Map<Object, Long> resolveCitizens(List<ComplaintImportReader.Row> chunk) {
+        Set<Long> ids = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        for (ComplaintImportReader.Row row : chunk) {
+            if (row.request().getCitizenId() != null) {
+                ids.add(row.request().getCitizenId());
+            } else {
+                emails.add(row.citizenEmail());
+            }
+        }
+        Map<Object, Long> citizens = new HashMap<>();
+        jdbcTemplate.query(FIND_CITIZENS, rs -> {
+            long id = rs.getLong("id");
+            citizens.put(id, id);
+            citizens.put(rs.getString("email"), id);
+        }, ids.toArray(Long[]::new), emails.toArray(String[]::new));
+        return citizens;
+    }
+
+    /**
+     * Distinct tracking numbers that no complaint (active or archived) has; complaint_tracking_numbers still
+     * rejects a concurrent duplicate, which fails the chunk. Running out of attempts fails the chunk the same way.
+     */
+    private List<String> reserveTrackingNumbers(int count) {
+        Set<String> numbers = new LinkedHashSet<>();
+        for (int attempt = 0; attempt < 5; attempt++) {
+            while (numbers.size() < count) {
+                numbers.add(trackingNumberGenerator.generate());
+            }
+            List<String> taken = jdbcTemplate.queryForList(TAKEN_TRACKING_NUMBERS, String.class, (Object) numbers.toArray(String[]::new));
+            if (taken.isEmpty()) {
+                return new ArrayList<>(numbers);
+            }
+            taken.forEach(numbers::remove);
+        }
+        throw new DuplicateKeyException("Unable to generate unique tracking numbers");
+    }
+
+    private final class Progress {
+        private long rows;
+        private long imported;
+        private long failed;
+        private final List<ComplaintImportReport.RowError> errors = new ArrayList<>();
+
+        private void fail(long row, String message) {
+            failed++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new ComplaintImportReport.RowError(row, message));
+            }
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.Shakwa.complaint.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.Shakwa.complaint.event.ComplaintChangeStamps;
+import com.Shakwa.complaint.event.ComplaintChangedEvent;
+import com.Shakwa.complaint.repository.ComplaintInboxRepository;
+
+/**
+ * Keeps complaint_inbox_view (V10) in line with the complaints it is read instead of.
+ *
+ * Every ComplaintChangedEvent refreshes its complaint's row before the transaction that published it commits, so
+ * a committed change always has its row and a failed refresh rolls the change back. Events published outside a
+ * transaction (the lease sweep) refresh the row on their own. ComplaintArchiver marks archived rows itself.
+ *
+ * Changes the events do not cover, such as a user renaming themselves, reach the read model on the complaint's
+ * next change or on rebuild().
+ */
+@Component
+public class ComplaintInboxProjector {
+
+    private static final Logger logger = LoggerFactory.getLogger(ComplaintInboxProjector.class);
+
+    // TRUNCATE locks the table, so refreshes and list reads wait for the rebuild instead of racing it
+    private static final String CLEAR = "TRUNCATE complaint_inbox_view";
+    private static final String FILL = "INSERT INTO complaint_inbox_view SELECT * FROM complaint_inbox_source";
+
+    private final ComplaintInboxRepository complaintInboxRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CacheManager cacheManager;
+    private final ComplaintChangeStamps complaintChangeStamps;
+
+    public ComplaintInboxProjector(ComplaintInboxRepository complaintInboxRepository,
+                                   JdbcTemplate jdbcTemplate,
+                                   PlatformTransactionManager transactionManager,
+                                   CacheManager cacheManager,
+                                   ComplaintChangeStamps complaintChangeStamps) {
+        this.complaintInboxRepository = complaintInboxRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.cacheManager = cacheManager;
+        this.complaintChangeStamps = complaintChangeStamps;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onComplaintChanged(ComplaintChangedEvent event) {
+        complaintInboxRepository.refresh(event.complaintId());
+    }
+
+    /**
+     * Regenerates the whole read model from complaint_inbox_source in one transaction. Returns the number of rows.
+     */
+    public int rebuild() {
+        long started = System.nanoTime();
+        Integer rows = transactionTemplate.execute(status -> {
+            jdbcTemplate.execute(CLEAR);
+            return jdbcTemplate.update(FILL);
+        });
+        Cache lists = cacheManager.getCache("complaintLists");
+        if (lists != null) {
+            lists.clear();
+        }
+        // Rows may have changed without an event (renamed users), so list ETags must not match any more
+        complaintChangeStamps.touchAll();
+        logger.info("Rebuilt complaint inbox read model: {} rows in {} ms", rows, (System.nanoTime() - started) / 1_000_000);
+        return rows == null ? 0 : rows;
+    }
+}
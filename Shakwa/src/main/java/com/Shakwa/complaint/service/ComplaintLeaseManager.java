@@ -0,0 +1,206 @@
+package com.Shakwa.complaint.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.Shakwa.complaint.Enum.ComplaintChangeType;
+import com.Shakwa.complaint.Enum.ComplaintStatus;
+import com.Shakwa.complaint.dto.ComplaintLeaseDTO;
+import com.Shakwa.complaint.event.ComplaintChangedEvent;
+import com.Shakwa.user.Enum.GovernmentAgencyType;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Expiring leases behind the IN_PROGRESS state lock (complaint_leases, V9).
+ *
+ * ComplaintService acquires a lease when an employee takes a complaint and releases it when the complaint
+ * leaves IN_PROGRESS; the holder's client renews it through the heartbeat endpoint. The state lock only counts
+ * while the lease is alive, and the sweep returns complaints with an expired lease to PENDING, recording
+ * STATUS_CHANGED and UNLOCKED history for the former holder. All times come from the database clock, so nodes
+ * with skewed clocks agree on expiry.
+ */
+@Component
+public class ComplaintLeaseManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(ComplaintLeaseManager.class);
+
+    private static final String LEASE_COLUMNS = "complaint_id, holder_id, fencing_token, acquired_at, expires_at";
+
+    // Renewing one's own live lease keeps its token and acquired_at; anything else starts a new lease.
+    // SET expressions read the old row, so their order does not matter.
+    private static final String ACQUIRE =
+            "INSERT INTO complaint_leases (" + LEASE_COLUMNS + ") " +
+            "VALUES (?, ?, nextval('complaint_lease_token_seq'), LOCALTIMESTAMP, LOCALTIMESTAMP + ? * INTERVAL '1 millisecond') " +
+            "ON CONFLICT (complaint_id) DO UPDATE SET " +
+            "fencing_token = CASE WHEN complaint_leases.holder_id = EXCLUDED.holder_id AND complaint_leases.expires_at > LOCALTIMESTAMP " +
+            "THEN complaint_leases.fencing_token ELSE EXCLUDED.fencing_token END, " +
+            "acquired_at = CASE WHEN complaint_leases.holder_id = EXCLUDED.holder_id AND complaint_leases.expires_at > LOCALTIMESTAMP " +
+            "THEN complaint_leases.acquired_at ELSE EXCLUDED.acquired_at END, " +
+            "holder_id = EXCLUDED.holder_id, expires_at = EXCLUDED.expires_at " +
+            "RETURNING acquired_at = LOCALTIMESTAMP";
+
+    private static final String RENEW =
+            "UPDATE complaint_leases SET expires_at = LOCALTIMESTAMP + ? * INTERVAL '1 millisecond' " +
+            "WHERE complaint_id = ? AND holder_id = ? AND expires_at > LOCALTIMESTAMP " +
+            "AND (?::bigint IS NULL OR fencing_token = ?) " +
+            "RETURNING " + LEASE_COLUMNS;
+
+    private static final String RELEASE = "DELETE FROM complaint_leases WHERE complaint_id = ?";
+
+    private static final String IS_HELD =
+            "SELECT EXISTS (SELECT 1 FROM complaint_leases WHERE complaint_id = ? AND holder_id = ? AND expires_at > LOCALTIMESTAMP)";
+
+    // One statement per batch: lock expired leases with their complaints (SKIP LOCKED, so an employee finishing
+    // the complaint right now is not waited for and several nodes can sweep), drop the leases, return the
+    // complaints to PENDING and write the history, both rows in the former holder's name.
+    private static final String SWEEP =
+            "WITH expired AS (" +
+            "  SELECT l.complaint_id, l.holder_id FROM complaint_leases l JOIN complaints c ON c.id = l.complaint_id " +
+            "  WHERE l.expires_at <= LOCALTIMESTAMP ORDER BY l.expires_at LIMIT ? FOR UPDATE OF l, c SKIP LOCKED" +
+            "), dropped AS (" +
+            "  DELETE FROM complaint_leases l USING expired e WHERE l.complaint_id = e.complaint_id" +
+            "), released AS (" +
+            "  UPDATE complaints c SET status = 'PENDING', responded_by = NULL, version = c.version + 1, updated_at = LOCALTIMESTAMP " +
+            "  FROM expired e WHERE c.id = e.complaint_id AND c.status = 'IN_PROGRESS' AND c.responded_by = e.holder_id " +
+            "  RETURNING c.id, c.government_agency, c.citizen_id, c.tracking_number, e.holder_id" +
+            "), history AS (" +
+            "  INSERT INTO complaint_history (id, complaint_id, actor_id, action_type, field_changed, old_value, new_value, " +
+            "    action_description, created_at, created_by) " +
+            "  SELECT nextval('global_id_seq'), r.id, r.holder_id, a.action_type, a.field_changed, a.old_value, a.new_value, " +
+            "    a.description || u.first_name || ' ' || u.last_name, LOCALTIMESTAMP, r.holder_id " +
+            "  FROM released r JOIN users u ON u.id = r.holder_id CROSS JOIN (VALUES " +
+            "    ('STATUS_CHANGED', 'status', 'IN_PROGRESS', 'PENDING', 'تم تغيير حالة الشكوى من ''قيد المعالجة'' إلى ''قيد الانتظار'' تلقائياً بعد انتهاء مهلة حجز '), " +
+            "    ('UNLOCKED', NULL, NULL, NULL, 'تم تحرير الشكوى تلقائياً بعد انتهاء مهلة حجز ')" +
+            "  ) AS a(action_type, field_changed, old_value, new_value, description)" +
+            ") " +
+            "SELECT id, government_agency, citizen_id, tracking_number FROM released";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CacheManager cacheManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration ttl;
+    private final int sweepBatchSize;
+    private final Counter expiredCounter;
+
+    public ComplaintLeaseManager(JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager,
+                                 CacheManager cacheManager,
+                                 ApplicationEventPublisher eventPublisher,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${shakwa.leases.ttl:PT10M}") Duration ttl,
+                                 @Value("${shakwa.leases.sweep-batch-size:500}") int sweepBatchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.cacheManager = cacheManager;
+        this.eventPublisher = eventPublisher;
+        this.ttl = ttl;
+        this.sweepBatchSize = sweepBatchSize;
+        this.expiredCounter = Counter.builder("shakwa.complaints.leases.expired")
+                .description("IN_PROGRESS complaints returned to PENDING because their lease expired")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Grants or extends the holder's lease. Returns true when the lease is new to the holder (it had none, or
+     * it had expired, or another employee held it), i.e. when the complaint was just locked.
+     */
+    public boolean acquire(Long complaintId, Long holderId) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(ACQUIRE, Boolean.class, complaintId, holderId, ttl.toMillis()));
+    }
+
+    /**
+     * Heartbeat: extends the holder's live lease by one ttl. Empty when the lease expired, changed hands or
+     * the token does not match; the holder has lost the complaint and must take it again.
+     */
+    public Optional<ComplaintLeaseDTO> renew(Long complaintId, Long holderId, Long fencingToken) {
+        List<ComplaintLeaseDTO> renewed = jdbcTemplate.query(RENEW, (rs, rowNum) -> ComplaintLeaseDTO.builder()
+                        .complaintId(rs.getLong("complaint_id"))
+                        .holderId(rs.getLong("holder_id"))
+                        .fencingToken(rs.getLong("fencing_token"))
+                        .acquiredAt(rs.getTimestamp("acquired_at").toLocalDateTime())
+                        .expiresAt(rs.getTimestamp("expires_at").toLocalDateTime())
+                        .build(),
+                ttl.toMillis(), complaintId, holderId, fencingToken, fencingToken);
+        return renewed.stream().findFirst();
+    }
+
+    /**
+     * Drops the lease of a complaint that left IN_PROGRESS. Returns true if there was one.
+     */
+    public boolean release(Long complaintId) {
+        return jdbcTemplate.update(RELEASE, complaintId) > 0;
+    }
+
+    /**
+     * Whether the holder's lease on the complaint is still alive. An expired lease no longer locks,
+     * even before the sweep has released it.
+     */
+    public boolean isHeld(Long complaintId, Long holderId) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(IS_HELD, Boolean.class, complaintId, holderId));
+    }
+
+    @Scheduled(fixedDelayString = "${shakwa.leases.sweep-interval:PT1M}")
+    public void sweep() {
+        try {
+            releaseExpired();
+        } catch (Exception e) {
+            logger.error("Complaint lease sweep failed", e);
+        }
+    }
+
+    /**
+     * Releases expired leases batch by batch. Returns the number of complaints returned to PENDING.
+     */
+    public int releaseExpired() {
+        int total = 0;
+        List<ComplaintChangedEvent> batch;
+        do {
+            batch = transactionTemplate.execute(status -> jdbcTemplate.query(SWEEP, (rs, rowNum) ->
+                    new ComplaintChangedEvent(
+                            ComplaintChangeType.STATUS_CHANGED,
+                            rs.getLong("id"),
+                            rs.getString("tracking_number"),
+                            GovernmentAgencyType.valueOf(rs.getString("government_agency")),
+                            rs.getLong("citizen_id"),
+                            ComplaintStatus.PENDING,
+                            ComplaintStatus.IN_PROGRESS,
+                            LocalDateTime.now()),
+                    sweepBatchSize));
+            if (batch == null) {
+                break;
+            }
+            batch.forEach(eventPublisher::publishEvent);
+            total += batch.size();
+            // A batch that released fewer complaints than it locked leases (leases of complaints that already left
+            // IN_PROGRESS) ends the run early; the next run picks up the rest
+        } while (batch.size() == sweepBatchSize);
+
+        if (total > 0) {
+            expiredCounter.increment(total);
+            // Cached lists still show the released complaints as IN_PROGRESS
+            Cache lists = cacheManager.getCache("complaintLists");
+            if (lists != null) {
+                lists.clear();
+            }
+            logger.info("Released {} complaints whose lease expired", total);
+        }
+        return total;
+    }
+}
@@ -1,43 +1,64 @@
 package com.Shakwa.complaint.service;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import com.Shakwa.complaint.entity.ComplaintHistory;
 import com.Shakwa.complaint.repository.ComplaintHistoryRepository;
 import com.Shakwa.user.repository.EmployeeRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.core.io.Resource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
-import org.apache.tika.Tika;
-
 import jakarta.persistence.criteria.Predicate;
 
+import com.Shakwa.complaint.Enum.ComplaintChangeType;
+import com.Shakwa.complaint.Enum.ComplaintImportFormat;
 import com.Shakwa.complaint.Enum.ComplaintStatus;
 import com.Shakwa.complaint.Enum.ComplaintType;
+import com.Shakwa.complaint.Enum.ComplaintView;
 import com.Shakwa.complaint.Enum.Governorate;
 import com.Shakwa.complaint.dto.ComplaintDTORequest;
 import com.Shakwa.complaint.dto.ComplaintDTOResponse;
+import com.Shakwa.complaint.dto.ComplaintExportFilter;
+import com.Shakwa.complaint.dto.ComplaintSummaryDTO;
 import com.Shakwa.complaint.dto.ComplaintHistoryDTO;
+import com.Shakwa.complaint.dto.ComplaintImportReport;
+import com.Shakwa.complaint.dto.ComplaintLeaseDTO;
+import com.Shakwa.complaint.dto.ComplaintVersionStamp;
 import com.Shakwa.complaint.entity.Complaint;
 import com.Shakwa.complaint.entity.ComplaintAttachment;
+import com.Shakwa.complaint.entity.ComplaintInboxEntry;
+import com.Shakwa.complaint.event.ComplaintChangeStamps;
+import com.Shakwa.complaint.event.ComplaintChangedEvent;
+import com.Shakwa.complaint.event.ComplaintEventScope;
 import com.Shakwa.complaint.mapper.ComplaintHistoryMapper;
 import com.Shakwa.complaint.mapper.ComplaintMapper;
 import com.Shakwa.complaint.repository.ComplaintAttachmentRepository;
+import com.Shakwa.complaint.repository.ComplaintInboxRepository;
 import com.Shakwa.complaint.repository.ComplaintRepository;
 import com.Shakwa.complaint.storage.AttachmentStorageService;
 import com.Shakwa.complaint.storage.AttachmentStorageService.StoredFile;
+import com.Shakwa.complaint.storage.AttachmentUrlSigner;
 import com.Shakwa.user.Enum.GovernmentAgencyType;
 import com.Shakwa.user.dto.PaginationDTO;
 import com.Shakwa.user.entity.Citizen;
@@ -48,9 +69,14 @@ import com.Shakwa.user.repository.UserRepository;
 import com.Shakwa.user.service.BaseSecurityService;
 import com.Shakwa.utils.exception.ConflictException;
 import com.Shakwa.utils.annotation.Audited;
+import com.Shakwa.utils.controller.ETags;
 import com.Shakwa.utils.exception.LockedException;
 import com.Shakwa.utils.exception.OptimisticLockException;
+import com.Shakwa.utils.exception.PreconditionFailedException;
+import com.Shakwa.utils.exception.RequestNotValidException;
+import com.Shakwa.utils.exception.ResourceNotFoundException;
 import com.Shakwa.utils.exception.UnAuthorizedException;
+import com.Shakwa.utils.response.AttachmentBundleResponse;
 import com.Shakwa.utils.response.FileDownloadResponse;
 
 
@@ -63,6 +89,7 @@ public class ComplaintService extends BaseSecurityService {
     private static final Logger logger = LoggerFactory.getLogger(ComplaintService.class);
     
     private final ComplaintRepository complaintRepository;
+    private final ComplaintInboxRepository complaintInboxRepository;
     private final CitizenRepo citizenRepo;
     private final ComplaintMapper complaintMapper;
     private final AttachmentStorageService attachmentStorageService;
@@ -71,15 +98,23 @@ public class ComplaintService extends BaseSecurityService {
     private final ComplaintHistoryService complaintHistoryService;
     private final ComplaintHistoryMapper complaintHistoryMapper;
     private final ComplaintHistoryRepository complaintHistoryRepository;
-    private final Tika tika = new Tika();
+    private final ContentTypeSniffer contentTypeSniffer;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ComplaintLeaseManager complaintLeaseManager;
+    private final ComplaintChangeStamps complaintChangeStamps;
+    private final AttachmentUrlSigner attachmentUrlSigner;
+    private final ComplaintImporter complaintImporter;
 
     private static final Set<String> ALLOWED_CONTENT_TYPES = Set.of("image/png","image/jpg", "image/jpeg", "application/pdf");
     private static final long MAX_FILE_SIZE_BYTES = 10 * 1024 * 1024; // 10 MB
     private static final long MAX_TOTAL_BYTES = 50 * 1024 * 1024; // 50 MB
     private static final int MAX_FILES_PER_OPERATION = 10;
+    // Stable paging that walks the (..., created_at DESC) indexes instead of sorting
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "createdAt");
     private final EmployeeRepository employeeRepository;
 
     public ComplaintService(ComplaintRepository complaintRepository,
+                            ComplaintInboxRepository complaintInboxRepository,
                             CitizenRepo citizenRepo,
                             ComplaintMapper complaintMapper,
                             UserRepository userRepository,
@@ -89,9 +124,16 @@ public class ComplaintService extends BaseSecurityService {
                             EmployeeRepository employeeRepository,
                             ComplaintHistoryService complaintHistoryService,
                             ComplaintHistoryMapper complaintHistoryMapper,
-                            ComplaintHistoryRepository complaintHistoryRepository) {
+                            ComplaintHistoryRepository complaintHistoryRepository,
+                            ContentTypeSniffer contentTypeSniffer,
+                            ApplicationEventPublisher eventPublisher,
+                            ComplaintLeaseManager complaintLeaseManager,
+                            ComplaintChangeStamps complaintChangeStamps,
+                            AttachmentUrlSigner attachmentUrlSigner,
+                            ComplaintImporter complaintImporter) {
         super(userRepository, citizenRepo , employeeRepository);
         this.complaintRepository = complaintRepository;
+        this.complaintInboxRepository = complaintInboxRepository;
         this.citizenRepo = citizenRepo;
         this.complaintMapper = complaintMapper;
         this.attachmentStorageService = attachmentStorageService;
@@ -101,6 +143,12 @@ public class ComplaintService extends BaseSecurityService {
         this.complaintHistoryService = complaintHistoryService;
         this.complaintHistoryMapper = complaintHistoryMapper;
         this.complaintHistoryRepository = complaintHistoryRepository;
+        this.contentTypeSniffer = contentTypeSniffer;
+        this.eventPublisher = eventPublisher;
+        this.complaintLeaseManager = complaintLeaseManager;
+        this.complaintChangeStamps = complaintChangeStamps;
+        this.attachmentUrlSigner = attachmentUrlSigner;
+        this.complaintImporter = complaintImporter;
     }
 
     /**
@@ -141,6 +189,8 @@ public class ComplaintService extends BaseSecurityService {
             complaint = complaintRepository.save(complaint);
         }
 
+        eventPublisher.publishEvent(ComplaintChangedEvent.of(ComplaintChangeType.CREATED, complaint, null));
+
         return complaintMapper.toResponse(complaint);
     }
 
@@ -148,14 +198,16 @@ public class ComplaintService extends BaseSecurityService {
      * الحصول على جميع الشكاوى - للموظفين (حسب جهتهم الحكومية) أو المواطن (شكاويه فقط)
      * Caching handled at repository level.
      */
+    @Transactional(readOnly = true)
     public PaginationDTO<ComplaintDTOResponse> getAllComplaints(int page, int size) {
-        Pageable pageable = PageRequest.of(page, size);
+        Pageable pageable = PageRequest.of(page, size, NEWEST_FIRST);
         Page<Complaint> complaintPage;
 
-        // إذا كان المستخدم الحالي مواطن، إرجاع شكاويه فقط
+        // إذا كان المستخدم الحالي مواطن، إرجاع شكاويه فقط (بما فيها المؤرشفة)
         if (isCurrentUserCitizen()) {
             Citizen currentCitizen = getCurrentCitizen();
-            complaintPage = complaintRepository.findByCitizenId(currentCitizen.getId(), pageable);
+            Page<Complaint> ownComplaints = complaintRepository.findByCitizenIdIncludingArchived(currentCitizen.getId(), PageRequest.of(page, size));
+            return PaginationDTO.of(toResponsesIncludingArchived(ownComplaints));
         }
         // إذا كان موظف، إرجاع شكاوى جهته الحكومية فقط
         else {
@@ -181,11 +233,45 @@ public class ComplaintService extends BaseSecurityService {
         return PaginationDTO.of(dtoPage);
     }
 
+    /**
+     * ملخصات جميع الشكاوى (view=summary) بنفس قواعد getAllComplaints
+     * Read from the complaint_inbox_view read model: one table, no TEXT columns, attachments or user joins.
+     */
+    @Transactional(readOnly = true)
+    public PaginationDTO<ComplaintSummaryDTO> getAllComplaintSummaries(int page, int size) {
+        Pageable pageable = PageRequest.of(page, size, NEWEST_FIRST);
+        Page<ComplaintInboxEntry> rows;
+
+        if (isCurrentUserCitizen()) {
+            Citizen currentCitizen = getCurrentCitizen();
+            rows = complaintInboxRepository.findByCitizenId(currentCitizen.getId(), pageable);
+        } else {
+            try {
+                User currentUser = getCurrentUser();
+                if (currentUser instanceof Employee employee) {
+                    if (employee.getGovernmentAgency() == null) {
+                        throw new UnAuthorizedException("Employee is not associated with any government agency");
+                    }
+                    rows = complaintInboxRepository.findActiveByGovernmentAgency(employee.getGovernmentAgency(), pageable);
+                } else {
+                    rows = complaintInboxRepository.findAllActive(pageable);
+                }
+            } catch (Exception e) {
+                logger.warn("Could not get current user, assuming admin access: {}", e.getMessage());
+                rows = complaintInboxRepository.findAllActive(pageable);
+            }
+        }
+
+        return PaginationDTO.of(rows.map(complaintMapper::toSummary));
+    }
+
     /**
      * الحصول على شكوى محددة حسب ID
      */
+    @Transactional(readOnly = true)
     public ComplaintDTOResponse getComplaintById(Long id) {
-        Complaint complaint = complaintRepository.findById(id)
+        Optional<Complaint> active = complaintRepository.findById(id);
+        Complaint complaint = active.or(() -> complaintRepository.findArchivedById(id))
                 .orElseThrow(() -> new EntityNotFoundException("Complaint not found with ID: " + id));
 
         // إذا كان المستخدم الحالي مواطن، التحقق من أن الشكوى تخصه
@@ -194,7 +280,7 @@ public class ComplaintService extends BaseSecurityService {
             if (!complaint.getCitizen().getId().equals(currentCitizen.getId())) {
                 throw new UnAuthorizedException("You don't have access to this complaint");
             }
-            return complaintMapper.toResponse(complaint);
+            return toResponse(complaint, active.isEmpty());
         }
 
         // إذا كان موظف، التحقق من أن الشكوى تخص جهته الحكومية
@@ -210,14 +296,16 @@ public class ComplaintService extends BaseSecurityService {
             logger.warn("Could not verify user access, allowing admin access: {}", e.getMessage());
         }
 
-        return complaintMapper.toResponse(complaint);
+        return toResponse(complaint, active.isEmpty());
     }
 
     /**
      * الحصول على شكاوى مواطن محدد
      * Caching handled at repository level.
      */
+    @Transactional(readOnly = true)
     public PaginationDTO<ComplaintDTOResponse> getComplaintsByCitizenId(Long citizenId, int page, int size) {
+        // Includes archived complaints; the query orders newest first itself
         Pageable pageable = PageRequest.of(page, size);
         User currentUser = getCurrentUser();
         Page<Complaint> complaintPage;
@@ -228,21 +316,42 @@ public class ComplaintService extends BaseSecurityService {
                 throw new UnAuthorizedException("Employee is not associated with any government agency");
             }
             GovernmentAgencyType governmentAgency = employee.getGovernmentAgency();
-            complaintPage = complaintRepository.findByCitizenIdAndGovernmentAgency(citizenId, governmentAgency, pageable);
+            complaintPage = complaintRepository.findByCitizenIdAndGovernmentAgencyIncludingArchived(citizenId, governmentAgency, pageable);
         } else {
-            complaintPage = complaintRepository.findByCitizenId(citizenId, pageable);
+            complaintPage = complaintRepository.findByCitizenIdIncludingArchived(citizenId, pageable);
         }
 
-        Page<ComplaintDTOResponse> dtoPage = complaintPage.map(complaintMapper::toResponse);
-        return PaginationDTO.of(dtoPage);
+        return PaginationDTO.of(toResponsesIncludingArchived(complaintPage));
+    }
+
+    /**
+     * ملخصات شكاوى مواطن محدد (view=summary)، بما فيها المؤرشفة
+     */
+    @Transactional(readOnly = true)
+    public PaginationDTO<ComplaintSummaryDTO> getComplaintSummariesByCitizenId(Long citizenId, int page, int size) {
+        Pageable pageable = PageRequest.of(page, size, NEWEST_FIRST);
+        User currentUser = getCurrentUser();
+        Page<ComplaintInboxEntry> rows;
+
+        if (currentUser instanceof Employee employee) {
+            if (employee.getGovernmentAgency() == null) {
+                throw new UnAuthorizedException("Employee is not associated with any government agency");
+            }
+            rows = complaintInboxRepository.findByCitizenIdAndGovernmentAgency(citizenId, employee.getGovernmentAgency(), pageable);
+        } else {
+            rows = complaintInboxRepository.findByCitizenId(citizenId, pageable);
+        }
+
+        return PaginationDTO.of(rows.map(complaintMapper::toSummary));
     }
 
     /**
      * الحصول على الشكاوى حسب الحالة
      * Caching handled at repository level.
      */
+    @Transactional(readOnly = true)
     public PaginationDTO<ComplaintDTOResponse> getComplaintsByStatus(ComplaintStatus status, int page, int size) {
-        Pageable pageable = PageRequest.of(page, size);
+        Pageable pageable = PageRequest.of(page, size, NEWEST_FIRST);
         User currentUser = getCurrentUser();
         Page<Complaint> complaintPage;
 
@@ -260,6 +369,27 @@ public class ComplaintService extends BaseSecurityService {
         return PaginationDTO.of(dtoPage);
     }
 
+    /**
+     * ملخصات الشكاوى حسب الحالة (view=summary)
+     */
+    @Transactional(readOnly = true)
+    public PaginationDTO<ComplaintSummaryDTO> getComplaintSummariesByStatus(ComplaintStatus status, int page, int size) {
+        Pageable pageable = PageRequest.of(page, size, NEWEST_FIRST);
+        User currentUser = getCurrentUser();
+        Page<ComplaintInboxEntry> rows;
+
+        if (currentUser instanceof Employee employee) {
+            if (employee.getGovernmentAgency() == null) {
+                throw new UnAuthorizedException("Employee is not associated with any government agency");
+            }
+            rows = complaintInboxRepository.findActiveByGovernmentAgencyAndStatus(employee.getGovernmentAgency(), status, pageable);
+        } else {
+            rows = complaintInboxRepository.findActiveByStatus(status, pageable);
+        }
+
+        return PaginationDTO.of(rows.map(complaintMapper::toSummary));
+    }
+
     /**
      * تحديث الشكوى - فقط الموظفين يمكنهم التحديث
      * Uses state-based locking (IN_PROGRESS status) + pessimistic + optimistic locking
@@ -267,6 +397,17 @@ public class ComplaintService extends BaseSecurityService {
      */
     @Audited(action = "UPDATE_COMPLAINT", targetType = "COMPLAINT", includeArgs = false)
     public ComplaintDTOResponse updateComplaint(Long id, ComplaintDTORequest dto) {
+        return updateComplaint(id, dto, null);
+    }
+
+    /**
+     * تحديث الشكوى مع If-Match
+     * With expectedVersion (from If-Match) the complaint is read without a lock and written by one conditional
+     * UPDATE; a version mismatch throws PreconditionFailedException (412) carrying the current complaint.
+     * Without it, falls back to SELECT FOR UPDATE.
+     */
+    @Audited(action = "UPDATE_COMPLAINT", targetType = "COMPLAINT", includeArgs = false)
+    public ComplaintDTOResponse updateComplaint(Long id, ComplaintDTORequest dto, Long expectedVersion) {
         validateComplaintRequest(dto);
 
         User currentUser = getCurrentUser();
@@ -279,15 +420,14 @@ public class ComplaintService extends BaseSecurityService {
             throw new UnAuthorizedException("Employee is not associated with any government agency");
         }
 
-        // Use pessimistic locking (SELECT FOR UPDATE) to prevent concurrent edits
-        Complaint complaint = complaintRepository.findByIdAndAgencyForUpdate(id, employee.getGovernmentAgency())
-                .orElseThrow(() -> new EntityNotFoundException("Complaint not found with ID: " + id));
+        Complaint complaint = loadForUpdate(id, employee, expectedVersion);
 
         // State-based locking: Check if complaint is locked by another employee
         ensureNotLockedByState(complaint, employee, currentUser);
 
         // حفظ القيم القديمة لتسجيل التاريخ
         ComplaintStatus oldStatus = complaint.getStatus();
+        GovernmentAgencyType oldAgency = complaint.getGovernmentAgency();
         String oldDescription = complaint.getDescription();
         String oldLocation = complaint.getLocation();
         
@@ -295,15 +435,13 @@ public class ComplaintService extends BaseSecurityService {
             // تحديث الحقول
             complaintMapper.updateEntityFromDto(complaint, dto);
 
-            // Save will use optimistic locking (version check)
-            complaint = complaintRepository.save(complaint);
-            
-            // تسجيل تغيير الحالة إذا تغيرت
+            // History first: on the If-Match path the conditional UPDATE is then the last statement before commit
             ComplaintStatus newStatus = complaint.getStatus();
-            if (newStatus != null && !newStatus.equals(oldStatus)) {
+            boolean statusChanged = newStatus != null && !newStatus.equals(oldStatus);
+            if (statusChanged) {
                 complaintHistoryService.recordStatusChange(complaint, currentUser, oldStatus, newStatus);
             }
-            
+
             // تسجيل تحديث الحقول
             if (dto.getDescription() != null && !dto.getDescription().equals(oldDescription)) {
                 complaintHistoryService.recordFieldUpdate(complaint, currentUser, "description", oldDescription, dto.getDescription());
@@ -311,13 +449,28 @@ public class ComplaintService extends BaseSecurityService {
             if (dto.getLocation() != null && !dto.getLocation().equals(oldLocation)) {
                 complaintHistoryService.recordFieldUpdate(complaint, currentUser, "location", oldLocation, dto.getLocation());
             }
+
+            ComplaintDTOResponse updated = write(complaint, employee, expectedVersion);
+
+            if (statusChanged) {
+                eventPublisher.publishEvent(ComplaintChangedEvent.of(ComplaintChangeType.STATUS_CHANGED, complaint, oldStatus));
+                if (newStatus != ComplaintStatus.IN_PROGRESS && complaintLeaseManager.release(complaint.getId())) {
+                    complaintHistoryService.recordUnlocked(complaint, currentUser);
+                }
+            } else {
+                eventPublisher.publishEvent(ComplaintChangedEvent.of(ComplaintChangeType.UPDATED, complaint, oldStatus));
+            }
+            if (oldAgency != complaint.getGovernmentAgency()) {
+                // The complaint also left the previous agency's lists
+                eventPublisher.publishEvent(new ComplaintChangedEvent(ComplaintChangeType.UPDATED, complaint.getId(),
+                        complaint.getTrackingNumber(), oldAgency, null, complaint.getStatus(), oldStatus, LocalDateTime.now()));
+            }
+            return updated;
         } catch (jakarta.persistence.OptimisticLockException e) {
             throw new OptimisticLockException(
                 "تم تعديل هذه الشكوى من قبل موظف آخر. يرجى تحديث الصفحة والمحاولة مرة أخرى."
             );
         }
-        
-        return complaintMapper.toResponse(complaint);
     }
 
     /**
@@ -327,6 +480,16 @@ public class ComplaintService extends BaseSecurityService {
      */
     @Audited(action = "RESPOND_TO_COMPLAINT", targetType = "COMPLAINT", includeArgs = false)
     public ComplaintDTOResponse respondToComplaint(Long id, String response, ComplaintStatus newStatus) {
+        return respondToComplaint(id, response, newStatus, null);
+    }
+
+    /**
+     * الرد على الشكوى مع If-Match
+     * Same contract as updateComplaint with expectedVersion: no row lock while the request is processed,
+     * one conditional UPDATE, 412 with the current complaint on a version mismatch.
+     */
+    @Audited(action = "RESPOND_TO_COMPLAINT", targetType = "COMPLAINT", includeArgs = false)
+    public ComplaintDTOResponse respondToComplaint(Long id, String response, ComplaintStatus newStatus, Long expectedVersion) {
         if (!StringUtils.hasText(response)) {
             throw new ConflictException("Response text is required");
         }
@@ -341,9 +504,7 @@ public class ComplaintService extends BaseSecurityService {
             throw new UnAuthorizedException("Employee is not associated with any government agency");
         }
 
-        // Use pessimistic locking (SELECT FOR UPDATE) to prevent concurrent edits
-        Complaint complaint = complaintRepository.findByIdAndAgencyForUpdate(id, employee.getGovernmentAgency())
-                .orElseThrow(() -> new EntityNotFoundException("Complaint not found with ID: " + id));
+        Complaint complaint = loadForUpdate(id, employee, expectedVersion);
 
         // State-based locking: Check if complaint is locked by another employee
         // Only check if newStatus is IN_PROGRESS or complaint is already IN_PROGRESS
@@ -363,28 +524,104 @@ public class ComplaintService extends BaseSecurityService {
             complaint.setRespondedAt(LocalDateTime.now());
             complaint.setRespondedBy(employee);
 
-            // Save will use optimistic locking (version check)
-            complaint = complaintRepository.save(complaint);
-            
             // تسجيل تغيير الحالة إذا تغيرت
             if (newStatus != null && !newStatus.equals(oldStatus)) {
                 complaintHistoryService.recordStatusChange(complaint, currentUser, oldStatus, newStatus);
-                
-                // تسجيل LOCKED/UNLOCKED بناءً على الحالة
-                if (newStatus == ComplaintStatus.IN_PROGRESS) {
-                    complaintHistoryService.recordLocked(complaint, currentUser);
-                } else if (newStatus == ComplaintStatus.RESOLVED || 
-                          newStatus == ComplaintStatus.REJECTED || 
-                          newStatus == ComplaintStatus.CLOSED) {
-                    complaintHistoryService.recordUnlocked(complaint, currentUser);
-                }
             }
+
+            ComplaintDTOResponse responded = write(complaint, employee, expectedVersion);
+
+            // تسجيل LOCKED/UNLOCKED بناءً على مهلة الحجز (lease)
+            syncLease(complaint, currentUser);
+            eventPublisher.publishEvent(ComplaintChangedEvent.of(ComplaintChangeType.RESPONDED, complaint, oldStatus));
+            return responded;
         } catch (jakarta.persistence.OptimisticLockException e) {
             throw new OptimisticLockException(
                 "تم تعديل هذه الشكوى من قبل موظف آخر. يرجى تحديث الصفحة والمحاولة مرة أخرى."
             );
         }
-        
+    }
+
+    /**
+     * Without If-Match: SELECT FOR UPDATE, held until commit. With it: a plain read-only load whose version
+     * must match; nothing is locked until the conditional UPDATE in write.
+     */
+    private Complaint loadForUpdate(Long id, Employee employee, Long expectedVersion) {
+        if (expectedVersion == null) {
+            // Use pessimistic locking (SELECT FOR UPDATE) to prevent concurrent edits
+            return complaintRepository.findByIdAndAgencyForUpdate(id, employee.getGovernmentAgency())
+                    .orElseThrow(() -> new EntityNotFoundException("Complaint not found with ID: " + id));
+        }
+        Complaint complaint = complaintRepository.findByIdAndAgency(id, employee.getGovernmentAgency())
+                .orElseThrow(() -> new EntityNotFoundException("Complaint not found with ID: " + id));
+        if (expectedVersion != ETags.ANY_VERSION && !complaint.getVersion().equals(expectedVersion)) {
+            throw versionMismatch(complaint);
+        }
+        return complaint;
+    }
+
+    /**
+     * Persists a complaint loaded by loadForUpdate and returns its new representation.
+     * The If-Match path maps the response before the conditional UPDATE, which detaches every loaded entity.
+     */
+    private ComplaintDTOResponse write(Complaint complaint, Employee employee, Long expectedVersion) {
+        if (expectedVersion == null) {
+            // Save will use optimistic locking (version check)
+            return complaintMapper.toResponse(complaintRepository.save(complaint));
+        }
+        long loadedVersion = complaint.getVersion();
+        complaint.setUpdatedAt(LocalDateTime.now());
+        complaint.setLastModifiedBy(employee.getId());
+        complaint.setVersion(loadedVersion + 1);
+        ComplaintDTOResponse response = complaintMapper.toResponse(complaint);
+
+        if (complaintRepository.updateIfVersion(complaint, loadedVersion) == 0) {
+            // Another write committed since the read; report what it left behind
+            Complaint current = complaintRepository.findByIdAndAgency(complaint.getId(), employee.getGovernmentAgency())
+                    .orElseThrow(() -> new EntityNotFoundException("Complaint not found with ID: " + complaint.getId()));
+            throw versionMismatch(current);
+        }
+        return response;
+    }
+
+    private PreconditionFailedException versionMismatch(Complaint current) {
+        return new PreconditionFailedException(
+                "تم تعديل هذه الشكوى من قبل موظف آخر. تم إرجاع النسخة الحالية؛ يرجى المراجعة وإعادة المحاولة.",
+                complaintMapper.toResponse(current),
+                complaintETag(current.getVersion()));
+    }
+
+    /**
+     * حجز الشكوى التالية - للموظفين فقط
+     * Picks the oldest PENDING complaint of the employee's agency that nobody else is claiming (SKIP LOCKED) and
+     * marks it IN_PROGRESS for the caller, in one statement round trip and without ever waiting on another
+     * employee's row lock. Returns null when the agency has no unclaimed pending complaint.
+     * Cache eviction handled at repository level.
+     */
+    @Audited(action = "CLAIM_COMPLAINT", targetType = "COMPLAINT", includeArgs = false)
+    public ComplaintDTOResponse claimNextComplaint() {
+        User currentUser = getCurrentUser();
+        if (!(currentUser instanceof Employee employee)) {
+            throw new UnAuthorizedException("Only employees can claim complaints");
+        }
+        if (employee.getGovernmentAgency() == null) {
+            throw new UnAuthorizedException("Employee is not associated with any government agency");
+        }
+
+        Optional<Complaint> next = complaintRepository.findNextPendingForClaim(employee.getGovernmentAgency());
+        if (next.isEmpty()) {
+            return null;
+        }
+
+        Complaint complaint = next.get();
+        complaint.setStatus(ComplaintStatus.IN_PROGRESS);
+        complaint.setRespondedBy(employee);
+        complaint = complaintRepository.save(complaint);
+
+        complaintHistoryService.recordStatusChange(complaint, currentUser, ComplaintStatus.PENDING, ComplaintStatus.IN_PROGRESS);
+        syncLease(complaint, currentUser);
+        eventPublisher.publishEvent(ComplaintChangedEvent.of(ComplaintChangeType.STATUS_CHANGED, complaint, ComplaintStatus.PENDING));
+
         return complaintMapper.toResponse(complaint);
     }
 
@@ -411,14 +648,16 @@ public class ComplaintService extends BaseSecurityService {
         }
 
         complaintRepository.deleteById(id);
+        eventPublisher.publishEvent(ComplaintChangedEvent.of(ComplaintChangeType.DELETED, complaint, complaint.getStatus()));
     }
 
     /**
      * البحث عن الشكاوى حسب نوع الشكوى
      * Caching handled at repository level.
      */
+    @Transactional(readOnly = true)
     public PaginationDTO<ComplaintDTOResponse> getComplaintsByType(ComplaintType complaintType, int page, int size) {
-        Pageable pageable = PageRequest.of(page, size);
+        Pageable pageable = PageRequest.of(page, size, NEWEST_FIRST);
         User currentUser = getCurrentUser();
         Page<Complaint> complaintPage;
 
@@ -440,8 +679,9 @@ public class ComplaintService extends BaseSecurityService {
      * البحث عن الشكاوى حسب المحافظة
      * Caching handled at repository level.
      */
+    @Transactional(readOnly = true)
     public PaginationDTO<ComplaintDTOResponse> getComplaintsByGovernorate(Governorate governorate, int page, int size) {
-        Pageable pageable = PageRequest.of(page, size);
+        Pageable pageable = PageRequest.of(page, size, NEWEST_FIRST);
         User currentUser = getCurrentUser();
         Page<Complaint> complaintPage;
 
@@ -460,9 +700,98 @@ public class ComplaintService extends BaseSecurityService {
     }
 
     /**
-     * التحقق من صحة بيانات الشكوى
+     * ملخصات الشكاوى حسب النوع (view=summary)
      */
-    private void validateComplaintRequest(ComplaintDTORequest dto) {
+    @Transactional(readOnly = true)
+    public PaginationDTO<ComplaintSummaryDTO> getComplaintSummariesByType(ComplaintType complaintType, int page, int size) {
+        Pageable pageable = PageRequest.of(page, size, NEWEST_FIRST);
+        User currentUser = getCurrentUser();
+        Page<ComplaintInboxEntry> rows;
+
+        if (currentUser instanceof Employee employee) {
+            if (employee.getGovernmentAgency() == null) {
+                throw new UnAuthorizedException("Employee is not associated with any government agency");
+            }
+            rows = complaintInboxRepository.findActiveByGovernmentAgencyAndComplaintType(employee.getGovernmentAgency(), complaintType, pageable);
+        } else {
+            rows = complaintInboxRepository.findActiveByComplaintType(complaintType, pageable);
+        }
+
+        return PaginationDTO.of(rows.map(complaintMapper::toSummary));
+    }
+
+    /**
+     * ملخصات الشكاوى حسب المحافظة (view=summary)
+     */
+    @Transactional(readOnly = true)
+    public PaginationDTO<ComplaintSummaryDTO> getComplaintSummariesByGovernorate(Governorate governorate, int page, int size) {
+        Pageable pageable = PageRequest.of(page, size, NEWEST_FIRST);
+        User currentUser = getCurrentUser();
+        Page<ComplaintInboxEntry> rows;
+
+        if (currentUser instanceof Employee employee) {
+            if (employee.getGovernmentAgency() == null) {
+                throw new UnAuthorizedException("Employee is not associated with any government agency");
+            }
+            rows = complaintInboxRepository.findActiveByGovernmentAgencyAndGovernorate(employee.getGovernmentAgency(), governorate, pageable);
+        } else {
+            rows = complaintInboxRepository.findActiveByGovernorate(governorate, pageable);
+        }
+
+        return PaginationDTO.of(rows.map(complaintMapper::toSummary));
+    }
+
+    /**
+     * معايير تصدير الشكاوى بقواعد الرؤية نفسها في filterComplaints:
+     * الموظف يصدّر شكاوى جهته الحكومية فقط، والمواطن شكاويه فقط
+     * from / to are inclusive creation dates.
+     */
+    public ComplaintExportFilter prepareComplaintExport(
+            ComplaintStatus status,
+            ComplaintType complaintType,
+            Governorate governorate,
+            GovernmentAgencyType governmentAgency,
+            Long citizenId,
+            LocalDate from,
+            LocalDate to) {
+        if (from != null && to != null && to.isBefore(from)) {
+            throw new RequestNotValidException("'to' must not be before 'from'");
+        }
+
+        GovernmentAgencyType visibleAgency = null;
+        Long visibleCitizenId = null;
+        User currentUser = getCurrentUser();
+        if (currentUser instanceof Employee employee) {
+            visibleAgency = employee.getGovernmentAgency();
+        } else if (isCurrentUserCitizen()) {
+            visibleCitizenId = getCurrentCitizen().getId();
+        }
+
+        return new ComplaintExportFilter(status, complaintType, governorate, governmentAgency, citizenId,
+                from != null ? from.atStartOfDay() : null,
+                to != null ? to.plusDays(1).atStartOfDay() : null,
+                visibleAgency, visibleCitizenId);
+    }
+
+    /**
+     * استيراد الشكاوى دفعة واحدة من ملف CSV أو NDJSON (شكاوى القنوات الورقية ومركز الاتصال)
+     * للموظفين (لجهتهم الحكومية فقط) ومديري المنصة؛ كل سطر يحدد المواطن بـ citizenId أو citizenEmail
+     * بدون معاملة محيطة: كل دفعة تُثبَّت في معاملتها الخاصة داخل ComplaintImporter
+     */
+    @Audited(action = "IMPORT_COMPLAINTS", targetType = "COMPLAINT", includeArgs = false)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ComplaintImportReport importComplaints(InputStream input, ComplaintImportFormat format) throws IOException {
+        if (isCurrentUserCitizen()) {
+            logger.warn("Citizen attempted to import complaints");
+            throw new UnAuthorizedException("Citizens cannot import complaints");
+        }
+        return complaintImporter.importComplaints(input, format, getCurrentUser());
+    }
+
+    /**
+     * التحقق من صحة بيانات الشكوى (يُستخدم أيضاً لكل سطر في الاستيراد)
+     */
+    static void validateComplaintRequest(ComplaintDTORequest dto) {
         if (dto == null) {
             throw new ConflictException("Complaint request cannot be null");
         }
@@ -497,6 +826,7 @@ public class ComplaintService extends BaseSecurityService {
      * Note: This method uses Specification queries which are not cached at repository level.
      * Consider adding a custom repository method with caching if this endpoint is frequently used.
      */
+    @Transactional(readOnly = true)
     public PaginationDTO<ComplaintDTOResponse> filterComplaints(
             ComplaintStatus status,
             ComplaintType complaintType,
@@ -505,7 +835,7 @@ public class ComplaintService extends BaseSecurityService {
             Long citizenId,
             int page,
             int size) {
-        Pageable pageable = PageRequest.of(page, size);
+        Pageable pageable = PageRequest.of(page, size, NEWEST_FIRST);
         
         Specification<Complaint> spec = (root, query, cb) -> {
             Predicate predicate = cb.conjunction();
@@ -556,25 +886,112 @@ public class ComplaintService extends BaseSecurityService {
         return PaginationDTO.of(dtoPage);
     }
 
+    /**
+     * فلترة ملخصات الشكاوى (view=summary) بنفس معايير filterComplaints وصلاحياتها
+     */
+    @Transactional(readOnly = true)
+    public PaginationDTO<ComplaintSummaryDTO> filterComplaintSummaries(
+            ComplaintStatus status,
+            ComplaintType complaintType,
+            Governorate governorate,
+            GovernmentAgencyType governmentAgency,
+            Long citizenId,
+            int page,
+            int size) {
+        Pageable pageable = PageRequest.of(page, size, NEWEST_FIRST);
+        User currentUser = getCurrentUser();
+        Long ownCitizenId = !(currentUser instanceof Employee) && isCurrentUserCitizen() ? getCurrentCitizen().getId() : null;
+
+        Specification<ComplaintInboxEntry> spec = (root, query, cb) -> {
+            // Active complaints only, like filterComplaints on the complaints table
+            Predicate predicate = cb.isNull(root.get("archivedAt"));
+
+            if (status != null) {
+                predicate = cb.and(predicate, cb.equal(root.get("status"), status));
+            }
+            if (complaintType != null) {
+                predicate = cb.and(predicate, cb.equal(root.get("complaintType"), complaintType));
+            }
+            if (governorate != null) {
+                predicate = cb.and(predicate, cb.equal(root.get("governorate"), governorate));
+            }
+            if (governmentAgency != null) {
+                predicate = cb.and(predicate, cb.equal(root.get("governmentAgency"), governmentAgency));
+            }
+            if (citizenId != null) {
+                predicate = cb.and(predicate, cb.equal(root.get("citizenId"), citizenId));
+            }
+
+            // التحقق من الصلاحيات
+            if (currentUser instanceof Employee employee) {
+                if (employee.getGovernmentAgency() != null) {
+                    predicate = cb.and(predicate, cb.equal(root.get("governmentAgency"), employee.getGovernmentAgency()));
+                }
+            } else if (ownCitizenId != null) {
+                predicate = cb.and(predicate, cb.equal(root.get("citizenId"), ownCitizenId));
+            }
+
+            return predicate;
+        };
+
+        return PaginationDTO.of(complaintInboxRepository.findAll(spec, pageable).map(complaintMapper::toSummary));
+    }
+
     public ComplaintDTOResponse addAttachments(Long complaintId, List<MultipartFile> files) {
         Complaint complaint = complaintRepository.findById(complaintId)
                 .orElseThrow(() -> new EntityNotFoundException("Complaint not found with ID: " + complaintId));
         ensureCitizenOwnsComplaint(complaint);
         User currentUser = getCurrentUser();
         storeAttachments(complaint, files, currentUser);
+        // Attachments are part of the complaint's representation, so they move its version (and ETag) too
+        complaint.setUpdatedAt(LocalDateTime.now());
         complaint = complaintRepository.save(complaint);
+        eventPublisher.publishEvent(ComplaintChangedEvent.of(ComplaintChangeType.UPDATED, complaint, complaint.getStatus()));
         return complaintMapper.toResponse(complaint);
     }
 
+    @Transactional(readOnly = true)
     public FileDownloadResponse downloadAttachment(Long complaintId, Long attachmentId) {
-        ComplaintAttachment attachment = complaintAttachmentRepository.findByIdAndComplaintId(attachmentId, complaintId)
+        Optional<ComplaintAttachment> active = complaintAttachmentRepository.findByIdAndComplaintId(attachmentId, complaintId);
+        ComplaintAttachment attachment = active
+                .or(() -> complaintAttachmentRepository.findArchivedByIdAndComplaintId(attachmentId, complaintId))
                 .orElseThrow(() -> new EntityNotFoundException("Attachment not found"));
-        Complaint complaint = attachment.getComplaint();
+        // مرفق الشكوى المؤرشفة يشير إلى complaints_archive، فلا تُحمَّل الشكوى عبر العلاقة
+        Complaint complaint = active.isPresent()
+                ? attachment.getComplaint()
+                : complaintRepository.findArchivedById(complaintId)
+                        .orElseThrow(() -> new EntityNotFoundException("Attachment not found"));
         ensureCanAccessComplaint(complaint);
         Resource resource = attachmentStorageService.loadAsResource(attachment.getStoragePath());
         return new FileDownloadResponse(resource, attachment.getOriginalFilename(), attachment.getContentType(), attachment.getSize());
     }
 
+    /**
+     * تجهيز جميع مرفقات الشكوى للتنزيل كملف ZIP واحد
+     * Access check runs once here; the returned entries are streamed without further lookups.
+     */
+    @Transactional(readOnly = true)
+    public AttachmentBundleResponse prepareAttachmentBundle(Long complaintId) {
+        Optional<Complaint> active = complaintRepository.findById(complaintId);
+        Complaint complaint = active.or(() -> complaintRepository.findArchivedById(complaintId))
+                .orElseThrow(() -> new EntityNotFoundException("Complaint not found with ID: " + complaintId));
+        ensureCanAccessComplaint(complaint);
+        List<ComplaintAttachment> attachments = active.isPresent()
+                ? complaintAttachmentRepository.findByComplaintIdOrderByUploadedAtAsc(complaintId)
+                : complaintAttachmentRepository.findArchivedByComplaintIdIn(List.of(complaintId));
+        if (attachments.isEmpty()) {
+            throw new EntityNotFoundException("Complaint has no attachments");
+        }
+        List<AttachmentBundleResponse.Entry> entries = attachments.stream()
+                .map(attachment -> new AttachmentBundleResponse.Entry(
+                        attachment.getStoragePath(),
+                        attachment.getOriginalFilename(),
+                        attachment.getContentType(),
+                        attachment.getSize()))
+                .toList();
+        return new AttachmentBundleResponse(complaint.getTrackingNumber() + "-attachments.zip", entries);
+    }
+
     public void deleteAttachment(Long complaintId, Long attachmentId) {
         ComplaintAttachment attachment = complaintAttachmentRepository.findByIdAndComplaintId(attachmentId, complaintId)
                 .orElseThrow(() -> new EntityNotFoundException("Attachment not found"));
@@ -585,6 +1002,8 @@ public class ComplaintService extends BaseSecurityService {
         attachmentStorageService.delete(attachment.getStoragePath());
         complaint.getAttachments().remove(attachment);
         complaintAttachmentRepository.delete(attachment);
+        complaint.setUpdatedAt(LocalDateTime.now());
+        eventPublisher.publishEvent(ComplaintChangedEvent.of(ComplaintChangeType.UPDATED, complaint, complaint.getStatus()));
         
         // تسجيل حذف المرفق في التاريخ
         complaintHistoryService.recordAttachmentRemoved(complaint, currentUser, fileName);
@@ -663,7 +1082,7 @@ public class ComplaintService extends BaseSecurityService {
 
     private String detectContentType(MultipartFile file) {
         try {
-            return tika.detect(file.getInputStream(), file.getOriginalFilename());
+            return contentTypeSniffer.detect(file);
         } catch (Exception e) {
             throw new ConflictException("Unable to determine file type");
         }
@@ -695,8 +1114,9 @@ public class ComplaintService extends BaseSecurityService {
         if (complaint.getStatus() == ComplaintStatus.IN_PROGRESS && complaint.getRespondedBy() != null) {
             // Check if locked by another employee
             if (!complaint.getRespondedBy().getId().equals(currentEmployee.getId())) {
-                // Admins can override
-                if (!isAdmin(currentUser)) {
+                // Admins can override; an expired lease no longer locks, even before the sweep releases it
+                if (!isAdmin(currentUser)
+                        && complaintLeaseManager.isHeld(complaint.getId(), complaint.getRespondedBy().getId())) {
                     String lockOwnerName = complaint.getRespondedBy().getFirstName() + " " + 
                                          complaint.getRespondedBy().getLastName();
                     throw new LockedException(
@@ -712,21 +1132,196 @@ public class ComplaintService extends BaseSecurityService {
      * الحصول على سجل تغييرات الشكوى
      * Citizens see only their own complaints, employees see their agency's complaints, admins see all
      */
+    @Transactional(readOnly = true)
     public PaginationDTO<ComplaintHistoryDTO> getComplaintHistory(Long complaintId, int page, int size) {
         // التحقق من الصلاحيات
-        Complaint complaint = complaintRepository.findById(complaintId)
+        Optional<Complaint> active = complaintRepository.findById(complaintId);
+        Complaint complaint = active.or(() -> complaintRepository.findArchivedById(complaintId))
                 .orElseThrow(() -> new EntityNotFoundException("Complaint not found with ID: " + complaintId));
         ensureCanAccessComplaint(complaint);
         
         // الحصول على التاريخ مع pagination
         Pageable pageable = PageRequest.of(page, size);
-        Page<ComplaintHistory> historyPage = complaintHistoryRepository.findByComplaintIdOrderByCreatedAtDesc(complaintId, pageable);
+        Page<ComplaintHistory> historyPage = active.isPresent()
+                ? complaintHistoryRepository.findByComplaintIdSince(complaintId, complaint.getCreatedAt(), pageable)
+                : complaintHistoryRepository.findArchivedByComplaintId(complaintId, pageable);
         
         // تحويل إلى DTO
         Page<ComplaintHistoryDTO> dtoPage = historyPage.map(complaintHistoryMapper::toDTO);
         return PaginationDTO.of(dtoPage);
     }
 
+    /**
+     * Archived complaints keep their attachment metadata in complaint_attachments_archive
+     */
+    private ComplaintDTOResponse toResponse(Complaint complaint, boolean archived) {
+        if (!archived) {
+            return complaintMapper.toResponse(complaint);
+        }
+        return complaintMapper.toResponse(complaint,
+                complaintAttachmentRepository.findArchivedByComplaintIdIn(List.of(complaint.getId())));
+    }
+
+    /**
+     * Maps a page that may contain archived complaints, reading their attachment metadata in one query
+     */
+    private Page<ComplaintDTOResponse> toResponsesIncludingArchived(Page<Complaint> complaints) {
+        if (complaints.isEmpty()) {
+            return complaints.map(complaintMapper::toResponse);
+        }
+        List<Long> ids = complaints.getContent().stream().map(Complaint::getId).toList();
+        Map<Long, List<ComplaintAttachment>> archivedAttachments = complaintAttachmentRepository.findArchivedByComplaintIdIn(ids)
+                .stream()
+                .collect(Collectors.groupingBy(attachment -> attachment.getComplaint().getId()));
+        return complaints.map(complaint -> {
+            List<ComplaintAttachment> archived = archivedAttachments.get(complaint.getId());
+            return archived != null ? complaintMapper.toResponse(complaint, archived) : complaintMapper.toResponse(complaint);
+        });
+    }
+
+    /**
+     * ETag تفاصيل الشكوى للإصدار المعطى
+     * The body embeds signed attachment URLs, so the tag also carries the signing window.
+     */
+    public String complaintETag(long version) {
+        return ETags.of(version, attachmentUrlSigner.signingWindow());
+    }
+
+    /**
+     * ETag الحالي لتفاصيل الشكوى - دون تحميل الشكوى
+     * Null when the complaint does not exist or the caller may not see it; getComplaintById then answers as usual.
+     */
+    @Transactional(readOnly = true)
+    public String getComplaintETag(Long id) {
+        return findAccessibleVersion(id)
+                .map(this::complaintETag)
+                .orElse(null);
+    }
+
+    /**
+     * ETag الحالي لسجل تغييرات الشكوى
+     * Every history entry comes with a change to the complaint, so its version covers the history too.
+     */
+    @Transactional(readOnly = true)
+    public String getComplaintHistoryETag(Long id) {
+        return findAccessibleVersion(id)
+                .map(version -> ETags.of(version))
+                .orElse(null);
+    }
+
+    /**
+     * ETag قوائم الشكاوى
+     * The stamp of the smallest scope that covers every list query the caller's request can run: the employee's
+     * agency, the given citizen, the caller's own complaints (ownForCitizens) or everything. Read from memory.
+     */
+    @Transactional(readOnly = true)
+    public String getComplaintListETag(Long citizenId, boolean ownForCitizens) {
+        return getComplaintListETag(citizenId, ownForCitizens, ComplaintView.FULL);
+    }
+
+    /**
+     * ETag قوائم الشكاوى حسب شكل الصفوف
+     * Summary rows carry no signed URLs, so their tag has no signing window and never matches a full list's tag.
+     */
+    @Transactional(readOnly = true)
+    public String getComplaintListETag(Long citizenId, boolean ownForCitizens, ComplaintView view) {
+        ComplaintEventScope scope;
+        User currentUser;
+        try {
+            currentUser = getCurrentUser();
+        } catch (ResourceNotFoundException e) {
+            return null;
+        }
+        if (currentUser instanceof Employee employee && employee.getGovernmentAgency() != null) {
+            scope = ComplaintEventScope.agency(employee.getGovernmentAgency());
+        } else if (citizenId != null) {
+            scope = ComplaintEventScope.citizen(citizenId);
+        } else if (ownForCitizens && isCurrentUserCitizen()) {
+            scope = ComplaintEventScope.citizen(getCurrentCitizen().getId());
+        } else {
+            scope = ComplaintEventScope.all();
+        }
+        if (view == ComplaintView.SUMMARY) {
+            return ETags.of(complaintChangeStamps.stamp(scope), complaintChangeStamps.instanceId(), "summary");
+        }
+        return ETags.of(complaintChangeStamps.stamp(scope), complaintChangeStamps.instanceId(),
+                attachmentUrlSigner.signingWindow());
+    }
+
+    /**
+     * Version of the complaint if the caller may see it, with the same rules as ensureCanAccessComplaint
+     */
+    private Optional<Long> findAccessibleVersion(Long id) {
+        Optional<ComplaintVersionStamp> found = complaintRepository.findVersionStampById(id);
+        if (found.isEmpty()) {
+            return Optional.empty();
+        }
+        ComplaintVersionStamp stamp = found.get();
+        if (isCurrentUserCitizen()) {
+            return getCurrentCitizen().getId().equals(stamp.getCitizenId()) ? Optional.of(stamp.getVersion()) : Optional.empty();
+        }
+        User user;
+        try {
+            user = getCurrentUser();
+        } catch (ResourceNotFoundException e) {
+            return Optional.empty();
+        }
+        if (user instanceof Employee employee && (employee.getGovernmentAgency() == null
+                || !employee.getGovernmentAgency().name().equals(stamp.getGovernmentAgency()))) {
+            return Optional.empty();
+        }
+        return Optional.of(stamp.getVersion());
+    }
+
+    /**
+     * تجديد مهلة حجز الشكوى (heartbeat) - للموظف الحاجز فقط
+     * One UPDATE by primary key; the complaint row is not read or locked.
+     */
+    public ComplaintLeaseDTO renewLease(Long complaintId, Long fencingToken) {
+        User currentUser = getCurrentUser();
+        if (!(currentUser instanceof Employee)) {
+            throw new UnAuthorizedException("Only employees can hold complaints");
+        }
+        return complaintLeaseManager.renew(complaintId, currentUser.getId(), fencingToken)
+                .orElseThrow(() -> new ConflictException(
+                        "انتهت مهلة حجز الشكوى أو أصبحت محجوزة لموظف آخر. يرجى حجزها من جديد."));
+    }
+
+    /**
+     * The lease follows the state lock: held while IN_PROGRESS with a responder, dropped on any other status.
+     * LOCKED / UNLOCKED history is recorded when the lease actually changes hands.
+     */
+    private void syncLease(Complaint complaint, User actor) {
+        if (complaint.getStatus() == ComplaintStatus.IN_PROGRESS && complaint.getRespondedBy() != null) {
+            if (complaintLeaseManager.acquire(complaint.getId(), complaint.getRespondedBy().getId())) {
+                complaintHistoryService.recordLocked(complaint, actor);
+            }
+        } else if (complaintLeaseManager.release(complaint.getId())) {
+            complaintHistoryService.recordUnlocked(complaint, actor);
+        }
+    }
+
+    /**
+     * نطاق البث المباشر: المواطن يتابع شكاويه، الموظف شكاوى جهته، والمدير جميع الشكاوى
+     */
+    @Transactional(readOnly = true)
+    public ComplaintEventScope resolveChangeFeedScope() {
+        if (isCurrentUserCitizen()) {
+            return ComplaintEventScope.citizen(getCurrentCitizen().getId());
+        }
+        User currentUser = getCurrentUser();
+        if (currentUser instanceof Employee employee) {
+            if (employee.getGovernmentAgency() == null) {
+                throw new UnAuthorizedException("Employee is not associated with any government agency");
+            }
+            return ComplaintEventScope.agency(employee.getGovernmentAgency());
+        }
+        if (isAdmin(currentUser)) {
+            return ComplaintEventScope.all();
+        }
+        throw new UnAuthorizedException("You don't have permission to follow complaint changes");
+    }
+
     /**
      * Check if user is admin
      */
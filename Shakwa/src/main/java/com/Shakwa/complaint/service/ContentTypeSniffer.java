@@ -0,0 +1,122 @@
+package com.Shakwa.complaint.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.apache.tika.Tika;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * Fast-path content type detection for the upload types we accept (PNG, JPEG, PDF).
+ *
+ * Checks a small header and trailer window against known signatures and validates basic structure
+ * (PNG IHDR chunk, JPEG SOI/EOI markers, PDF header and %%EOF trailer). Reuses per-thread buffers,
+ * so the hot path does not allocate. Tika is only consulted when no known signature matches.
+ */
+@Component
+public class ContentTypeSniffer {
+
+    public static final String IMAGE_PNG = "image/png";
+    public static final String IMAGE_JPEG = "image/jpeg";
+    public static final String APPLICATION_PDF = "application/pdf";
+    // Known signature but broken structure - never in the allowed list
+    public static final String INVALID_STRUCTURE = "application/octet-stream";
+
+    static final int HEAD_SIZE = 16;
+    static final int TAIL_SIZE = 1024;
+
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+    private static final byte[] PNG_IHDR = {'I', 'H', 'D', 'R'};
+    private static final byte[] PDF_HEADER = {'%', 'P', 'D', 'F', '-'};
+    private static final byte[] PDF_EOF = {'%', '%', 'E', 'O', 'F'};
+
+    private static final ThreadLocal<byte[]> HEAD_BUFFER = ThreadLocal.withInitial(() -> new byte[HEAD_SIZE]);
+    private static final ThreadLocal<byte[]> TAIL_BUFFER = ThreadLocal.withInitial(() -> new byte[TAIL_SIZE]);
+
+    private final Tika tika = new Tika();
+
+    /**
+     * Detects the content type of an uploaded file, falling back to Tika for unknown signatures.
+     */
+    public String detect(MultipartFile file) throws IOException {
+        byte[] head = HEAD_BUFFER.get();
+        byte[] tail = TAIL_BUFFER.get();
+        long size = file.getSize();
+        int headLength;
+        int tailLength;
+
+        try (InputStream in = file.getInputStream()) {
+            if (size <= TAIL_SIZE) {
+                // Small file: the whole content fits in the tail window
+                tailLength = in.readNBytes(tail, 0, TAIL_SIZE);
+                headLength = Math.min(tailLength, HEAD_SIZE);
+                System.arraycopy(tail, 0, head, 0, headLength);
+            } else {
+                headLength = in.readNBytes(head, 0, HEAD_SIZE);
+                in.skipNBytes(size - TAIL_SIZE - headLength);
+                tailLength = in.readNBytes(tail, 0, TAIL_SIZE);
+            }
+        }
+
+        String type = sniff(head, headLength, tail, tailLength);
+        if (type != null) {
+            return type;
+        }
+        try (InputStream in = file.getInputStream()) {
+            return tika.detect(in, file.getOriginalFilename());
+        }
+    }
+
+    /**
+     * Matches the header against known signatures and validates structure using the trailer.
+     *
+     * @return the detected type, {@link #INVALID_STRUCTURE} if a signature matches but the file is malformed,
+     *         or {@code null} if no known signature matches
+     */
+    static String sniff(byte[] head, int headLength, byte[] tail, int tailLength) {
+        if (startsWith(head, headLength, PNG_SIGNATURE)) {
+            // The first chunk must be IHDR (4-byte length at offset 8, type at offset 12)
+            return headLength >= 16 && regionMatches(head, 12, PNG_IHDR) ? IMAGE_PNG : INVALID_STRUCTURE;
+        }
+        if (headLength >= 3 && head[0] == (byte) 0xFF && head[1] == (byte) 0xD8 && head[2] == (byte) 0xFF) {
+            return containsJpegEoi(tail, tailLength) ? IMAGE_JPEG : INVALID_STRUCTURE;
+        }
+        if (startsWith(head, headLength, PDF_HEADER)) {
+            return lastIndexOf(tail, tailLength, PDF_EOF) >= 0 ? APPLICATION_PDF : INVALID_STRUCTURE;
+        }
+        return null;
+    }
+
+    private static boolean containsJpegEoi(byte[] tail, int tailLength) {
+        // Some encoders pad after EOI, so look for the marker anywhere in the trailer window
+        for (int i = tailLength - 2; i >= 0; i--) {
+            if (tail[i] == (byte) 0xFF && tail[i + 1] == (byte) 0xD9) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean startsWith(byte[] data, int length, byte[] prefix) {
+        return length >= prefix.length && regionMatches(data, 0, prefix);
+    }
+
+    private static boolean regionMatches(byte[] data, int offset, byte[] expected) {
+        for (int i = 0; i < expected.length; i++) {
+            if (data[offset + i] != expected[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int lastIndexOf(byte[] data, int length, byte[] needle) {
+        for (int i = length - needle.length; i >= 0; i--) {
+            if (regionMatches(data, i, needle)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,141 @@
+package com.Shakwa.complaint.storage;
+
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import com.Shakwa.complaint.entity.ComplaintAttachment;
+import com.Shakwa.utils.exception.UnAuthorizedException;
+
+/**
+ * Issues and verifies short-lived HMAC-SHA256 signed download tokens for complaint attachments.
+ *
+ * The token carries everything needed to stream the file (storage path, file name, content type, size)
+ * so the download path can be served without any database or user lookup.
+ * Token format: base64url(payload) + "." + base64url(hmac(payload))
+ */
+@Component
+public class AttachmentUrlSigner {
+
+    public static final String DOWNLOAD_PATH = "/api/v1/attachments/signed/";
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final char SEPARATOR = '\n';
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec key;
+    private final ComplaintStorageProperties properties;
+    private final Clock clock;
+    private final ThreadLocal<Mac> macs;
+
+    @Autowired
+    public AttachmentUrlSigner(ComplaintStorageProperties properties) {
+        this(properties, Clock.systemUTC());
+    }
+
+    AttachmentUrlSigner(ComplaintStorageProperties properties, Clock clock) {
+        if (!StringUtils.hasText(properties.getDownloadUrlSecret())) {
+            throw new IllegalStateException("storage.complaints.download-url-secret must be configured");
+        }
+        this.properties = properties;
+        this.clock = clock;
+        this.key = new SecretKeySpec(properties.getDownloadUrlSecret().getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM);
+        // Mac is not thread-safe, keep one initialized instance per thread
+        this.macs = ThreadLocal.withInitial(this::newMac);
+    }
+
+    /**
+     * Builds a signed token for the given attachment, valid for the configured TTL.
+     */
+    public SignedToken sign(ComplaintAttachment attachment) {
+        Instant expiresAt = clock.instant().plus(properties.getDownloadUrlTtl());
+        String payload = new StringBuilder(128)
+                .append(expiresAt.getEpochSecond()).append(SEPARATOR)
+                .append(attachment.getSize()).append(SEPARATOR)
+                .append(attachment.getContentType()).append(SEPARATOR)
+                .append(attachment.getStoragePath()).append(SEPARATOR)
+                .append(attachment.getOriginalFilename())
+                .toString();
+        byte[] payloadBytes = payload.getBytes(StandardCharsets.UTF_8);
+        String token = ENCODER.encodeToString(payloadBytes) + "." + ENCODER.encodeToString(hmac(payloadBytes));
+        return new SignedToken(token, expiresAt);
+    }
+
+    /**
+     * Index of the current half-ttl window. Responses that embed signed URLs put it in their ETag, so a client
+     * revalidating (304) keeps URLs that are still valid for at least half a ttl.
+     */
+    public long signingWindow() {
+        long halfTtl = Math.max(1, properties.getDownloadUrlTtl().toSeconds() / 2);
+        return clock.instant().getEpochSecond() / halfTtl;
+    }
+
+    /**
+     * Verifies the signature and expiry of a token entirely in memory. The returned {@code remaining} is measured
+     * from the same instant as the expiry check, so it is always positive.
+     *
+     * @throws UnAuthorizedException if the token is malformed, tampered with or expired
+     */
+    public SignedDownload verify(String token) {
+        int dot = token != null ? token.indexOf('.') : -1;
+        if (dot <= 0 || dot == token.length() - 1) {
+            throw new UnAuthorizedException("Invalid download link");
+        }
+        byte[] payloadBytes;
+        byte[] signature;
+        try {
+            payloadBytes = DECODER.decode(token.substring(0, dot));
+            signature = DECODER.decode(token.substring(dot + 1));
+        } catch (IllegalArgumentException e) {
+            throw new UnAuthorizedException("Invalid download link");
+        }
+        if (!MessageDigest.isEqual(hmac(payloadBytes), signature)) {
+            throw new UnAuthorizedException("Invalid download link");
+        }
+
+        String[] parts = new String(payloadBytes, StandardCharsets.UTF_8).split(String.valueOf(SEPARATOR), 5);
+        if (parts.length != 5) {
+            throw new UnAuthorizedException("Invalid download link");
+        }
+        Instant now = clock.instant();
+        Instant expiresAt = Instant.ofEpochSecond(Long.parseLong(parts[0]));
+        if (!now.isBefore(expiresAt)) {
+            throw new UnAuthorizedException("Download link has expired");
+        }
+        return new SignedDownload(parts[3], parts[4], parts[2], Long.parseLong(parts[1]), expiresAt,
+                Duration.between(now, expiresAt));
+    }
+
+    private byte[] hmac(byte[] payload) {
+        Mac mac = macs.get();
+        return mac.doFinal(payload);
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+            throw new IllegalStateException("HmacSHA256 not available", e);
+        }
+    }
+
+    public record SignedToken(String token, Instant expiresAt) {}
+
+    public record SignedDownload(String storagePath, String filename, String contentType, long size, Instant expiresAt,
+                                 Duration remaining) {}
+}
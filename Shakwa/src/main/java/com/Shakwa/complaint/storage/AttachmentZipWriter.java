@@ -0,0 +1,96 @@
+package com.Shakwa.complaint.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.Shakwa.utils.response.AttachmentBundleResponse;
+
+/**
+ * Streams a ZIP archive of complaint attachments straight to an output stream.
+ * Files are copied through a fixed-size buffer one at a time, so memory stays constant
+ * regardless of the number or size of attachments.
+ */
+@Component
+public class AttachmentZipWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(AttachmentZipWriter.class);
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    // Already compressed formats - deflating them again only burns CPU
+    private static final Set<String> PRECOMPRESSED_TYPES = Set.of("image/png", "image/jpg", "image/jpeg", "application/pdf");
+
+    private final AttachmentStorageService attachmentStorageService;
+
+    public AttachmentZipWriter(AttachmentStorageService attachmentStorageService) {
+        this.attachmentStorageService = attachmentStorageService;
+    }
+
+    /**
+     * Writes every entry of the bundle into a ZIP on the given stream.
+     * Stops early (without error) when the client disconnects or the thread is interrupted.
+     */
+    public void write(AttachmentBundleResponse bundle, OutputStream outputStream) throws IOException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        Set<String> usedNames = new HashSet<>();
+        ZipOutputStream zip = new ZipOutputStream(outputStream);
+        try {
+            for (AttachmentBundleResponse.Entry entry : bundle.entries()) {
+                if (Thread.currentThread().isInterrupted()) {
+                    logger.debug("Attachment bundle {} interrupted", bundle.filename());
+                    return;
+                }
+                // Deflate level 0 emits stored blocks: no recompression and no CRC pre-pass over the file
+                zip.setLevel(PRECOMPRESSED_TYPES.contains(entry.contentType())
+                        ? Deflater.NO_COMPRESSION : Deflater.DEFAULT_COMPRESSION);
+                zip.putNextEntry(new ZipEntry(uniqueName(entry.filename(), usedNames)));
+                try (InputStream in = attachmentStorageService.loadAsResource(entry.storagePath()).getInputStream()) {
+                    int read;
+                    while ((read = in.read(buffer)) != -1) {
+                        zip.write(buffer, 0, read);
+                    }
+                }
+                zip.closeEntry();
+                zip.flush();
+            }
+            zip.finish();
+        } catch (IOException e) {
+            if (isClientAbort(e)) {
+                logger.debug("Client disconnected while streaming {}", bundle.filename());
+                return;
+            }
+            throw e;
+        }
+    }
+
+    private String uniqueName(String filename, Set<String> usedNames) {
+        String name = filename != null ? filename.replace('\\', '_').replace('/', '_') : "attachment";
+        if (usedNames.add(name)) {
+            return name;
+        }
+        int dot = name.lastIndexOf('.');
+        String base = dot > 0 ? name.substring(0, dot) : name;
+        String extension = dot > 0 ? name.substring(dot) : "";
+        int counter = 1;
+        String candidate;
+        do {
+            candidate = base + " (" + counter++ + ")" + extension;
+        } while (!usedNames.add(candidate));
+        return candidate;
+    }
+
+    private boolean isClientAbort(IOException e) {
+        // Tomcat reports a dropped connection as ClientAbortException (an IOException)
+        return e.getClass().getSimpleName().equals("ClientAbortException")
+                || (e.getMessage() != null && e.getMessage().contains("Broken pipe"));
+    }
+}
@@ -2,6 +2,7 @@ package com.Shakwa.complaint.storage;
 
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
@@ -17,5 +18,15 @@ public class ComplaintStorageProperties {
      * Root directory where complaint attachments will be stored.
      */
     private Path root = Paths.get("storage/complaints");
+
+    /**
+     * Secret used to sign attachment download URLs (HMAC-SHA256).
+     */
+    private String downloadUrlSecret;
+
+    /**
+     * How long a signed attachment download URL stays valid.
+     */
+    private Duration downloadUrlTtl = Duration.ofMinutes(5);
 }
 
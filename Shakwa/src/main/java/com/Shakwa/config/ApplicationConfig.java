@@ -1,8 +1,10 @@
 package com.Shakwa.config;
 
+import java.time.Duration;
 import java.util.logging.Logger;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Lazy;
@@ -12,23 +14,28 @@ import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import com.Shakwa.complaint.storage.ComplaintStorageProperties;
 import com.Shakwa.user.entity.BaseUser;
 import com.Shakwa.user.entity.Citizen;
+import com.Shakwa.user.entity.User;
+import com.Shakwa.user.otp.OtpProperties;
 import com.Shakwa.user.repository.CitizenRepo;
 import com.Shakwa.user.repository.EmployeeRepository;
 import com.Shakwa.user.repository.UserRepository;
+import com.Shakwa.utils.Aspect.ServiceMetricsProperties;
 import com.Shakwa.utils.auditing.ApplicationAuditingAware;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
 @Configuration
-@EnableConfigurationProperties(ComplaintStorageProperties.class)
+@EnableConfigurationProperties({ComplaintStorageProperties.class, OtpProperties.class, ServiceMetricsProperties.class})
 public class ApplicationConfig {
 
     private final UserRepository userRepository;
@@ -76,20 +83,38 @@ public class ApplicationConfig {
     }
 
     @Bean
-    public AuthenticationProvider authenticationProvider(){
+    public AuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder){
         DaoAuthenticationProvider authProvider =  new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService());
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setPasswordEncoder(passwordEncoder);
+        // Rehash on successful login when the stored BCrypt cost differs from the configured one
+        authProvider.setUserDetailsPasswordService(userDetailsPasswordService());
         return authProvider;
     }
 
+    @Bean
+    public UserDetailsPasswordService userDetailsPasswordService() {
+        return (user, newPassword) -> {
+            // Users, employees and citizens share the users table (JOINED inheritance)
+            User entity = (User) user;
+            entity.setPassword(newPassword);
+            return userRepository.save(entity);
+        };
+    }
+
     @Bean
     public AuthenticationManager authenticationManager(AuthenticationConfiguration configuration) throws Exception {
         return configuration.getAuthenticationManager();
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${security.password.bcrypt-strength:10}") int strength,
+                                           @Value("${security.password.hash-threads:0}") int threads,
+                                           @Value("${security.password.hash-queue-capacity:64}") int queueCapacity,
+                                           @Value("${security.password.hash-timeout:PT5S}") Duration timeout,
+                                           MeterRegistry meterRegistry) {
+        // BCrypt is CPU-bound: by default one hashing thread per core
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(strength, poolSize, queueCapacity, timeout, meterRegistry);
     }
 }
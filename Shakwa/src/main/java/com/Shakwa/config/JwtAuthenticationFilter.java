@@ -1,5 +1,6 @@
 package com.Shakwa.config;
 
+import com.Shakwa.complaint.storage.AttachmentUrlSigner;
 import com.Shakwa.utils.exception.TokenExpiredException;
 import com.Shakwa.utils.restExceptionHanding.ApiException;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -30,6 +31,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtService jwtService ;
 
     private final UserDetailsService userDetailsService; // final
+
+    /**
+     * Signed attachment downloads carry their own authorization, skip the user lookup for them
+     */
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return request.getRequestURI().startsWith(request.getContextPath() + AttachmentUrlSigner.DOWNLOAD_PATH);
+    }
+
     @Override
     protected void doFilterInternal(
            @NonNull HttpServletRequest request,
@@ -0,0 +1,254 @@
+package com.Shakwa.config;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Per-IP login rate limiter and temporary IP blocklist, safe under concurrent logins and bounded in memory.
+ *
+ * Attempts are counted with a sliding-window counter (current + weighted previous fixed window) packed into
+ * one AtomicLong and updated by CAS. Counters live in one ConcurrentHashMap, so looking up and counting an
+ * attempt take no lock. The map has a hard capacity: a new IP that goes over it evicts the least recently seen
+ * of a small sample of entries, and idle counters are dropped on each tick, off the login path.
+ * Blocked IPs are expired by a time wheel that only sweeps the slots that came due.
+ */
+@Component
+public class LoginRateLimiter {
+
+    private static final long TICK_MILLIS = 1000;
+    private static final int EVICTION_SAMPLE = 8;
+    private static final int MAX_COUNT = 0xFFFF;
+
+    private final Clock clock;
+    private final int limit;
+    private final long windowMillis;
+    private final long blockMillis;
+    private final int maxTracked;
+    private final int maxBlocked;
+
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+    private final Map<String, Long> blockedUntil = new ConcurrentHashMap<>();
+    private final Set<String>[] blockWheel;
+    private volatile long lastTick;
+
+    private final Counter rejectedCounter;
+    private final Counter blockedCounter;
+    private final Counter evictedCounter;
+
+    @Autowired
+    public LoginRateLimiter(@Value("${security.login.rate-limit.limit:5}") int limit,
+                            @Value("${security.login.rate-limit.window:PT1M}") Duration window,
+                            @Value("${security.login.rate-limit.block-duration:PT1M}") Duration blockDuration,
+                            @Value("${security.login.rate-limit.max-tracked:100000}") int maxTracked,
+                            @Value("${security.login.rate-limit.max-blocked:50000}") int maxBlocked,
+                            MeterRegistry meterRegistry) {
+        this(limit, window, blockDuration, maxTracked, maxBlocked, meterRegistry, Clock.systemUTC());
+    }
+
+    @SuppressWarnings("unchecked")
+    LoginRateLimiter(int limit, Duration window, Duration blockDuration, int maxTracked, int maxBlocked,
+                     MeterRegistry meterRegistry, Clock clock) {
+        this.clock = clock;
+        this.limit = Math.min(limit, MAX_COUNT);
+        this.windowMillis = window.toMillis();
+        this.blockMillis = blockDuration.toMillis();
+        this.maxTracked = Math.max(1, maxTracked);
+        this.maxBlocked = maxBlocked;
+
+        int slots = (int) Math.ceilDiv(blockMillis, TICK_MILLIS) + 2;
+        this.blockWheel = new Set[slots];
+        for (int i = 0; i < slots; i++) {
+            blockWheel[i] = ConcurrentHashMap.newKeySet();
+        }
+        this.lastTick = clock.millis() / TICK_MILLIS;
+
+        this.rejectedCounter = Counter.builder("shakwa.login.ratelimit.rejected")
+                .description("Login attempts rejected by the per-IP rate limit")
+                .register(meterRegistry);
+        this.blockedCounter = Counter.builder("shakwa.login.ratelimit.blocked")
+                .description("IPs added to the temporary login blocklist")
+                .register(meterRegistry);
+        this.evictedCounter = Counter.builder("shakwa.login.ratelimit.evicted")
+                .description("Rate-limit counters evicted because the capacity was reached")
+                .register(meterRegistry);
+        Gauge.builder("shakwa.login.ratelimit.tracked", windows, Map::size)
+                .description("IPs currently tracked by the login rate limiter")
+                .register(meterRegistry);
+        Gauge.builder("shakwa.login.ratelimit.blocked.current", blockedUntil, Map::size)
+                .description("IPs currently on the login blocklist")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Counts one login attempt for the scope and IP.
+     *
+     * @return false if the IP exceeded the limit for the current window
+     */
+    public boolean tryAcquire(String scope, String ip) {
+        long now = clock.millis();
+        String key = scope + ':' + ip;
+        Window window = windows.get(key);
+        if (window == null) {
+            window = track(key, now);
+        }
+        window.lastAccess = now;
+        if (window.tryAcquire(now)) {
+            return true;
+        }
+        rejectedCounter.increment();
+        return false;
+    }
+
+    public boolean isBlocked(String ip) {
+        Long until = blockedUntil.get(ip);
+        return until != null && clock.millis() < until;
+    }
+
+    public void blockIP(String ip) {
+        if (blockedUntil.size() >= maxBlocked && !blockedUntil.containsKey(ip)) {
+            evictSoonestUnblock();
+        }
+        long until = clock.millis() + blockMillis;
+        blockedUntil.put(ip, until);
+        slot(Math.ceilDiv(until, TICK_MILLIS)).add(ip);
+        blockedCounter.increment();
+    }
+
+    /**
+     * Unblocks IPs whose block expired and drops counters idle for more than two windows.
+     */
+    @Scheduled(fixedDelay = TICK_MILLIS)
+    public void tick() {
+        long now = clock.millis();
+        long currentTick = now / TICK_MILLIS;
+        long from = Math.max(lastTick + 1, currentTick - blockWheel.length + 1);
+        for (long tick = from; tick <= currentTick; tick++) {
+            sweepBlocked(slot(tick), now);
+        }
+        lastTick = currentTick;
+
+        long idleBefore = now - 2 * windowMillis;
+        windows.entrySet().removeIf(entry -> entry.getValue().lastAccess < idleBefore);
+    }
+
+    int trackedCount() {
+        return windows.size();
+    }
+
+    private Window track(String key, long now) {
+        Window created = new Window(now);
+        Window existing = windows.putIfAbsent(key, created);
+        if (existing != null) {
+            return existing;
+        }
+        // Only a new IP pays for eviction; the attempts of known IPs never reach here
+        while (windows.size() > maxTracked) {
+            if (evictSampled(created)) {
+                evictedCounter.increment();
+            }
+        }
+        return created;
+    }
+
+    /**
+     * Removes the least recently seen of the first few counters other than {@code keep}.
+     */
+    private boolean evictSampled(Window keep) {
+        Map.Entry<String, Window> eldest = null;
+        int sampled = 0;
+        for (Map.Entry<String, Window> entry : windows.entrySet()) {
+            if (entry.getValue() == keep) {
+                continue;
+            }
+            if (eldest == null || entry.getValue().lastAccess < eldest.getValue().lastAccess) {
+                eldest = entry;
+            }
+            if (++sampled == EVICTION_SAMPLE) {
+                break;
+            }
+        }
+        return eldest != null && windows.remove(eldest.getKey(), eldest.getValue());
+    }
+
+    private void sweepBlocked(Set<String> slot, long now) {
+        Iterator<String> it = slot.iterator();
+        while (it.hasNext()) {
+            String ip = it.next();
+            Long until = blockedUntil.get(ip);
+            if (until == null) {
+                it.remove();
+            } else if (now >= until) {
+                blockedUntil.remove(ip, until);
+                it.remove();
+            } else if (slot(Math.ceilDiv(until, TICK_MILLIS)) != slot) {
+                // Blocked again since - the live entry is registered in another slot
+                it.remove();
+            }
+        }
+    }
+
+    private void evictSoonestUnblock() {
+        long tick = clock.millis() / TICK_MILLIS;
+        for (int i = 0; i < blockWheel.length; i++) {
+            Iterator<String> it = slot(++tick).iterator();
+            if (it.hasNext()) {
+                String ip = it.next();
+                it.remove();
+                blockedUntil.remove(ip);
+                return;
+            }
+        }
+    }
+
+    private Set<String> slot(long tick) {
+        return blockWheel[(int) Math.floorMod(tick, (long) blockWheel.length)];
+    }
+
+    /**
+     * Sliding-window counter. State layout: window index (32 bits) | previous count (16) | current count (16).
+     */
+    private final class Window {
+        private final AtomicLong state = new AtomicLong();
+        private volatile long lastAccess;
+
+        private Window(long now) {
+            this.lastAccess = now;
+        }
+
+        private boolean tryAcquire(long now) {
+            long index = (now / windowMillis) & 0xFFFFFFFFL;
+            double elapsed = (double) (now % windowMillis) / windowMillis;
+            while (true) {
+                long current = state.get();
+                long stateIndex = current >>> 32;
+                int previousCount = (int) ((current >>> 16) & MAX_COUNT);
+                int currentCount = (int) (current & MAX_COUNT);
+                if (index != stateIndex) {
+                    previousCount = index == stateIndex + 1 ? currentCount : 0;
+                    currentCount = 0;
+                }
+                if (previousCount * (1 - elapsed) + currentCount >= limit) {
+                    return false;
+                }
+                long next = (index << 32) | ((long) previousCount << 16) | (currentCount + 1);
+                if (state.compareAndSet(current, next)) {
+                    return true;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.Shakwa.config;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * The read replica's connection pool and how far it is behind the primary.
+ *
+ * The replica counts as usable while its replay lag is at or below max-lag. A failed check, a lag above the
+ * limit or a refused connection marks it unusable until the next successful check, so reads go to the
+ * primary instead of serving stale data. The pool is deliberately not a DataSource bean: a replica outage
+ * must not turn the application's db health check DOWN while the primary still serves every request.
+ */
+public class ReadReplica implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReadReplica.class);
+
+    // 0 when fully caught up (or not a standby at all); replay-timestamp age otherwise; -1 if nothing was replayed yet.
+    // Reading pg_stat_wal_receiver needs pg_read_all_stats - without it an idle primary shows up as growing lag.
+    static final String LAG_QUERY = """
+            SELECT CASE
+                WHEN NOT pg_is_in_recovery() THEN 0
+                WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn()
+                     AND EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE status = 'streaming') THEN 0
+                ELSE COALESCE(EXTRACT(EPOCH FROM clock_timestamp() - pg_last_xact_replay_timestamp()) * 1000, -1)
+            END""";
+
+    private final DataSource pool;
+    private final long maxLagMillis;
+    private final int queryTimeoutSeconds;
+    private final AtomicBoolean usable = new AtomicBoolean();
+    private volatile long lagMillis = -1;
+
+    ReadReplica(DataSource pool, Duration maxLag, Duration checkInterval, MeterRegistry meterRegistry) {
+        this.pool = pool;
+        this.maxLagMillis = maxLag.toMillis();
+        this.queryTimeoutSeconds = (int) Math.max(1, checkInterval.toSeconds());
+        Gauge.builder("shakwa.datasource.replica.lag", this, r -> r.lagMillis < 0 ? Double.NaN : r.lagMillis / 1000.0)
+                .description("Replication lag of the read replica")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("shakwa.datasource.replica.usable", usable, u -> u.get() ? 1 : 0)
+                .description("1 while read-only transactions are routed to the replica")
+                .register(meterRegistry);
+    }
+
+    static ReadReplica create(ReplicaDataSourceProperties properties, String driverClassName,
+                              long connectionTimeoutMillis, MeterRegistry meterRegistry) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setPoolName("replica");
+        pool.setJdbcUrl(properties.getUrl());
+        pool.setUsername(properties.getUsername());
+        pool.setPassword(properties.getPassword());
+        pool.setDriverClassName(driverClassName);
+        pool.setMaximumPoolSize(properties.getMaximumPoolSize());
+        pool.setConnectionTimeout(connectionTimeoutMillis);
+        pool.setReadOnly(true);
+        // Connect on first use, so an unreachable replica does not prevent startup
+        pool.setInitializationFailTimeout(-1);
+        pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return new ReadReplica(pool, properties.getMaxLag(), properties.getLagCheckInterval(), meterRegistry);
+    }
+
+    public boolean isUsable() {
+        return usable.get();
+    }
+
+    public Connection getConnection() throws SQLException {
+        try {
+            return pool.getConnection();
+        } catch (SQLException e) {
+            lagMillis = -1;
+            markUnusable("connection failed: " + e.getMessage());
+            throw e;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${shakwa.datasource.replica.lag-check-interval:PT1S}")
+    public void checkLag() {
+        try (Connection connection = pool.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(queryTimeoutSeconds);
+            try (ResultSet rs = statement.executeQuery(LAG_QUERY)) {
+                rs.next();
+                update(Math.round(rs.getDouble(1)));
+            }
+        } catch (SQLException e) {
+            lagMillis = -1;
+            markUnusable("lag check failed: " + e.getMessage());
+        }
+    }
+
+    void update(long measuredLagMillis) {
+        lagMillis = measuredLagMillis;
+        if (measuredLagMillis < 0) {
+            markUnusable("no WAL replayed yet");
+        } else if (measuredLagMillis > maxLagMillis) {
+            markUnusable("lag " + measuredLagMillis + "ms exceeds " + maxLagMillis + "ms");
+        } else if (usable.compareAndSet(false, true)) {
+            logger.info("Read replica available (lag {}ms), routing read-only transactions to it", measuredLagMillis);
+        }
+    }
+
+    private void markUnusable(String reason) {
+        if (usable.compareAndSet(true, false)) {
+            logger.warn("Read replica disabled, routing reads to primary ({})", reason);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (pool instanceof HikariDataSource hikari) {
+            hikari.close();
+        }
+    }
+}
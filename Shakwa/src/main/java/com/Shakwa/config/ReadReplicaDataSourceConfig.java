@@ -0,0 +1,55 @@
+package com.Shakwa.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Sends @Transactional(readOnly = true) work to a streaming replica.
+ *
+ * The application DataSource is a LazyConnectionDataSourceProxy over the primary pool. Hibernate marks the
+ * connection read-only when a read-only transaction begins, before any statement runs, so the proxy can
+ * still pick the replica for it; every other transaction gets a primary connection. Replaces Spring Boot's
+ * DataSource auto-configuration only when shakwa.datasource.replica.enabled=true.
+ */
+@Configuration
+@EnableConfigurationProperties(ReplicaDataSourceProperties.class)
+@ConditionalOnProperty(name = "shakwa.datasource.replica.enabled", havingValue = "true")
+public class ReadReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReadReplica readReplica(ReplicaDataSourceProperties replicaProperties,
+                                   DataSourceProperties properties,
+                                   @Value("${spring.datasource.hikari.connection-timeout:5000}") long connectionTimeout,
+                                   MeterRegistry meterRegistry) {
+        return ReadReplica.create(replicaProperties, properties.determineDriverClassName(), connectionTimeout, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReadReplica readReplica, MeterRegistry meterRegistry) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(new ReplicaFallbackDataSource(readReplica, primaryDataSource, meterRegistry));
+        return dataSource;
+    }
+}
@@ -0,0 +1,43 @@
+package com.Shakwa.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shakwa.datasource.replica")
+public class ReplicaDataSourceProperties {
+
+    /**
+     * Route read-only transactions to the replica. When false the application uses only spring.datasource.
+     */
+    private boolean enabled = false;
+
+    /**
+     * JDBC URL of the streaming replica.
+     */
+    private String url;
+
+    private String username;
+
+    private String password;
+
+    /**
+     * Size of the replica connection pool.
+     */
+    private int maximumPoolSize = 10;
+
+    /**
+     * Replication lag above which read-only transactions fall back to the primary.
+     */
+    private Duration maxLag = Duration.ofSeconds(5);
+
+    /**
+     * How often the replica's replay lag is measured.
+     */
+    private Duration lagCheckInterval = Duration.ofSeconds(1);
+}
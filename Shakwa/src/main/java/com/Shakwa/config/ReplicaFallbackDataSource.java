@@ -0,0 +1,48 @@
+package com.Shakwa.config;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Connection source for read-only transactions: the replica while it is usable, the primary otherwise.
+ * A replica that refuses a connection is disabled on the spot and the transaction continues on the primary.
+ */
+public class ReplicaFallbackDataSource extends AbstractDataSource {
+
+    private final ReadReplica replica;
+    private final DataSource primary;
+    private final Counter fallbackCounter;
+
+    public ReplicaFallbackDataSource(ReadReplica replica, DataSource primary, MeterRegistry meterRegistry) {
+        this.replica = replica;
+        this.primary = primary;
+        this.fallbackCounter = Counter.builder("shakwa.datasource.replica.fallback")
+                .description("Read-only transactions served by the primary because the replica was unusable")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (replica.isUsable()) {
+            try {
+                return replica.getConnection();
+            } catch (SQLException e) {
+                // Already marked unusable by the replica - fall through to the primary
+            }
+        }
+        fallbackCounter.increment();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new UnsupportedOperationException("Credentials are configured per pool");
+    }
+}
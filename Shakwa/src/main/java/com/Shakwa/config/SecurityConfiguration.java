@@ -45,6 +45,7 @@ public class SecurityConfiguration implements WebMvcConfigurer {
             "/api/v1/citizens/register",
             "/api/v1/citizens/verify-otp",
             "/api/v1/citizens/resend-otp",
+            "/api/v1/attachments/signed/**",
             "/v2/api-docs",
             "/v3/api-docs",
             "/v3/api-docs/**",
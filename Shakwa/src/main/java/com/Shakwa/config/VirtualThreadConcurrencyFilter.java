@@ -0,0 +1,110 @@
+package com.Shakwa.config;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.Shakwa.utils.restExceptionHanding.ApiException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Bounds in-flight requests when Tomcat runs on virtual threads.
+ *
+ * With virtual threads Tomcat no longer caps concurrency through maxThreads, so a burst would park thousands
+ * of requests on HikariCP's getConnection() until they time out after holding memory for 30s. This filter
+ * restores a bound sized from the pool and rejects the excess with 503 after a short wait. Only active when spring.threads.virtual.enabled=true.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class VirtualThreadConcurrencyFilter extends OncePerRequestFilter {
+
+    private final Semaphore permits;
+    private final int maxConcurrent;
+    private final long acquireTimeoutMillis;
+    private final ObjectMapper objectMapper;
+    private final Counter rejectedCounter;
+
+    public VirtualThreadConcurrencyFilter(
+            @Value("${server.virtual-threads.max-concurrent-requests:0}") int maxConcurrentRequests,
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize,
+            @Value("${server.virtual-threads.acquire-timeout:PT2S}") Duration acquireTimeout,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        // Default: a small multiple of the pool, so requests that never touch the database are not starved
+        this.maxConcurrent = maxConcurrentRequests > 0 ? maxConcurrentRequests : poolSize * 2;
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.acquireTimeoutMillis = acquireTimeout.toMillis();
+        this.objectMapper = objectMapper;
+        this.rejectedCounter = Counter.builder("shakwa.http.concurrency.rejected")
+                .description("Requests rejected because the virtual-thread concurrency limit was reached")
+                .register(meterRegistry);
+        Gauge.builder("shakwa.http.concurrency.in_flight", permits, p -> maxConcurrent - p.availablePermits())
+                .description("Requests currently holding a concurrency permit")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Health and metrics probes must keep answering while the application is saturated
+     */
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return request.getRequestURI().startsWith(request.getContextPath() + "/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            rejectedCounter.increment();
+            reject(response);
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        HttpStatus status = HttpStatus.SERVICE_UNAVAILABLE;
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                new ApiException("Server is busy, please try again shortly.", status, LocalDateTime.now()));
+    }
+}
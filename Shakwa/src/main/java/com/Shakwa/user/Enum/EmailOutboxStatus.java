@@ -0,0 +1,8 @@
+package com.Shakwa.user.Enum;
+
+public enum EmailOutboxStatus {
+    PENDING,
+    SENDING,
+    SENT,
+    FAILED;
+}
@@ -31,7 +31,8 @@ public class OtpVerification extends BaseEntity {
     @Column(nullable = false, unique = true)
     private String email;
 
-    @Column(nullable = false, length = 6)
+    // HMAC of the code (see OtpCodeHasher), never the plain code
+    @Column(nullable = false, length = 64)
     private String otpCode;
 
     @Column(nullable = false)
@@ -52,7 +53,9 @@ public class OtpVerification extends BaseEntity {
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
-        expiresAt = createdAt.plusMinutes(EXPIRY_MINUTES);
+        if (expiresAt == null) {
+            expiresAt = createdAt.plusMinutes(EXPIRY_MINUTES);
+        }
     }
 
     public boolean isExpired() {
@@ -0,0 +1,171 @@
+package com.Shakwa.user.otp;
+
+import java.time.Clock;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Single-node OTP store: a bounded map of hashed codes expired by a time wheel.
+ *
+ * Each entry is also registered in the wheel slot of the tick it expires on; a scheduled tick sweeps
+ * only the slots that came due, so expiry costs O(expired) instead of scanning the whole map.
+ * Attempts are counted with an atomic counter, and a code can only be consumed once
+ * ({@code remove(email, entry)}), so concurrent verifications cannot both succeed.
+ */
+@Component
+@ConditionalOnProperty(name = "otp.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryOtpStore implements OtpStore {
+
+    private final OtpCodeHasher hasher;
+    private final Clock clock;
+    private final long ttlMillis;
+    private final long tickMillis;
+    private final int maxEntries;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Set<String>[] wheel;
+    private volatile long lastTick;
+
+    @Autowired
+    public InMemoryOtpStore(OtpProperties properties, OtpCodeHasher hasher) {
+        this(properties, hasher, Clock.systemUTC());
+    }
+
+    @SuppressWarnings("unchecked")
+    InMemoryOtpStore(OtpProperties properties, OtpCodeHasher hasher, Clock clock) {
+        this.hasher = hasher;
+        this.clock = clock;
+        this.ttlMillis = properties.getTtl().toMillis();
+        this.tickMillis = Math.max(1, properties.getTickInterval().toMillis());
+        this.maxEntries = properties.getMaxEntries();
+        // One full revolution covers the TTL, so a slot never holds codes from two live generations
+        int slots = (int) Math.ceilDiv(ttlMillis, tickMillis) + 2;
+        this.wheel = new Set[slots];
+        for (int i = 0; i < slots; i++) {
+            wheel[i] = ConcurrentHashMap.newKeySet();
+        }
+        this.lastTick = clock.millis() / tickMillis;
+    }
+
+    @Override
+    public void issue(String email, String otpCode) {
+        if (entries.size() >= maxEntries && !entries.containsKey(email)) {
+            evictSoonestExpiring();
+        }
+        long expiresAt = clock.millis() + ttlMillis;
+        long expiryTick = Math.ceilDiv(expiresAt, tickMillis);
+        entries.put(email, new Entry(hasher.hash(email, otpCode), expiresAt, expiryTick));
+        slot(expiryTick).add(email);
+    }
+
+    @Override
+    public VerificationResult verify(String email, String otpCode) {
+        Entry entry = entries.get(email);
+        if (entry == null) {
+            return VerificationResult.of(Outcome.NOT_FOUND);
+        }
+        if (entry.isExpired(clock.millis())) {
+            entries.remove(email, entry);
+            return VerificationResult.of(Outcome.EXPIRED);
+        }
+        int attempt = entry.attempts.incrementAndGet();
+        if (attempt > MAX_ATTEMPTS) {
+            entries.remove(email, entry);
+            return VerificationResult.of(Outcome.MAX_ATTEMPTS_REACHED);
+        }
+        if (!hasher.matches(entry.hash, email, otpCode)) {
+            return new VerificationResult(Outcome.INVALID_CODE, MAX_ATTEMPTS - attempt);
+        }
+        // Only one caller can remove this exact entry
+        return entries.remove(email, entry)
+                ? VerificationResult.of(Outcome.VERIFIED)
+                : VerificationResult.of(Outcome.NOT_FOUND);
+    }
+
+    @Override
+    public boolean hasPending(String email) {
+        Entry entry = entries.get(email);
+        return entry != null && !entry.isExpired(clock.millis());
+    }
+
+    /**
+     * Advances the wheel to the current tick and drops the codes that expired on the way.
+     */
+    @Scheduled(fixedDelayString = "${otp.tick-interval:PT1S}")
+    public void advance() {
+        long now = clock.millis();
+        long currentTick = now / tickMillis;
+        long from = Math.max(lastTick + 1, currentTick - wheel.length + 1);
+        for (long tick = from; tick <= currentTick; tick++) {
+            sweep(slot(tick), now);
+        }
+        lastTick = currentTick;
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private void sweep(Set<String> slot, long now) {
+        Iterator<String> it = slot.iterator();
+        while (it.hasNext()) {
+            String email = it.next();
+            Entry entry = entries.get(email);
+            if (entry == null) {
+                it.remove();
+            } else if (entry.isExpired(now)) {
+                entries.remove(email, entry);
+                it.remove();
+            } else if (slot(entry.expiryTick) != slot) {
+                // Re-issued since - the live entry is registered in another slot
+                it.remove();
+            }
+        }
+    }
+
+    private void evictSoonestExpiring() {
+        // Live codes expire within one revolution of the current tick, so this scan order is expiry order
+        long tick = clock.millis() / tickMillis;
+        for (int i = 0; i < wheel.length; i++) {
+            Set<String> slot = slot(++tick);
+            Iterator<String> it = slot.iterator();
+            while (it.hasNext()) {
+                String email = it.next();
+                it.remove();
+                Entry entry = entries.get(email);
+                if (entry != null && slot(entry.expiryTick) == slot && entries.remove(email, entry)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private Set<String> slot(long tick) {
+        return wheel[(int) Math.floorMod(tick, (long) wheel.length)];
+    }
+
+    private static final class Entry {
+        private final byte[] hash;
+        private final long expiresAt;
+        private final long expiryTick;
+        private final AtomicInteger attempts = new AtomicInteger();
+
+        private Entry(byte[] hash, long expiresAt, long expiryTick) {
+            this.hash = hash;
+            this.expiresAt = expiresAt;
+            this.expiryTick = expiryTick;
+        }
+
+        private boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+}
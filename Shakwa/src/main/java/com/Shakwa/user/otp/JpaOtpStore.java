@@ -0,0 +1,93 @@
+package com.Shakwa.user.otp;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.Shakwa.user.entity.OtpVerification;
+import com.Shakwa.user.repository.OtpVerificationRepository;
+
+/**
+ * OTP store backed by the otp_verifications table, for deployments with more than one node.
+ * Codes are stored hashed; attempts are counted with a conditional UPDATE and codes are consumed
+ * with a DELETE, so concurrent requests on different nodes cannot exceed the limit or double-verify.
+ */
+@Component
+@ConditionalOnProperty(name = "otp.store", havingValue = "database")
+public class JpaOtpStore implements OtpStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(JpaOtpStore.class);
+
+    private final OtpVerificationRepository otpRepository;
+    private final OtpCodeHasher hasher;
+    private final OtpProperties properties;
+
+    public JpaOtpStore(OtpVerificationRepository otpRepository, OtpCodeHasher hasher, OtpProperties properties) {
+        this.otpRepository = otpRepository;
+        this.hasher = hasher;
+        this.properties = properties;
+    }
+
+    @Override
+    @Transactional
+    public void issue(String email, String otpCode) {
+        otpRepository.deleteByEmail(email);
+
+        OtpVerification otp = new OtpVerification();
+        otp.setEmail(email);
+        otp.setOtpCode(hasher.hashToString(email, otpCode));
+        otp.setIsVerified(false);
+        otp.setAttempts(0);
+        otp.setExpiresAt(LocalDateTime.now().plus(properties.getTtl()));
+        otpRepository.save(otp);
+    }
+
+    @Override
+    @Transactional
+    public VerificationResult verify(String email, String otpCode) {
+        Optional<OtpVerification> otpOptional = otpRepository.findByEmail(email);
+        if (otpOptional.isEmpty()) {
+            return VerificationResult.of(Outcome.NOT_FOUND);
+        }
+
+        OtpVerification otp = otpOptional.get();
+        if (otp.isExpired()) {
+            otpRepository.deleteByIdReturningCount(otp.getId());
+            return VerificationResult.of(Outcome.EXPIRED);
+        }
+        if (otpRepository.incrementAttempts(otp.getId(), MAX_ATTEMPTS) == 0) {
+            otpRepository.deleteByIdReturningCount(otp.getId());
+            return VerificationResult.of(Outcome.MAX_ATTEMPTS_REACHED);
+        }
+        if (!hasher.matches(otp.getOtpCode(), email, otpCode)) {
+            return new VerificationResult(Outcome.INVALID_CODE, MAX_ATTEMPTS - (otp.getAttempts() + 1));
+        }
+        return otpRepository.deleteByIdReturningCount(otp.getId()) == 1
+                ? VerificationResult.of(Outcome.VERIFIED)
+                : VerificationResult.of(Outcome.NOT_FOUND);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public boolean hasPending(String email) {
+        return otpRepository.existsByEmailAndExpiresAtAfter(email, LocalDateTime.now());
+    }
+
+    /**
+     * Deletes expired rows; previously they were only removed when someone tried to verify them.
+     */
+    @Scheduled(fixedDelayString = "${otp.purge-interval:PT5M}")
+    @Transactional
+    public void purgeExpired() {
+        int purged = otpRepository.deleteExpired(LocalDateTime.now());
+        if (purged > 0) {
+            logger.debug("Purged {} expired OTP codes", purged);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.Shakwa.user.otp;
+
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+/**
+ * Hashes OTP codes with HMAC-SHA256, bound to the email, so plain codes are never kept
+ * in the in-memory map or in otp_verifications rows.
+ */
+@Component
+public class OtpCodeHasher {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final SecretKeySpec key;
+    private final ThreadLocal<Mac> macs;
+
+    public OtpCodeHasher(OtpProperties properties) {
+        if (!StringUtils.hasText(properties.getHashSecret())) {
+            throw new IllegalStateException("otp.hash-secret must be configured");
+        }
+        this.key = new SecretKeySpec(properties.getHashSecret().getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM);
+        // Mac is not thread-safe, keep one initialized instance per thread
+        this.macs = ThreadLocal.withInitial(this::newMac);
+    }
+
+    public byte[] hash(String email, String otpCode) {
+        Mac mac = macs.get();
+        mac.update(email.getBytes(StandardCharsets.UTF_8));
+        mac.update((byte) 0);
+        return mac.doFinal(otpCode.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Base64url form of {@link #hash}, for storing in a text column.
+     */
+    public String hashToString(String email, String otpCode) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(hash(email, otpCode));
+    }
+
+    public boolean matches(byte[] expectedHash, String email, String otpCode) {
+        return MessageDigest.isEqual(expectedHash, hash(email, otpCode));
+    }
+
+    public boolean matches(String expectedHash, String email, String otpCode) {
+        return MessageDigest.isEqual(
+                expectedHash.getBytes(StandardCharsets.US_ASCII),
+                hashToString(email, otpCode).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+            throw new IllegalStateException("HmacSHA256 not available", e);
+        }
+    }
+}
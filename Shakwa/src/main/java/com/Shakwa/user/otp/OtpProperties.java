@@ -0,0 +1,44 @@
+package com.Shakwa.user.otp;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "otp")
+public class OtpProperties {
+
+    /**
+     * Where pending codes are kept: "memory" (single node) or "database" (shared otp_verifications table).
+     */
+    private String store = "memory";
+
+    /**
+     * Secret used to hash stored codes (HMAC-SHA256).
+     */
+    private String hashSecret;
+
+    /**
+     * How long an issued code stays valid.
+     */
+    private Duration ttl = Duration.ofMinutes(10);
+
+    /**
+     * Upper bound on pending codes held by the in-memory store; the soonest-expiring are evicted first.
+     */
+    private int maxEntries = 100_000;
+
+    /**
+     * Granularity of the in-memory expiry wheel.
+     */
+    private Duration tickInterval = Duration.ofSeconds(1);
+
+    /**
+     * How often expired rows are deleted from otp_verifications when the database store is used.
+     */
+    private Duration purgeInterval = Duration.ofMinutes(5);
+}
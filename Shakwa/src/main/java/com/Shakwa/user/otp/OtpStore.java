@@ -0,0 +1,42 @@
+package com.Shakwa.user.otp;
+
+/**
+ * Storage for pending email verification codes.
+ *
+ * Implementations: {@link InMemoryOtpStore} (single node, default) and {@link JpaOtpStore}
+ * (otp_verifications table, for multi-node deployments). Select with {@code otp.store=memory|database}.
+ */
+public interface OtpStore {
+
+    int MAX_ATTEMPTS = 3;
+
+    /**
+     * Stores a new code for the email, replacing any previous one.
+     */
+    void issue(String email, String otpCode);
+
+    /**
+     * Checks the code and consumes it on success. Failed attempts are counted.
+     */
+    VerificationResult verify(String email, String otpCode);
+
+    /**
+     * Whether the email still has an unverified, unexpired code.
+     */
+    boolean hasPending(String email);
+
+    enum Outcome {
+        VERIFIED,
+        NOT_FOUND,
+        EXPIRED,
+        MAX_ATTEMPTS_REACHED,
+        INVALID_CODE
+    }
+
+    record VerificationResult(Outcome outcome, int attemptsRemaining) {
+
+        public static VerificationResult of(Outcome outcome) {
+            return new VerificationResult(outcome, 0);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.Shakwa.user.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.Shakwa.user.Enum.EmailOutboxStatus;
+import com.Shakwa.user.entity.EmailOutboxMessage;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutboxMessage, Long> {
+
+    /**
+     * Claim due messages for delivery. SKIP LOCKED lets several nodes drain the outbox without blocking each other.
+     * SENDING rows whose lease (next_attempt_at) expired are picked up again after a crash.
+     */
+    @Query(value = "SELECT * FROM email_outbox " +
+            "WHERE status IN ('PENDING', 'SENDING') AND next_attempt_at <= :now " +
+            "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<EmailOutboxMessage> lockDueMessages(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    long countByStatus(EmailOutboxStatus status);
+}
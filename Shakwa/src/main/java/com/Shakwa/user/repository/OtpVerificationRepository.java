@@ -1,8 +1,12 @@
 package com.Shakwa.user.repository;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.Shakwa.user.entity.OtpVerification;
@@ -10,6 +14,28 @@ import com.Shakwa.user.entity.OtpVerification;
 @Repository
 public interface OtpVerificationRepository extends JpaRepository<OtpVerification, Long> {
     Optional<OtpVerification> findByEmail(String email);
-    void deleteByEmail(String email);
-}
 
+    boolean existsByEmailAndExpiresAtAfter(String email, LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM OtpVerification o WHERE o.email = :email")
+    int deleteByEmail(@Param("email") String email);
+
+    /**
+     * Consume a code. Returns 0 if another request already consumed or replaced it.
+     */
+    @Modifying
+    @Query("DELETE FROM OtpVerification o WHERE o.id = :id")
+    int deleteByIdReturningCount(@Param("id") Long id);
+
+    /**
+     * Count one attempt atomically. Returns 0 once the limit is reached.
+     */
+    @Modifying
+    @Query("UPDATE OtpVerification o SET o.attempts = o.attempts + 1 WHERE o.id = :id AND o.attempts < :maxAttempts")
+    int incrementAttempts(@Param("id") Long id, @Param("maxAttempts") int maxAttempts);
+
+    @Modifying
+    @Query("DELETE FROM OtpVerification o WHERE o.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
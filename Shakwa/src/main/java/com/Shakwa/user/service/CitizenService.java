@@ -2,7 +2,6 @@ package com.Shakwa.user.service;
 
 import java.security.SecureRandom;
 import java.util.HashSet;
-import java.util.Optional;
 
 import com.Shakwa.user.Enum.UserStatus;
 import com.Shakwa.user.repository.EmployeeRepository;
@@ -21,7 +20,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
 import com.Shakwa.config.JwtService;
-import com.Shakwa.config.RateLimiterConfig;
+import com.Shakwa.config.LoginRateLimiter;
 import com.Shakwa.user.dto.AuthenticationRequest;
 import com.Shakwa.user.dto.CitizenDTORequest;
 import com.Shakwa.user.dto.CitizenDTOResponse;
@@ -29,15 +28,13 @@ import com.Shakwa.user.dto.PaginationDTO;
 import com.Shakwa.user.dto.UserAuthenticationResponse;
 import com.Shakwa.user.entity.Citizen;
 import com.Shakwa.user.entity.Employee;
-import com.Shakwa.user.entity.OtpVerification;
 import com.Shakwa.user.entity.User;
 import com.Shakwa.user.mapper.CitizenMapper;
 import com.Shakwa.user.repository.CitizenRepo;
-import com.Shakwa.user.repository.OtpVerificationRepository;
+import com.Shakwa.user.otp.OtpStore;
+import com.Shakwa.user.otp.OtpStore.VerificationResult;
 import com.Shakwa.user.repository.UserRepository;
 
-import io.github.resilience4j.ratelimiter.RateLimiter;
-import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.servlet.http.HttpServletRequest;
 
@@ -49,11 +46,10 @@ public class CitizenService extends BaseSecurityService {
     private final CitizenMapper citizenMapper;
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
-    private final RateLimiterConfig rateLimiterConfig;
-    private final RateLimiterRegistry rateLimiterRegistry;
+    private final LoginRateLimiter loginRateLimiter;
     private final AuthenticationManager authenticationManager;
     private final EmailService emailService;
-    private final OtpVerificationRepository otpRepository;
+    private final OtpStore otpStore;
     private static final SecureRandom random = new SecureRandom();
     private final EmployeeRepository employeeRepository;
 
@@ -61,21 +57,19 @@ public class CitizenService extends BaseSecurityService {
                           UserRepository userRepository,
                           PasswordEncoder passwordEncoder,
                           JwtService jwtService,
-                          RateLimiterConfig rateLimiterConfig,
-                          RateLimiterRegistry rateLimiterRegistry,
+                          LoginRateLimiter loginRateLimiter,
                           AuthenticationManager authenticationManager,
                           EmailService emailService,
-                          OtpVerificationRepository otpRepository, EmployeeRepository employeeRepository) {
+                          OtpStore otpStore, EmployeeRepository employeeRepository) {
         super(userRepository, citizenRepo ,employeeRepository);
         this.citizenRepo = citizenRepo;
         this.citizenMapper = citizenMapper;
         this.passwordEncoder = passwordEncoder;
         this.jwtService = jwtService;
-        this.rateLimiterConfig = rateLimiterConfig;
-        this.rateLimiterRegistry = rateLimiterRegistry;
+        this.loginRateLimiter = loginRateLimiter;
         this.authenticationManager = authenticationManager;
         this.emailService = emailService;
-        this.otpRepository = otpRepository;
+        this.otpStore = otpStore;
         this.employeeRepository = employeeRepository;
     }
 
@@ -165,6 +159,8 @@ public class CitizenService extends BaseSecurityService {
       
         
         Citizen citizen = citizenMapper.toEntity(dto);
+        // المواطن الذي ينشئه موظف أو أدمن لا يمر بالتحقق عبر OTP، فيُفعّل مباشرة
+        citizen.setStatus(UserStatus.ACTIVE);
         citizen = citizenRepo.save(citizen);
         return citizenMapper.toResponse(citizen);
     }
@@ -244,11 +240,11 @@ public class CitizenService extends BaseSecurityService {
         
         // إنشاء OTP
         String otpCode = generateOtp();
-        logger.info("OTP code generated for email: {} - OTP: {}", dto.getEmail(), otpCode);
+        logger.info("OTP code generated for email: {}", dto.getEmail());
         
-        // حفظ OTP في قاعدة البيانات
-        saveOtpVerification(dto.getEmail(), otpCode);
-        logger.info("OTP saved to database for email: {}", dto.getEmail());
+        // حفظ OTP (مشفّر) في مخزن OTP
+        otpStore.issue(dto.getEmail(), otpCode);
+        logger.info("OTP stored for email: {}", dto.getEmail());
         
         // إرسال OTP بالبريد الإلكتروني (أو طباعته في logs في وضع التطوير)
         emailService.sendOtpEmail(dto.getEmail(), otpCode);
@@ -268,40 +264,19 @@ public class CitizenService extends BaseSecurityService {
         Citizen citizen = citizenRepo.findByEmail(email).orElseThrow(
                 () -> new ResourceNotFoundException("Citizen with email " + email + " not found")
         );
-        Optional<OtpVerification> otpOptional = otpRepository.findByEmail(email);
-
-        if (otpOptional.isEmpty()) {
-            throw new RequestNotValidException("OTP not found. Please request a new OTP.");
-        }
-        
-        OtpVerification otp = otpOptional.get();
-        
-        // التحقق من انتهاء الصلاحية
-        if (otp.isExpired()) {
-            otpRepository.delete(otp);
-            throw new RequestNotValidException("OTP has expired. Please request a new OTP.");
-        }
-        
-        // التحقق من عدد المحاولات
-        if (otp.isMaxAttemptsReached()) {
-            otpRepository.delete(otp);
-            throw new RequestNotValidException("Maximum attempts reached. Please request a new OTP.");
-        }
-        
-        // التحقق من صحة OTP
-        if (!otp.getOtpCode().equals(otpCode)) {
-            otp.incrementAttempts();
-            otpRepository.save(otp);
-            throw new RequestNotValidException("Invalid OTP code. Attempts remaining: " + (3 - otp.getAttempts()));
+        VerificationResult result = otpStore.verify(email, otpCode);
+
+        switch (result.outcome()) {
+            case NOT_FOUND -> throw new RequestNotValidException("OTP not found. Please request a new OTP.");
+            case EXPIRED -> throw new RequestNotValidException("OTP has expired. Please request a new OTP.");
+            case MAX_ATTEMPTS_REACHED -> throw new RequestNotValidException("Maximum attempts reached. Please request a new OTP.");
+            case INVALID_CODE -> throw new RequestNotValidException("Invalid OTP code. Attempts remaining: " + result.attemptsRemaining());
+            case VERIFIED -> { }
         }
-        
-        // تفعيل الحساب - وضع علامة التحقق وحذف OTP
-        otp.setIsVerified(true);
-        otpRepository.save(otp);
-        
-        // بعد التحقق الناجح، يمكن حذف OTP أو تركه للتنظيف التلقائي
-        otpRepository.delete(otp);
+
+        // تفعيل الحساب - تم استهلاك OTP من المخزن
         citizen.setStatus(UserStatus.ACTIVE);
+        citizenRepo.save(citizen);
     }
 
     /**
@@ -312,12 +287,9 @@ public class CitizenService extends BaseSecurityService {
         citizenRepo.findByEmail(email)
                 .orElseThrow(() -> new EntityNotFoundException("Citizen not found with email: " + email));
         
-        // حذف OTP القديم إن وجد
-        otpRepository.deleteByEmail(email);
-        
-        // إنشاء وإرسال OTP جديد
+        // إنشاء وإرسال OTP جديد (يستبدل القديم إن وجد)
         String otpCode = generateOtp();
-        saveOtpVerification(email, otpCode);
+        otpStore.issue(email, otpCode);
         emailService.sendOtpEmail(email, otpCode);
     }
 
@@ -329,34 +301,16 @@ public class CitizenService extends BaseSecurityService {
         return String.valueOf(otp);
     }
 
-    /**
-     * حفظ OTP في قاعدة البيانات
-     */
-    private void saveOtpVerification(String email, String otpCode) {
-        // حذف OTP القديم إن وجد
-        otpRepository.deleteByEmail(email);
-        
-        OtpVerification otp = new OtpVerification();
-        otp.setEmail(email);
-        otp.setOtpCode(otpCode);
-        otp.setIsVerified(false);
-        otp.setAttempts(0);
-        otpRepository.save(otp);
-    }
-
     /**
      * تسجيل دخول المواطن (Login)
      */
     public UserAuthenticationResponse login(AuthenticationRequest request, HttpServletRequest httpServletRequest) {
         String userIp = httpServletRequest.getRemoteAddr();
-        if (rateLimiterConfig.getBlockedIPs().contains(userIp)) {
+        if (loginRateLimiter.isBlocked(userIp)) {
             throw new TooManyRequestException("Too many login attempts. Please try again later.");
         }
 
-        String rateLimiterKey = "citizenLoginRateLimiter-" + userIp;
-        RateLimiter rateLimiter = rateLimiterRegistry.rateLimiter(rateLimiterKey);
-
-        if (rateLimiter.acquirePermission()) {
+        if (loginRateLimiter.tryAcquire("citizen", userIp)) {
             Authentication authentication = authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(
                             request.getEmail(),
@@ -371,9 +325,8 @@ public class CitizenService extends BaseSecurityService {
             );
 
             // التحقق من أن الحساب مفعّل (تم التحقق من OTP)
-            // إذا كان هناك OTP غير مفعّل، يعني الحساب لم يتم التحقق منه بعد
-            Optional<OtpVerification> otpOptional = otpRepository.findByEmail(request.getEmail());
-            if (otpOptional.isPresent()) {
+            // الحالة وحدها تكفي: انتهاء صلاحية OTP لا يفعّل الحساب، والحل هو طلب رمز جديد
+            if (citizen.getStatus() != UserStatus.ACTIVE) {
                 throw new RequestNotValidException("Please verify your email first. Check your email for OTP code.");
             }
 
@@ -384,7 +337,7 @@ public class CitizenService extends BaseSecurityService {
 
             return response;
         } else {
-            rateLimiterConfig.blockIP(userIp);
+            loginRateLimiter.blockIP(userIp);
             throw new TooManyRequestException("Too many login attempts, Please try again later.");
         }
     }
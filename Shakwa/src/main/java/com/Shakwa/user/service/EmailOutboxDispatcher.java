@@ -0,0 +1,211 @@
+package com.Shakwa.user.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.Shakwa.user.Enum.EmailOutboxStatus;
+import com.Shakwa.user.entity.EmailOutboxMessage;
+import com.Shakwa.user.repository.EmailOutboxRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Delivers queued emails from the email_outbox table.
+ *
+ * Messages are claimed in batches (SKIP LOCKED), sent over a single SMTP connection per batch
+ * on a virtual thread, and retried with exponential backoff until max-attempts is reached.
+ * Enqueuing signals the dispatcher once the enqueuing transaction commits; a periodic poll picks up retries.
+ * Bodies are cleared once a message is SENT or FAILED.
+ */
+@Component
+public class EmailOutboxDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailOutboxDispatcher.class);
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final JavaMailSender mailSender;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("email-outbox-", 0).factory());
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean pendingSignal = new AtomicBoolean();
+    private final AtomicLong queueDepth = new AtomicLong();
+
+    private final Timer sendTimer;
+    private final Counter sentCounter;
+    private final Counter retryCounter;
+    private final Counter failedCounter;
+
+    @Value("${mail.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${mail.outbox.max-attempts:6}")
+    private int maxAttempts;
+
+    @Value("${mail.outbox.initial-backoff:PT10S}")
+    private Duration initialBackoff;
+
+    @Value("${mail.outbox.max-backoff:PT30M}")
+    private Duration maxBackoff;
+
+    // How long a claimed (SENDING) message is reserved before another dispatcher may retry it
+    @Value("${mail.outbox.claim-timeout:PT2M}")
+    private Duration claimTimeout;
+
+    public EmailOutboxDispatcher(EmailOutboxRepository emailOutboxRepository,
+                                 JavaMailSender mailSender,
+                                 PlatformTransactionManager transactionManager,
+                                 MeterRegistry meterRegistry) {
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.mailSender = mailSender;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.sendTimer = Timer.builder("shakwa.email.send.duration")
+                .description("Time to deliver one batch of outbox emails over a single SMTP connection")
+                .register(meterRegistry);
+        this.sentCounter = Counter.builder("shakwa.email.sent").register(meterRegistry);
+        this.retryCounter = Counter.builder("shakwa.email.retried").register(meterRegistry);
+        this.failedCounter = Counter.builder("shakwa.email.failed").register(meterRegistry);
+        Gauge.builder("shakwa.email.outbox.depth", queueDepth, AtomicLong::get)
+                .description("Emails waiting in the outbox")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Wakes the dispatcher after a message was enqueued. Never blocks the caller.
+     */
+    public void signal() {
+        pendingSignal.set(true);
+        if (draining.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${mail.outbox.poll-interval:PT5S}")
+    public void poll() {
+        queueDepth.set(emailOutboxRepository.countByStatus(EmailOutboxStatus.PENDING));
+        signal();
+    }
+
+    private void drain() {
+        try {
+            while (pendingSignal.getAndSet(false)) {
+                List<EmailOutboxMessage> batch;
+                while (!(batch = claimBatch()).isEmpty()) {
+                    deliver(batch);
+                }
+            }
+        } catch (Exception e) {
+            logger.error("Email outbox dispatch failed", e);
+        } finally {
+            draining.set(false);
+            // A signal may have arrived between the last check and releasing the flag
+            if (pendingSignal.get() && draining.compareAndSet(false, true)) {
+                executor.execute(this::drain);
+            }
+        }
+    }
+
+    private List<EmailOutboxMessage> claimBatch() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<EmailOutboxMessage> batch = emailOutboxRepository.lockDueMessages(now, batchSize);
+            for (EmailOutboxMessage message : batch) {
+                message.setStatus(EmailOutboxStatus.SENDING);
+                message.setAttempts(message.getAttempts() + 1);
+                message.setNextAttemptAt(now.plus(claimTimeout));
+            }
+            return emailOutboxRepository.saveAll(batch);
+        });
+    }
+
+    private void deliver(List<EmailOutboxMessage> batch) {
+        Map<SimpleMailMessage, EmailOutboxMessage> byMail = new IdentityHashMap<>();
+        for (EmailOutboxMessage message : batch) {
+            SimpleMailMessage mail = new SimpleMailMessage();
+            mail.setTo(message.getRecipient());
+            mail.setSubject(message.getSubject());
+            mail.setText(message.getBody());
+            byMail.put(mail, message);
+        }
+
+        Map<Object, Exception> failures = new IdentityHashMap<>();
+        Timer.Sample sample = Timer.start();
+        try {
+            // JavaMailSenderImpl opens one transport connection for the whole batch
+            mailSender.send(byMail.keySet().toArray(new SimpleMailMessage[0]));
+        } catch (MailSendException e) {
+            if (e.getFailedMessages().isEmpty()) {
+                byMail.keySet().forEach(mail -> failures.put(mail, e));
+            } else {
+                failures.putAll(e.getFailedMessages());
+            }
+        } catch (Exception e) {
+            // Authentication or connection failure - nothing in the batch was sent
+            byMail.keySet().forEach(mail -> failures.put(mail, e));
+        } finally {
+            sample.stop(sendTimer);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<EmailOutboxMessage> updated = new ArrayList<>(batch.size());
+        byMail.forEach((mail, message) -> {
+            Exception failure = failures.get(mail);
+            if (failure == null) {
+                message.setStatus(EmailOutboxStatus.SENT);
+                message.setSentAt(now);
+                // The body is only needed to send; OTP codes are not kept at rest
+                message.setBody(null);
+                message.setLastError(null);
+                sentCounter.increment();
+            } else if (message.getAttempts() >= maxAttempts) {
+                message.setStatus(EmailOutboxStatus.FAILED);
+                message.setBody(null);
+                message.setLastError(failure.getMessage());
+                failedCounter.increment();
+                logger.error("Giving up on email {} to {} after {} attempts", message.getId(), message.getRecipient(), message.getAttempts(), failure);
+            } else {
+                message.setStatus(EmailOutboxStatus.PENDING);
+                message.setNextAttemptAt(now.plus(backoff(message.getAttempts())));
+                message.setLastError(failure.getMessage());
+                retryCounter.increment();
+                logger.warn("Email {} to {} failed (attempt {}), retrying at {}: {}",
+                        message.getId(), message.getRecipient(), message.getAttempts(), message.getNextAttemptAt(), failure.getMessage());
+            }
+            updated.add(message);
+        });
+        transactionTemplate.executeWithoutResult(status -> emailOutboxRepository.saveAll(updated));
+    }
+
+    private Duration backoff(int attempts) {
+        Duration delay = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
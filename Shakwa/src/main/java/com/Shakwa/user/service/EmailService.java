@@ -3,21 +3,32 @@ package com.Shakwa.user.service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import com.Shakwa.user.entity.EmailOutboxMessage;
+import com.Shakwa.user.repository.EmailOutboxRepository;
+
+/**
+ * Outbound email entry point. Messages are written to the email outbox and delivered
+ * asynchronously by EmailOutboxDispatcher, so callers never wait on SMTP.
+ */
 @Service
 public class EmailService {
 
     private static final Logger logger = LoggerFactory.getLogger(EmailService.class);
-    private final JavaMailSender mailSender;
+    private static final String OTP_SUBJECT = "رمز التحقق من البريد الإلكتروني - Shakwa";
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final EmailOutboxDispatcher emailOutboxDispatcher;
     
     @Value("${mail.enabled:true}")
     private boolean mailEnabled;
 
-    public EmailService(JavaMailSender mailSender) {
-        this.mailSender = mailSender;
+    public EmailService(EmailOutboxRepository emailOutboxRepository, EmailOutboxDispatcher emailOutboxDispatcher) {
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.emailOutboxDispatcher = emailOutboxDispatcher;
     }
     
     public boolean isMailEnabled() {
@@ -34,37 +45,27 @@ public class EmailService {
             logger.warn("========================================");
             return;
         }
-        
-        try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setTo(to);
-            message.setSubject("رمز التحقق من البريد الإلكتروني - Shakwa");
-            message.setText(buildOtpEmailBody(otpCode));
-            
-            mailSender.send(message);
-            logger.info("OTP email sent successfully to: {}", to);
-        } catch (org.springframework.mail.MailAuthenticationException e) {
-            logger.error("Mail authentication failed. Please check your email credentials in application.properties", e);
-            logger.warn("Falling back to development mode - OTP: {} for email: {}", otpCode, to);
-            // Don't throw exception in development - just log the OTP
-            if (mailEnabled) {
-                throw new RuntimeException("Failed to send OTP email: Mail authentication failed. Please configure email settings correctly.", e);
-            }
-        } catch (org.springframework.mail.MailSendException e) {
-            logger.error("Failed to send OTP email to: {}. Check SMTP settings and network connection.", to, e);
-            logger.warn("Falling back to development mode - OTP: {} for email: {}", otpCode, to);
-            // Don't throw exception in development - just log the OTP
-            if (mailEnabled) {
-                throw new RuntimeException("Failed to send OTP email: SMTP error. Please check email configuration.", e);
-            }
-        } catch (Exception e) {
-            logger.error("Failed to send OTP email to: {}", to, e);
-            logger.warn("Falling back to development mode - OTP: {} for email: {}", otpCode, to);
-            // Don't throw exception in development - just log the OTP
-            if (mailEnabled) {
-                throw new RuntimeException("Failed to send OTP email: " + e.getMessage(), e);
-            }
+
+        emailOutboxRepository.save(new EmailOutboxMessage(to, OTP_SUBJECT, buildOtpEmailBody(otpCode)));
+        signalAfterCommit();
+        logger.info("OTP email queued for: {}", to);
+    }
+
+    /**
+     * Wakes the dispatcher once the message is visible to it. Inside a caller's transaction the row
+     * only exists after commit, and does not exist at all after a rollback.
+     */
+    private void signalAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            emailOutboxDispatcher.signal();
+            return;
         }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                emailOutboxDispatcher.signal();
+            }
+        });
     }
 
     private String buildOtpEmailBody(String otpCode) {
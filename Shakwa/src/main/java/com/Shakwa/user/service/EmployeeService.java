@@ -15,7 +15,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.Shakwa.config.JwtService;
-import com.Shakwa.config.RateLimiterConfig;
+import com.Shakwa.config.LoginRateLimiter;
 import com.Shakwa.user.Enum.GovernmentAgencyType;
 import com.Shakwa.user.dto.AuthenticationRequest;
 import com.Shakwa.user.dto.EmployeeCreateRequestDTO;
@@ -35,8 +35,6 @@ import com.Shakwa.utils.exception.ResourceNotFoundException;
 import com.Shakwa.utils.exception.TooManyRequestException;
 import com.Shakwa.utils.exception.UnAuthorizedException;
 
-import io.github.resilience4j.ratelimiter.RateLimiter;
-import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
 import jakarta.servlet.http.HttpServletRequest;
 
 @Service
@@ -49,8 +47,7 @@ public class EmployeeService extends BaseSecurityService {
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager authenticationManager;
     private final JwtService jwtService;
-    private final RateLimiterConfig rateLimiterConfig;
-    private final RateLimiterRegistry rateLimiterRegistry;
+    private final LoginRateLimiter loginRateLimiter;
     
     public EmployeeService(EmployeeRepository employeeRepository,
                            RoleRepository roleRepository,
@@ -59,15 +56,13 @@ public class EmployeeService extends BaseSecurityService {
                            CitizenRepo citizenRepo, EmployeeRepository employeeRepository1,
                            AuthenticationManager authenticationManager,
                            JwtService jwtService,
-                           RateLimiterConfig rateLimiterConfig,
-                           RateLimiterRegistry rateLimiterRegistry) {
+                           LoginRateLimiter loginRateLimiter) {
         super(userRepository, citizenRepo , employeeRepository);
         this.roleRepository = roleRepository;
         this.passwordEncoder = passwordEncoder;
         this.authenticationManager = authenticationManager;
         this.jwtService = jwtService;
-        this.rateLimiterConfig = rateLimiterConfig;
-        this.rateLimiterRegistry = rateLimiterRegistry;
+        this.loginRateLimiter = loginRateLimiter;
     }
     
     Logger logger = Logger.getLogger(EmployeeService.class.getName());
@@ -104,6 +99,7 @@ public class EmployeeService extends BaseSecurityService {
         return EmployeeMapper.toResponseDTO(employee);
     }
     
+    @Transactional(readOnly = true)
     public List<EmployeeResponseDTO> getAllEmployeesInGovernmentAgency() {
         // Validate that the current user is a governmentAgency manager
         User currentUser = getCurrentUser();
@@ -175,6 +171,7 @@ public class EmployeeService extends BaseSecurityService {
      * @return EmployeeResponseDTO of the employee
      * @throws UnAuthorizedException if the current user doesn't have access to this employee
      */
+    @Transactional(readOnly = true)
     public EmployeeResponseDTO getEmployeeByIdWithAuth(Long employeeId) {
         // Get current user and validate they are an employee
         User currentUser = getCurrentUser();
@@ -409,14 +406,11 @@ public class EmployeeService extends BaseSecurityService {
 
     public UserAuthenticationResponse login(AuthenticationRequest request, HttpServletRequest httpServletRequest) {
         String userIp = httpServletRequest.getRemoteAddr();
-        if (rateLimiterConfig.getBlockedIPs().contains(userIp)) {
+        if (loginRateLimiter.isBlocked(userIp)) {
             throw new TooManyRequestException("Too many login attempts. Please try again later.");
         }
 
-        String rateLimiterKey = "employeeLoginRateLimiter-" + userIp;
-        RateLimiter rateLimiter = rateLimiterRegistry.rateLimiter(rateLimiterKey);
-
-        if (rateLimiter.acquirePermission()) {
+        if (loginRateLimiter.tryAcquire("employee", userIp)) {
             Authentication authentication = authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(
                             request.getEmail(),
@@ -444,7 +438,7 @@ public class EmployeeService extends BaseSecurityService {
             logger.info("Employee login successful for email: " + request.getEmail());
             return response;
         } else {
-            rateLimiterConfig.blockIP(userIp);
+            loginRateLimiter.blockIP(userIp);
             throw new TooManyRequestException("Too many login attempts, Please try again later.");
         }
     }
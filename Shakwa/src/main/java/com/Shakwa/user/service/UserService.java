@@ -2,8 +2,6 @@ package com.Shakwa.user.service;
 
 import com.Shakwa.user.entity.BaseUser;
 import com.Shakwa.user.repository.*;
-import io.github.resilience4j.ratelimiter.RateLimiter;
-import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.access.AccessDeniedException;
@@ -16,7 +14,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.Shakwa.config.JwtService;
-import com.Shakwa.config.RateLimiterConfig;
+import com.Shakwa.config.LoginRateLimiter;
 import com.Shakwa.user.dto.AuthenticationRequest;
 import com.Shakwa.user.dto.UserAuthenticationResponse;
 import com.Shakwa.user.dto.UserCreateRequestDTO;
@@ -47,8 +45,7 @@ public class UserService {
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager authenticationManager;
     private final JwtService jwtService;
-    private final RateLimiterConfig rateLimiterConfig;
-    private final RateLimiterRegistry rateLimiterRegistry;
+    private final LoginRateLimiter loginRateLimiter;
     private final UserMapper userMapper;
     private final CitizenRepo citizenRepo;
     private final EmployeeRepository employeeRepository;
@@ -163,14 +160,11 @@ public class UserService {
 
     public UserAuthenticationResponse login(AuthenticationRequest request, HttpServletRequest httpServletRequest) {
         String userIp = httpServletRequest.getRemoteAddr();
-        if (rateLimiterConfig.getBlockedIPs().contains(userIp)) {
+        if (loginRateLimiter.isBlocked(userIp)) {
             throw new TooManyRequestException("Too many login attempts. Please try again later.");
         }
 
-        String rateLimiterKey = "userLoginRateLimiter-" + userIp;
-        RateLimiter rateLimiter = rateLimiterRegistry.rateLimiter(rateLimiterKey);
-
-        if (rateLimiter.acquirePermission()) {
+        if (loginRateLimiter.tryAcquire("user", userIp)) {
             Authentication authentication = authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(
                             request.getEmail(),
@@ -191,7 +185,7 @@ public class UserService {
 
             return response;
         } else {
-            rateLimiterConfig.blockIP(userIp);
+            loginRateLimiter.blockIP(userIp);
             throw new TooManyRequestException("Too many login attempts, Please try again later.");
         }
     }
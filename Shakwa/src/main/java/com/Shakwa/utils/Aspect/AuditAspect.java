@@ -1,8 +1,10 @@
 package com.Shakwa.utils.Aspect;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.time.LocalDateTime;
 import java.util.Arrays;
-import java.util.HashMap;
-import java.util.Map;
 
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.annotation.AfterReturning;
@@ -16,16 +18,17 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
+import com.Shakwa.audit.Enum.AuditStatus;
+import com.Shakwa.audit.service.AuditRecord;
+import com.Shakwa.audit.service.AuditService;
 import com.Shakwa.utils.annotation.Audited;
 
 import jakarta.servlet.http.HttpServletRequest;
 
 /**
  * Aspect for automatic audit event recording
- * Bridges Feature 04 by auto-recording audit events for methods annotated with @Audited
- * 
- * Note: This is a placeholder that logs audit events. 
- * When Feature 04 (AuditService) is implemented, this will be updated to call AuditService.record()
+ * Bridges Feature 04 by recording an audit event for every method annotated with @Audited.
+ * Events are handed to {@link AuditService}, which stores them asynchronously in batches.
  */
 @Aspect
 @Component
@@ -33,24 +36,51 @@ public class AuditAspect {
 
     private static final Logger logger = LoggerFactory.getLogger(AuditAspect.class);
 
+    // getId() accessor per result class, resolved once; NO_ID when the class has none
+    // Same (Object)Object type as the accessors, so invokeExact accepts it
+    private static final MethodHandle NO_ID =
+            MethodHandles.dropArguments(MethodHandles.constant(Object.class, null), 0, Object.class);
+    private static final ClassValue<MethodHandle> ID_ACCESSORS = new ClassValue<>() {
+        @Override
+        protected MethodHandle computeValue(Class<?> type) {
+            try {
+                return MethodHandles.publicLookup()
+                        .findVirtual(type, "getId", MethodType.methodType(Long.class))
+                        .asType(MethodType.methodType(Object.class, Object.class));
+            } catch (ReflectiveOperationException | IllegalArgumentException e) {
+                return NO_ID;
+            }
+        }
+    };
+
+    private static final ClassValue<String> INFERRED_TARGET_TYPES = new ClassValue<>() {
+        @Override
+        protected String computeValue(Class<?> type) {
+            String className = type.getSimpleName();
+            // Remove "Service" or "Controller" suffix
+            if (className.endsWith("Service")) {
+                return className.substring(0, className.length() - 7).toUpperCase();
+            }
+            if (className.endsWith("Controller")) {
+                return className.substring(0, className.length() - 10).toUpperCase();
+            }
+            return className.toUpperCase();
+        }
+    };
+
+    private final AuditService auditService;
+
+    public AuditAspect(AuditService auditService) {
+        this.auditService = auditService;
+    }
+
     @AfterReturning(
             pointcut = "@annotation(audited)",
             returning = "result"
     )
     public void auditSuccess(JoinPoint joinPoint, Audited audited, Object result) {
         try {
-            String action = audited.action();
-            String targetType = audited.targetType().isEmpty() ? 
-                inferTargetType(joinPoint) : audited.targetType();
-            Long targetId = extractTargetId(result, joinPoint.getArgs());
-            String status = "SUCCESS";
-            Map<String, Object> details = buildDetails(joinPoint, result, audited.includeArgs());
-
-            logAuditEvent(action, targetType, targetId, status, details);
-            
-            // TODO: When Feature 04 (AuditService) is implemented, call:
-            // auditService.record(action, targetType, targetId, status, details);
-            
+            record(joinPoint, audited, AuditStatus.SUCCESS, result, null);
         } catch (Exception e) {
             logger.error("Error recording audit event", e);
         }
@@ -62,107 +92,78 @@ public class AuditAspect {
     )
     public void auditFailure(JoinPoint joinPoint, Audited audited, Throwable exception) {
         try {
-            String action = audited.action();
-            String targetType = audited.targetType().isEmpty() ? 
-                inferTargetType(joinPoint) : audited.targetType();
-            Long targetId = extractTargetId(null, joinPoint.getArgs());
-            String status = "FAILURE";
-            Map<String, Object> details = buildDetails(joinPoint, null, audited.includeArgs());
-            details.put("error", exception.getClass().getSimpleName());
-            details.put("errorMessage", exception.getMessage());
-
-            logAuditEvent(action, targetType, targetId, status, details);
-            
-            // TODO: When Feature 04 (AuditService) is implemented, call:
-            // auditService.record(action, targetType, targetId, status, details);
-            
+            record(joinPoint, audited, AuditStatus.FAILURE, null, exception);
         } catch (Exception e) {
             logger.error("Error recording audit event", e);
         }
     }
 
-    private void logAuditEvent(String action, String targetType, Long targetId, 
-                              String status, Map<String, Object> details) {
-        String user = getCurrentUser();
-        String ipAddress = getClientIpAddress();
-        
-        logger.info("AUDIT | Action: {} | Target: {}[{}] | User: {} | IP: {} | Status: {} | Details: {}", 
-            action, targetType, targetId, user, ipAddress, status, details);
-    }
-
-    private String inferTargetType(JoinPoint joinPoint) {
-        String className = joinPoint.getTarget().getClass().getSimpleName();
-        // Remove "Service" or "Controller" suffix
-        if (className.endsWith("Service")) {
-            return className.substring(0, className.length() - 7).toUpperCase();
-        }
-        if (className.endsWith("Controller")) {
-            return className.substring(0, className.length() - 10).toUpperCase();
-        }
-        return className.toUpperCase();
+    private void record(JoinPoint joinPoint, Audited audited, AuditStatus status, Object result, Throwable exception) {
+        String targetType = audited.targetType().isEmpty()
+                ? INFERRED_TARGET_TYPES.get(joinPoint.getTarget().getClass())
+                : audited.targetType();
+        Object[] args = joinPoint.getArgs();
+
+        auditService.record(new AuditRecord(
+                LocalDateTime.now(),
+                getCurrentUser(),
+                audited.action(),
+                targetType,
+                extractTargetId(result, args),
+                status,
+                getClientIpAddress(),
+                joinPoint.getSignature().toShortString(),
+                result != null ? result.getClass().getSimpleName() : null,
+                audited.includeArgs() && args != null ? sanitizeArguments(args) : null,
+                exception != null ? exception.getClass().getSimpleName() : null,
+                exception != null ? exception.getMessage() : null));
     }
 
     private Long extractTargetId(Object result, Object[] args) {
         // Try to extract ID from result
         if (result != null) {
             try {
-                java.lang.reflect.Method getIdMethod = result.getClass().getMethod("getId");
-                Object id = getIdMethod.invoke(result);
-                if (id instanceof Long) {
-                    return (Long) id;
+                Object id = ID_ACCESSORS.get(result.getClass()).invokeExact(result);
+                if (id instanceof Long longId) {
+                    return longId;
                 }
-            } catch (Exception e) {
+            } catch (Throwable e) {
                 // Ignore
             }
         }
-        
+
         // Try to extract ID from first argument (usually the ID parameter)
-        if (args != null && args.length > 0) {
-            Object firstArg = args[0];
-            if (firstArg instanceof Long) {
-                return (Long) firstArg;
-            }
+        if (args != null && args.length > 0 && args[0] instanceof Long firstArg) {
+            return firstArg;
         }
-        
+
         return null;
     }
 
-    private Map<String, Object> buildDetails(JoinPoint joinPoint, Object result, boolean includeArgs) {
-        Map<String, Object> details = new HashMap<>();
-        details.put("method", joinPoint.getSignature().toShortString());
-        
-        if (includeArgs && joinPoint.getArgs() != null) {
-            // Sanitize arguments to avoid logging sensitive data
-            Object[] sanitizedArgs = Arrays.stream(joinPoint.getArgs())
+    private Object[] sanitizeArguments(Object[] args) {
+        // Sanitize arguments to avoid storing sensitive data
+        return Arrays.stream(args)
                 .map(this::sanitizeSensitiveData)
                 .toArray();
-            details.put("arguments", sanitizedArgs);
-        }
-        
-        if (result != null) {
-            details.put("resultType", result.getClass().getSimpleName());
-        }
-        
-        return details;
     }
 
     private Object sanitizeSensitiveData(Object obj) {
         if (obj == null) return null;
-        
+
         String str = obj.toString().toLowerCase();
-        if (str.contains("password") || str.contains("token") || 
-            str.contains("secret") || str.contains("key") || 
+        if (str.contains("password") || str.contains("token") ||
+            str.contains("secret") || str.contains("key") ||
             str.contains("jwt") || str.contains("auth")) {
             return "[SENSITIVE_DATA]";
         }
-        
+
         return obj;
     }
 
     private String getCurrentUser() {
         try {
             Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            if (authentication != null && authentication.isAuthenticated() && 
+            if (authentication != null && authentication.isAuthenticated() &&
                 !"anonymousUser".equals(authentication.getPrincipal())) {
                 return authentication.getName();
             }
@@ -174,13 +175,14 @@ public class AuditAspect {
 
     private String getClientIpAddress() {
         try {
-            ServletRequestAttributes attributes = 
+            ServletRequestAttributes attributes =
                 (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
             if (attributes != null) {
                 HttpServletRequest request = attributes.getRequest();
                 String xForwardedFor = request.getHeader("X-Forwarded-For");
                 if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
-                    return xForwardedFor.split(",")[0].trim();
+                    int comma = xForwardedFor.indexOf(',');
+                    return (comma >= 0 ? xForwardedFor.substring(0, comma) : xForwardedFor).trim();
                 }
                 String xRealIp = request.getHeader("X-Real-IP");
                 if (xRealIp != null && !xRealIp.isEmpty()) {
@@ -194,4 +196,3 @@ public class AuditAspect {
         return "unknown";
     }
 }
-
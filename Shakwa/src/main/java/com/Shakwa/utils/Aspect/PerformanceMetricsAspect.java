@@ -1,67 +1,105 @@
 package com.Shakwa.utils.Aspect;
 
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.reflect.MethodSignature;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.AnnotatedElementUtils;
 import org.springframework.stereotype.Component;
 
 import com.Shakwa.utils.annotation.Measured;
 
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
 import io.micrometer.core.instrument.Timer;
 
-import java.lang.reflect.Method;
-
 /**
- * Aspect for recording performance metrics using Micrometer
- * Records execution time for service methods and emits metrics: shakwa.service.<method>.duration
+ * Aspect for recording performance metrics using Micrometer.
+ * Every service method is recorded in one timer, shakwa.service.duration, tagged class / method / outcome.
+ * Meters are resolved once per (class, method) and cached, so an invocation costs two map lookups and a
+ * nanoTime pair. Disabled entirely with shakwa.metrics.service.enabled=false.
  */
 @Aspect
 @Component
+@ConditionalOnProperty(name = "shakwa.metrics.service.enabled", havingValue = "true", matchIfMissing = true)
 public class PerformanceMetricsAspect {
 
-    private static final Logger logger = LoggerFactory.getLogger(PerformanceMetricsAspect.class);
+    static final String METRIC_NAME = "shakwa.service.duration";
+
     private final MeterRegistry meterRegistry;
+    private final ServiceMetricsProperties properties;
+    private final Map<Class<?>, Map<Method, MethodTimers>> timers = new ConcurrentHashMap<>();
 
-    public PerformanceMetricsAspect(MeterRegistry meterRegistry) {
+    public PerformanceMetricsAspect(MeterRegistry meterRegistry, ServiceMetricsProperties properties) {
         this.meterRegistry = meterRegistry;
+        this.properties = properties;
     }
 
     @Around("execution(* com.Shakwa.complaint.service.*.*(..)) || " +
             "execution(* com.Shakwa.user.service.*.*(..)) || " +
             "@annotation(com.Shakwa.utils.annotation.Measured)")
     public Object measureExecutionTime(ProceedingJoinPoint joinPoint) throws Throwable {
-        String className = joinPoint.getTarget().getClass().getSimpleName();
-        String methodName = joinPoint.getSignature().getName();
-        String metricName = "shakwa.service." + className.toLowerCase() + "." + methodName + ".duration";
-        
-        // Check for custom metric name from @Measured annotation
-        Measured measured = null;
-        if (joinPoint.getSignature() instanceof MethodSignature methodSignature) {
-            Method method = methodSignature.getMethod();
-            measured = method.getAnnotation(Measured.class);
-            if (measured == null) {
-                measured = method.getDeclaringClass().getAnnotation(Measured.class);
-            }
-        }
-        if (measured != null && !measured.name().isEmpty()) {
-            metricName = "shakwa.service." + measured.name() + ".duration";
-        }
-
-        Timer.Sample sample = Timer.start(meterRegistry);
+        MethodTimers methodTimers = timersFor(joinPoint);
+        long start = System.nanoTime();
         try {
             Object result = joinPoint.proceed();
+            methodTimers.success.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
             return result;
-        } finally {
-            sample.stop(Timer.builder(metricName)
-                    .description("Execution time for " + className + "." + methodName)
-                    .register(meterRegistry));
-            
-            logger.debug("Recorded metric: {} for method: {}.{}", metricName, className, methodName);
+        } catch (Throwable t) {
+            methodTimers.error.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw t;
         }
     }
-}
 
+    private MethodTimers timersFor(ProceedingJoinPoint joinPoint) {
+        Class<?> targetClass = joinPoint.getTarget().getClass();
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        return timers.computeIfAbsent(targetClass, c -> new ConcurrentHashMap<>())
+                .computeIfAbsent(method, m -> createTimers(targetClass, m));
+    }
+
+    private MethodTimers createTimers(Class<?> targetClass, Method method) {
+        String methodName = method.getName();
+        Tags extraTags = Tags.empty();
+
+        // @Measured on the method or its class can rename the method tag and add static tags (key, value pairs)
+        Measured measured = AnnotatedElementUtils.findMergedAnnotation(method, Measured.class);
+        if (measured == null) {
+            measured = AnnotatedElementUtils.findMergedAnnotation(targetClass, Measured.class);
+        }
+        if (measured != null) {
+            if (!measured.name().isEmpty()) {
+                methodName = measured.name();
+            }
+            if (measured.tags().length % 2 == 0) {
+                extraTags = Tags.of(measured.tags());
+            }
+        }
+
+        Tags tags = Tags.of("class", targetClass.getSimpleName(), "method", methodName).and(extraTags);
+        return new MethodTimers(timer(tags.and("outcome", "success")), timer(tags.and("outcome", "error")));
+    }
+
+    private Timer timer(Tags tags) {
+        Timer.Builder builder = Timer.builder(METRIC_NAME)
+                .description("Execution time of service methods")
+                .tags(tags)
+                .publishPercentileHistogram(properties.isPercentileHistogram());
+        if (!properties.getPercentiles().isEmpty()) {
+            builder.publishPercentiles(properties.getPercentiles().stream().mapToDouble(Double::doubleValue).toArray());
+        }
+        if (!properties.getSlo().isEmpty()) {
+            builder.serviceLevelObjectives(properties.getSlo().toArray(Duration[]::new));
+        }
+        return builder.register(meterRegistry);
+    }
+
+    private record MethodTimers(Timer success, Timer error) {}
+}
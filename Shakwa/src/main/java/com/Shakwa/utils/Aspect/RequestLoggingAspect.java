@@ -1,12 +1,8 @@
 package com.Shakwa.utils.Aspect;
 
-import java.util.Arrays;
-
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -14,19 +10,25 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
-import com.Shakwa.utils.annotation.Loggable;
+import com.Shakwa.utils.logging.AccessLogEvent;
+import com.Shakwa.utils.logging.AccessLogWriter;
 
 import jakarta.servlet.http.HttpServletRequest;
 
 /**
  * Aspect for logging HTTP requests
- * Logs endpoint, user, duration, status code, and redacts sensitive payloads
+ * Records endpoint, user, duration and status code as structured access-log events.
+ * The request thread only samples and captures raw values; formatting and writing happen in {@link AccessLogWriter}.
  */
 @Aspect
 @Component
 public class RequestLoggingAspect {
 
-    private static final Logger logger = LoggerFactory.getLogger(RequestLoggingAspect.class);
+    private final AccessLogWriter accessLogWriter;
+
+    public RequestLoggingAspect(AccessLogWriter accessLogWriter) {
+        this.accessLogWriter = accessLogWriter;
+    }
 
     @Around("@annotation(org.springframework.web.bind.annotation.GetMapping) || " +
             "@annotation(org.springframework.web.bind.annotation.PostMapping) || " +
@@ -35,41 +37,37 @@ public class RequestLoggingAspect {
             "@annotation(org.springframework.web.bind.annotation.PatchMapping) || " +
             "@annotation(com.Shakwa.utils.annotation.Loggable)")
     public Object logRequest(ProceedingJoinPoint joinPoint) throws Throwable {
-        HttpServletRequest request = getRequest();
-        if (request == null) {
-            return joinPoint.proceed();
-        }
-
-        long startTime = System.currentTimeMillis();
-        String method = request.getMethod();
-        String endpoint = request.getRequestURI();
-        String queryString = request.getQueryString();
-        String fullUrl = queryString != null ? endpoint + "?" + queryString : endpoint;
-        String user = getCurrentUser();
-        String ipAddress = getClientIpAddress(request);
-
-        // Log request entry
-        logger.info("→ {} {} | User: {} | IP: {}", method, fullUrl, user, ipAddress);
-
+        long startNanos = System.nanoTime();
         Object result = null;
-        Exception exception = null;
+        Throwable failure = null;
         try {
             result = joinPoint.proceed();
             return result;
-        } catch (Exception e) {
-            exception = e;
-            throw e;
+        } catch (Throwable t) {
+            failure = t;
+            throw t;
         } finally {
-            long duration = System.currentTimeMillis() - startTime;
-            int statusCode = getStatusCode(result, exception);
-            
-            // Log request completion
-            if (exception != null) {
-                logger.error("✗ {} {} | User: {} | Duration: {}ms | Status: {} | Error: {}", 
-                    method, fullUrl, user, duration, statusCode, exception.getMessage());
-            } else {
-                logger.info("✓ {} {} | User: {} | Duration: {}ms | Status: {}", 
-                    method, fullUrl, user, duration, statusCode);
+            long durationMicros = (System.nanoTime() - startNanos) / 1000;
+            int statusCode = getStatusCode(result, failure);
+
+            // Sampling decision first, so unsampled requests cost nothing beyond the clock reads
+            if (accessLogWriter.shouldLog(statusCode, durationMicros)) {
+                HttpServletRequest request = getRequest();
+                if (request != null) {
+                    accessLogWriter.publish(new AccessLogEvent(
+                            System.currentTimeMillis(),
+                            request.getMethod(),
+                            request.getRequestURI(),
+                            request.getQueryString(),
+                            request.getRemoteAddr(),
+                            request.getHeader("X-Forwarded-For"),
+                            request.getHeader("X-Real-IP"),
+                            getCurrentUser(),
+                            joinPoint.getSignature().toShortString(),
+                            statusCode,
+                            durationMicros,
+                            failure != null ? failure.getMessage() : null));
+                }
             }
         }
     }
@@ -93,19 +91,7 @@ public class RequestLoggingAspect {
         return "anonymous";
     }
 
-    private String getClientIpAddress(HttpServletRequest request) {
-        String xForwardedFor = request.getHeader("X-Forwarded-For");
-        if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
-            return xForwardedFor.split(",")[0].trim();
-        }
-        String xRealIp = request.getHeader("X-Real-IP");
-        if (xRealIp != null && !xRealIp.isEmpty()) {
-            return xRealIp;
-        }
-        return request.getRemoteAddr();
-    }
-
-    private int getStatusCode(Object result, Exception exception) {
+    private int getStatusCode(Object result, Throwable exception) {
         if (exception != null) {
             // Try to determine status from exception
             String exceptionName = exception.getClass().getSimpleName();
@@ -0,0 +1,36 @@
+package com.Shakwa.utils.Aspect;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shakwa.metrics.service")
+public class ServiceMetricsProperties {
+
+    /**
+     * Whether service methods are timed at all. When false the aspect is not registered, so no proxies are created for it.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Client-side percentiles to publish (e.g. 0.5, 0.95, 0.99).
+     */
+    private List<Double> percentiles = new ArrayList<>();
+
+    /**
+     * Publish histogram buckets so percentiles can be aggregated server-side (Prometheus histogram_quantile).
+     */
+    private boolean percentileHistogram = false;
+
+    /**
+     * SLO boundaries published as histogram buckets (e.g. 50ms, 200ms, 1s).
+     */
+    private List<Duration> slo = new ArrayList<>();
+}
@@ -0,0 +1,61 @@
+package com.Shakwa.utils.controller;
+
+import org.springframework.util.StringUtils;
+
+import com.Shakwa.utils.exception.RequestNotValidException;
+
+/**
+ * Strong entity tags derived from an entity's optimistic-locking version: {@code "<version>"}, optionally
+ * qualified by whatever else the representation depends on: {@code "<version>.<qualifier>..."}.
+ */
+public final class ETags {
+
+    /** {@code If-Match: *} - any current version */
+    public static final long ANY_VERSION = -1L;
+
+    private ETags() {
+    }
+
+    public static String of(long version, Object... qualifiers) {
+        StringBuilder tag = new StringBuilder().append('"').append(version);
+        for (Object qualifier : qualifiers) {
+            tag.append('.').append(qualifier);
+        }
+        return tag.append('"').toString();
+    }
+
+    /**
+     * Version named by an If-Match header: a strong tag ({@code "3"} or {@code "3.qualifier"}), a bare version
+     * ({@code 3}) or {@code *} ({@link #ANY_VERSION}). Null when the header is absent. Weak tags never match
+     * an If-Match.
+     */
+    public static Long parseIfMatch(String ifMatch) {
+        if (!StringUtils.hasText(ifMatch)) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.equals("*")) {
+            return ANY_VERSION;
+        }
+        if (tag.startsWith("W/")) {
+            throw new RequestNotValidException("If-Match requires a strong entity tag");
+        }
+        if (tag.length() >= 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            tag = tag.substring(1, tag.length() - 1);
+        }
+        int qualifiers = tag.indexOf('.');
+        if (qualifiers >= 0) {
+            tag = tag.substring(0, qualifiers);
+        }
+        long version;
+        try {
+            version = Long.parseLong(tag);
+        } catch (NumberFormatException e) {
+            version = -1;
+        }
+        if (version < 0) {
+            throw new RequestNotValidException("If-Match must name a version, e.g. If-Match: \"3\"");
+        }
+        return version;
+    }
+}
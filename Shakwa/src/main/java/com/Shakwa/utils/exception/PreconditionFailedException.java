@@ -0,0 +1,25 @@
+package com.Shakwa.utils.exception;
+
+/**
+ * If-Match did not match the resource's current version (412). Carries the current representation and its
+ * ETag so the client can merge and retry without another round trip.
+ */
+public class PreconditionFailedException extends RuntimeException {
+
+    private final Object currentRepresentation;
+    private final String eTag;
+
+    public PreconditionFailedException(String message, Object currentRepresentation, String eTag) {
+        super(message);
+        this.currentRepresentation = currentRepresentation;
+        this.eTag = eTag;
+    }
+
+    public Object getCurrentRepresentation() {
+        return currentRepresentation;
+    }
+
+    public String getETag() {
+        return eTag;
+    }
+}
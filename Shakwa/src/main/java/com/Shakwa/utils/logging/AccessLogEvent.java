@@ -0,0 +1,20 @@
+package com.Shakwa.utils.logging;
+
+/**
+ * Raw access-log data captured on the request thread. Everything derived (full URL, client IP)
+ * is computed by {@link AccessLogWriter} on its own thread.
+ */
+public record AccessLogEvent(
+        long timestamp,
+        String method,
+        String path,
+        String query,
+        String remoteAddr,
+        String forwardedFor,
+        String realIp,
+        String user,
+        String handler,
+        int status,
+        long durationMicros,
+        String error) {
+}
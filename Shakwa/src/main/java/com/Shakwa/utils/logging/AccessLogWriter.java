@@ -0,0 +1,173 @@
+package com.Shakwa.utils.logging;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Structured (JSON) access log written off the request thread.
+ *
+ * Request threads only decide whether to log ({@link #shouldLog}) and enqueue an {@link AccessLogEvent} into a
+ * lock-free ring buffer; a background thread formats the events and writes them to the "shakwa.access" logger.
+ * Successful requests are sampled, errors and slow requests are always logged, and events that do not fit in
+ * the buffer are dropped and counted instead of blocking the request.
+ */
+@Component
+public class AccessLogWriter {
+
+    private static final Logger accessLogger = LoggerFactory.getLogger("shakwa.access");
+    private static final Logger logger = LoggerFactory.getLogger(AccessLogWriter.class);
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+
+    private final AccessLogRingBuffer<AccessLogEvent> buffer;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final double sampleRate;
+    private final long slowThresholdMicros;
+    private final Counter droppedCounter;
+    private final Counter writtenCounter;
+    private final Thread writerThread;
+    private volatile boolean running = true;
+
+    public AccessLogWriter(@Value("${shakwa.access-log.enabled:true}") boolean enabled,
+                           @Value("${shakwa.access-log.sample-rate:0.1}") double sampleRate,
+                           @Value("${shakwa.access-log.slow-threshold:PT1S}") Duration slowThreshold,
+                           @Value("${shakwa.access-log.buffer-size:8192}") int bufferSize,
+                           ObjectMapper objectMapper,
+                           MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.sampleRate = sampleRate;
+        this.slowThresholdMicros = TimeUnit.NANOSECONDS.toMicros(slowThreshold.toNanos());
+        this.buffer = new AccessLogRingBuffer<>(bufferSize);
+        this.objectMapper = objectMapper;
+        this.droppedCounter = Counter.builder("shakwa.accesslog.dropped")
+                .description("Access-log events dropped because the buffer was full")
+                .register(meterRegistry);
+        this.writtenCounter = Counter.builder("shakwa.accesslog.written")
+                .description("Access-log events written")
+                .register(meterRegistry);
+        Gauge.builder("shakwa.accesslog.buffer.size", buffer, AccessLogRingBuffer::size)
+                .description("Access-log events waiting to be written")
+                .register(meterRegistry);
+        this.writerThread = new Thread(this::drainLoop, "access-log-writer");
+        this.writerThread.setDaemon(true);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (enabled) {
+            writerThread.start();
+        }
+    }
+
+    /**
+     * Cheap check done on the request thread before any event data is collected.
+     */
+    public boolean shouldLog(int status, long durationMicros) {
+        if (!enabled) {
+            return false;
+        }
+        if (status >= 400 || durationMicros >= slowThresholdMicros) {
+            return true;
+        }
+        return sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    /**
+     * Enqueues an event without blocking; drops it if the buffer is full.
+     */
+    public void publish(AccessLogEvent event) {
+        if (!buffer.offer(event)) {
+            droppedCounter.increment();
+        }
+    }
+
+    private void drainLoop() {
+        while (running) {
+            if (!drain()) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+        drain();
+    }
+
+    private boolean drain() {
+        boolean wroteAny = false;
+        AccessLogEvent event;
+        while ((event = buffer.poll()) != null) {
+            write(event);
+            wroteAny = true;
+        }
+        return wroteAny;
+    }
+
+    private void write(AccessLogEvent event) {
+        try {
+            String json = objectMapper.writeValueAsString(toJson(event));
+            if (event.status() >= 500) {
+                accessLogger.error(json);
+            } else if (event.status() >= 400) {
+                accessLogger.warn(json);
+            } else {
+                accessLogger.info(json);
+            }
+            writtenCounter.increment();
+        } catch (JsonProcessingException e) {
+            logger.warn("Could not serialize access-log event for {} {}", event.method(), event.path(), e);
+        }
+    }
+
+    private Map<String, Object> toJson(AccessLogEvent event) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("ts", Instant.ofEpochMilli(event.timestamp()).toString());
+        json.put("method", event.method());
+        json.put("url", event.query() != null ? event.path() + "?" + event.query() : event.path());
+        json.put("status", event.status());
+        json.put("durationMs", event.durationMicros() / 1000.0);
+        json.put("user", event.user());
+        json.put("ip", clientIp(event));
+        json.put("handler", event.handler());
+        if (event.error() != null) {
+            json.put("error", event.error());
+        }
+        return json;
+    }
+
+    private static String clientIp(AccessLogEvent event) {
+        if (event.forwardedFor() != null && !event.forwardedFor().isEmpty()) {
+            int comma = event.forwardedFor().indexOf(',');
+            return (comma >= 0 ? event.forwardedFor().substring(0, comma) : event.forwardedFor()).trim();
+        }
+        if (event.realIp() != null && !event.realIp().isEmpty()) {
+            return event.realIp();
+        }
+        return event.remoteAddr();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (writerThread.isAlive()) {
+            LockSupport.unpark(writerThread);
+            writerThread.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+}
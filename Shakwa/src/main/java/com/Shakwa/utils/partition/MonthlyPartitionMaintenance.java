@@ -0,0 +1,59 @@
+package com.Shakwa.utils.partition;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps monthly partitions created ahead of time for the range-partitioned tables (see V6 and V7).
+ *
+ * Rows for a month without a partition land in the table's DEFAULT partition, and a month cannot be
+ * attached later while DEFAULT holds rows for it, so partitions are created months-ahead in advance.
+ * Runs at startup and then daily; create_monthly_partitions() skips partitions that already exist.
+ */
+@Component
+public class MonthlyPartitionMaintenance {
+
+    private static final Logger logger = LoggerFactory.getLogger(MonthlyPartitionMaintenance.class);
+
+    static final List<String> PARTITIONED_TABLES = List.of("complaints", "complaint_history", "audit_events");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int monthsAhead;
+
+    public MonthlyPartitionMaintenance(JdbcTemplate jdbcTemplate,
+                                       @Value("${shakwa.partitions.months-ahead:12}") int monthsAhead) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.monthsAhead = monthsAhead;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        createUpcomingPartitions();
+    }
+
+    @Scheduled(cron = "${shakwa.partitions.maintenance-cron:0 30 3 * * *}")
+    public void createUpcomingPartitions() {
+        LocalDate from = LocalDate.now().withDayOfMonth(1);
+        LocalDate to = from.plusMonths(monthsAhead);
+        for (String table : PARTITIONED_TABLES) {
+            try {
+                Integer created = jdbcTemplate.queryForObject(
+                        "SELECT create_monthly_partitions(?, ?, ?)", Integer.class, table, from, to);
+                if (created != null && created > 0) {
+                    logger.info("Created {} monthly partition(s) for {} up to {}", created, table, to);
+                }
+            } catch (Exception e) {
+                logger.error("Could not create monthly partitions for {}", table, e);
+            }
+        }
+    }
+}
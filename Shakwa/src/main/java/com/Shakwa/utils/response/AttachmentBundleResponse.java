@@ -0,0 +1,8 @@
+package com.Shakwa.utils.response;
+
+import java.util.List;
+
+public record AttachmentBundleResponse(String filename, List<Entry> entries) {
+
+    public record Entry(String storagePath, String filename, String contentType, long size) {}
+}
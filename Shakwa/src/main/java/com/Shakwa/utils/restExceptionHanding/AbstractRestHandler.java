@@ -2,6 +2,7 @@ package com.Shakwa.utils.restExceptionHanding;
 
 import jakarta.persistence.EntityExistsException;
 import jakarta.persistence.EntityNotFoundException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageConversionException;
@@ -48,6 +49,18 @@ public class AbstractRestHandler {
         return new ResponseEntity<>(apiException,tooManyRequests);
     }
 
+    @ExceptionHandler(value = {ServiceUnavailableException.class})
+    public ResponseEntity<Object> handleServiceUnavailableException(ServiceUnavailableException e){
+        HttpStatus serviceUnavailable = HttpStatus.SERVICE_UNAVAILABLE;
+        ApiException apiException = new ApiException(
+                e.getMessage(),
+                serviceUnavailable,
+                LocalDateTime.now()
+        );
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "1");
+        return new ResponseEntity<>(apiException,headers,serviceUnavailable);
+    }
     @ExceptionHandler(value = {UnAuthorizedException.class})
     public ResponseEntity<Object> handleUnauthorizedException(UnAuthorizedException e){
         HttpStatus unauthorized = HttpStatus.UNAUTHORIZED;
@@ -103,6 +116,16 @@ public class AbstractRestHandler {
         return new ResponseEntity<>(apiException, locked);
     }
 
+    @ExceptionHandler(value = {PreconditionFailedException.class})
+    public ResponseEntity<Object> handlePreconditionFailedException(PreconditionFailedException e){
+        // 412 carries the current representation rather than an error body, so the client can merge and retry
+        HttpHeaders headers = new HttpHeaders();
+        if (e.getETag() != null) {
+            headers.setETag(e.getETag());
+        }
+        return new ResponseEntity<>(e.getCurrentRepresentation(), headers, HttpStatus.PRECONDITION_FAILED);
+    }
+
     @ExceptionHandler(value = {OptimisticLockException.class})
     public ResponseEntity<Object> handleOptimisticLockException(OptimisticLockException e){
         HttpStatus conflict = HttpStatus.CONFLICT; // 409 - Conflict due to concurrent modification
@@ -0,0 +1,79 @@
+-- Migration: Denormalized read model for complaint lists
+-- Feature: Complaint inbox read model
+-- Description: complaint_inbox_view holds one row per complaint (active and archived) with every column a list row
+--              shows, including the citizen's and responder's names (users/citizens/employees are JOINED) and the
+--              attachment count, so summary lists are single-table index scans. It is a table, not a view:
+--              ComplaintInboxProjector refreshes a complaint's row from complaint_inbox_source in the transaction
+--              that changes the complaint, ComplaintArchiver sets archived_at when it moves one, and
+--              POST api/v1/complaints/inbox/rebuild regenerates the whole table from complaint_inbox_source.
+--              complaint_inbox_source and complaint_inbox_view have the same columns in the same order.
+
+CREATE OR REPLACE VIEW complaint_inbox_source AS
+SELECT c.id AS complaint_id,
+       c.tracking_number,
+       c.complaint_type,
+       c.governorate,
+       c.government_agency,
+       c.status,
+       c.citizen_id,
+       cu.first_name || ' ' || cu.last_name AS citizen_name,
+       c.responded_by AS responded_by_id,
+       ru.first_name || ' ' || ru.last_name AS responded_by_name,
+       (SELECT COUNT(*) FROM complaint_attachments a WHERE a.complaint_id = c.id)
+           + (SELECT COUNT(*) FROM complaint_attachments_archive a WHERE a.complaint_id = c.id) AS attachment_count,
+       c.created_at,
+       c.updated_at,
+       c.responded_at,
+       c.version,
+       c.archived_at
+FROM complaints_with_archive c
+JOIN users cu ON cu.id = c.citizen_id
+LEFT JOIN users ru ON ru.id = c.responded_by;
+
+CREATE TABLE IF NOT EXISTS complaint_inbox_view (
+    complaint_id      BIGINT       NOT NULL,
+    tracking_number   VARCHAR(48)  NOT NULL,
+    complaint_type    VARCHAR(255) NOT NULL,
+    governorate       VARCHAR(255) NOT NULL,
+    government_agency VARCHAR(255) NOT NULL,
+    status            VARCHAR(255) NOT NULL,
+    citizen_id        BIGINT       NOT NULL,
+    citizen_name      VARCHAR(511),
+    responded_by_id   BIGINT,
+    responded_by_name VARCHAR(511),
+    attachment_count  BIGINT       NOT NULL,
+    created_at        TIMESTAMP(6) NOT NULL,
+    updated_at        TIMESTAMP(6),
+    responded_at      TIMESTAMP(6),
+    version           BIGINT       NOT NULL,
+    archived_at       TIMESTAMP(6),
+    CONSTRAINT complaint_inbox_view_pkey PRIMARY KEY (complaint_id)
+);
+
+-- Agency and platform-admin lists only show active complaints, like the complaints indexes in V7
+CREATE INDEX IF NOT EXISTS idx_inbox_agency_created ON complaint_inbox_view (government_agency, created_at DESC)
+    WHERE archived_at IS NULL;
+CREATE INDEX IF NOT EXISTS idx_inbox_agency_status_created ON complaint_inbox_view (government_agency, status, created_at DESC)
+    WHERE archived_at IS NULL;
+CREATE INDEX IF NOT EXISTS idx_inbox_agency_type_created ON complaint_inbox_view (government_agency, complaint_type, created_at DESC)
+    WHERE archived_at IS NULL;
+CREATE INDEX IF NOT EXISTS idx_inbox_agency_governorate_created ON complaint_inbox_view (government_agency, governorate, created_at DESC)
+    WHERE archived_at IS NULL;
+CREATE INDEX IF NOT EXISTS idx_inbox_status_created ON complaint_inbox_view (status, created_at DESC)
+    WHERE archived_at IS NULL;
+CREATE INDEX IF NOT EXISTS idx_inbox_type_created ON complaint_inbox_view (complaint_type, created_at DESC)
+    WHERE archived_at IS NULL;
+CREATE INDEX IF NOT EXISTS idx_inbox_governorate_created ON complaint_inbox_view (governorate, created_at DESC)
+    WHERE archived_at IS NULL;
+CREATE INDEX IF NOT EXISTS idx_inbox_created ON complaint_inbox_view (created_at DESC)
+    WHERE archived_at IS NULL;
+-- Citizen listings include archived complaints
+CREATE INDEX IF NOT EXISTS idx_inbox_citizen_created ON complaint_inbox_view (citizen_id, created_at DESC);
+
+INSERT INTO complaint_inbox_view SELECT * FROM complaint_inbox_source;
+
+ANALYZE complaint_inbox_view;
+
+COMMENT ON VIEW complaint_inbox_source IS 'What complaint_inbox_view should hold; used to refresh and rebuild it';
+COMMENT ON TABLE complaint_inbox_view IS 'Denormalized complaint list rows (one per active or archived complaint), maintained by ComplaintInboxProjector';
+COMMENT ON COLUMN complaint_inbox_view.archived_at IS 'Set when ComplaintArchiver moves the complaint; agency and admin lists skip these rows';
@@ -0,0 +1,17 @@
+-- Migration: Activate citizens created by an employee or admin
+-- Feature: Pluggable OTP store
+-- Description: Login now requires status ACTIVE. Citizens created through createCitizen never get an OTP, and
+--              before this change they were saved INACTIVE. Their created_by names the employee or admin who
+--              created them. Self-registration runs anonymously, so the auditor wrote the fallback id 1 there.
+--              A missing otp_verifications row proves nothing: the old verifyOtp also deleted it when the code
+--              expired or ran out of attempts. Every other INACTIVE citizen stays INACTIVE and requests a new OTP.
+
+UPDATE users u
+SET status = 'ACTIVE'
+FROM citizens c
+JOIN users creator ON creator.id = c.created_by
+WHERE c.id = u.id
+  AND u.status = 'INACTIVE'
+  AND c.created_by <> 1
+  AND c.created_by <> c.id
+  AND NOT EXISTS (SELECT 1 FROM citizens cc WHERE cc.id = creator.id);
@@ -0,0 +1,10 @@
+-- Migration: Do not keep email bodies after delivery
+-- Feature: Asynchronous outbound email
+-- Description: OTP emails carry the plaintext code in their body. EmailOutboxDispatcher now clears the body once a
+--              message is SENT or FAILED, so the column becomes nullable and bodies already delivered are cleared.
+
+ALTER TABLE email_outbox ALTER COLUMN body DROP NOT NULL;
+
+UPDATE email_outbox SET body = NULL WHERE status IN ('SENT', 'FAILED');
+
+COMMENT ON COLUMN email_outbox.body IS 'Message text while PENDING/SENDING; NULL once SENT or FAILED';
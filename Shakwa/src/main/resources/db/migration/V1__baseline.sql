@@ -0,0 +1,151 @@
+-- Migration: Baseline schema
+-- Feature: Flyway-managed schema
+-- Description: The schema Hibernate (ddl-auto=update) created before Flyway took over. Existing databases are
+--              baselined at version 1 (spring.flyway.baseline-on-migrate) and skip this script; new databases
+--              start here. email_outbox and audit_events are created by V4 and V6.
+
+CREATE SEQUENCE IF NOT EXISTS global_id_seq START WITH 1 INCREMENT BY 1;
+
+CREATE TABLE IF NOT EXISTS roles (
+    id BIGINT NOT NULL,
+    name VARCHAR(255) NOT NULL UNIQUE,
+    description VARCHAR(255),
+    is_active BOOLEAN NOT NULL,
+    is_system BOOLEAN NOT NULL,
+    is_system_generated BOOLEAN NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS permissions (
+    id BIGINT NOT NULL,
+    name VARCHAR(255) NOT NULL UNIQUE,
+    description VARCHAR(255),
+    resource VARCHAR(255) NOT NULL,
+    action VARCHAR(255) NOT NULL,
+    is_active BOOLEAN NOT NULL,
+    is_system_generated BOOLEAN NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS role_permissions (
+    role_id BIGINT NOT NULL,
+    permission_id BIGINT NOT NULL,
+    PRIMARY KEY (permission_id, role_id),
+    CONSTRAINT fk_role_permissions_role FOREIGN KEY (role_id) REFERENCES roles(id),
+    CONSTRAINT fk_role_permissions_permission FOREIGN KEY (permission_id) REFERENCES permissions(id)
+);
+
+-- Users, employees and citizens use JOINED inheritance: users holds the common columns
+CREATE TABLE IF NOT EXISTS users (
+    id BIGINT NOT NULL,
+    first_name VARCHAR(255) NOT NULL,
+    last_name VARCHAR(255) NOT NULL,
+    email VARCHAR(255) NOT NULL UNIQUE,
+    password VARCHAR(255) NOT NULL,
+    position VARCHAR(255),
+    status VARCHAR(255) NOT NULL CHECK (status IN ('ACTIVE','INACTIVE')),
+    role_id BIGINT NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_users_role FOREIGN KEY (role_id) REFERENCES roles(id)
+);
+
+CREATE TABLE IF NOT EXISTS user_permissions (
+    user_id BIGINT NOT NULL,
+    permission_id BIGINT NOT NULL,
+    PRIMARY KEY (permission_id, user_id),
+    CONSTRAINT fk_user_permissions_user FOREIGN KEY (user_id) REFERENCES users(id),
+    CONSTRAINT fk_user_permissions_permission FOREIGN KEY (permission_id) REFERENCES permissions(id)
+);
+
+CREATE TABLE IF NOT EXISTS citizens (
+    id BIGINT NOT NULL,
+    created_at TIMESTAMP(6),
+    updated_at TIMESTAMP(6),
+    created_by BIGINT,
+    last_modified_by BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_citizens_user FOREIGN KEY (id) REFERENCES users(id)
+);
+
+CREATE TABLE IF NOT EXISTS employees (
+    id BIGINT NOT NULL,
+    government_agency VARCHAR(255) CHECK (government_agency IN ('وزارة_الإدارة_المحلية_والبيئة','وزارة_المالية','وزارة_الدفاع','وزارة_الاقتصاد_والصناعة','وزارة_التعليم_العالي','وزارة_الصحة','وزارة_التربية','وزارة_الطاقة','أمانة_رئاسة_مجلس_الوزراء','وزارة_الأشغال_العامة_والإسكان','وزارة_الاتصالات_والتقانة','وزارة_الداخلية','وزارة_الزراعة','وزارة_الشؤون_الاجتماعية_والعمل','وزارة_الثقافة','وزارة_النقل','وزارة_العدل','وزارة_السياحة','وزارة_الإعلام','وزارة_الأوقاف','نقابة_المعلمين','الاتحاد_الرياضي_العام','الاتحاد_العام_للفلاحين','مجلس_الدولة','وزارة_التنمية_الإدارية','وزارة_الخارجية_والمغتربين','وزارة_الطوارئ_والكوارث','الهيئة_العامة_للمنافذ_البرية_والبحرية','مصرف_سوريا_المركزي')),
+    phone_number VARCHAR(255),
+    date_of_hire DATE,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_employees_user FOREIGN KEY (id) REFERENCES users(id)
+);
+
+CREATE TABLE IF NOT EXISTS complaints (
+    id BIGINT NOT NULL,
+    complaint_type VARCHAR(255) NOT NULL CHECK (complaint_type IN ('تأخر_في_إنجاز_معاملة','تعامل_الموظف_مقدم_الخدمة','تعطل_النظام_التقني','تعقيد_في_الإجراءات','رسوم_الخدمة','ضعف_جودة_الخدمة','طول_مدة_الانتظار','عدم_الموافقة_على_الخدمة')),
+    governorate VARCHAR(255) NOT NULL CHECK (governorate IN ('دمشق','ريف_دمشق','حلب','حمص','اللاذقية','حماة','طرطوس','دير_الزور','الحسكة','الرقة','إدلب','السويداء','درعا','القنيطرة')),
+    government_agency VARCHAR(255) NOT NULL CHECK (government_agency IN ('وزارة_الإدارة_المحلية_والبيئة','وزارة_المالية','وزارة_الدفاع','وزارة_الاقتصاد_والصناعة','وزارة_التعليم_العالي','وزارة_الصحة','وزارة_التربية','وزارة_الطاقة','أمانة_رئاسة_مجلس_الوزراء','وزارة_الأشغال_العامة_والإسكان','وزارة_الاتصالات_والتقانة','وزارة_الداخلية','وزارة_الزراعة','وزارة_الشؤون_الاجتماعية_والعمل','وزارة_الثقافة','وزارة_النقل','وزارة_العدل','وزارة_السياحة','وزارة_الإعلام','وزارة_الأوقاف','نقابة_المعلمين','الاتحاد_الرياضي_العام','الاتحاد_العام_للفلاحين','مجلس_الدولة','وزارة_التنمية_الإدارية','وزارة_الخارجية_والمغتربين','وزارة_الطوارئ_والكوارث','الهيئة_العامة_للمنافذ_البرية_والبحرية','مصرف_سوريا_المركزي')),
+    location TEXT NOT NULL,
+    description TEXT NOT NULL,
+    solution_suggestion TEXT,
+    status VARCHAR(255) NOT NULL CHECK (status IN ('PENDING','IN_PROGRESS','RESOLVED','CLOSED','REJECTED')),
+    response TEXT,
+    responded_at TIMESTAMP(6),
+    responded_by BIGINT,
+    tracking_number VARCHAR(48) NOT NULL UNIQUE,
+    version BIGINT NOT NULL,
+    citizen_id BIGINT NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6),
+    created_by BIGINT NOT NULL,
+    last_modified_by BIGINT,
+    created_by_user_type VARCHAR(255),
+    last_modified_by_user_type VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_complaints_citizen FOREIGN KEY (citizen_id) REFERENCES citizens(id),
+    CONSTRAINT fk_complaints_responded_by FOREIGN KEY (responded_by) REFERENCES employees(id)
+);
+
+CREATE TABLE IF NOT EXISTS complaint_attachments (
+    id BIGINT NOT NULL,
+    complaint_id BIGINT NOT NULL,
+    original_filename VARCHAR(255) NOT NULL,
+    stored_filename VARCHAR(255) NOT NULL,
+    storage_path VARCHAR(255) NOT NULL,
+    content_type VARCHAR(255) NOT NULL,
+    file_size BIGINT NOT NULL,
+    checksum VARCHAR(128) NOT NULL,
+    uploaded_by BIGINT,
+    uploaded_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_complaint_attachments_complaint FOREIGN KEY (complaint_id) REFERENCES complaints(id),
+    CONSTRAINT fk_complaint_attachments_uploaded_by FOREIGN KEY (uploaded_by) REFERENCES users(id)
+);
+
+CREATE TABLE IF NOT EXISTS complaint_history (
+    id BIGINT NOT NULL,
+    complaint_id BIGINT NOT NULL,
+    actor_id BIGINT NOT NULL,
+    action_type VARCHAR(255) NOT NULL CHECK (action_type IN ('CREATED','STATUS_CHANGED','UPDATED_FIELDS','ATTACHMENT_ADDED','ATTACHMENT_REMOVED','COMMENT_ADDED','LOCKED','UNLOCKED')),
+    field_changed VARCHAR(255),
+    old_value TEXT,
+    new_value TEXT,
+    metadata TEXT,
+    action_description TEXT,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6),
+    created_by BIGINT NOT NULL,
+    last_modified_by BIGINT,
+    created_by_user_type VARCHAR(255),
+    last_modified_by_user_type VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_complaint_history_complaint FOREIGN KEY (complaint_id) REFERENCES complaints(id),
+    CONSTRAINT fk_complaint_history_actor FOREIGN KEY (actor_id) REFERENCES users(id)
+);
+
+CREATE TABLE IF NOT EXISTS otp_verifications (
+    id BIGINT NOT NULL,
+    email VARCHAR(255) NOT NULL UNIQUE,
+    otp_code VARCHAR(64) NOT NULL,
+    attempts INTEGER NOT NULL,
+    is_verified BOOLEAN NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    expires_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id)
+);
@@ -44,13 +44,16 @@ COMMENT ON COLUMN complaint_history.action_description IS 'Human-readable descri
 
 -- Backfill existing complaints with CREATED entry
 -- This creates a history entry for all existing complaints
-INSERT INTO complaint_history (complaint_id, actor_id, action_type, action_description, created_at)
+-- (ids come from global_id_seq and created_by is required by the baseline table, see V1)
+INSERT INTO complaint_history (id, complaint_id, actor_id, action_type, action_description, created_at, created_by)
 SELECT 
+    nextval('global_id_seq'),
     c.id,
     c.citizen_id,
     'CREATED',
     'تم إنشاء الشكوى (استيراد قديم)',
-    COALESCE(c.created_at, CURRENT_TIMESTAMP)
+    COALESCE(c.created_at, CURRENT_TIMESTAMP),
+    c.citizen_id
 FROM complaints c
 WHERE NOT EXISTS (
     SELECT 1 FROM complaint_history ch 
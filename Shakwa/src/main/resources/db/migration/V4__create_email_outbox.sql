@@ -0,0 +1,23 @@
+-- Migration: Create email outbox table
+-- Feature: Asynchronous outbound email
+-- Description: Emails are enqueued here by request threads and delivered by EmailOutboxDispatcher with retries
+
+CREATE TABLE IF NOT EXISTS email_outbox (
+    id BIGINT PRIMARY KEY,
+    recipient VARCHAR(255) NOT NULL,
+    subject VARCHAR(255) NOT NULL,
+    body TEXT NOT NULL,
+    status VARCHAR(16) NOT NULL,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL,
+    last_error TEXT,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    sent_at TIMESTAMP
+);
+
+-- Dispatcher claims due rows by status + next_attempt_at
+CREATE INDEX IF NOT EXISTS idx_email_outbox_status_next_attempt
+    ON email_outbox(status, next_attempt_at);
+
+COMMENT ON TABLE email_outbox IS 'Outbound email queue - delivered asynchronously with exponential backoff retries';
+COMMENT ON COLUMN email_outbox.next_attempt_at IS 'Earliest time of the next delivery attempt (also the claim lease while SENDING)';
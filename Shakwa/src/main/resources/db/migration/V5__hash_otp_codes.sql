@@ -0,0 +1,11 @@
+-- Migration: Store hashed OTP codes
+-- Feature: Pluggable OTP store
+-- Description: otp_verifications now holds an HMAC of the code (used by the database OTP store)
+
+ALTER TABLE otp_verifications ALTER COLUMN otp_code TYPE VARCHAR(64);
+
+-- Scheduled purge deletes by expiry
+CREATE INDEX IF NOT EXISTS idx_otp_verifications_expires_at
+    ON otp_verifications(expires_at);
+
+COMMENT ON COLUMN otp_verifications.otp_code IS 'HMAC-SHA256 of the code, base64url';
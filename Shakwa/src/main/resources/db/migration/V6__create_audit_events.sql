@@ -0,0 +1,76 @@
+-- Migration: Create append-only audit trail
+-- Feature: Feature 04 - Tracing & Auditing
+-- Description: audit_events is range-partitioned by month on occurred_at; rows are written in batches
+--              by AuditService and can never be updated or deleted (retention drops whole partitions)
+
+-- Databases that ran with ddl-auto=update already have a plain audit_events table: move it aside, its rows
+-- are copied into the partitioned table below
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_class
+               WHERE oid = to_regclass('audit_events') AND relkind = 'r') THEN
+        DROP INDEX IF EXISTS idx_audit_events_actor_time, idx_audit_events_target_time, idx_audit_events_time;
+        ALTER TABLE audit_events RENAME CONSTRAINT audit_events_pkey TO audit_events_unpartitioned_pkey;
+        ALTER TABLE audit_events RENAME TO audit_events_unpartitioned;
+    END IF;
+END $$;
+
+CREATE TABLE IF NOT EXISTS audit_events (
+    id BIGINT NOT NULL,
+    occurred_at TIMESTAMP NOT NULL,
+    actor VARCHAR(255) NOT NULL,
+    action VARCHAR(100) NOT NULL,
+    target_type VARCHAR(100),
+    target_id BIGINT,
+    status VARCHAR(16) NOT NULL,
+    ip_address VARCHAR(64),
+    details TEXT,
+    PRIMARY KEY (id, occurred_at)
+) PARTITION BY RANGE (occurred_at);
+
+-- Catches rows outside the pre-created months so inserts never fail
+CREATE TABLE IF NOT EXISTS audit_events_default PARTITION OF audit_events DEFAULT;
+
+-- Current month plus the next 12; extend with the same statement from a scheduled maintenance job
+DO $$
+DECLARE
+    month_start DATE := date_trunc('month', CURRENT_DATE);
+BEGIN
+    FOR i IN 0..12 LOOP
+        EXECUTE format(
+            'CREATE TABLE IF NOT EXISTS %I PARTITION OF audit_events FOR VALUES FROM (%L) TO (%L)',
+            'audit_events_' || to_char(month_start + make_interval(months => i), 'YYYY_MM'),
+            month_start + make_interval(months => i),
+            month_start + make_interval(months => i + 1));
+    END LOOP;
+END $$;
+
+DO $$
+BEGIN
+    IF to_regclass('audit_events_unpartitioned') IS NOT NULL THEN
+        INSERT INTO audit_events (id, occurred_at, actor, action, target_type, target_id, status, ip_address, details)
+        SELECT id, occurred_at, actor, action, target_type, target_id, status, ip_address, details
+        FROM audit_events_unpartitioned;
+        DROP TABLE audit_events_unpartitioned;
+    END IF;
+END $$;
+
+-- Query API filters by actor or target, always within a time range
+CREATE INDEX IF NOT EXISTS idx_audit_events_actor_time ON audit_events(actor, occurred_at);
+CREATE INDEX IF NOT EXISTS idx_audit_events_target_time ON audit_events(target_type, target_id, occurred_at);
+CREATE INDEX IF NOT EXISTS idx_audit_events_time ON audit_events(occurred_at);
+
+-- Append-only: reject UPDATE and DELETE on every partition
+CREATE OR REPLACE FUNCTION audit_events_reject_change() RETURNS trigger AS $$
+BEGIN
+    RAISE EXCEPTION 'audit_events is append-only';
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_audit_events_append_only ON audit_events;
+CREATE TRIGGER trg_audit_events_append_only
+    BEFORE UPDATE OR DELETE ON audit_events
+    FOR EACH ROW EXECUTE FUNCTION audit_events_reject_change();
+
+COMMENT ON TABLE audit_events IS 'Append-only audit trail, partitioned monthly by occurred_at';
+COMMENT ON COLUMN audit_events.details IS 'JSON: method, sanitized arguments, result type or error';
@@ -0,0 +1,134 @@
+-- Migration: Monthly partitioning and query indexes for complaints
+-- Feature: Flyway-managed schema
+-- Description: complaints and complaint_history become range-partitioned by created_at (one partition per month
+--              plus DEFAULT), and get composite indexes matching the repository finders, which all sort newest
+--              first. A partitioned table cannot be the target of a foreign key or enforce UNIQUE without the
+--              partition key, so:
+--              - tracking numbers are registered in complaint_tracking_numbers by trigger (globally unique)
+--              - deleting a complaint removes its history and attachments by trigger
+--              Existing rows are copied in this migration's transaction; on a large database run it in a
+--              maintenance window.
+
+-- One partition per month in [from_month, to_month]. Idempotent; MonthlyPartitionMaintenance keeps
+-- twelve months ahead so rows never have to be moved out of the DEFAULT partition.
+CREATE OR REPLACE FUNCTION create_monthly_partitions(parent TEXT, from_month DATE, to_month DATE)
+RETURNS INTEGER AS $$
+DECLARE
+    month_start DATE := date_trunc('month', from_month);
+    partition_name TEXT;
+    created INTEGER := 0;
+BEGIN
+    WHILE month_start <= to_month LOOP
+        partition_name := parent || '_' || to_char(month_start, 'YYYY_MM');
+        IF to_regclass(partition_name) IS NULL THEN
+            EXECUTE format('CREATE TABLE %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)',
+                    partition_name, parent, month_start, (month_start + INTERVAL '1 month')::DATE);
+            created := created + 1;
+        END IF;
+        month_start := (month_start + INTERVAL '1 month')::DATE;
+    END LOOP;
+    RETURN created;
+END;
+$$ LANGUAGE plpgsql;
+
+-- complaints ----------------------------------------------------------------------------------------------------
+
+ALTER TABLE complaints RENAME CONSTRAINT complaints_pkey TO complaints_unpartitioned_pkey;
+ALTER TABLE complaints RENAME TO complaints_unpartitioned;
+
+CREATE TABLE complaints (
+    LIKE complaints_unpartitioned INCLUDING DEFAULTS INCLUDING CONSTRAINTS INCLUDING COMMENTS,
+    CONSTRAINT complaints_pkey PRIMARY KEY (id, created_at),
+    CONSTRAINT fk_complaints_citizen FOREIGN KEY (citizen_id) REFERENCES citizens(id),
+    CONSTRAINT fk_complaints_responded_by FOREIGN KEY (responded_by) REFERENCES employees(id)
+) PARTITION BY RANGE (created_at);
+
+CREATE TABLE complaints_default PARTITION OF complaints DEFAULT;
+SELECT create_monthly_partitions('complaints',
+        LEAST(CURRENT_DATE, (SELECT MIN(created_at)::DATE FROM complaints_unpartitioned)),
+        (CURRENT_DATE + INTERVAL '12 months')::DATE);
+
+INSERT INTO complaints SELECT * FROM complaints_unpartitioned;
+
+CREATE TABLE IF NOT EXISTS complaint_tracking_numbers (
+    tracking_number VARCHAR(48) NOT NULL,
+    complaint_id BIGINT NOT NULL,
+    CONSTRAINT complaint_tracking_numbers_pkey PRIMARY KEY (tracking_number)
+);
+INSERT INTO complaint_tracking_numbers (tracking_number, complaint_id)
+SELECT tracking_number, id FROM complaints_unpartitioned;
+
+-- complaint_history ---------------------------------------------------------------------------------------------
+
+DROP INDEX IF EXISTS idx_complaint_history_complaint_id, idx_complaint_history_created_at, idx_complaint_history_action_type;
+ALTER TABLE complaint_history RENAME CONSTRAINT complaint_history_pkey TO complaint_history_unpartitioned_pkey;
+ALTER TABLE complaint_history RENAME TO complaint_history_unpartitioned;
+
+CREATE TABLE complaint_history (
+    LIKE complaint_history_unpartitioned INCLUDING DEFAULTS INCLUDING CONSTRAINTS INCLUDING COMMENTS,
+    CONSTRAINT complaint_history_pkey PRIMARY KEY (id, created_at),
+    CONSTRAINT fk_complaint_history_actor FOREIGN KEY (actor_id) REFERENCES users(id)
+) PARTITION BY RANGE (created_at);
+
+CREATE TABLE complaint_history_default PARTITION OF complaint_history DEFAULT;
+SELECT create_monthly_partitions('complaint_history',
+        LEAST(CURRENT_DATE, (SELECT MIN(created_at)::DATE FROM complaint_history_unpartitioned)),
+        (CURRENT_DATE + INTERVAL '12 months')::DATE);
+
+INSERT INTO complaint_history SELECT * FROM complaint_history_unpartitioned;
+
+-- CASCADE only removes the foreign keys that pointed at the old tables (complaint_attachments, complaint_history)
+DROP TABLE complaint_history_unpartitioned CASCADE;
+DROP TABLE complaints_unpartitioned CASCADE;
+
+-- Indexes (created on the parents, so every current and future partition gets them) ------------------------------
+
+-- Citizen lists: a citizen has few complaints, so this also serves the citizen+agency and citizen+status finders
+CREATE INDEX IF NOT EXISTS idx_complaints_citizen_created ON complaints (citizen_id, created_at DESC);
+-- Employee inbox: everything an employee sees is scoped to their agency
+CREATE INDEX IF NOT EXISTS idx_complaints_agency_created ON complaints (government_agency, created_at DESC);
+CREATE INDEX IF NOT EXISTS idx_complaints_agency_status_created ON complaints (government_agency, status, created_at DESC);
+CREATE INDEX IF NOT EXISTS idx_complaints_agency_type_created ON complaints (government_agency, complaint_type, created_at DESC);
+CREATE INDEX IF NOT EXISTS idx_complaints_agency_governorate_created ON complaints (government_agency, governorate, created_at DESC);
+-- Platform-admin lists (not scoped to an agency)
+CREATE INDEX IF NOT EXISTS idx_complaints_status_created ON complaints (status, created_at DESC);
+CREATE INDEX IF NOT EXISTS idx_complaints_type_created ON complaints (complaint_type, created_at DESC);
+CREATE INDEX IF NOT EXISTS idx_complaints_governorate_created ON complaints (governorate, created_at DESC);
+CREATE INDEX IF NOT EXISTS idx_complaints_created ON complaints (created_at DESC);
+
+CREATE INDEX IF NOT EXISTS idx_complaint_history_complaint_created ON complaint_history (complaint_id, created_at DESC);
+
+CREATE INDEX IF NOT EXISTS idx_complaint_attachments_complaint_uploaded ON complaint_attachments (complaint_id, uploaded_at);
+
+-- Triggers ------------------------------------------------------------------------------------------------------
+
+CREATE OR REPLACE FUNCTION complaints_register_tracking_number() RETURNS trigger AS $$
+BEGIN
+    INSERT INTO complaint_tracking_numbers (tracking_number, complaint_id) VALUES (NEW.tracking_number, NEW.id);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_complaints_tracking_number
+    AFTER INSERT ON complaints
+    FOR EACH ROW EXECUTE FUNCTION complaints_register_tracking_number();
+
+CREATE OR REPLACE FUNCTION complaints_delete_children() RETURNS trigger AS $$
+BEGIN
+    -- History is never older than its complaint; the bound lets the delete skip older partitions
+    DELETE FROM complaint_history WHERE complaint_id = OLD.id AND created_at >= OLD.created_at;
+    DELETE FROM complaint_attachments WHERE complaint_id = OLD.id;
+    DELETE FROM complaint_tracking_numbers WHERE tracking_number = OLD.tracking_number;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_complaints_delete_children
+    AFTER DELETE ON complaints
+    FOR EACH ROW EXECUTE FUNCTION complaints_delete_children();
+
+ANALYZE complaints, complaint_history, complaint_tracking_numbers;
+
+COMMENT ON TABLE complaints IS 'Complaints, range-partitioned by month on created_at';
+COMMENT ON TABLE complaint_history IS 'Immutable timeline of all changes to complaints, range-partitioned by month on created_at';
+COMMENT ON TABLE complaint_tracking_numbers IS 'Global uniqueness of complaints.tracking_number (maintained by trigger)';
@@ -0,0 +1,61 @@
+-- Migration: Archive tables for closed complaints
+-- Feature: Hot/cold complaint archival
+-- Description: ComplaintArchiver moves complaints that have been RESOLVED, REJECTED or CLOSED for longer than
+--              shakwa.archive.after-days, with their history and attachment metadata, into *_archive tables, so the
+--              hot tables and the agency inbox indexes only hold active work. Archive tables have the hot columns
+--              in the same order plus archived_at (rows are copied with SELECT t.*, now()), so a column added to
+--              complaints, complaint_history or complaint_attachments must be added to its archive table too.
+--              Archived rows are never updated; toast_tuple_target makes PostgreSQL compress the text columns of
+--              most rows instead of storing them inline.
+
+CREATE TABLE IF NOT EXISTS complaints_archive (
+    LIKE complaints INCLUDING DEFAULTS,
+    archived_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT complaints_archive_pkey PRIMARY KEY (id)
+) WITH (toast_tuple_target = 128);
+
+CREATE TABLE IF NOT EXISTS complaint_history_archive (
+    LIKE complaint_history INCLUDING DEFAULTS,
+    archived_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT complaint_history_archive_pkey PRIMARY KEY (id)
+) WITH (toast_tuple_target = 128);
+
+CREATE TABLE IF NOT EXISTS complaint_attachments_archive (
+    LIKE complaint_attachments INCLUDING DEFAULTS,
+    archived_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT complaint_attachments_archive_pkey PRIMARY KEY (id)
+);
+
+-- Read-through: citizen listings, a complaint's history, a page's attachments
+CREATE INDEX IF NOT EXISTS idx_complaints_archive_citizen_created ON complaints_archive (citizen_id, created_at DESC);
+CREATE INDEX IF NOT EXISTS idx_complaint_history_archive_complaint_created ON complaint_history_archive (complaint_id, created_at DESC);
+CREATE INDEX IF NOT EXISTS idx_complaint_attachments_archive_complaint ON complaint_attachments_archive (complaint_id);
+
+-- Archival candidates: only closed complaints are indexed, ordered by when they were last changed
+CREATE INDEX IF NOT EXISTS idx_complaints_closed_last_change ON complaints ((COALESCE(updated_at, created_at)))
+    WHERE status IN ('RESOLVED', 'REJECTED', 'CLOSED');
+
+-- Citizen listings page over both tables; PostgreSQL flattens the UNION ALL, pushes the citizen predicate into
+-- each branch and merges the (citizen_id, created_at DESC) index scans
+CREATE OR REPLACE VIEW complaints_with_archive AS
+SELECT c.*, NULL::TIMESTAMP(6) AS archived_at FROM complaints c
+UNION ALL
+SELECT a.* FROM complaints_archive a;
+
+-- An archived complaint keeps its tracking number reserved (existsByTrackingNumber stays global)
+CREATE OR REPLACE FUNCTION complaints_delete_children() RETURNS trigger AS $$
+BEGIN
+    -- History is never older than its complaint; the bound lets the delete skip older partitions
+    DELETE FROM complaint_history WHERE complaint_id = OLD.id AND created_at >= OLD.created_at;
+    DELETE FROM complaint_attachments WHERE complaint_id = OLD.id;
+    IF NOT EXISTS (SELECT 1 FROM complaints_archive WHERE id = OLD.id) THEN
+        DELETE FROM complaint_tracking_numbers WHERE tracking_number = OLD.tracking_number;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+COMMENT ON TABLE complaints_archive IS 'Complaints closed for longer than shakwa.archive.after-days (moved by ComplaintArchiver)';
+COMMENT ON TABLE complaint_history_archive IS 'History of archived complaints';
+COMMENT ON TABLE complaint_attachments_archive IS 'Attachment metadata of archived complaints (files stay in storage)';
+COMMENT ON VIEW complaints_with_archive IS 'Active and archived complaints, for citizen listings';
@@ -0,0 +1,46 @@
+-- Migration: Expiring leases for the complaint state lock
+-- Feature: Concurrency Control / Complaint Locking
+-- Description: IN_PROGRESS + responded_by locks a complaint to one employee, and used to do so forever. The lock
+--              is now backed by a lease that the holder's client renews (PUT api/v1/complaints/{id}/lease);
+--              ComplaintLeaseManager returns complaints whose lease expired to PENDING in one indexed sweep.
+--              fencing_token changes whenever the lease changes hands, so a client holding an old token cannot
+--              renew a lease it lost. No foreign key: complaints is partitioned (see V7), the delete trigger
+--              removes the lease of a deleted complaint instead.
+
+CREATE SEQUENCE IF NOT EXISTS complaint_lease_token_seq;
+
+CREATE TABLE IF NOT EXISTS complaint_leases (
+    complaint_id  BIGINT       NOT NULL,
+    holder_id     BIGINT       NOT NULL,
+    fencing_token BIGINT       NOT NULL,
+    acquired_at   TIMESTAMP(6) NOT NULL,
+    expires_at    TIMESTAMP(6) NOT NULL,
+    CONSTRAINT complaint_leases_pkey PRIMARY KEY (complaint_id)
+);
+
+-- The sweep reads expired leases oldest first
+CREATE INDEX IF NOT EXISTS idx_complaint_leases_expires ON complaint_leases (expires_at);
+
+-- Complaints already held get one day to be renewed or finished before they are released
+INSERT INTO complaint_leases (complaint_id, holder_id, fencing_token, acquired_at, expires_at)
+SELECT c.id, c.responded_by, nextval('complaint_lease_token_seq'), COALESCE(c.updated_at, c.created_at),
+       LOCALTIMESTAMP + INTERVAL '1 day'
+FROM complaints c
+WHERE c.status = 'IN_PROGRESS' AND c.responded_by IS NOT NULL
+ON CONFLICT (complaint_id) DO NOTHING;
+
+CREATE OR REPLACE FUNCTION complaints_delete_children() RETURNS trigger AS $$
+BEGIN
+    -- History is never older than its complaint; the bound lets the delete skip older partitions
+    DELETE FROM complaint_history WHERE complaint_id = OLD.id AND created_at >= OLD.created_at;
+    DELETE FROM complaint_attachments WHERE complaint_id = OLD.id;
+    DELETE FROM complaint_leases WHERE complaint_id = OLD.id;
+    IF NOT EXISTS (SELECT 1 FROM complaints_archive WHERE id = OLD.id) THEN
+        DELETE FROM complaint_tracking_numbers WHERE tracking_number = OLD.tracking_number;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+COMMENT ON TABLE complaint_leases IS 'Expiring lease behind the IN_PROGRESS state lock (one row per held complaint)';
+COMMENT ON COLUMN complaint_leases.fencing_token IS 'Changes whenever the lease changes hands; renewals must present the current token';
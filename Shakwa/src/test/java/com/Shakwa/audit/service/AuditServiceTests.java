@@ -0,0 +1,72 @@
+package com.Shakwa.audit.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import com.Shakwa.audit.Enum.AuditStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class AuditServiceTests {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void writesQueuedEventsInBatches() throws Exception {
+        List<Integer> batchSizes = new ArrayList<>();
+        when(jdbcTemplate.batchUpdate(anyString(), any(Collection.class), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenAnswer(invocation -> {
+                    batchSizes.add(((Collection<?>) invocation.getArgument(1)).size());
+                    return new int[0][];
+                });
+        AuditService service = new AuditService(jdbcTemplate, new ObjectMapper(), meterRegistry, 100, 10, Duration.ofMillis(50));
+        for (int i = 0; i < 25; i++) {
+            service.record(event(i));
+        }
+        service.start();
+        service.shutdown();
+
+        assertEquals(List.of(10, 10, 5), batchSizes);
+        assertEquals(25, meterRegistry.counter("shakwa.audit.written").count());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void fullQueueWritesSynchronouslyInsteadOfDropping() {
+        AuditService service = new AuditService(jdbcTemplate, new ObjectMapper(), meterRegistry, 1, 10, Duration.ofMillis(50));
+        // Writer thread not started: the first event fills the queue
+        service.record(event(1));
+        service.record(event(2));
+
+        ArgumentCaptor<Collection<AuditRecord>> records = ArgumentCaptor.forClass(Collection.class);
+        verify(jdbcTemplate, atLeastOnce()).batchUpdate(anyString(), records.capture(), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+        assertEquals(2L, records.getValue().iterator().next().targetId());
+        assertEquals(1, meterRegistry.counter("shakwa.audit.overflow").count());
+    }
+
+    private static AuditRecord event(long targetId) {
+        return new AuditRecord(LocalDateTime.now(), "admin@shakwa.gov", "UPDATE_COMPLAINT", "COMPLAINT", targetId,
+                AuditStatus.SUCCESS, "127.0.0.1", "ComplaintService.updateComplaint(..)", "ComplaintDTOResponse",
+                null, null, null);
+    }
+}
@@ -0,0 +1,68 @@
+package com.Shakwa.complaint.event;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+
+import com.Shakwa.complaint.Enum.ComplaintChangeType;
+import com.Shakwa.complaint.Enum.ComplaintStatus;
+import com.Shakwa.user.Enum.GovernmentAgencyType;
+
+class ComplaintChangeStampsTests {
+
+    private static final GovernmentAgencyType HEALTH = GovernmentAgencyType.وزارة_الصحة;
+    private static final GovernmentAgencyType EDUCATION = GovernmentAgencyType.وزارة_التربية;
+
+    private final ComplaintChangeStamps stamps = new ComplaintChangeStamps(2);
+
+    @Test
+    void changeMovesOnlyItsOwnScopes() {
+        long health = stamps.stamp(ComplaintEventScope.agency(HEALTH));
+        long education = stamps.stamp(ComplaintEventScope.agency(EDUCATION));
+        long all = stamps.stamp(ComplaintEventScope.all());
+
+        stamps.onComplaintChanged(event(HEALTH, 7L));
+
+        assertTrue(stamps.stamp(ComplaintEventScope.agency(HEALTH)) > health);
+        assertTrue(stamps.stamp(ComplaintEventScope.citizen(7L)) > 0);
+        assertEquals(education, stamps.stamp(ComplaintEventScope.agency(EDUCATION)));
+        assertEquals(0, stamps.stamp(ComplaintEventScope.citizen(8L)));
+        assertTrue(stamps.stamp(ComplaintEventScope.all()) > all);
+    }
+
+    @Test
+    void droppingCitizenStampsNeverReturnsAnIssuedValue() {
+        stamps.onComplaintChanged(event(HEALTH, 1L));
+        stamps.onComplaintChanged(event(HEALTH, 2L));
+        long first = stamps.stamp(ComplaintEventScope.citizen(1L));
+        long second = stamps.stamp(ComplaintEventScope.citizen(2L));
+
+        // A third citizen exceeds the bound of 2
+        stamps.onComplaintChanged(event(EDUCATION, 3L));
+
+        long floor = stamps.stamp(ComplaintEventScope.citizen(1L));
+        assertTrue(floor > first && floor > second);
+        assertEquals(floor, stamps.stamp(ComplaintEventScope.citizen(3L)));
+        assertEquals(floor, stamps.stamp(ComplaintEventScope.citizen(99L)));
+    }
+
+    @Test
+    void touchAllMovesEveryScope() {
+        stamps.onComplaintChanged(event(HEALTH, 1L));
+        long health = stamps.stamp(ComplaintEventScope.agency(HEALTH));
+
+        stamps.touchAll();
+
+        assertTrue(stamps.stamp(ComplaintEventScope.agency(HEALTH)) > health);
+        assertTrue(stamps.stamp(ComplaintEventScope.agency(EDUCATION)) > health);
+        assertTrue(stamps.stamp(ComplaintEventScope.citizen(42L)) > health);
+    }
+
+    private static ComplaintChangedEvent event(GovernmentAgencyType agency, Long citizenId) {
+        return new ComplaintChangedEvent(ComplaintChangeType.UPDATED, 100L + citizenId, "TRK-" + citizenId, agency,
+                citizenId, ComplaintStatus.PENDING, ComplaintStatus.PENDING, LocalDateTime.now());
+    }
+}
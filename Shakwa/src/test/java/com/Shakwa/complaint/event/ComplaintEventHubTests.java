@@ -0,0 +1,146 @@
+package com.Shakwa.complaint.event;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.Shakwa.complaint.Enum.ComplaintChangeType;
+import com.Shakwa.complaint.Enum.ComplaintStatus;
+import com.Shakwa.user.Enum.GovernmentAgencyType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ComplaintEventHubTests {
+
+    private static final GovernmentAgencyType HEALTH = GovernmentAgencyType.وزارة_الصحة;
+    private static final GovernmentAgencyType EDUCATION = GovernmentAgencyType.وزارة_التربية;
+    private static final Pattern EVENT = Pattern.compile("id:(\\S+)\\nevent:(\\S+)\\ndata:.*\"complaintId\":(\\d+)");
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    // Runs each drain inline, so frames are recorded before publish returns
+    private final ComplaintEventHub hub = new ComplaintEventHub(new ObjectMapper().registerModule(new JavaTimeModule()),
+            meterRegistry, 4, 100, 8, Duration.ofMinutes(1), Duration.ofSeconds(3), Runnable::run);
+
+    @Test
+    void deliversOnlyWithinScope() {
+        RecordingEmitter health = subscribe(ComplaintEventScope.agency(HEALTH), null);
+        RecordingEmitter citizen = subscribe(ComplaintEventScope.citizen(7L), null);
+        RecordingEmitter admin = subscribe(ComplaintEventScope.all(), null);
+
+        publish(1L, HEALTH, 7L);
+        publish(2L, EDUCATION, 7L);
+        publish(3L, EDUCATION, 8L);
+
+        assertEquals(List.of(1L), health.complaintIds());
+        assertEquals(List.of(1L, 2L), citizen.complaintIds());
+        assertEquals(List.of(1L, 2L, 3L), admin.complaintIds());
+        assertEquals(3, meterRegistry.counter("shakwa.events.published").count());
+    }
+
+    @Test
+    void replaysMissedEventsAfterLastEventId() {
+        RecordingEmitter first = subscribe(ComplaintEventScope.agency(HEALTH), null);
+        publish(1L, HEALTH, 7L);
+        String lastEventId = first.eventIds().get(0);
+        publish(2L, HEALTH, 7L);
+        publish(3L, EDUCATION, 7L);
+        publish(4L, HEALTH, 8L);
+
+        RecordingEmitter resumed = subscribe(ComplaintEventScope.agency(HEALTH), lastEventId);
+        publish(5L, HEALTH, 9L);
+
+        assertEquals(List.of(2L, 4L, 5L), resumed.complaintIds());
+        assertEquals(first.eventIds().subList(1, 4), resumed.eventIds().subList(0, 3));
+    }
+
+    @Test
+    void unknownOrEvictedLastEventIdAsksForResync() {
+        RecordingEmitter first = subscribe(ComplaintEventScope.all(), null);
+        publish(1L, HEALTH, 7L);
+        String evicted = first.eventIds().get(0);
+        // Replay holds four events; after six, event 2 is gone and a client that saw only event 1 cannot catch up
+        for (long id = 2; id <= 6; id++) {
+            publish(id, HEALTH, 7L);
+        }
+
+        RecordingEmitter tooOld = subscribe(ComplaintEventScope.all(), evicted);
+        RecordingEmitter otherProcess = subscribe(ComplaintEventScope.all(), "previous-42");
+
+        assertTrue(tooOld.text().contains("event:" + ComplaintEventHub.RESYNC));
+        assertTrue(tooOld.complaintIds().isEmpty());
+        assertTrue(otherProcess.text().contains("event:" + ComplaintEventHub.RESYNC));
+        assertEquals(2, meterRegistry.counter("shakwa.events.resync").count());
+    }
+
+    @Test
+    void completedSubscriberIsRemoved() {
+        RecordingEmitter emitter = subscribe(ComplaintEventScope.citizen(7L), null);
+        assertEquals(1, hub.subscriberCount());
+
+        emitter.failSends = true;
+        publish(1L, HEALTH, 7L);
+
+        assertEquals(0, hub.subscriberCount());
+    }
+
+    private RecordingEmitter subscribe(ComplaintEventScope scope, String lastEventId) {
+        RecordingEmitter emitter = new RecordingEmitter();
+        hub.subscribe(scope, lastEventId, emitter);
+        return emitter;
+    }
+
+    private void publish(Long complaintId, GovernmentAgencyType agency, Long citizenId) {
+        hub.onComplaintChanged(new ComplaintChangedEvent(ComplaintChangeType.STATUS_CHANGED, complaintId,
+                "TRK-" + complaintId, agency, citizenId, ComplaintStatus.IN_PROGRESS, ComplaintStatus.PENDING,
+                LocalDateTime.now()));
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final List<String> frames = new ArrayList<>();
+        private boolean failSends;
+
+        @Override
+        public synchronized void send(Set<DataWithMediaType> items) throws java.io.IOException {
+            if (failSends) {
+                throw new java.io.IOException("Broken pipe");
+            }
+            frames.add(items.stream().map(item -> item.getData().toString()).collect(Collectors.joining()));
+        }
+
+        String text() {
+            return String.join("", frames);
+        }
+
+        List<Long> complaintIds() {
+            List<Long> ids = new ArrayList<>();
+            Matcher matcher = EVENT.matcher(text());
+            while (matcher.find()) {
+                ids.add(Long.parseLong(matcher.group(3)));
+            }
+            return ids;
+        }
+
+        List<String> eventIds() {
+            List<String> ids = new ArrayList<>();
+            Matcher matcher = EVENT.matcher(text());
+            while (matcher.find()) {
+                ids.add(matcher.group(1));
+            }
+            return ids;
+        }
+    }
+}
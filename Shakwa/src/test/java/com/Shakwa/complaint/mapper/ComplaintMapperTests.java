@@ -0,0 +1,59 @@
+package com.Shakwa.complaint.mapper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+
+import com.Shakwa.complaint.Enum.ComplaintStatus;
+import com.Shakwa.complaint.Enum.ComplaintType;
+import com.Shakwa.complaint.Enum.Governorate;
+import com.Shakwa.complaint.dto.ComplaintSummaryDTO;
+import com.Shakwa.complaint.entity.ComplaintInboxEntry;
+import com.Shakwa.user.Enum.GovernmentAgencyType;
+
+class ComplaintMapperTests {
+
+    private final ComplaintMapper mapper = new ComplaintMapper(null);
+
+    @Test
+    void summaryCarriesTheDenormalizedColumns() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 2, 15, 10, 30);
+        ComplaintInboxEntry entry = ComplaintInboxEntry.builder()
+                .complaintId(42L)
+                .trackingNumber("SHK-20250215-AB12CD")
+                .complaintType(ComplaintType.values()[0])
+                .governorate(Governorate.دمشق)
+                .governmentAgency(GovernmentAgencyType.وزارة_الصحة)
+                .status(ComplaintStatus.RESOLVED)
+                .citizenId(7L)
+                .citizenName("أحمد محمد")
+                .respondedById(5L)
+                .respondedByName("سارة علي")
+                .attachmentCount(2L)
+                .createdAt(createdAt)
+                .respondedAt(createdAt.plusDays(1))
+                .version(3L)
+                .build();
+
+        ComplaintSummaryDTO summary = mapper.toSummary(entry);
+
+        assertEquals(42L, summary.getId());
+        assertEquals("SHK-20250215-AB12CD", summary.getTrackingNumber());
+        assertEquals(ComplaintType.values()[0], summary.getComplaintType());
+        assertEquals(Governorate.دمشق, summary.getGovernorate());
+        assertEquals(GovernmentAgencyType.وزارة_الصحة, summary.getGovernmentAgency());
+        assertEquals(ComplaintStatus.RESOLVED, summary.getStatus());
+        assertEquals(7L, summary.getCitizenId());
+        assertEquals("أحمد محمد", summary.getCitizenName());
+        assertEquals(5L, summary.getRespondedById());
+        assertEquals("سارة علي", summary.getRespondedByName());
+        assertEquals(2L, summary.getAttachmentCount());
+        assertEquals(createdAt, summary.getCreatedAt());
+        assertNull(summary.getUpdatedAt());
+        assertEquals(createdAt.plusDays(1), summary.getRespondedAt());
+        assertEquals(3L, summary.getVersion());
+    }
+}
@@ -0,0 +1,443 @@
+package com.Shakwa.complaint.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.Shakwa.complaint.Enum.ComplaintStatus;
+import com.Shakwa.complaint.Enum.ComplaintType;
+import com.Shakwa.complaint.Enum.Governorate;
+import com.Shakwa.complaint.Enum.HistoryActionType;
+import com.Shakwa.user.Enum.GovernmentAgencyType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Query-plan regression test: runs every ComplaintRepository / ComplaintHistoryRepository / ComplaintInboxRepository
+ * query against a seeded, partitioned database and fails when PostgreSQL plans a sequential scan where an index should be used.
+ *
+ * A sequential scan is reported when it reads a table (partition) of at least MIN_TABLE_ROWS rows and either
+ * - feeds a LIMIT (a page whose filter and sort order have no matching index), or
+ * - keeps less than MAX_SEQ_SCAN_SELECTIVITY of it (a selective lookup with no matching index).
+ * Unpaged lists by one low-cardinality column (all complaints of a status) read most pages anyway and are left alone.
+ *
+ * Needs a dedicated, empty PostgreSQL 13+ database, which Flyway migrates and the test seeds once:
+ *   SHAKWA_PLAN_TEST_DB_URL=jdbc:postgresql://localhost:5432/shakwa_plan_test \
+ *   SHAKWA_PLAN_TEST_DB_USER=postgres SHAKWA_PLAN_TEST_DB_PASSWORD=password \
+ *   mvn test -Dtest=ComplaintQueryPlanTests
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=${SHAKWA_PLAN_TEST_DB_URL}",
+        "spring.datasource.username=${SHAKWA_PLAN_TEST_DB_USER:postgres}",
+        "spring.datasource.password=${SHAKWA_PLAN_TEST_DB_PASSWORD:password}",
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@EnabledIfEnvironmentVariable(named = "SHAKWA_PLAN_TEST_DB_URL", matches = ".+")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ComplaintQueryPlanTests {
+
+    private static final int SEED_CITIZENS = 5_000;
+    private static final int SEED_COMPLAINTS = 200_000;
+    private static final int SEED_MONTHS = 25;
+    private static final String SEED_PREFIX = "plan-test-";
+
+    private static final long MIN_TABLE_ROWS = 1_000;
+    private static final double MAX_SEQ_SCAN_SELECTIVITY = 0.01;
+
+    private static final Pageable FIRST_PAGE = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "createdAt"));
+
+    private static final List<CapturedQuery> captured = new CopyOnWriteArrayList<>();
+    private static volatile boolean capturing;
+    private static boolean seeded;
+
+    @Autowired
+    private ComplaintRepository complaintRepository;
+
+    @Autowired
+    private ComplaintHistoryRepository historyRepository;
+
+    @Autowired
+    private ComplaintInboxRepository inboxRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private Long citizenId;
+    private Long complaintId;
+    private LocalDateTime complaintCreatedAt;
+    private String trackingNumber;
+
+    @BeforeEach
+    void seedOnce() {
+        if (!seeded) {
+            seed();
+            seeded = true;
+        }
+        Map<String, Object> sample = jdbcTemplate.queryForMap(
+                "SELECT id, citizen_id, created_at, tracking_number FROM complaints WHERE tracking_number = ?",
+                SEED_PREFIX + (SEED_COMPLAINTS / 2));
+        complaintId = ((Number) sample.get("id")).longValue();
+        citizenId = ((Number) sample.get("citizen_id")).longValue();
+        complaintCreatedAt = ((Timestamp) sample.get("created_at")).toLocalDateTime();
+        trackingNumber = (String) sample.get("tracking_number");
+    }
+
+    @Test
+    void complaintQueriesUseIndexes() {
+        assertCoversAllQueries(ComplaintRepository.class, complaintQueries());
+        assertNoUnindexedScans(complaintQueries());
+    }
+
+    @Test
+    void historyQueriesUseIndexes() {
+        assertCoversAllQueries(ComplaintHistoryRepository.class, historyQueries());
+        assertNoUnindexedScans(historyQueries());
+    }
+
+    @Test
+    void inboxQueriesUseIndexes() {
+        assertCoversAllQueries(ComplaintInboxRepository.class, inboxQueries());
+        assertNoUnindexedScans(inboxQueries());
+    }
+
+    private Map<String, Runnable> complaintQueries() {
+        GovernmentAgencyType agency = GovernmentAgencyType.values()[3];
+        ComplaintStatus status = ComplaintStatus.IN_PROGRESS;
+        ComplaintType type = ComplaintType.values()[2];
+        Governorate governorate = Governorate.values()[5];
+
+        Map<String, Runnable> queries = new LinkedHashMap<>();
+        queries.put("findByCitizenId(Long,Pageable)", () -> complaintRepository.findByCitizenId(citizenId, FIRST_PAGE));
+        queries.put("findByCitizenId(Long)", () -> complaintRepository.findByCitizenId(citizenId));
+        queries.put("findByGovernmentAgency(GovernmentAgencyType,Pageable)", () -> complaintRepository.findByGovernmentAgency(agency, FIRST_PAGE));
+        queries.put("findByGovernmentAgency(GovernmentAgencyType)", () -> complaintRepository.findByGovernmentAgency(agency));
+        queries.put("findByStatus(ComplaintStatus,Pageable)", () -> complaintRepository.findByStatus(status, FIRST_PAGE));
+        queries.put("findByStatus(ComplaintStatus)", () -> complaintRepository.findByStatus(status));
+        queries.put("findByComplaintType(ComplaintType,Pageable)", () -> complaintRepository.findByComplaintType(type, FIRST_PAGE));
+        queries.put("findByComplaintType(ComplaintType)", () -> complaintRepository.findByComplaintType(type));
+        queries.put("findByGovernorate(Governorate,Pageable)", () -> complaintRepository.findByGovernorate(governorate, FIRST_PAGE));
+        queries.put("findByGovernorate(Governorate)", () -> complaintRepository.findByGovernorate(governorate));
+        queries.put("findByCitizenIdAndGovernmentAgency(Long,GovernmentAgencyType,Pageable)", () -> complaintRepository.findByCitizenIdAndGovernmentAgency(citizenId, agency, FIRST_PAGE));
+        queries.put("findByCitizenIdAndGovernmentAgency(Long,GovernmentAgencyType)", () -> complaintRepository.findByCitizenIdAndGovernmentAgency(citizenId, agency));
+        queries.put("findByGovernmentAgencyAndStatus(GovernmentAgencyType,ComplaintStatus,Pageable)", () -> complaintRepository.findByGovernmentAgencyAndStatus(agency, status, FIRST_PAGE));
+        queries.put("findByGovernmentAgencyAndStatus(GovernmentAgencyType,ComplaintStatus)", () -> complaintRepository.findByGovernmentAgencyAndStatus(agency, status));
+        queries.put("findByIdAndCitizenId(Long,Long)", () -> complaintRepository.findByIdAndCitizenId(complaintId, citizenId));
+        queries.put("findByCitizenIdAndStatus(Long,ComplaintStatus,Pageable)", () -> complaintRepository.findByCitizenIdAndStatus(citizenId, status, FIRST_PAGE));
+        queries.put("findByGovernmentAgencyAndComplaintType(GovernmentAgencyType,ComplaintType,Pageable)", () -> complaintRepository.findByGovernmentAgencyAndComplaintType(agency, type, FIRST_PAGE));
+        queries.put("findByGovernmentAgencyAndComplaintType(GovernmentAgencyType,ComplaintType)", () -> complaintRepository.findByGovernmentAgencyAndComplaintType(agency, type));
+        queries.put("findByGovernmentAgencyAndGovernorate(GovernmentAgencyType,Governorate,Pageable)", () -> complaintRepository.findByGovernmentAgencyAndGovernorate(agency, governorate, FIRST_PAGE));
+        queries.put("findByGovernmentAgencyAndGovernorate(GovernmentAgencyType,Governorate)", () -> complaintRepository.findByGovernmentAgencyAndGovernorate(agency, governorate));
+        queries.put("existsByTrackingNumber(String)", () -> complaintRepository.existsByTrackingNumber(trackingNumber));
+        queries.put("findByIdForUpdate(Long)", () -> complaintRepository.findByIdForUpdate(complaintId));
+        queries.put("findByIdAndAgencyForUpdate(Long,GovernmentAgencyType)", () -> complaintRepository.findByIdAndAgencyForUpdate(complaintId, agency));
+        queries.put("findNextPendingForClaim(GovernmentAgencyType)", () -> complaintRepository.findNextPendingForClaim(agency));
+        queries.put("findByIdAndAgency(Long,GovernmentAgencyType)", () -> complaintRepository.findByIdAndAgency(complaintId, agency));
+        queries.put("updateIfVersion(Complaint,Long)", () -> complaintRepository.findByIdForUpdate(complaintId)
+                .ifPresent(complaint -> complaintRepository.updateIfVersion(complaint, complaint.getVersion())));
+        queries.put("findById(Long)", () -> complaintRepository.findById(complaintId));
+        queries.put("findAll(Pageable)", () -> complaintRepository.findAll(FIRST_PAGE));
+        queries.put("findArchivedById(Long)", () -> complaintRepository.findArchivedById(complaintId));
+        queries.put("findVersionStampById(Long)", () -> complaintRepository.findVersionStampById(complaintId));
+        queries.put("findByCitizenIdIncludingArchived(Long,Pageable)", () -> complaintRepository.findByCitizenIdIncludingArchived(citizenId, PageRequest.of(0, 20)));
+        queries.put("findByCitizenIdAndGovernmentAgencyIncludingArchived(Long,GovernmentAgencyType,Pageable)", () -> complaintRepository.findByCitizenIdAndGovernmentAgencyIncludingArchived(citizenId, agency, PageRequest.of(0, 20)));
+        return queries;
+    }
+
+    private Map<String, Runnable> historyQueries() {
+        Map<String, Runnable> queries = new LinkedHashMap<>();
+        queries.put("findByComplaintIdOrderByCreatedAtDesc(Long)", () -> historyRepository.findByComplaintIdOrderByCreatedAtDesc(complaintId));
+        queries.put("findByComplaintIdOrderByCreatedAtDesc(Long,Pageable)", () -> historyRepository.findByComplaintIdOrderByCreatedAtDesc(complaintId, PageRequest.of(0, 20)));
+        queries.put("findByComplaintIdSince(Long,LocalDateTime,Pageable)", () -> historyRepository.findByComplaintIdSince(complaintId, complaintCreatedAt, PageRequest.of(0, 20)));
+        queries.put("countByComplaintId(Long)", () -> historyRepository.countByComplaintId(complaintId));
+        queries.put("findArchivedByComplaintId(Long,Pageable)", () -> historyRepository.findArchivedByComplaintId(complaintId, PageRequest.of(0, 20)));
+        return queries;
+    }
+
+    private Map<String, Runnable> inboxQueries() {
+        GovernmentAgencyType agency = GovernmentAgencyType.values()[3];
+        ComplaintStatus status = ComplaintStatus.IN_PROGRESS;
+        ComplaintType type = ComplaintType.values()[2];
+        Governorate governorate = Governorate.values()[5];
+
+        Map<String, Runnable> queries = new LinkedHashMap<>();
+        queries.put("findAllActive(Pageable)", () -> inboxRepository.findAllActive(FIRST_PAGE));
+        queries.put("findActiveByGovernmentAgency(GovernmentAgencyType,Pageable)", () -> inboxRepository.findActiveByGovernmentAgency(agency, FIRST_PAGE));
+        queries.put("findActiveByGovernmentAgencyAndStatus(GovernmentAgencyType,ComplaintStatus,Pageable)", () -> inboxRepository.findActiveByGovernmentAgencyAndStatus(agency, status, FIRST_PAGE));
+        queries.put("findActiveByGovernmentAgencyAndComplaintType(GovernmentAgencyType,ComplaintType,Pageable)", () -> inboxRepository.findActiveByGovernmentAgencyAndComplaintType(agency, type, FIRST_PAGE));
+        queries.put("findActiveByGovernmentAgencyAndGovernorate(GovernmentAgencyType,Governorate,Pageable)", () -> inboxRepository.findActiveByGovernmentAgencyAndGovernorate(agency, governorate, FIRST_PAGE));
+        queries.put("findActiveByStatus(ComplaintStatus,Pageable)", () -> inboxRepository.findActiveByStatus(status, FIRST_PAGE));
+        queries.put("findActiveByComplaintType(ComplaintType,Pageable)", () -> inboxRepository.findActiveByComplaintType(type, FIRST_PAGE));
+        queries.put("findActiveByGovernorate(Governorate,Pageable)", () -> inboxRepository.findActiveByGovernorate(governorate, FIRST_PAGE));
+        queries.put("findByCitizenId(Long,Pageable)", () -> inboxRepository.findByCitizenId(citizenId, FIRST_PAGE));
+        queries.put("findByCitizenIdAndGovernmentAgency(Long,GovernmentAgencyType,Pageable)", () -> inboxRepository.findByCitizenIdAndGovernmentAgency(citizenId, agency, FIRST_PAGE));
+        queries.put("refresh(Long)", () -> inboxRepository.refresh(complaintId));
+        return queries;
+    }
+
+    /**
+     * Every query method declared on the repository has to be exercised here, so a new finder cannot
+     * be added without its plan being checked. Inherited and write methods are not queries of their own.
+     */
+    private static void assertCoversAllQueries(Class<?> repository, Map<String, Runnable> queries) {
+        Set<String> declared = Arrays.stream(repository.getDeclaredMethods())
+                .filter(method -> !method.isSynthetic() && !method.isDefault())
+                .filter(method -> !method.getName().startsWith("save") && !method.getName().startsWith("delete"))
+                .map(ComplaintQueryPlanTests::signature)
+                .collect(Collectors.toCollection(TreeSet::new));
+        assertEquals(declared, new TreeSet<>(queries.keySet()),
+                "Every query method of " + repository.getSimpleName() + " needs a plan check");
+    }
+
+    private static String signature(Method method) {
+        return method.getName() + Arrays.stream(method.getParameterTypes())
+                .map(Class::getSimpleName)
+                .collect(Collectors.joining(",", "(", ")"));
+    }
+
+    private void assertNoUnindexedScans(Map<String, Runnable> queries) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        List<String> problems = new ArrayList<>();
+        queries.forEach((name, query) -> {
+            captured.clear();
+            capturing = true;
+            try {
+                transaction.executeWithoutResult(status -> {
+                    query.run();
+                    status.setRollbackOnly();
+                });
+            } finally {
+                capturing = false;
+            }
+            assertFalse(captured.isEmpty(), name + " did not reach the database");
+            for (CapturedQuery statement : List.copyOf(captured)) {
+                for (String scan : unindexedScans(statement)) {
+                    problems.add(name + ": " + scan + "\n    " + statement.sql());
+                }
+            }
+        });
+        assertTrue(problems.isEmpty(), "Sequential scans on seeded data:\n" + String.join("\n", problems));
+    }
+
+    private List<String> unindexedScans(CapturedQuery statement) {
+        String plan = jdbcTemplate.execute((Connection connection) -> {
+            try (PreparedStatement explain = connection.prepareStatement("EXPLAIN (FORMAT JSON) " + statement.sql())) {
+                for (Map.Entry<Integer, Object> parameter : statement.parameters().entrySet()) {
+                    explain.setObject(parameter.getKey(), parameter.getValue());
+                }
+                try (ResultSet resultSet = explain.executeQuery()) {
+                    resultSet.next();
+                    return resultSet.getString(1);
+                }
+            }
+        });
+        List<String> scans = new ArrayList<>();
+        try {
+            collectUnindexedScans(objectMapper.readTree(plan).get(0).get("Plan"), false, scans);
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not read plan for " + statement.sql(), e);
+        }
+        return scans;
+    }
+
+    private void collectUnindexedScans(JsonNode node, boolean underLimit, List<String> scans) {
+        String nodeType = node.path("Node Type").asText();
+        boolean limited = underLimit || "Limit".equals(nodeType);
+        if ("Seq Scan".equals(nodeType)) {
+            String relation = node.path("Relation Name").asText();
+            double tableRows = tableRows(relation);
+            double selectivity = node.path("Plan Rows").asDouble() / Math.max(tableRows, 1);
+            if (tableRows >= MIN_TABLE_ROWS && (limited || selectivity < MAX_SEQ_SCAN_SELECTIVITY)) {
+                scans.add(String.format("Seq Scan on %s (%.0f rows, keeps %.1f%%%s)",
+                        relation, tableRows, selectivity * 100, limited ? ", under LIMIT" : ""));
+            }
+        }
+        for (JsonNode child : node.path("Plans")) {
+            collectUnindexedScans(child, limited, scans);
+        }
+    }
+
+    private double tableRows(String relation) {
+        Double rows = jdbcTemplate.queryForObject(
+                "SELECT reltuples::float8 FROM pg_class WHERE relname = ?", Double.class, relation);
+        return rows == null ? 0 : rows;
+    }
+
+    /**
+     * Citizens, complaints spread evenly over SEED_MONTHS monthly partitions, and two history rows per complaint.
+     */
+    private void seed() {
+        Integer existing = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM users WHERE email LIKE ?", Integer.class, SEED_PREFIX + "%");
+        if (existing != null && existing > 0) {
+            return;
+        }
+        LocalDate firstMonth = LocalDate.now().withDayOfMonth(1).minusMonths(SEED_MONTHS);
+        for (String table : List.of("complaints", "complaint_history")) {
+            jdbcTemplate.queryForObject("SELECT create_monthly_partitions(?, ?, ?)", Integer.class,
+                    table, firstMonth, LocalDate.now().plusMonths(1));
+        }
+
+        Long roleId = jdbcTemplate.queryForObject(
+                "INSERT INTO roles (id, name, description, is_active, is_system, is_system_generated) "
+                        + "VALUES (nextval('global_id_seq'), ?, 'Query plan test', true, false, false) RETURNING id",
+                Long.class, SEED_PREFIX + "citizen");
+        jdbcTemplate.update("INSERT INTO users (id, first_name, last_name, email, password, status, role_id) "
+                + "SELECT nextval('global_id_seq'), 'Plan', 'Test', ? || g || '@example.com', 'x', 'ACTIVE', ? "
+                + "FROM generate_series(1, ?) g", SEED_PREFIX, roleId, SEED_CITIZENS);
+        jdbcTemplate.update("INSERT INTO citizens (id, created_at) SELECT id, now() FROM users WHERE email LIKE ?",
+                SEED_PREFIX + "%");
+
+        jdbcTemplate.update("INSERT INTO complaints (id, complaint_type, governorate, government_agency, location, "
+                + "description, status, tracking_number, version, citizen_id, created_at, created_by) "
+                + "SELECT nextval('global_id_seq'), "
+                + values(ComplaintType.values()) + "[1 + g % " + ComplaintType.values().length + "], "
+                + values(Governorate.values()) + "[1 + g % " + Governorate.values().length + "], "
+                + values(GovernmentAgencyType.values()) + "[1 + g % " + GovernmentAgencyType.values().length + "], "
+                + "'Location', 'Description', "
+                + values(ComplaintStatus.values()) + "[1 + g % " + ComplaintStatus.values().length + "], "
+                + "? || g, 0, c.ids[1 + g % ?], "
+                + "?::timestamp + (g * (now() - ?::timestamp) / ?), c.ids[1 + g % ?] "
+                + "FROM generate_series(1, ?) g, (SELECT array_agg(id ORDER BY id) AS ids FROM citizens) c",
+                SEED_PREFIX, SEED_CITIZENS, firstMonth.atStartOfDay(), firstMonth.atStartOfDay(),
+                SEED_COMPLAINTS + 1, SEED_CITIZENS, SEED_COMPLAINTS);
+
+        jdbcTemplate.update("INSERT INTO complaint_history (id, complaint_id, actor_id, action_type, created_at, created_by) "
+                + "SELECT nextval('global_id_seq'), c.id, c.citizen_id, "
+                + "(ARRAY['" + HistoryActionType.CREATED.name() + "', '" + HistoryActionType.STATUS_CHANGED.name() + "'])[s], "
+                + "c.created_at + (s - 1) * INTERVAL '1 hour', c.citizen_id "
+                + "FROM complaints c, generate_series(1, 2) s");
+
+        // Complaints the database already had are projected by V10
+        jdbcTemplate.update("INSERT INTO complaint_inbox_view SELECT * FROM complaint_inbox_source ON CONFLICT (complaint_id) DO NOTHING");
+
+        jdbcTemplate.execute("VACUUM ANALYZE complaints, complaint_history, complaint_tracking_numbers, citizens, users, complaint_inbox_view");
+    }
+
+    private static String values(Enum<?>[] values) {
+        return Arrays.stream(values)
+                .map(value -> "'" + value.name() + "'")
+                .collect(Collectors.joining(",", "(ARRAY[", "])"));
+    }
+
+    record CapturedQuery(String sql, Map<Integer, Object> parameters) {
+    }
+
+    /**
+     * Wraps the DataSource so every statement Hibernate prepares while a query runs is recorded with its
+     * bound parameters, and can be explained with the same values afterwards.
+     */
+    @TestConfiguration
+    static class CapturingDataSourceConfig {
+
+        @Bean
+        static BeanPostProcessor capturingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? new CapturingDataSource(dataSource) : bean;
+                }
+            };
+        }
+    }
+
+    static class CapturingDataSource extends DelegatingDataSource {
+
+        CapturingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return capture(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return capture(super.getConnection(username, password));
+        }
+
+        private static Connection capture(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] {Connection.class},
+                    (proxy, method, args) -> {
+                        Object result = invoke(connection, method, args);
+                        if (capturing && method.getName().equals("prepareStatement") && args[0] instanceof String sql) {
+                            return capture((PreparedStatement) result, sql);
+                        }
+                        return result;
+                    });
+        }
+
+        private static PreparedStatement capture(PreparedStatement statement, String sql) {
+            Map<Integer, Object> parameters = new TreeMap<>();
+            return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                    new Class<?>[] {PreparedStatement.class},
+                    (proxy, method, args) -> {
+                        String name = method.getName();
+                        if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                            parameters.put(index, name.equals("setNull") ? null : args[1]);
+                        } else if ((name.equals("executeQuery") || name.equals("executeUpdate")) && (args == null || args.length == 0)) {
+                            // Plain EXPLAIN does not run a write, so modifying queries are checked the same way
+                            captured.add(new CapturedQuery(sql, new TreeMap<>(parameters)));
+                        }
+                        return invoke(statement, method, args);
+                    });
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
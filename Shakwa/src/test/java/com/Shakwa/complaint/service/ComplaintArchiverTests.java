@@ -0,0 +1,109 @@
+package com.Shakwa.complaint.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import com.Shakwa.complaint.event.ComplaintChangeStamps;
+import com.Shakwa.complaint.event.ComplaintEventScope;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ComplaintArchiverTests {
+
+    private static final Timestamp JANUARY = Timestamp.valueOf(LocalDateTime.of(2025, 1, 10, 9, 0));
+    private static final Timestamp MARCH = Timestamp.valueOf(LocalDateTime.of(2025, 3, 2, 14, 0));
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager("complaintLists");
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ComplaintChangeStamps changeStamps = new ComplaintChangeStamps(100);
+    private final ComplaintArchiver archiver = new ComplaintArchiver(jdbcTemplate, transactionManager, cacheManager,
+            changeStamps, meterRegistry, 180, 2, Duration.ZERO);
+
+    private final List<Object[]> deletes = new ArrayList<>();
+
+    @Test
+    void archivesChunksUntilOneIsNotFull() throws Exception {
+        Deque<List<Row>> chunks = new ArrayDeque<>(List.of(
+                List.of(new Row(1L, MARCH), new Row(2L, JANUARY)),
+                List.of(new Row(3L, MARCH))));
+        stubDatabase(chunks);
+        cacheManager.getCache("complaintLists").put("complaint:id:1", "stale");
+
+        assertEquals(3, archiver.archiveClosedComplaints());
+
+        assertEquals(2, deletes.size());
+        assertArrayEquals(new Long[] {1L, 2L}, (Long[]) deletes.get(0)[0]);
+        // The oldest complaint of the chunk bounds the partitions that are scanned
+        assertEquals(JANUARY, deletes.get(0)[1]);
+        assertArrayEquals(new Long[] {3L}, (Long[]) deletes.get(1)[0]);
+        assertEquals(3, meterRegistry.counter("shakwa.complaints.archived").count());
+        assertNull(cacheManager.getCache("complaintLists").get("complaint:id:1"));
+        assertEquals(1, changeStamps.stamp(ComplaintEventScope.all()));
+    }
+
+    @Test
+    void nothingDueLeavesCachesAlone() throws Exception {
+        stubDatabase(new ArrayDeque<>());
+        cacheManager.getCache("complaintLists").put("complaint:id:1", "active");
+
+        assertEquals(0, archiver.archiveClosedComplaints());
+
+        verify(jdbcTemplate, never()).update(anyString(), any(Object[].class));
+        assertNotNull(cacheManager.getCache("complaintLists").get("complaint:id:1"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubDatabase(Deque<List<Row>> chunks) throws Exception {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(), any())).thenAnswer(invocation -> {
+            RowMapper<Object> mapper = invocation.getArgument(1);
+            List<Object> rows = new ArrayList<>();
+            List<Row> chunk = chunks.isEmpty() ? List.of() : chunks.poll();
+            for (Row row : chunk) {
+                ResultSet resultSet = mock(ResultSet.class);
+                when(resultSet.getLong("id")).thenReturn(row.id());
+                when(resultSet.getTimestamp("created_at")).thenReturn(row.createdAt());
+                rows.add(mapper.mapRow(resultSet, rows.size()));
+            }
+            return rows;
+        });
+        when(jdbcTemplate.update(anyString(), any(Object[].class))).thenAnswer(invocation -> {
+            String sql = invocation.getArgument(0);
+            Object[] args = (Object[]) invocation.getRawArguments()[1];
+            if (sql.startsWith("DELETE")) {
+                deletes.add(args);
+                return ((Long[]) args[0]).length;
+            }
+            return 0;
+        });
+    }
+
+    private record Row(long id, Timestamp createdAt) {
+    }
+}
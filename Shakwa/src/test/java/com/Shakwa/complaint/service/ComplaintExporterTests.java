@@ -0,0 +1,142 @@
+package com.Shakwa.complaint.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+
+import com.Shakwa.complaint.Enum.ComplaintExportFormat;
+import com.Shakwa.complaint.Enum.ComplaintStatus;
+import com.Shakwa.complaint.dto.ComplaintExportFilter;
+import com.Shakwa.user.Enum.GovernmentAgencyType;
+import com.Shakwa.utils.exception.ServiceUnavailableException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ComplaintExporterTests {
+
+    private static final LocalDateTime CREATED = LocalDateTime.of(2026, 9, 14, 10, 30);
+
+    @Test
+    void queryAppliesFiltersAndVisibilityAsBindParameters() {
+        ComplaintExportFilter filter = new ComplaintExportFilter(ComplaintStatus.RESOLVED, null, null,
+                GovernmentAgencyType.وزارة_المالية, null, CREATED, null, GovernmentAgencyType.وزارة_الصحة, null);
+
+        ComplaintExporter.ExportQuery query = ComplaintExporter.query(filter);
+
+        assertTrue(query.sql().endsWith(" WHERE c.status = ? AND c.government_agency = ? AND c.created_at >= ? " +
+                "AND c.government_agency = ? ORDER BY c.created_at, c.id"));
+        assertArrayEquals(new Object[] {"RESOLVED", "وزارة_المالية", Timestamp.valueOf(CREATED), "وزارة_الصحة"}, query.args());
+    }
+
+    @Test
+    void queryWithoutFiltersExportsEverythingInCreationOrder() {
+        ComplaintExporter.ExportQuery query = ComplaintExporter.query(
+                new ComplaintExportFilter(null, null, null, null, null, null, null, null, null));
+
+        assertFalse(query.sql().contains("WHERE"));
+        assertEquals(0, query.args().length);
+    }
+
+    @Test
+    void valuesKeepTheCitizenOfAComplaintWithoutResponse() throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getString(1)).thenReturn("SHK-1");
+        when(rs.getString(5)).thenReturn("PENDING");
+        when(rs.getString(9)).thenReturn(null);
+        when(rs.getObject(10, Long.class)).thenReturn(42L);
+        when(rs.getObject(13, LocalDateTime.class)).thenReturn(CREATED);
+        // Reports the last column read, as a driver would after the null response
+        when(rs.wasNull()).thenReturn(true);
+
+        Object[] values = ComplaintExporter.values(rs);
+
+        assertEquals("PENDING", values[4]);
+        assertNull(values[8]);
+        assertEquals(42L, values[9]);
+        assertEquals(CREATED, values[12]);
+    }
+
+    @Test
+    void valuesLeaveAMissingCitizenEmpty() throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getString(9)).thenReturn("تم الحل");
+        when(rs.getObject(10, Long.class)).thenReturn(null);
+
+        Object[] values = ComplaintExporter.values(rs);
+
+        assertEquals("تم الحل", values[8]);
+        assertNull(values[9]);
+    }
+
+    @Test
+    void csvStartsWithBomAndHeaderAndNeutralizesFormulas() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ComplaintExporter.CsvSink sink = new ComplaintExporter.CsvSink(out)) {
+            sink.write(row("=HYPERLINK(\"x\")", "سطر أول\nسطر ثان"));
+            sink.finish();
+        }
+
+        String csv = out.toString(StandardCharsets.UTF_8);
+        assertTrue(csv.startsWith("\uFEFFtrackingNumber,complaintType,"));
+        assertTrue(csv.contains("\"'=HYPERLINK(\"\"x\"\")\""));
+        assertTrue(csv.contains("\"سطر أول\nسطر ثان\""));
+        assertTrue(csv.contains(",42,"));
+        assertTrue(csv.contains("2026-09-14T10:30"));
+    }
+
+    @Test
+    void xlsxHasHeaderTypedCellsAndRightToLeftSheet() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ComplaintExporter.XlsxSink sink = new ComplaintExporter.XlsxSink(out)) {
+            sink.write(row("موقع", "وصف"));
+            sink.finish();
+        }
+
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            Sheet sheet = workbook.getSheetAt(0);
+            assertTrue(sheet.isRightToLeft());
+            assertEquals("trackingNumber", sheet.getRow(0).getCell(0).getStringCellValue());
+            Row row = sheet.getRow(1);
+            assertEquals("وصف", row.getCell(6).getStringCellValue());
+            assertEquals(42, row.getCell(9).getNumericCellValue());
+            assertEquals(CREATED, row.getCell(12).getLocalDateTimeCellValue());
+            assertNull(row.getCell(13));
+        }
+    }
+
+    @Test
+    void rejectsExportsBeyondThePoolSize() {
+        ComplaintExporter exporter = new ComplaintExporter("jdbc:postgresql://localhost:1/none", "u", "p", 1, 100, 1000,
+                new SimpleMeterRegistry());
+        try {
+            ComplaintExportFilter filter = new ComplaintExportFilter(null, null, null, null, null, null, null, null, null);
+            assertNotNull(exporter.prepare(filter, ComplaintExportFormat.CSV));
+            assertThrows(ServiceUnavailableException.class, () -> exporter.prepare(filter, ComplaintExportFormat.CSV));
+        } finally {
+            exporter.shutdown();
+        }
+    }
+
+    private static Object[] row(String location, String description) {
+        return new Object[] {"SHK-1", "رسوم الخدمة", "دمشق", "وزارة الصحة", "RESOLVED", location, description,
+                null, null, 42L, "أحمد علي", null, CREATED, null};
+    }
+}
@@ -0,0 +1,110 @@
+package com.Shakwa.complaint.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.Shakwa.complaint.Enum.ComplaintImportFormat;
+import com.Shakwa.complaint.Enum.ComplaintType;
+import com.Shakwa.complaint.Enum.Governorate;
+import com.Shakwa.user.Enum.GovernmentAgencyType;
+import com.Shakwa.utils.exception.RequestNotValidException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class ComplaintImportReaderTests {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void readsCsvWithBomQuotedNewlinesAndCitizenEmail() throws Exception {
+        String csv = "complaintType,governorate,governmentAgency,location,description,citizenEmail,citizenId\r\n"
+                + "تأخر في إنجاز معاملة,ريف دمشق,وزارة المالية,\"جرمانا, الشارع العام\",\"سطر أول\nسطر ثان\",a@b.com,\r\n"
+                + "\r\n"
+                + "رسوم الخدمة,حلب,وزارة الصحة,حلب,وصف,,42\r\n";
+        byte[] bom = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+
+        List<ComplaintImportReader.Row> rows = read(concat(bom, csv.getBytes(StandardCharsets.UTF_8)), ComplaintImportFormat.CSV);
+
+        assertEquals(2, rows.size());
+        ComplaintImportReader.Row first = rows.get(0);
+        assertNull(first.error());
+        assertEquals(1, first.row());
+        assertEquals(ComplaintType.تأخر_في_إنجاز_معاملة, first.request().getComplaintType());
+        assertEquals(Governorate.ريف_دمشق, first.request().getGovernorate());
+        assertEquals(GovernmentAgencyType.وزارة_المالية, first.request().getGovernmentAgency());
+        assertEquals("جرمانا, الشارع العام", first.request().getLocation());
+        assertEquals("سطر أول\nسطر ثان", first.request().getDescription());
+        assertEquals("a@b.com", first.citizenEmail());
+        assertNull(first.request().getCitizenId());
+
+        ComplaintImportReader.Row second = rows.get(1);
+        assertEquals(42L, second.request().getCitizenId());
+        assertNull(second.citizenEmail());
+    }
+
+    @Test
+    void reportsUnknownEnumValueAsRowError() throws Exception {
+        String csv = "complaintType,governorate,governmentAgency,location,description\n"
+                + "غير موجود,دمشق,وزارة المالية,دمشق,وصف\n";
+
+        List<ComplaintImportReader.Row> rows = read(csv.getBytes(StandardCharsets.UTF_8), ComplaintImportFormat.CSV);
+
+        assertEquals(1, rows.size());
+        assertNull(rows.get(0).request());
+        assertNotNull(rows.get(0).error());
+    }
+
+    @Test
+    void readsNdjsonAndNumbersRowsByLine() throws Exception {
+        String ndjson = "{\"complaintType\":\"رسوم الخدمة\",\"governorate\":\"حمص\",\"governmentAgency\":\"وزارة الصحة\","
+                + "\"location\":\"حمص\",\"description\":\"وصف\",\"citizenEmail\":\" c@d.com \"}\n"
+                + "\n"
+                + "{not json\n"
+                + "[1, 2]\n";
+
+        List<ComplaintImportReader.Row> rows = read(ndjson.getBytes(StandardCharsets.UTF_8), ComplaintImportFormat.NDJSON);
+
+        assertEquals(3, rows.size());
+        assertNull(rows.get(0).error());
+        assertEquals(Governorate.حمص, rows.get(0).request().getGovernorate());
+        assertEquals("c@d.com", rows.get(0).citizenEmail());
+        assertEquals(3, rows.get(1).row());
+        assertNotNull(rows.get(1).error());
+        assertEquals(4, rows.get(2).row());
+        assertEquals("Each line must be a JSON object", rows.get(2).error());
+    }
+
+    @Test
+    void detectsFormatFromContentTypeAndFileName() {
+        assertEquals(ComplaintImportFormat.CSV, ComplaintImportFormat.fromContentType("text/csv; charset=UTF-8"));
+        assertEquals(ComplaintImportFormat.NDJSON, ComplaintImportFormat.fromFileName("intake.jsonl"));
+        assertThrows(RequestNotValidException.class, () -> ComplaintImportFormat.fromContentType("application/json"));
+    }
+
+    private List<ComplaintImportReader.Row> read(byte[] input, ComplaintImportFormat format) throws Exception {
+        List<ComplaintImportReader.Row> rows = new ArrayList<>();
+        try (ComplaintImportReader reader = new ComplaintImportReader(new ByteArrayInputStream(input), format, objectMapper)) {
+            reader.forEachRemaining(rows::add);
+            assertFalse(reader.hasNext());
+        }
+        return rows;
+    }
+
+    private static byte[] concat(byte[]... parts) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (byte[] part : parts) {
+            out.writeBytes(part);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,176 @@
+package com.Shakwa.complaint.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.Shakwa.complaint.Enum.ComplaintImportFormat;
+import com.Shakwa.complaint.dto.ComplaintImportReport;
+import com.Shakwa.complaint.event.ComplaintChangeStamps;
+import com.Shakwa.user.entity.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Chunk transactions of the bulk import against a real PostgreSQL database and transaction manager.
+ *
+ * Uses the same database as ComplaintQueryPlanTests (migrated by Flyway; the rows it adds are removed again):
+ *   SHAKWA_PLAN_TEST_DB_URL=jdbc:postgresql://localhost:5432/shakwa_plan_test mvn test -Dtest=ComplaintImporterTests
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=${SHAKWA_PLAN_TEST_DB_URL}",
+        "spring.datasource.username=${SHAKWA_PLAN_TEST_DB_USER:postgres}",
+        "spring.datasource.password=${SHAKWA_PLAN_TEST_DB_PASSWORD:password}",
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@EnabledIfEnvironmentVariable(named = "SHAKWA_PLAN_TEST_DB_URL", matches = ".+")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ComplaintImporterTests {
+
+    private static final String HEADER = "complaintType,governorate,governmentAgency,location,description,citizenEmail\n";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Long roleId;
+    private Long citizenId;
+    private String citizenEmail;
+
+    @BeforeEach
+    void createCitizen() {
+        jdbcTemplate.queryForObject("SELECT create_monthly_partitions(?, ?, ?)", Integer.class,
+                "complaints", LocalDate.now().withDayOfMonth(1), LocalDate.now().plusMonths(1));
+        jdbcTemplate.queryForObject("SELECT create_monthly_partitions(?, ?, ?)", Integer.class,
+                "complaint_history", LocalDate.now().withDayOfMonth(1), LocalDate.now().plusMonths(1));
+
+        citizenEmail = "import-test-" + System.nanoTime() + "@example.com";
+        roleId = jdbcTemplate.queryForObject(
+                "INSERT INTO roles (id, name, description, is_active, is_system, is_system_generated) "
+                        + "VALUES (nextval('global_id_seq'), ?, 'Import test', true, false, false) RETURNING id",
+                Long.class, citizenEmail);
+        citizenId = jdbcTemplate.queryForObject("INSERT INTO users (id, first_name, last_name, email, password, status, role_id) "
+                + "VALUES (nextval('global_id_seq'), 'Import', 'Test', ?, 'x', 'ACTIVE', ?) RETURNING id", Long.class, citizenEmail, roleId);
+        jdbcTemplate.update("INSERT INTO citizens (id, created_at) VALUES (?, now())", citizenId);
+    }
+
+    @AfterEach
+    void removeCitizen() {
+        jdbcTemplate.update("DELETE FROM complaint_inbox_view WHERE citizen_id = ?", citizenId);
+        // complaints_delete_children removes the history and tracking numbers
+        jdbcTemplate.update("DELETE FROM complaints WHERE citizen_id = ?", citizenId);
+        jdbcTemplate.update("DELETE FROM citizens WHERE id = ?", citizenId);
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", citizenId);
+        jdbcTemplate.update("DELETE FROM roles WHERE id = ?", roleId);
+    }
+
+    @Test
+    void failedChunkLeavesEarlierAndLaterChunksCommittedInsideACallersTransaction() throws Exception {
+        // Chunks of two: [1, 2] [3, 4] [5]; PostgreSQL rejects the NUL character of row 3, which fails its chunk
+        String csv = HEADER
+                + row("وصف 1")
+                + row("وصف 2")
+                + row("وصف \u0000 3")
+                + row("وصف 4")
+                + row("وصف 5");
+
+        // A caller's transaction (e.g. the class-level @Transactional of ComplaintService) that ends up rolled back
+        ComplaintImportReport report = new TransactionTemplate(transactionManager).execute(tx -> {
+            try {
+                return importer().importComplaints(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)),
+                        ComplaintImportFormat.CSV, actor());
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            } finally {
+                tx.setRollbackOnly();
+            }
+        });
+
+        assertEquals(5, report.getRows());
+        assertEquals(3, report.getImported());
+        assertEquals(2, report.getFailed());
+        assertEquals(List.of(3L, 4L), report.getErrors().stream().map(ComplaintImportReport.RowError::row).toList());
+        assertTrue(report.getErrors().get(0).message().startsWith("Not imported, its chunk was rolled back"));
+
+        assertEquals(List.of("وصف 1", "وصف 2", "وصف 5"), jdbcTemplate.queryForList(
+                "SELECT description FROM complaints WHERE citizen_id = ? ORDER BY id", String.class, citizenId));
+        assertEquals(3, count("SELECT count(*) FROM complaint_history h JOIN complaints c ON c.id = h.complaint_id "
+                + "WHERE c.citizen_id = ? AND h.action_type = 'CREATED'"));
+        assertEquals(3, count("SELECT count(*) FROM complaint_inbox_view WHERE citizen_id = ?"));
+        assertEquals(3, count("SELECT count(*) FROM complaint_tracking_numbers t JOIN complaints c ON c.tracking_number = t.tracking_number "
+                + "WHERE c.citizen_id = ?"));
+    }
+
+    @Test
+    void chunkThatCannotReserveTrackingNumbersIsReportedAndTheImportGoesOn() throws Exception {
+        // The first two numbers go to chunk [1, 2]; after that the generator only repeats them
+        String prefix = "SHK-T" + System.nanoTime() % 1_000_000_000 + "-";
+        TrackingNumberGenerator repeating = new TrackingNumberGenerator() {
+            private int calls;
+
+            @Override
+            public String generate() {
+                return prefix + (calls++ % 2);
+            }
+        };
+        String csv = HEADER + row("وصف 1") + row("وصف 2") + row("وصف 3") + row("وصف 4") + row("وصف 5");
+
+        ComplaintImportReport report = importer(repeating).importComplaints(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), ComplaintImportFormat.CSV, actor());
+
+        assertEquals(5, report.getRows());
+        assertEquals(2, report.getImported());
+        assertEquals(3, report.getFailed());
+        assertEquals(List.of(3L, 4L, 5L), report.getErrors().stream().map(ComplaintImportReport.RowError::row).toList());
+        assertTrue(report.getErrors().get(0).message().endsWith("Unable to generate unique tracking numbers"));
+        assertEquals(List.of("وصف 1", "وصف 2"), jdbcTemplate.queryForList(
+                "SELECT description FROM complaints WHERE citizen_id = ? ORDER BY id", String.class, citizenId));
+    }
+
+    private ComplaintImporter importer() {
+        return importer(new TrackingNumberGenerator());
+    }
+
+    private ComplaintImporter importer(TrackingNumberGenerator trackingNumberGenerator) {
+        return new ComplaintImporter(jdbcTemplate, transactionManager, new ObjectMapper(), trackingNumberGenerator,
+                new ConcurrentMapCacheManager("complaintLists"), new ComplaintChangeStamps(100), new SimpleMeterRegistry(), 2, 100);
+    }
+
+    private User actor() {
+        User actor = new User();
+        actor.setId(citizenId);
+        return actor;
+    }
+
+    private String row(String description) {
+        return "رسوم الخدمة,دمشق,وزارة الصحة,دمشق," + description + "," + citizenEmail + "\n";
+    }
+
+    private long count(String sql) {
+        Long count = jdbcTemplate.queryForObject(sql, Long.class, citizenId);
+        return count == null ? 0 : count;
+    }
+}
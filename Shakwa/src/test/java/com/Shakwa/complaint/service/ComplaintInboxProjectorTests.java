@@ -0,0 +1,62 @@
+package com.Shakwa.complaint.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import com.Shakwa.complaint.Enum.ComplaintChangeType;
+import com.Shakwa.complaint.Enum.ComplaintStatus;
+import com.Shakwa.complaint.event.ComplaintChangeStamps;
+import com.Shakwa.complaint.event.ComplaintChangedEvent;
+import com.Shakwa.complaint.event.ComplaintEventScope;
+import com.Shakwa.complaint.repository.ComplaintInboxRepository;
+import com.Shakwa.user.Enum.GovernmentAgencyType;
+
+class ComplaintInboxProjectorTests {
+
+    private final ComplaintInboxRepository inboxRepository = mock(ComplaintInboxRepository.class);
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager("complaintLists");
+    private final ComplaintChangeStamps changeStamps = new ComplaintChangeStamps(100);
+    private final ComplaintInboxProjector projector = new ComplaintInboxProjector(inboxRepository, jdbcTemplate,
+            transactionManager, cacheManager, changeStamps);
+
+    @Test
+    void changeRefreshesItsComplaintsRow() {
+        projector.onComplaintChanged(new ComplaintChangedEvent(ComplaintChangeType.DELETED, 42L, "SHK-1",
+                GovernmentAgencyType.وزارة_الصحة, 7L, ComplaintStatus.PENDING, ComplaintStatus.PENDING, LocalDateTime.now()));
+
+        verify(inboxRepository).refresh(42L);
+    }
+
+    @Test
+    void rebuildRefillsInOneTransactionAndInvalidatesLists() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(jdbcTemplate.update("INSERT INTO complaint_inbox_view SELECT * FROM complaint_inbox_source")).thenReturn(3);
+        cacheManager.getCache("complaintLists").put("inbox:all:page:0:size:10", "stale");
+
+        assertEquals(3, projector.rebuild());
+
+        InOrder order = inOrder(transactionManager, jdbcTemplate);
+        order.verify(transactionManager).getTransaction(any());
+        order.verify(jdbcTemplate).execute("TRUNCATE complaint_inbox_view");
+        order.verify(jdbcTemplate).update("INSERT INTO complaint_inbox_view SELECT * FROM complaint_inbox_source");
+        order.verify(transactionManager).commit(any());
+        assertNull(cacheManager.getCache("complaintLists").get("inbox:all:page:0:size:10"));
+        assertEquals(1, changeStamps.stamp(ComplaintEventScope.all()));
+    }
+}
@@ -0,0 +1,104 @@
+package com.Shakwa.complaint.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import com.Shakwa.complaint.Enum.ComplaintChangeType;
+import com.Shakwa.complaint.Enum.ComplaintStatus;
+import com.Shakwa.complaint.event.ComplaintChangedEvent;
+import com.Shakwa.user.Enum.GovernmentAgencyType;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ComplaintLeaseManagerTests {
+
+    private static final GovernmentAgencyType AGENCY = GovernmentAgencyType.وزارة_الصحة;
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager("complaintLists");
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<Object> published = new ArrayList<>();
+    private final ApplicationEventPublisher eventPublisher = published::add;
+    private final ComplaintLeaseManager leaseManager = new ComplaintLeaseManager(jdbcTemplate, transactionManager,
+            cacheManager, eventPublisher, meterRegistry, Duration.ofMinutes(10), 2);
+
+    @Test
+    void sweepReleasesBatchesAndPublishesStatusChanges() throws Exception {
+        Deque<List<Long>> batches = new ArrayDeque<>(List.of(List.of(11L, 12L), List.of(13L)));
+        stubSweep(batches);
+        cacheManager.getCache("complaintLists").put("complaints:agency:x", "stale");
+
+        assertEquals(3, leaseManager.releaseExpired());
+
+        assertEquals(3, published.size());
+        ComplaintChangedEvent first = (ComplaintChangedEvent) published.get(0);
+        assertEquals(ComplaintChangeType.STATUS_CHANGED, first.type());
+        assertEquals(11L, first.complaintId());
+        assertEquals(AGENCY, first.governmentAgency());
+        assertEquals(ComplaintStatus.PENDING, first.status());
+        assertEquals(ComplaintStatus.IN_PROGRESS, first.previousStatus());
+        assertEquals(3, meterRegistry.counter("shakwa.complaints.leases.expired").count());
+        assertNull(cacheManager.getCache("complaintLists").get("complaints:agency:x"));
+    }
+
+    @Test
+    void nothingExpiredLeavesCachesAlone() throws Exception {
+        stubSweep(new ArrayDeque<>());
+        cacheManager.getCache("complaintLists").put("complaints:agency:x", "fresh");
+
+        assertEquals(0, leaseManager.releaseExpired());
+
+        assertEquals(0, published.size());
+        assertNotNull(cacheManager.getCache("complaintLists").get("complaints:agency:x"));
+    }
+
+    @Test
+    void acquireReportsWhetherTheLeaseIsNew() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Boolean.class), eq(5L), eq(7L), eq(600_000L)))
+                .thenReturn(true, false);
+
+        assertEquals(true, leaseManager.acquire(5L, 7L));
+        // Renewing one's own live lease is not a new lock
+        assertEquals(false, leaseManager.acquire(5L, 7L));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubSweep(Deque<List<Long>> batches) throws Exception {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), eq(2))).thenAnswer(invocation -> {
+            RowMapper<Object> mapper = invocation.getArgument(1);
+            List<Object> rows = new ArrayList<>();
+            for (Long id : batches.isEmpty() ? List.<Long>of() : batches.poll()) {
+                ResultSet resultSet = mock(ResultSet.class);
+                when(resultSet.getLong("id")).thenReturn(id);
+                when(resultSet.getString("tracking_number")).thenReturn("TRK-" + id);
+                when(resultSet.getString("government_agency")).thenReturn(AGENCY.name());
+                when(resultSet.getLong("citizen_id")).thenReturn(3L);
+                rows.add(mapper.mapRow(resultSet, rows.size()));
+            }
+            return rows;
+        });
+    }
+}
@@ -0,0 +1,343 @@
+package com.Shakwa.complaint.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.Shakwa.complaint.Enum.ComplaintStatus;
+import com.Shakwa.complaint.Enum.ComplaintType;
+import com.Shakwa.complaint.Enum.Governorate;
+import com.Shakwa.complaint.dto.ComplaintDTORequest;
+import com.Shakwa.complaint.dto.ComplaintDTOResponse;
+import com.Shakwa.complaint.event.ComplaintChangeStamps;
+import com.Shakwa.complaint.mapper.ComplaintHistoryMapper;
+import com.Shakwa.complaint.mapper.ComplaintMapper;
+import com.Shakwa.complaint.storage.AttachmentStorageService;
+import com.Shakwa.complaint.storage.AttachmentUrlSigner;
+import com.Shakwa.complaint.storage.ComplaintStorageProperties;
+import com.Shakwa.user.Enum.GovernmentAgencyType;
+import com.Shakwa.user.entity.User;
+import com.Shakwa.user.repository.UserRepository;
+import com.Shakwa.utils.auditing.ApplicationAuditingAware;
+import com.Shakwa.utils.controller.ETags;
+import com.Shakwa.utils.exception.PreconditionFailedException;
+import com.Shakwa.utils.exception.UnAuthorizedException;
+import com.Shakwa.utils.response.AttachmentBundleResponse;
+import com.Shakwa.utils.response.FileDownloadResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityNotFoundException;
+
+/**
+ * ComplaintService against the real repositories, transactions and SQL (archive tables, conditional updates).
+ * Collaborators that do not touch the database are mocks.
+ *
+ * Uses the same database as ComplaintQueryPlanTests (migrated by Flyway; the rows it adds are removed again):
+ *   SHAKWA_PLAN_TEST_DB_URL=jdbc:postgresql://localhost:5432/shakwa_plan_test mvn test -Dtest=ComplaintServiceTests
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=${SHAKWA_PLAN_TEST_DB_URL}",
+        "spring.datasource.username=${SHAKWA_PLAN_TEST_DB_USER:postgres}",
+        "spring.datasource.password=${SHAKWA_PLAN_TEST_DB_PASSWORD:password}",
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@EnabledIfEnvironmentVariable(named = "SHAKWA_PLAN_TEST_DB_URL", matches = ".+")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ComplaintService.class, ComplaintHistoryService.class, ComplaintMapper.class, ComplaintHistoryMapper.class,
+        ComplaintServiceTests.Collaborators.class})
+class ComplaintServiceTests {
+
+    private static final String AGENCY = "وزارة_الصحة";
+    private static final String OTHER_AGENCY = "وزارة_المالية";
+
+    @Autowired
+    private ComplaintService complaintService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AttachmentStorageService attachmentStorageService;
+
+    @Autowired
+    private ComplaintLeaseManager complaintLeaseManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private String prefix;
+    private Long roleId;
+    private Long citizenId;
+    private Long employeeId;
+    private Long otherEmployeeId;
+    private Long archivedComplaintId;
+    private Long archivedAttachmentId;
+
+    @BeforeEach
+    void createUsers() {
+        jdbcTemplate.queryForObject("SELECT create_monthly_partitions(?, ?, ?)", Integer.class,
+                "complaints", LocalDate.now().withDayOfMonth(1), LocalDate.now().plusMonths(1));
+        jdbcTemplate.queryForObject("SELECT create_monthly_partitions(?, ?, ?)", Integer.class,
+                "complaint_history", LocalDate.now().withDayOfMonth(1), LocalDate.now().plusMonths(1));
+        prefix = "service-test-" + System.nanoTime() + "-";
+        roleId = jdbcTemplate.queryForObject(
+                "INSERT INTO roles (id, name, description, is_active, is_system, is_system_generated) "
+                        + "VALUES (nextval('global_id_seq'), ?, 'Service test', true, false, false) RETURNING id",
+                Long.class, prefix + "role");
+        citizenId = user("citizen");
+        jdbcTemplate.update("INSERT INTO citizens (id, created_at) VALUES (?, now())", citizenId);
+        employeeId = user("employee");
+        jdbcTemplate.update("INSERT INTO employees (id, government_agency) VALUES (?, ?)", employeeId, AGENCY);
+        otherEmployeeId = user("other-employee");
+        jdbcTemplate.update("INSERT INTO employees (id, government_agency) VALUES (?, ?)", otherEmployeeId, OTHER_AGENCY);
+    }
+
+    @AfterEach
+    void removeRows() {
+        SecurityContextHolder.clearContext();
+        reset(complaintLeaseManager);
+        jdbcTemplate.update("DELETE FROM complaint_inbox_view WHERE citizen_id = ?", citizenId);
+        // complaints_delete_children removes the history and tracking numbers
+        jdbcTemplate.update("DELETE FROM complaints WHERE citizen_id = ?", citizenId);
+        if (archivedComplaintId != null) {
+            jdbcTemplate.update("DELETE FROM complaint_attachments_archive WHERE complaint_id = ?", archivedComplaintId);
+            jdbcTemplate.update("DELETE FROM complaints_archive WHERE id = ?", archivedComplaintId);
+        }
+        jdbcTemplate.update("DELETE FROM employees WHERE id IN (?, ?)", employeeId, otherEmployeeId);
+        jdbcTemplate.update("DELETE FROM citizens WHERE id = ?", citizenId);
+        jdbcTemplate.update("DELETE FROM users WHERE role_id = ?", roleId);
+        jdbcTemplate.update("DELETE FROM roles WHERE id = ?", roleId);
+    }
+
+    @Test
+    void downloadsAttachmentOfArchivedComplaint() {
+        archiveComplaint(AGENCY);
+        when(attachmentStorageService.loadAsResource("2024/01/old.pdf")).thenReturn(new ByteArrayResource(new byte[12]));
+        signInAs("citizen");
+
+        FileDownloadResponse download = complaintService.downloadAttachment(archivedComplaintId, archivedAttachmentId);
+
+        assertEquals("old.pdf", download.filename());
+        assertEquals("application/pdf", download.contentType());
+        assertEquals(12, download.size());
+        assertThrows(EntityNotFoundException.class,
+                () -> complaintService.downloadAttachment(archivedComplaintId + 1, archivedAttachmentId));
+    }
+
+    @Test
+    void bundlesAttachmentsOfArchivedComplaint() {
+        archiveComplaint(AGENCY);
+        signInAs("employee");
+
+        AttachmentBundleResponse bundle = complaintService.prepareAttachmentBundle(archivedComplaintId);
+
+        assertEquals(prefix + "ARC-attachments.zip", bundle.filename());
+        assertEquals(List.of(new AttachmentBundleResponse.Entry("2024/01/old.pdf", "old.pdf", "application/pdf", 12)), bundle.entries());
+    }
+
+    @Test
+    void archivedAttachmentsKeepTheAccessChecks() {
+        archiveComplaint(AGENCY);
+        signInAs("other-employee");
+
+        assertThrows(UnAuthorizedException.class,
+                () -> complaintService.downloadAttachment(archivedComplaintId, archivedAttachmentId));
+        assertThrows(UnAuthorizedException.class, () -> complaintService.prepareAttachmentBundle(archivedComplaintId));
+    }
+
+    @Test
+    void staleIfMatchAnswers412WithCurrentRepresentationAndETag() {
+        Long id = complaint(ComplaintStatus.PENDING, null);
+        jdbcTemplate.update("UPDATE complaints SET version = 2, description = 'وصف أحدث' WHERE id = ?", id);
+        signInAs("employee");
+
+        PreconditionFailedException stale = assertThrows(PreconditionFailedException.class,
+                () -> complaintService.updateComplaint(id, request("وصف جديد", ComplaintStatus.RESOLVED), 1L));
+
+        ComplaintDTOResponse current = (ComplaintDTOResponse) stale.getCurrentRepresentation();
+        assertEquals(2L, current.getVersion());
+        assertEquals("وصف أحدث", current.getDescription());
+        assertEquals(complaintService.complaintETag(2), stale.getETag());
+        assertEquals(2L, version(id));
+        assertEquals(0, historyRows(id));
+    }
+
+    @Test
+    void anyVersionSkipsTheVersionCheck() {
+        Long id = complaint(ComplaintStatus.PENDING, null);
+        jdbcTemplate.update("UPDATE complaints SET version = 4 WHERE id = ?", id);
+        signInAs("employee");
+
+        ComplaintDTOResponse updated = complaintService.updateComplaint(id, request("وصف جديد", ComplaintStatus.RESOLVED), ETags.ANY_VERSION);
+
+        assertEquals(5L, updated.getVersion());
+        assertEquals(5L, version(id));
+        assertEquals("وصف جديد", jdbcTemplate.queryForObject("SELECT description FROM complaints WHERE id = ?", String.class, id));
+        // Status change and description update
+        assertEquals(2, historyRows(id));
+    }
+
+    @Test
+    void writeCommittedAfterTheReadRollsBackHistoryAndAnswers412() {
+        // IN_PROGRESS under another employee: the lease check runs between the read and the conditional UPDATE
+        Long id = complaint(ComplaintStatus.IN_PROGRESS, otherEmployeeId);
+        TransactionTemplate concurrentWrite = new TransactionTemplate(transactionManager);
+        concurrentWrite.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        when(complaintLeaseManager.isHeld(anyLong(), anyLong())).thenAnswer(invocation -> {
+            concurrentWrite.executeWithoutResult(tx -> jdbcTemplate.update(
+                    "UPDATE complaints SET version = version + 1, response = 'رد آخر' WHERE id = ?", id));
+            return false;
+        });
+        signInAs("employee");
+
+        PreconditionFailedException stale = assertThrows(PreconditionFailedException.class,
+                () -> complaintService.updateComplaint(id, request("وصف جديد", ComplaintStatus.RESOLVED), 0L));
+
+        ComplaintDTOResponse current = (ComplaintDTOResponse) stale.getCurrentRepresentation();
+        assertEquals(1L, current.getVersion());
+        assertEquals("رد آخر", current.getResponse());
+        assertEquals(complaintService.complaintETag(1), stale.getETag());
+        // The status change and description history written before the UPDATE found version 1 were rolled back
+        assertEquals(0, historyRows(id));
+        assertEquals("وصف", jdbcTemplate.queryForObject("SELECT description FROM complaints WHERE id = ?", String.class, id));
+    }
+
+    private void archiveComplaint(String agency) {
+        LocalDateTime createdAt = LocalDate.now().minusYears(2).atStartOfDay();
+        archivedComplaintId = jdbcTemplate.queryForObject("INSERT INTO complaints_archive (id, complaint_type, governorate, "
+                + "government_agency, location, description, status, tracking_number, version, citizen_id, created_at, "
+                + "created_by, archived_at) VALUES (nextval('global_id_seq'), 'رسوم_الخدمة', 'دمشق', ?, 'دمشق', 'وصف', "
+                + "'CLOSED', ?, 3, ?, ?, ?, now()) RETURNING id",
+                Long.class, agency, prefix + "ARC", citizenId, createdAt, citizenId);
+        archivedAttachmentId = jdbcTemplate.queryForObject("INSERT INTO complaint_attachments_archive (id, complaint_id, "
+                + "original_filename, stored_filename, storage_path, content_type, file_size, checksum, uploaded_at, archived_at) "
+                + "VALUES (nextval('global_id_seq'), ?, 'old.pdf', 'old-stored.pdf', '2024/01/old.pdf', 'application/pdf', 12, "
+                + "'c', ?, now()) RETURNING id",
+                Long.class, archivedComplaintId, createdAt);
+    }
+
+    private Long complaint(ComplaintStatus status, Long respondedBy) {
+        return jdbcTemplate.queryForObject("INSERT INTO complaints (id, complaint_type, governorate, government_agency, "
+                + "location, description, status, responded_by, tracking_number, version, citizen_id, created_at, created_by) "
+                + "VALUES (nextval('global_id_seq'), 'رسوم_الخدمة', 'دمشق', ?, 'دمشق', 'وصف', ?, ?, ?, 0, ?, now(), ?) RETURNING id",
+                Long.class, AGENCY, status.name(), respondedBy, prefix + "ACT", citizenId, citizenId);
+    }
+
+    private ComplaintDTORequest request(String description, ComplaintStatus status) {
+        ComplaintDTORequest request = new ComplaintDTORequest();
+        request.setComplaintType(ComplaintType.رسوم_الخدمة);
+        request.setGovernorate(Governorate.دمشق);
+        request.setGovernmentAgency(GovernmentAgencyType.وزارة_الصحة);
+        request.setLocation("دمشق");
+        request.setDescription(description);
+        request.setStatus(status);
+        return request;
+    }
+
+    private long version(Long id) {
+        return jdbcTemplate.queryForObject("SELECT version FROM complaints WHERE id = ?", Long.class, id);
+    }
+
+    private long historyRows(Long id) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM complaint_history WHERE complaint_id = ?", Long.class, id);
+    }
+
+    private Long user(String name) {
+        return jdbcTemplate.queryForObject("INSERT INTO users (id, first_name, last_name, email, password, status, role_id) "
+                + "VALUES (nextval('global_id_seq'), 'Service', 'Test', ?, 'x', 'ACTIVE', ?) RETURNING id",
+                Long.class, prefix + name + "@example.com", roleId);
+    }
+
+    private void signInAs(String name) {
+        // Principal is the user entity, as set by the JWT filter (ApplicationAuditingAware reads its id)
+        User user = userRepository.findByEmail(prefix + name + "@example.com").orElseThrow();
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+
+    @TestConfiguration
+    static class Collaborators {
+
+        @Bean
+        AuditorAware<Long> auditorAware() {
+            return new ApplicationAuditingAware();
+        }
+
+        @Bean
+        ObjectMapper objectMapper() {
+            return new ObjectMapper();
+        }
+
+        @Bean
+        AttachmentUrlSigner attachmentUrlSigner() {
+            ComplaintStorageProperties properties = new ComplaintStorageProperties();
+            properties.setDownloadUrlSecret("service-test-secret");
+            properties.setDownloadUrlTtl(Duration.ofMinutes(5));
+            return new AttachmentUrlSigner(properties);
+        }
+
+        @Bean
+        AttachmentStorageService attachmentStorageService() {
+            return mock(AttachmentStorageService.class);
+        }
+
+        @Bean
+        TrackingNumberGenerator trackingNumberGenerator() {
+            return new TrackingNumberGenerator();
+        }
+
+        @Bean
+        ContentTypeSniffer contentTypeSniffer() {
+            return mock(ContentTypeSniffer.class);
+        }
+
+        @Bean
+        ComplaintLeaseManager complaintLeaseManager() {
+            return mock(ComplaintLeaseManager.class);
+        }
+
+        @Bean
+        ComplaintChangeStamps complaintChangeStamps() {
+            return new ComplaintChangeStamps(100);
+        }
+
+        @Bean
+        ComplaintImporter complaintImporter() {
+            return mock(ComplaintImporter.class);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.Shakwa.complaint.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+
+class ContentTypeSnifferTests {
+
+    private final ContentTypeSniffer sniffer = new ContentTypeSniffer();
+
+    @Test
+    void detectsValidPng() throws Exception {
+        byte[] png = concat(new byte[]{(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n', 0, 0, 0, 13, 'I', 'H', 'D', 'R'}, new byte[4000]);
+        assertEquals(ContentTypeSniffer.IMAGE_PNG, sniffer.detect(file("a.png", png)));
+    }
+
+    @Test
+    void rejectsPngWithoutIhdr() throws Exception {
+        byte[] png = concat(new byte[]{(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n', 0, 0, 0, 13, 'X', 'X', 'X', 'X'}, new byte[10]);
+        assertEquals(ContentTypeSniffer.INVALID_STRUCTURE, sniffer.detect(file("a.png", png)));
+    }
+
+    @Test
+    void detectsJpegWithEoiMarker() throws Exception {
+        byte[] jpeg = concat(new byte[]{(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xE0}, new byte[5000], new byte[]{(byte) 0xFF, (byte) 0xD9});
+        assertEquals(ContentTypeSniffer.IMAGE_JPEG, sniffer.detect(file("a.jpg", jpeg)));
+    }
+
+    @Test
+    void rejectsTruncatedJpeg() throws Exception {
+        byte[] jpeg = concat(new byte[]{(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xE0}, new byte[5000]);
+        assertEquals(ContentTypeSniffer.INVALID_STRUCTURE, sniffer.detect(file("a.jpg", jpeg)));
+    }
+
+    @Test
+    void detectsPdfWithTrailer() throws Exception {
+        byte[] pdf = concat("%PDF-1.7\n".getBytes(StandardCharsets.US_ASCII), new byte[3000], "trailer\n%%EOF\n".getBytes(StandardCharsets.US_ASCII));
+        assertEquals(ContentTypeSniffer.APPLICATION_PDF, sniffer.detect(file("a.pdf", pdf)));
+    }
+
+    @Test
+    void fallsBackToTikaForUnknownSignatures() throws Exception {
+        byte[] text = "just some plain text".getBytes(StandardCharsets.US_ASCII);
+        assertNull(ContentTypeSniffer.sniff(text, 16, text, text.length));
+        assertEquals("text/plain", sniffer.detect(file("notes.txt", text)));
+    }
+
+    private static MockMultipartFile file(String name, byte[] content) {
+        return new MockMultipartFile("files", name, null, content);
+    }
+
+    private static byte[] concat(byte[]... parts) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (byte[] part : parts) {
+            out.writeBytes(part);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,99 @@
+package com.Shakwa.complaint.storage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+import org.junit.jupiter.api.Test;
+
+import com.Shakwa.complaint.entity.ComplaintAttachment;
+import com.Shakwa.utils.exception.UnAuthorizedException;
+
+class AttachmentUrlSignerTests {
+
+    private static final Instant NOW = Instant.parse("2026-10-19T10:00:00Z");
+
+    @Test
+    void roundTripsTheAttachmentDetails() {
+        AttachmentUrlSigner signer = signer("secret-a", NOW);
+
+        AttachmentUrlSigner.SignedToken token = signer.sign(attachment());
+        AttachmentUrlSigner.SignedDownload download = signer.verify(token.token());
+
+        assertEquals("2026/10/abc.pdf", download.storagePath());
+        assertEquals("تقرير.pdf", download.filename());
+        assertEquals("application/pdf", download.contentType());
+        assertEquals(2048, download.size());
+        assertEquals(NOW.plus(Duration.ofMinutes(5)), download.expiresAt());
+        assertEquals(token.expiresAt(), download.expiresAt());
+        assertEquals(Duration.ofMinutes(5), download.remaining());
+    }
+
+    @Test
+    void rejectsATamperedPayload() {
+        AttachmentUrlSigner signer = signer("secret-a", NOW);
+        String token = signer.sign(attachment()).token();
+        String signature = token.substring(token.indexOf('.'));
+        // Same signature over a payload pointing at another file
+        String otherPayload = new String(Base64.getUrlDecoder().decode(token.substring(0, token.indexOf('.'))), StandardCharsets.UTF_8)
+                .replace("abc.pdf", "xyz.pdf");
+        String forged = Base64.getUrlEncoder().withoutPadding().encodeToString(otherPayload.getBytes(StandardCharsets.UTF_8)) + signature;
+
+        assertThrows(UnAuthorizedException.class, () -> signer.verify(forged));
+    }
+
+    @Test
+    void rejectsATamperedOrMalformedSignature() {
+        AttachmentUrlSigner signer = signer("secret-a", NOW);
+        String token = signer.sign(attachment()).token();
+        int dot = token.indexOf('.');
+        // First signature character: every bit of it is significant (the last one carries padding bits)
+        char first = token.charAt(dot + 1);
+        String flipped = token.substring(0, dot + 1) + (first == 'A' ? 'B' : 'A') + token.substring(dot + 2);
+
+        assertThrows(UnAuthorizedException.class, () -> signer.verify(flipped));
+        assertThrows(UnAuthorizedException.class, () -> signer.verify(token.substring(0, token.indexOf('.'))));
+        assertThrows(UnAuthorizedException.class, () -> signer.verify("not base64!.%%%"));
+        assertThrows(UnAuthorizedException.class, () -> signer.verify(null));
+    }
+
+    @Test
+    void rejectsATokenSignedWithAnotherKey() {
+        String token = signer("secret-a", NOW).sign(attachment()).token();
+
+        assertThrows(UnAuthorizedException.class, () -> signer("secret-b", NOW).verify(token));
+    }
+
+    @Test
+    void rejectsAnExpiredToken() {
+        String token = signer("secret-a", NOW).sign(attachment()).token();
+
+        assertEquals(Duration.ofMinutes(3), signer("secret-a", NOW.plus(Duration.ofMinutes(2))).verify(token).remaining());
+        assertEquals(Duration.ofSeconds(1), signer("secret-a", NOW.plus(Duration.ofMinutes(5)).minusSeconds(1)).verify(token).remaining());
+        UnAuthorizedException expired = assertThrows(UnAuthorizedException.class,
+                () -> signer("secret-a", NOW.plus(Duration.ofMinutes(5))).verify(token));
+        assertEquals("Download link has expired", expired.getMessage());
+    }
+
+    private static AttachmentUrlSigner signer(String secret, Instant now) {
+        ComplaintStorageProperties properties = new ComplaintStorageProperties();
+        properties.setDownloadUrlSecret(secret);
+        properties.setDownloadUrlTtl(Duration.ofMinutes(5));
+        return new AttachmentUrlSigner(properties, Clock.fixed(now, ZoneOffset.UTC));
+    }
+
+    private static ComplaintAttachment attachment() {
+        ComplaintAttachment attachment = new ComplaintAttachment();
+        attachment.setStoragePath("2026/10/abc.pdf");
+        attachment.setOriginalFilename("تقرير.pdf");
+        attachment.setContentType("application/pdf");
+        attachment.setSize(2048);
+        return attachment;
+    }
+}
@@ -0,0 +1,157 @@
+package com.Shakwa.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class LoginRateLimiterTests {
+
+    private final MutableClock clock = new MutableClock();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void rejectsAttemptsOverLimitWithinWindow() {
+        LoginRateLimiter limiter = newLimiter(1000);
+        for (int i = 0; i < 5; i++) {
+            assertTrue(limiter.tryAcquire("user", "10.0.0.1"));
+        }
+        assertFalse(limiter.tryAcquire("user", "10.0.0.1"));
+        assertTrue(limiter.tryAcquire("citizen", "10.0.0.1"));
+        assertTrue(limiter.tryAcquire("user", "10.0.0.2"));
+        assertEquals(1.0, meterRegistry.counter("shakwa.login.ratelimit.rejected").count());
+    }
+
+    @Test
+    void previousWindowWeighsLessAsTimePasses() {
+        LoginRateLimiter limiter = newLimiter(1000);
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire("user", "10.0.0.1");
+        }
+        // Half-way into the next window the previous five attempts still count as 2.5
+        clock.advance(Duration.ofSeconds(90));
+        for (int i = 0; i < 3; i++) {
+            assertTrue(limiter.tryAcquire("user", "10.0.0.1"));
+        }
+        assertFalse(limiter.tryAcquire("user", "10.0.0.1"));
+    }
+
+    @Test
+    void blockExpiresOnTick() {
+        LoginRateLimiter limiter = newLimiter(1000);
+        limiter.blockIP("10.0.0.1");
+        assertTrue(limiter.isBlocked("10.0.0.1"));
+
+        clock.advance(Duration.ofSeconds(61));
+        limiter.tick();
+        assertFalse(limiter.isBlocked("10.0.0.1"));
+    }
+
+    @Test
+    void capsTrackedIpsAndDropsIdleOnes() {
+        LoginRateLimiter limiter = newLimiter(16);
+        for (int i = 0; i < 1000; i++) {
+            limiter.tryAcquire("user", "10.0." + (i / 256) + "." + (i % 256));
+        }
+        assertTrue(limiter.trackedCount() <= 16);
+
+        clock.advance(Duration.ofMinutes(3));
+        limiter.tick();
+        assertEquals(0, limiter.trackedCount());
+    }
+
+    @Test
+    void evictsTheLeastRecentlySeenIpOverCapacity() {
+        LoginRateLimiter limiter = newLimiter(2);
+        limiter.tryAcquire("user", "10.0.0.1");
+        clock.advance(Duration.ofSeconds(1));
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire("user", "10.0.0.2");
+        }
+        clock.advance(Duration.ofSeconds(1));
+        limiter.tryAcquire("user", "10.0.0.1");
+
+        limiter.tryAcquire("user", "10.0.0.3");
+
+        assertEquals(2, limiter.trackedCount());
+        assertEquals(1.0, meterRegistry.counter("shakwa.login.ratelimit.evicted").count());
+        // 10.0.0.1 kept its two attempts, 10.0.0.2 was evicted with its five
+        for (int i = 0; i < 3; i++) {
+            assertTrue(limiter.tryAcquire("user", "10.0.0.1"));
+        }
+        assertFalse(limiter.tryAcquire("user", "10.0.0.1"));
+        assertTrue(limiter.tryAcquire("user", "10.0.0.2"));
+    }
+
+    @Test
+    void concurrentAttemptsStayWithinLimitAndCapacity() throws Exception {
+        LoginRateLimiter limiter = newLimiter(64);
+        LoginRateLimiter flooded = newLimiter(64);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                int thread = t;
+                results.add(executor.submit(() -> {
+                    int acquired = 0;
+                    for (int i = 0; i < 2000; i++) {
+                        if (limiter.tryAcquire("user", "10.0.0.1")) {
+                            acquired++;
+                        }
+                        flooded.tryAcquire("user", "10." + thread + "." + (i / 256) + "." + (i % 256));
+                    }
+                    return acquired;
+                }));
+            }
+            int acquired = 0;
+            for (Future<Integer> result : results) {
+                acquired += result.get();
+            }
+            assertEquals(5, acquired);
+            assertTrue(flooded.trackedCount() <= 64);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private LoginRateLimiter newLimiter(int maxTracked) {
+        return new LoginRateLimiter(5, Duration.ofMinutes(1), Duration.ofMinutes(1), maxTracked, 100, meterRegistry, clock);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now = Instant.parse("2025-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
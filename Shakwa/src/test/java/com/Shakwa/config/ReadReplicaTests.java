@@ -0,0 +1,92 @@
+package com.Shakwa.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ReadReplicaTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final DataSource replicaPool = mock(DataSource.class);
+    private final DataSource primary = mock(DataSource.class);
+    private final ReadReplica replica = new ReadReplica(replicaPool, Duration.ofSeconds(5), Duration.ofSeconds(1), meterRegistry);
+    private final ReplicaFallbackDataSource readOnly = new ReplicaFallbackDataSource(replica, primary, meterRegistry);
+
+    @Test
+    void usableOnlyWhileLagWithinLimit() {
+        assertFalse(replica.isUsable());
+        replica.update(0);
+        assertTrue(replica.isUsable());
+        replica.update(5_000);
+        assertTrue(replica.isUsable());
+        replica.update(5_001);
+        assertFalse(replica.isUsable());
+        replica.update(200);
+        assertTrue(replica.isUsable());
+        replica.update(-1);
+        assertFalse(replica.isUsable());
+    }
+
+    @Test
+    void readOnlyTransactionsGoToReplicaOthersToPrimary() throws SQLException {
+        Connection replicaConnection = mock(Connection.class);
+        Connection primaryConnection = mock(Connection.class);
+        when(replicaPool.getConnection()).thenReturn(replicaConnection);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        replica.update(0);
+
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primary);
+        dataSource.setDefaultAutoCommit(true);
+        dataSource.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        dataSource.setReadOnlyDataSource(readOnly);
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setReadOnly(true);
+            connection.createStatement();
+        }
+        verify(replicaConnection).createStatement();
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.createStatement();
+        }
+        verify(primaryConnection).createStatement();
+    }
+
+    @Test
+    void refusedReplicaConnectionFallsBackToPrimary() throws SQLException {
+        Connection primaryConnection = mock(Connection.class);
+        when(replicaPool.getConnection()).thenThrow(new SQLException("connection refused"));
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        replica.update(0);
+
+        assertEquals(primaryConnection, readOnly.getConnection());
+        assertFalse(replica.isUsable());
+
+        // Stays on the primary without retrying the replica until the next good lag check
+        readOnly.getConnection();
+        verify(replicaPool).getConnection();
+        assertEquals(2, meterRegistry.find("shakwa.datasource.replica.fallback").counter().count());
+    }
+
+    @Test
+    void unusableUntilFirstCheck() throws SQLException {
+        readOnly.getConnection();
+        verify(replicaPool, never()).getConnection();
+        verify(primary).getConnection();
+    }
+}
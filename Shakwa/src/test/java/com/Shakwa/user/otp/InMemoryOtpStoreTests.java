@@ -0,0 +1,107 @@
+package com.Shakwa.user.otp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import org.junit.jupiter.api.Test;
+
+import com.Shakwa.user.otp.OtpStore.Outcome;
+
+class InMemoryOtpStoreTests {
+
+    private final MutableClock clock = new MutableClock();
+    private final InMemoryOtpStore store = newStore(100);
+
+    @Test
+    void verifiesOnlyOnce() {
+        store.issue("a@test.com", "123456");
+        assertEquals(Outcome.VERIFIED, store.verify("a@test.com", "123456").outcome());
+        assertEquals(Outcome.NOT_FOUND, store.verify("a@test.com", "123456").outcome());
+    }
+
+    @Test
+    void countsAttemptsUntilLimit() {
+        store.issue("a@test.com", "123456");
+        assertEquals(2, store.verify("a@test.com", "000000").attemptsRemaining());
+        assertEquals(1, store.verify("a@test.com", "000000").attemptsRemaining());
+        assertEquals(0, store.verify("a@test.com", "000000").attemptsRemaining());
+        assertEquals(Outcome.MAX_ATTEMPTS_REACHED, store.verify("a@test.com", "123456").outcome());
+        assertFalse(store.hasPending("a@test.com"));
+    }
+
+    @Test
+    void wheelDropsExpiredCodes() {
+        store.issue("a@test.com", "123456");
+        clock.advance(Duration.ofMinutes(5));
+        store.issue("b@test.com", "654321");
+        clock.advance(Duration.ofMinutes(5));
+        store.advance();
+
+        assertEquals(1, store.size());
+        assertFalse(store.hasPending("a@test.com"));
+        assertTrue(store.hasPending("b@test.com"));
+    }
+
+    @Test
+    void reissuedCodeSurvivesSweepOfOldSlot() {
+        store.issue("a@test.com", "111111");
+        clock.advance(Duration.ofMinutes(5));
+        store.issue("a@test.com", "222222");
+        clock.advance(Duration.ofMinutes(6));
+        store.advance();
+
+        assertEquals(Outcome.VERIFIED, store.verify("a@test.com", "222222").outcome());
+    }
+
+    @Test
+    void evictsSoonestExpiringWhenFull() {
+        InMemoryOtpStore bounded = newStore(2);
+        bounded.issue("a@test.com", "111111");
+        clock.advance(Duration.ofSeconds(10));
+        bounded.issue("b@test.com", "222222");
+        clock.advance(Duration.ofSeconds(10));
+        bounded.issue("c@test.com", "333333");
+
+        assertEquals(2, bounded.size());
+        assertFalse(bounded.hasPending("a@test.com"));
+        assertTrue(bounded.hasPending("b@test.com"));
+        assertTrue(bounded.hasPending("c@test.com"));
+    }
+
+    private InMemoryOtpStore newStore(int maxEntries) {
+        OtpProperties properties = new OtpProperties();
+        properties.setHashSecret("test-secret");
+        properties.setMaxEntries(maxEntries);
+        return new InMemoryOtpStore(properties, new OtpCodeHasher(properties), clock);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now = Instant.parse("2025-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
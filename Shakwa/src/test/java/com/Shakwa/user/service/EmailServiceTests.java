@@ -0,0 +1,64 @@
+package com.Shakwa.user.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.Shakwa.user.entity.EmailOutboxMessage;
+import com.Shakwa.user.repository.EmailOutboxRepository;
+
+class EmailServiceTests {
+
+    private final EmailOutboxRepository repository = mock(EmailOutboxRepository.class);
+    private final EmailOutboxDispatcher dispatcher = mock(EmailOutboxDispatcher.class);
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void signalsDispatcherOnlyAfterTheCallersTransactionCommits() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        service().sendOtpEmail("a@test.com", "123456");
+
+        verify(repository).save(any(EmailOutboxMessage.class));
+        verify(dispatcher, never()).signal();
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(dispatcher).signal();
+    }
+
+    @Test
+    void doesNotSignalWhenTheCallersTransactionRollsBack() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        service().sendOtpEmail("a@test.com", "123456");
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        verify(dispatcher, never()).signal();
+    }
+
+    @Test
+    void signalsDispatcherRightAwayWithoutTransaction() {
+        service().sendOtpEmail("a@test.com", "123456");
+
+        verify(dispatcher).signal();
+    }
+
+    private EmailService service() {
+        EmailService service = new EmailService(repository, dispatcher);
+        ReflectionTestUtils.setField(service, "mailEnabled", true);
+        return service;
+    }
+}
@@ -0,0 +1,90 @@
+package com.Shakwa.utils.Aspect;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import com.Shakwa.audit.Enum.AuditStatus;
+import com.Shakwa.audit.service.AuditRecord;
+import com.Shakwa.audit.service.AuditService;
+import com.Shakwa.utils.annotation.Audited;
+
+class AuditAspectTests {
+
+    private final AuditService auditService = mock(AuditService.class);
+
+    @Test
+    void storesArgumentsUnchangedAndMasksSensitiveOnes() {
+        Payload payload = new Payload("Mixed Case");
+
+        proxy(new SampleService()).update(payload, "Hello World", "Bearer eyJhbGciOi token");
+
+        AuditRecord record = captured();
+        assertEquals(AuditStatus.SUCCESS, record.status());
+        assertSame(payload, record.arguments()[0]);
+        assertArrayEquals(new Object[] {payload, "Hello World", "[SENSITIVE_DATA]"}, record.arguments());
+    }
+
+    @Test
+    void takesTargetIdFromResultWithGetId() {
+        proxy(new SampleService()).create(7L);
+
+        assertEquals(42L, captured().targetId());
+    }
+
+    @Test
+    void fallsBackToFirstArgumentWhenResultHasNoId() {
+        proxy(new SampleService()).describe(7L);
+
+        AuditRecord record = captured();
+        assertEquals(7L, record.targetId());
+        assertEquals("String", record.resultType());
+        assertNull(record.arguments());
+    }
+
+    private AuditRecord captured() {
+        ArgumentCaptor<AuditRecord> captor = ArgumentCaptor.forClass(AuditRecord.class);
+        verify(auditService).record(captor.capture());
+        return captor.getValue();
+    }
+
+    private SampleService proxy(SampleService target) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new AuditAspect(auditService));
+        return factory.getProxy();
+    }
+
+    public record Payload(String name) {
+    }
+
+    public record Created(Long id) {
+        public Long getId() {
+            return id;
+        }
+    }
+
+    static class SampleService {
+
+        @Audited(action = "UPDATE_SAMPLE", targetType = "SAMPLE", includeArgs = true)
+        public void update(Payload payload, String note, String header) {
+        }
+
+        @Audited(action = "CREATE_SAMPLE")
+        public Created create(Long parentId) {
+            return new Created(42L);
+        }
+
+        @Audited(action = "DESCRIBE_SAMPLE")
+        public String describe(Long id) {
+            return "sample " + id;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.Shakwa.utils.Aspect;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import com.Shakwa.utils.annotation.Measured;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PerformanceMetricsAspectTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void recordsOneTimerTaggedByOutcome() {
+        SampleService service = proxy(new SampleService());
+        service.work();
+        service.work();
+        assertThrows(IllegalStateException.class, service::fail);
+
+        assertEquals(2, timer("work", "success").count());
+        assertEquals(1, timer("fail", "error").count());
+        // success and error timers are registered up front, once per method
+        assertEquals(2, meterRegistry.find(PerformanceMetricsAspect.METRIC_NAME).tag("method", "work").timers().size());
+        assertEquals(0, timer("work", "error").count());
+    }
+
+    @Test
+    void measuredRenamesMethodTagAndAddsTags() {
+        proxy(new SampleService()).renamed();
+
+        Timer timer = meterRegistry.find(PerformanceMetricsAspect.METRIC_NAME)
+                .tags("method", "custom", "kind", "test").timer();
+        assertNotNull(timer);
+        assertEquals(1, timer.count());
+    }
+
+    private Timer timer(String method, String outcome) {
+        return meterRegistry.get(PerformanceMetricsAspect.METRIC_NAME)
+                .tags("class", "SampleService", "method", method, "outcome", outcome)
+                .timer();
+    }
+
+    private SampleService proxy(SampleService target) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new PerformanceMetricsAspect(meterRegistry, new ServiceMetricsProperties()));
+        return factory.getProxy();
+    }
+
+    static class SampleService {
+
+        @Measured
+        public void work() {
+        }
+
+        @Measured
+        public void fail() {
+            throw new IllegalStateException("boom");
+        }
+
+        @Measured(name = "custom", tags = {"kind", "test"})
+        public void renamed() {
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.Shakwa.utils.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+import com.Shakwa.utils.exception.RequestNotValidException;
+
+class ETagsTests {
+
+    @Test
+    void acceptsQuotedAndBareVersions() {
+        assertEquals(3L, ETags.parseIfMatch("\"3\""));
+        assertEquals(3L, ETags.parseIfMatch(" 3 "));
+        assertEquals(ETags.ANY_VERSION, ETags.parseIfMatch("*"));
+        assertNull(ETags.parseIfMatch(null));
+        assertNull(ETags.parseIfMatch(""));
+    }
+
+    @Test
+    void roundTripsItsOwnTags() {
+        assertEquals(42L, ETags.parseIfMatch(ETags.of(42)));
+        assertEquals("\"42.abc.7\"", ETags.of(42, "abc", 7));
+        assertEquals(42L, ETags.parseIfMatch(ETags.of(42, "abc", 7)));
+    }
+
+    @Test
+    void rejectsWeakAndMalformedTags() {
+        assertThrows(RequestNotValidException.class, () -> ETags.parseIfMatch("W/\"3\""));
+        assertThrows(RequestNotValidException.class, () -> ETags.parseIfMatch("\"abc\""));
+        assertThrows(RequestNotValidException.class, () -> ETags.parseIfMatch("-4"));
+    }
+}